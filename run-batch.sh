@@ -0,0 +1,14 @@
+#!/usr/bin/env sh
+# AutoLoadX headless batch run for CI: ./run-batch.sh [--out dir] [--raw] [--no-history] plan.json...
+# Exit code: 0 all SLOs met, 1 an SLO failed, 2 bad plan or run error
+set -e
+
+cd "$(dirname "$0")"
+
+if [ ! -f target/classpath.txt ] || [ pom.xml -nt target/classpath.txt ]; then
+    mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+fi
+mvn -B -q compile
+
+exec java ${JAVA_OPTS:--Xmx2g} -cp "target/classes:$(cat target/classpath.txt)" \
+    com.loadtesting.phase1.BatchRunnerApp "$@"
@@ -0,0 +1,214 @@
+package com.loadtesting.phase1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.loadtesting.phase1.data.ResultExporter;
+import com.loadtesting.phase1.data.RunStore;
+import com.loadtesting.phase1.data.TestPlanReader;
+import com.loadtesting.phase1.model.PerformanceMetrics;
+import com.loadtesting.phase1.model.RunSummary;
+import com.loadtesting.phase1.model.ServiceLevelObjective;
+import com.loadtesting.phase1.model.TestPlan;
+import com.loadtesting.phase1.service.LoadTestExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AutoLoadX Batch Runner
+ * Non-interactive entry point for CI:
+ * {@code BatchRunnerApp [--out dir] [--raw] [--no-history] plan.json...}.
+ * Every plan is read and validated before the first request is sent, then
+ * each profile of each plan runs in order on one executor, so later runs
+ * start on a warm engine. Each run is exported as JSON next to a
+ * {@code summary.json} of every profile and objective, and saved to the run
+ * history unless told otherwise. Exits with 0 when every objective is met,
+ * 1 when one is not and 2 on bad arguments, an unreadable plan or a run
+ * that could not execute.
+ */
+public class BatchRunnerApp {
+    private static final int EXIT_PASSED = 0;
+    private static final int EXIT_SLO_FAILED = 1;
+    private static final int EXIT_ERROR = 2;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    
+    public static void main(String[] args) {
+        Path outputDirectory = Paths.get("autoloadx-results");
+        boolean includeRawResults = false;
+        boolean saveHistory = true;
+        List<Path> planFiles = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out":
+                    if (i + 1 == args.length) usage("--out needs a directory");
+                    outputDirectory = Paths.get(args[++i]);
+                    break;
+                case "--raw":
+                    includeRawResults = true;
+                    break;
+                case "--no-history":
+                    saveHistory = false;
+                    break;
+                default:
+                    if (args[i].startsWith("--")) usage("Unknown option " + args[i]);
+                    planFiles.add(Paths.get(args[i]));
+            }
+        }
+        if (planFiles.isEmpty()) usage("No test plan given");
+        
+        List<TestPlan> plans = new ArrayList<>();
+        TestPlanReader reader = new TestPlanReader();
+        for (Path planFile : planFiles) {
+            try {
+                plans.add(reader.read(planFile));
+            } catch (IOException e) {
+                System.err.println("Invalid test plan: " + e.getMessage());
+                System.exit(EXIT_ERROR);
+            }
+        }
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            System.err.println("Cannot create " + outputDirectory + ": " + e.getMessage());
+            System.exit(EXIT_ERROR);
+        }
+        
+        System.exit(runPlans(plans, outputDirectory, includeRawResults, saveHistory));
+    }
+    
+    private static int runPlans(List<TestPlan> plans, Path outputDirectory, boolean includeRawResults,
+                                boolean saveHistory) {
+        LoadTestExecutor executor = new LoadTestExecutor();
+        ResultExporter exporter = new ResultExporter();
+        ObjectNode summary = JSON.createObjectNode();
+        summary.put("started", Instant.now().toString());
+        ArrayNode runs = summary.putArray("runs");
+        int exitCode = EXIT_PASSED;
+        
+        for (TestPlan plan : plans) {
+            for (TestPlan.Profile profile : plan.getProfiles()) {
+                System.out.println();
+                System.out.println("▶️ === " + plan.getName() + " / " + profile.getName() + " ===");
+                ObjectNode run = runs.addObject();
+                run.put("plan", plan.getName());
+                run.put("profile", profile.getName());
+                
+                PerformanceMetrics results;
+                try {
+                    results = executor.executeLoadTest(profile.getConfig());
+                } catch (RuntimeException e) {
+                    System.out.println("❌ Run failed: " + e.getMessage());
+                    run.put("passed", false);
+                    run.put("error", String.valueOf(e.getMessage()));
+                    exitCode = EXIT_ERROR;
+                    continue;
+                }
+                
+                boolean passed = checkObjectives(profile.getObjectives(), results, run.putArray("objectives"));
+                run.put("passed", passed);
+                writeHeadline(run, results);
+                if (!passed && exitCode == EXIT_PASSED) {
+                    exitCode = EXIT_SLO_FAILED;
+                }
+                
+                Path resultFile = outputDirectory.resolve(fileName(plan.getName() + "-" + profile.getName()) + ".json");
+                try {
+                    exporter.exportJson(profile.getConfig(), results, resultFile, includeRawResults);
+                    run.put("resultFile", resultFile.toString());
+                } catch (IOException e) {
+                    System.out.println("Could not export results: " + e.getMessage());
+                }
+                if (saveHistory) {
+                    try (RunStore store = new RunStore(RunStore.defaultDirectory())) {
+                        RunSummary saved = store.append(profile.getConfig(), results);
+                        run.put("runId", saved.getRunId());
+                    } catch (IOException e) {
+                        System.out.println("Could not save run history: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        
+        summary.put("finished", Instant.now().toString());
+        summary.put("passed", exitCode == EXIT_PASSED);
+        Path summaryFile = outputDirectory.resolve("summary.json");
+        try {
+            JSON.writerWithDefaultPrettyPrinter().writeValue(summaryFile.toFile(), summary);
+        } catch (IOException e) {
+            System.out.println("Could not write " + summaryFile + ": " + e.getMessage());
+        }
+        printVerdict(runs, summaryFile);
+        return exitCode;
+    }
+    
+    private static boolean checkObjectives(List<ServiceLevelObjective> objectives, PerformanceMetrics results,
+                                           ArrayNode report) {
+        boolean passed = true;
+        System.out.println();
+        System.out.println("--- Service Level Objectives ---");
+        if (objectives.isEmpty()) {
+            System.out.println("None defined");
+        }
+        for (ServiceLevelObjective objective : objectives) {
+            double actual = objective.actualValue(results);
+            boolean met = objective.isMet(actual);
+            passed &= met;
+            System.out.printf("%s %-40s actual %s%n", met ? "✅" : "❌", objective,
+                Double.isNaN(actual) ? "n/a (no requests measured)" : String.format("%.2f", actual));
+            
+            ObjectNode entry = report.addObject();
+            entry.put("metric", objective.getMetric().name());
+            if (objective.getMin() != null) entry.put("min", objective.getMin());
+            if (objective.getMax() != null) entry.put("max", objective.getMax());
+            if (Double.isNaN(actual)) {
+                entry.putNull("actual");
+            } else {
+                entry.put("actual", actual);
+            }
+            entry.put("passed", met);
+        }
+        return passed;
+    }
+    
+    private static void writeHeadline(ObjectNode run, PerformanceMetrics results) {
+        run.put("totalRequests", results.getTotalRequests());
+        run.put("errorRatePercent", results.getErrorRate());
+        run.put("throughputPerSecond", results.getThroughputPerSecond());
+        run.put("meanMs", results.getAverageResponseTime());
+        run.put("p50Ms", results.getPercentileResponseTime(50));
+        run.put("p99Ms", results.getPercentileResponseTime(99));
+        run.put("measuredSeconds", results.getMeasuredDurationSeconds());
+        run.put("abandonedRequests", results.getAbandonedRequests());
+    }
+    
+    private static void printVerdict(ArrayNode runs, Path summaryFile) {
+        System.out.println();
+        System.out.println("🏁 === BATCH SUMMARY ===");
+        boolean allPassed = true;
+        for (int i = 0; i < runs.size(); i++) {
+            ObjectNode run = (ObjectNode) runs.get(i);
+            boolean passed = run.path("passed").asBoolean();
+            allPassed &= passed;
+            System.out.printf("%s %s / %s%s%n", passed ? "✅" : "❌", run.path("plan").asText(), run.path("profile").asText(),
+                run.has("error") ? " - " + run.path("error").asText() : "");
+        }
+        System.out.println("Summary: " + summaryFile);
+        System.out.println(allPassed ? "✅ VERDICT: PASS" : "❌ VERDICT: FAIL");
+    }
+    
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+    
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: BatchRunnerApp [--out dir] [--raw] [--no-history] plan.json...");
+        System.exit(EXIT_ERROR);
+    }
+}
\ No newline at end of file
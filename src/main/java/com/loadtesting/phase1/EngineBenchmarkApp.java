@@ -0,0 +1,161 @@
+package com.loadtesting.phase1;
+
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.TransportConfiguration;
+import com.loadtesting.phase1.service.HttpEngine;
+import com.loadtesting.phase1.service.JdkHttpEngine;
+import com.loadtesting.phase1.service.NioHttpEngine;
+import com.loadtesting.phase1.service.PooledHttpEngine;
+import com.loadtesting.phase1.service.PreparedRequest;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AutoLoadX Engine Benchmark
+ * Compares the HTTP engines against a loopback server in this JVM, so the
+ * numbers show how many requests per second the generator itself can produce
+ */
+public class EngineBenchmarkApp {
+    private static final byte[] RESPONSE_BODY = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int WARM_UP_SECONDS = 2;
+    
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        // Otherwise Nagle plus delayed ACKs add ~40 ms to every response of the JDK server
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE_BODY);
+            }
+        });
+        ExecutorService serverThreads = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        server.setExecutor(serverThreads);
+        server.start();
+        
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/bench");
+        PreparedRequest request = new PreparedRequest("GET", uri, new String[]{"Accept", "application/json"}, null, true);
+        
+        System.out.println("🚀 === AutoLoadX Engine Benchmark ===");
+        System.out.println("Loopback server: " + uri);
+        System.out.println("Users: " + users + " | Duration: " + seconds + "s per engine (+" + WARM_UP_SECONDS + "s warm-up)");
+        System.out.println("Note: the server shares this JVM, so compare engines relative to each other");
+        System.out.println();
+        
+        TransportConfiguration http11 = new TransportConfiguration();
+        TransportConfiguration pipelined = new TransportConfiguration();
+        pipelined.setPipelineDepth(4);
+        
+        List<BenchmarkResult> results = new ArrayList<>();
+        results.add(run("Apache pooled (HTTP/1.1)", new PooledHttpEngine(http11), request, users, seconds));
+        results.add(run("JDK HttpClient (HTTP/1.1)", new JdkHttpEngine(http11), request, users, seconds));
+        results.add(run("NIO engine", new NioHttpEngine(http11), request, users, seconds));
+        results.add(run("NIO engine, pipeline depth 4", new NioHttpEngine(pipelined), request, users, seconds));
+        
+        server.stop(0);
+        serverThreads.shutdownNow();
+        
+        System.out.println();
+        System.out.println("📊 RESULTS:");
+        System.out.printf("%-32s %12s %10s %10s %10s %8s %12s%n", "Engine", "Req/s", "P50 ms", "P99 ms", "Max ms", "Errors", "New Conns");
+        System.out.println("─".repeat(100));
+        for (BenchmarkResult result : results) {
+            System.out.printf("%-32s %12.0f %10.3f %10.3f %10.3f %8d %12d%n",
+                result.name,
+                result.requests / (double) seconds,
+                result.latencies.getValueAtPercentile(50) / 1000.0,
+                result.latencies.getValueAtPercentile(99) / 1000.0,
+                result.latencies.getMax() / 1000.0,
+                result.errors,
+                result.connections);
+        }
+    }
+    
+    private static BenchmarkResult run(String name, HttpEngine engine, PreparedRequest request, int users, int seconds)
+            throws InterruptedException {
+        System.out.println("▶️ " + name);
+        try {
+            drive(engine, request, users, WARM_UP_SECONDS, null);
+            engine.getConnectionStats().reset();
+            
+            BenchmarkResult result = new BenchmarkResult(name);
+            drive(engine, request, users, seconds, result);
+            result.connections = engine.getConnectionStats().getConnectionsOpened();
+            return result;
+        } finally {
+            engine.close();
+        }
+    }
+    
+    private static void drive(HttpEngine engine, PreparedRequest request, int users, int seconds, BenchmarkResult result)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        LatencyHistogram latencies = new LatencyHistogram();
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int userId = i;
+            Thread thread = new Thread(() -> {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = engine.send(request, userId, null);
+                        if (status != 200) errors.incrementAndGet();
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies.recordValue((System.nanoTime() - start) / 1000);
+                    requests.incrementAndGet();
+                }
+            }, "benchmark-user-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        if (result != null) {
+            result.requests = requests.get();
+            result.errors = errors.get();
+            result.latencies = latencies;
+        }
+    }
+    
+    private static class BenchmarkResult {
+        private final String name;
+        private long requests;
+        private long errors;
+        private long connections;
+        private LatencyHistogram latencies;
+        
+        private BenchmarkResult(String name) {
+            this.name = name;
+        }
+    }
+}
\ No newline at end of file
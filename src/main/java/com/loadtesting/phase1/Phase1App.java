@@ -1,9 +1,22 @@
 package com.loadtesting.phase1;
 
+import com.loadtesting.phase1.data.ResultExporter;
+import com.loadtesting.phase1.data.RunStore;
+import com.loadtesting.phase1.model.FeederStrategy;
 import com.loadtesting.phase1.model.PerformanceMetrics;
+import com.loadtesting.phase1.model.ResponseAssertion;
+import com.loadtesting.phase1.model.RunSummary;
 import com.loadtesting.phase1.model.TestConfiguration;
+import com.loadtesting.phase1.model.TransportConfiguration;
 import com.loadtesting.phase1.service.LoadTestExecutor;
+import com.loadtesting.phase1.service.PdfReportGenerator;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -17,25 +30,89 @@ public class Phase1App {
         System.out.println("Minimal load testing with raw metrics collection");
         System.out.println();
         
-        TestConfiguration config = getTestConfiguration();
+        // One scanner for the whole session: closing it would close System.in
+        Scanner scanner = new Scanner(System.in);
+        TestConfiguration config = getTestConfiguration(scanner);
         
         if (!config.isValid()) {
             System.out.println("Invalid configuration. Exiting.");
+            scanner.close();
             return;
         }
         
         LoadTestExecutor executor = new LoadTestExecutor();
         PerformanceMetrics results = executor.executeLoadTest(config);
         
-        // Results are already printed by executor
-        // Raw metrics are available in 'results' object for Phase 2 extensions
+        // Results are already printed by executor; keep them for later comparison
+        saveToHistory(config, results);
+        exportResults(config, results, scanner);
+        writePdfReport(config, results, scanner);
         
+        scanner.close();
+    }
+    
+    private static void exportResults(TestConfiguration config, PerformanceMetrics results, Scanner scanner) {
         System.out.println();
-        System.out.println("Raw metrics object ready for Phase 2 analysis and reporting.");
+        System.out.print("Export Results (file.json, or a directory for CSV, optional): ");
+        String target = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (target.isEmpty()) return;
+        System.out.print("Include Every Request (y/n) [n]: ");
+        boolean includeRawResults = scanner.hasNextLine() && scanner.nextLine().trim().equalsIgnoreCase("y");
+        
+        ResultExporter exporter = new ResultExporter();
+        long start = System.nanoTime();
+        try {
+            if (target.toLowerCase().endsWith(".json")) {
+                exporter.exportJson(config, results, Paths.get(target), includeRawResults);
+                System.out.println("Exported to " + target);
+            } else {
+                exporter.exportCsv(results, Paths.get(target), "results", includeRawResults)
+                    .forEach(file -> System.out.println("Exported to " + file));
+            }
+            System.out.printf("Export took %.1f s%n", (System.nanoTime() - start) / 1_000_000_000.0);
+        } catch (IOException e) {
+            System.out.println("Could not export results: " + e.getMessage());
+        }
     }
     
-    private static TestConfiguration getTestConfiguration() {
-        Scanner scanner = new Scanner(System.in);
+    private static void writePdfReport(TestConfiguration config, PerformanceMetrics results, Scanner scanner) {
+        System.out.println();
+        System.out.print("PDF Report File (optional): ");
+        String target = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (target.isEmpty()) return;
+        if (!target.toLowerCase().endsWith(".pdf")) target += ".pdf";
+        
+        long start = System.nanoTime();
+        try {
+            new PdfReportGenerator().generate(config, results, Paths.get(target));
+            System.out.printf("Report written to %s in %.1f s%n", target, (System.nanoTime() - start) / 1_000_000_000.0);
+        } catch (IOException e) {
+            System.out.println("Could not write report: " + e.getMessage());
+        }
+    }
+    
+    private static void saveToHistory(TestConfiguration config, PerformanceMetrics results) {
+        try (RunStore store = new RunStore(RunStore.defaultDirectory())) {
+            RunSummary saved = store.append(config, results);
+            System.out.println();
+            System.out.println("Saved as run #" + saved.getRunId() + " in " + store.getDirectory());
+            
+            List<RunSummary> history = store.history(saved.getEndpoint(), 10);
+            if (history.size() > 1) {
+                System.out.println("--- Run History (" + saved.getEndpoint() + ") ---");
+                DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+                for (RunSummary run : history) {
+                    System.out.printf("#%-5d %s  %6d users  %10.2f req/s  p99 %9.2f ms  errors %6.2f%%%n",
+                        run.getRunId(), run.getStartTime().format(format), run.getConcurrentUsers(),
+                        run.getThroughputPerSecond(), run.getP99ResponseTime(), run.getErrorRate());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not save run history: " + e.getMessage());
+        }
+    }
+    
+    private static TestConfiguration getTestConfiguration(Scanner scanner) {
         TestConfiguration config = new TestConfiguration();
         
         System.out.print("API Endpoint: ");
@@ -53,6 +130,53 @@ public class Phase1App {
             config.setRequestBody(body);
         }
         
+        System.out.print("Data Feeder File (CSV/JSONL, optional): ");
+        String feederFile = scanner.nextLine().trim();
+        if (!feederFile.isEmpty()) {
+            config.setFeederFile(feederFile);
+            
+            System.out.print("Feeder Strategy (CIRCULAR/RANDOM/UNIQUE_PER_USER) [CIRCULAR]: ");
+            String strategy = scanner.nextLine().trim();
+            if (!strategy.isEmpty()) {
+                try {
+                    config.setFeederStrategy(FeederStrategy.valueOf(strategy.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Unknown strategy, using default: CIRCULAR");
+                }
+            }
+        }
+        
+        System.out.print("Access Log to Replay (CLF/JSONL, optional): ");
+        String replayLog = scanner.nextLine().trim();
+        if (!replayLog.isEmpty()) {
+            config.setReplayLogFile(replayLog);
+            
+            System.out.print("Replay Speed-up [1.0]: ");
+            String speedUp = scanner.nextLine().trim();
+            if (!speedUp.isEmpty()) {
+                try {
+                    config.setReplaySpeedUp(Double.parseDouble(speedUp));
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid number, using default: 1.0");
+                }
+            }
+            
+            System.out.print("Loop Replay (y/n) [n]: ");
+            config.setReplayLoop(scanner.nextLine().trim().equalsIgnoreCase("y"));
+        }
+        
+        System.out.print("Expected Status Codes (e.g. 200,201 or 2xx, optional): ");
+        String statuses = scanner.nextLine().trim();
+        if (!statuses.isEmpty()) {
+            config.getAssertions().add(ResponseAssertion.status(statuses));
+        }
+        
+        System.out.print("Response Body Must Contain (optional): ");
+        String expectedText = scanner.nextLine().trim();
+        if (!expectedText.isEmpty()) {
+            config.getAssertions().add(ResponseAssertion.bodyContains(expectedText));
+        }
+        
         System.out.print("Concurrent Users [10]: ");
         String users = scanner.nextLine().trim();
         if (!users.isEmpty()) {
@@ -83,7 +207,99 @@ public class Phase1App {
             }
         }
         
-        scanner.close();
+        if (!config.isReplay()) {
+            System.out.print("Target p99 for Adaptive Concurrency (ms, optional - users become the upper limit): ");
+            String targetP99 = scanner.nextLine().trim();
+            if (!targetP99.isEmpty()) {
+                try {
+                    config.setTargetP99Ms(Double.parseDouble(targetP99));
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid number, running with fixed concurrency");
+                }
+            }
+        }
+        
+        System.out.print("Protocol (HTTP_1_1/HTTP_2/HTTP_1_1_NIO) [HTTP_1_1]: ");
+        String protocol = scanner.nextLine().trim();
+        if (!protocol.isEmpty()) {
+            try {
+                config.getTransport().setProtocol(TransportConfiguration.Protocol.valueOf(protocol.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown protocol, using default: HTTP_1_1");
+            }
+        }
+        
+        if (config.getTransport().getProtocol() == TransportConfiguration.Protocol.HTTP_1_1_NIO) {
+            System.out.print("Pipeline Depth [1]: ");
+            String pipelineDepth = scanner.nextLine().trim();
+            if (!pipelineDepth.isEmpty()) {
+                try {
+                    config.getTransport().setPipelineDepth(Integer.parseInt(pipelineDepth));
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid number, using default: 1");
+                }
+            }
+        }
+        
+        System.out.print("Client Mode (SHARED/PER_USER) [SHARED]: ");
+        String clientMode = scanner.nextLine().trim();
+        if (!clientMode.isEmpty()) {
+            try {
+                config.getTransport().setClientMode(TransportConfiguration.ClientMode.valueOf(clientMode.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown client mode, using default: SHARED");
+            }
+        }
+        
+        System.out.print("Target Addresses (comma-separated IPs, 'all' for every resolved address, optional): ");
+        String addresses = scanner.nextLine().trim();
+        if (!addresses.isEmpty()) {
+            if (!addresses.equalsIgnoreCase("all")) {
+                config.getTransport().setTargetAddresses(new ArrayList<>(Arrays.asList(addresses.split("\\s*,\\s*"))));
+            }
+            System.out.print("Address Selection (ROUND_ROBIN/LEAST_OUTSTANDING) [ROUND_ROBIN]: ");
+            String selection = scanner.nextLine().trim();
+            try {
+                config.getTransport().setAddressSelection(selection.isEmpty()
+                    ? TransportConfiguration.AddressSelection.ROUND_ROBIN
+                    : TransportConfiguration.AddressSelection.valueOf(selection.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown address selection, using default: ROUND_ROBIN");
+                config.getTransport().setAddressSelection(TransportConfiguration.AddressSelection.ROUND_ROBIN);
+            }
+        }
+        
+        if (config.getApiEndpoint().regionMatches(true, 0, "https:", 0, 6)) {
+            System.out.print("TLS Session Mode (FULL_HANDSHAKE/PER_USER_RESUMPTION/SHARED_SESSION) [SHARED_SESSION]: ");
+            String sessionMode = scanner.nextLine().trim();
+            if (!sessionMode.isEmpty()) {
+                try {
+                    config.getTransport().setTlsSessionMode(TransportConfiguration.TlsSessionMode.valueOf(sessionMode.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Unknown session mode, using default: SHARED_SESSION");
+                }
+            }
+            
+            System.out.print("Trust Self-Signed Certificates (y/n) [n]: ");
+            config.getTransport().setTrustAllCertificates(scanner.nextLine().trim().equalsIgnoreCase("y"));
+        }
+        
+        System.out.print("Max Connections (0 = unbounded) [0]: ");
+        String maxConnections = scanner.nextLine().trim();
+        if (!maxConnections.isEmpty()) {
+            try {
+                config.getTransport().setMaxConnections(Integer.parseInt(maxConnections));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid number, using default: 0");
+            }
+        }
+        
+        System.out.print("Keep-Alive (y/n) [y]: ");
+        config.getTransport().setKeepAlive(!scanner.nextLine().trim().equalsIgnoreCase("n"));
+        
+        System.out.print("Soak Mode - constant memory, drift detection (y/n) [n]: ");
+        config.setSoakMode(scanner.nextLine().trim().equalsIgnoreCase("y"));
+        
         return config;
     }
 }
\ No newline at end of file
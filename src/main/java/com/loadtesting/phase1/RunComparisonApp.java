@@ -0,0 +1,132 @@
+package com.loadtesting.phase1;
+
+import com.loadtesting.phase1.data.RunStore;
+import com.loadtesting.phase1.model.MetricComparison;
+import com.loadtesting.phase1.model.RunComparison;
+import com.loadtesting.phase1.model.RunSummary;
+import com.loadtesting.phase1.model.StoredRun;
+import com.loadtesting.phase1.service.RunComparator;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * AutoLoadX Run Comparison
+ * Compares a candidate run from the run history against a baseline, so it
+ * can gate a deploy:
+ * {@code RunComparisonApp <baseline run> <candidate run> [tolerance %]}.
+ * Without arguments it lists recent runs and asks for the two ids. Exits with
+ * 0 when the candidate passes, 1 when it regressed and 2 on bad arguments,
+ * an unknown run or a run history that cannot be read, so a gate can tell a
+ * broken invocation from a regression.
+ */
+public class RunComparisonApp {
+    private static final int EXIT_PASSED = 0;
+    private static final int EXIT_REGRESSED = 1;
+    private static final int EXIT_ERROR = 2;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    
+    public static void main(String[] args) {
+        System.exit(compare(args));
+    }
+    
+    private static int compare(String[] args) {
+        long baselineId;
+        long candidateId;
+        RunComparator comparator = new RunComparator();
+        
+        try (RunStore store = new RunStore(RunStore.defaultDirectory())) {
+            try {
+                if (args.length >= 2) {
+                    baselineId = Long.parseLong(args[0]);
+                    candidateId = Long.parseLong(args[1]);
+                    if (args.length >= 3) {
+                        double tolerance = Double.parseDouble(args[2]) / 100;
+                        comparator.setLatencyTolerance(tolerance);
+                        comparator.setThroughputTolerance(tolerance);
+                    }
+                } else {
+                    listRecentRuns(store);
+                    Scanner scanner = new Scanner(System.in);
+                    System.out.print("Baseline run: ");
+                    baselineId = Long.parseLong(scanner.nextLine().trim());
+                    System.out.print("Candidate run: ");
+                    candidateId = Long.parseLong(scanner.nextLine().trim());
+                }
+            } catch (NumberFormatException | NoSuchElementException e) {
+                System.err.println("Run ids must be numbers and the tolerance a percentage");
+                System.err.println("Usage: RunComparisonApp <baseline run> <candidate run> [tolerance %]");
+                return EXIT_ERROR;
+            }
+            
+            StoredRun baseline = store.load(baselineId);
+            StoredRun candidate = store.load(candidateId);
+            if (baseline == null || candidate == null) {
+                System.out.println("Unknown run: #" + (baseline == null ? baselineId : candidateId));
+                return EXIT_ERROR;
+            }
+            
+            long start = System.nanoTime();
+            RunComparison comparison = comparator.compare(baseline, candidate);
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+            printComparison(comparison, elapsedMs);
+            return comparison.isPassed() ? EXIT_PASSED : EXIT_REGRESSED;
+        } catch (IOException e) {
+            System.err.println("Cannot read run history: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+    }
+    
+    private static void listRecentRuns(RunStore store) {
+        List<RunSummary> runs = store.find(null, 0, Long.MAX_VALUE);
+        System.out.println("📚 Recent runs in " + store.getDirectory() + ":");
+        for (RunSummary run : runs.subList(Math.max(0, runs.size() - 20), runs.size())) {
+            System.out.printf("#%-5d %s  %-11s %6d users  %10.2f req/s  p99 %9.2f ms  %s %s%n",
+                run.getRunId(), run.getStartTime().format(DATE_FORMAT), run.getKind(), run.getConcurrentUsers(),
+                run.getThroughputPerSecond(), run.getP99ResponseTime(), run.getHttpMethod(), run.getEndpoint());
+        }
+        System.out.println();
+    }
+    
+    private static void printComparison(RunComparison comparison, double elapsedMs) {
+        RunSummary baseline = comparison.getBaseline();
+        RunSummary candidate = comparison.getCandidate();
+        System.out.println("⚖️ === RUN COMPARISON ===");
+        System.out.printf("Baseline:  #%d  %s  %,d requests%n", baseline.getRunId(),
+            baseline.getStartTime().format(DATE_FORMAT), baseline.getTotalRequests());
+        System.out.printf("Candidate: #%d  %s  %,d requests%n", candidate.getRunId(),
+            candidate.getStartTime().format(DATE_FORMAT), candidate.getTotalRequests());
+        comparison.getWarnings().forEach(warning -> System.out.println("⚠️ " + warning));
+        System.out.println();
+        
+        String intervalHeader = new DecimalFormat("0.##").format(comparison.getConfidenceLevel() * 100) + "% CI";
+        System.out.printf("%-26s %12s %12s %10s %24s  %s%n", "Metric", "Baseline", "Candidate", "Change", intervalHeader, "Status");
+        System.out.println("─".repeat(100));
+        for (MetricComparison metric : comparison.getMetrics()) {
+            String unit = "%".equals(metric.getUnit()) ? " pp" : "%";
+            String interval = metric.hasConfidenceInterval()
+                ? String.format("[%+.2f, %+.2f]%s", metric.getConfidenceLow(), metric.getConfidenceHigh(), unit)
+                : "-";
+            String status = metric.isRegressed() ? "❌ REGRESSED" : metric.isSignificant() ? "⚠️ CHANGED" : "✅ OK";
+            System.out.printf("%-26s %12.2f %12.2f %+9.2f%s %24s  %s%n", metric.getMetric(), metric.getBaselineValue(),
+                metric.getCandidateValue(), metric.getChange(), unit.trim(), interval, status);
+        }
+        System.out.println();
+        
+        System.out.printf("Latency distribution (Mann-Whitney): z = %.2f, p = %.4g%n",
+            comparison.getMannWhitneyZ(), comparison.getMannWhitneyPValue());
+        System.out.printf("Effect size: P(candidate slower) = %.3f, Cliff's delta = %+.3f%s%n",
+            comparison.getProbabilityCandidateSlower(), comparison.getCliffsDelta(),
+            comparison.isDistributionShifted() ? " ❌ slower overall" : "");
+        System.out.println("Confidence intervals: " + (comparison.isBootstrapByInterval()
+            ? "block bootstrap over the per-interval history"
+            : "bootstrap over single requests (no interval history; intervals are optimistic)"));
+        System.out.printf("Compared in %.1f ms%n", elapsedMs);
+        System.out.println();
+        System.out.println(comparison.isPassed() ? "✅ VERDICT: PASS" : "❌ VERDICT: FAIL - candidate regressed");
+    }
+}
\ No newline at end of file
@@ -1,7 +1,16 @@
 package com.loadtesting.phase1;
 
+import com.loadtesting.phase1.data.RunStore;
+import com.loadtesting.phase1.model.RunSummary;
+import com.loadtesting.phase1.model.ScalabilityPoint;
+import com.loadtesting.phase1.service.PdfReportGenerator;
 import com.loadtesting.phase1.service.ScalabilityTester;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 /**
  * AutoLoadX Scalability Testing Application
@@ -27,6 +36,9 @@ public class ScalabilityTestApp {
         System.out.print("Request body (optional): ");
         String body = scanner.nextLine().trim();
         
+        System.out.print("Correct latencies for coordinated omission? (y/n) [y]: ");
+        boolean correctOmission = !scanner.nextLine().trim().toLowerCase().startsWith("n");
+        
         System.out.println();
         System.out.println("📋 TEST CONFIGURATION:");
         System.out.println("Endpoint: " + endpoint);
@@ -34,6 +46,7 @@ public class ScalabilityTestApp {
         System.out.println("User Levels: 10 → 100 → 500 → 1K → 5K → 10K");
         System.out.println("Duration: 5 minutes per level");
         System.out.println("Stabilization: 1 minute between levels");
+        System.out.println("Coordinated Omission Correction: " + (correctOmission ? "enabled" : "disabled"));
         System.out.println();
         
         System.out.print("Proceed with scalability test? (y/n): ");
@@ -45,14 +58,55 @@ public class ScalabilityTestApp {
         
         // Execute scalability test
         ScalabilityTester tester = new ScalabilityTester();
+        tester.setCoordinatedOmissionCorrection(correctOmission);
         ScalabilityTester.ScalabilityTestReport report = tester.executeScalabilityTest(endpoint, method, body);
         
         // Print final summary
         printFinalSummary(report);
+        saveToHistory(report);
+        writePdfReport(report, scanner);
         
         scanner.close();
     }
     
+    private static void writePdfReport(ScalabilityTester.ScalabilityTestReport report, Scanner scanner) {
+        if (report.results.isEmpty()) return;
+        System.out.println();
+        System.out.print("PDF Report File (optional): ");
+        String target = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        if (target.isEmpty()) return;
+        if (!target.toLowerCase().endsWith(".pdf")) target += ".pdf";
+        
+        long start = System.nanoTime();
+        try {
+            new PdfReportGenerator().generate(report, Paths.get(target));
+            System.out.printf("📄 Report written to %s in %.1f s%n", target, (System.nanoTime() - start) / 1_000_000_000.0);
+        } catch (IOException e) {
+            System.out.println("Could not write report: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stores the whole test as one run, summarized by its peak-throughput level.
+     */
+    private static void saveToHistory(ScalabilityTester.ScalabilityTestReport report) {
+        if (report.results.isEmpty()) return;
+        ScalabilityTester.ScalabilityResult peak = report.results.stream()
+            .max(Comparator.comparingDouble(result -> result.metrics.getThroughputPerSecond()))
+            .get();
+        List<ScalabilityPoint> points = report.results.stream()
+            .map(result -> ScalabilityPoint.of(result.userLevel, result.metrics))
+            .collect(Collectors.toList());
+        
+        try (RunStore store = new RunStore(RunStore.defaultDirectory())) {
+            RunSummary saved = store.appendScalabilityTest(peak.config, peak.metrics, points);
+            System.out.println();
+            System.out.println("💾 Saved as run #" + saved.getRunId() + " in " + store.getDirectory());
+        } catch (IOException e) {
+            System.out.println("Could not save run history: " + e.getMessage());
+        }
+    }
+    
     private static void printFinalSummary(ScalabilityTester.ScalabilityTestReport report) {
         System.out.println("🎯 === SCALABILITY TEST SUMMARY ===");
         System.out.println("Test Duration: " + java.time.Duration.between(report.startTime, report.endTime).toMinutes() + " minutes");
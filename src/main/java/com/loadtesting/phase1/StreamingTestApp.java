@@ -0,0 +1,72 @@
+package com.loadtesting.phase1;
+
+import com.loadtesting.phase1.model.StreamingConfiguration;
+import com.loadtesting.phase1.service.StreamingLoadTester;
+
+import java.util.Scanner;
+
+/**
+ * AutoLoadX Streaming Test Application
+ * Holds many long-lived WebSocket or SSE connections and measures connect
+ * time, message latency and dropped connections. ws:// and wss:// endpoints
+ * run as WebSocket, http:// and https:// as Server-Sent Events.
+ */
+public class StreamingTestApp {
+    
+    public static void main(String[] args) {
+        System.out.println("📡 === AutoLoadX Streaming Connection Test ===");
+        System.out.println();
+        
+        Scanner scanner = new Scanner(System.in);
+        StreamingConfiguration config = new StreamingConfiguration();
+        
+        System.out.print("Endpoint (ws://, wss:// or an SSE http:// URL): ");
+        config.setEndpoint(scanner.nextLine().trim());
+        config.setProtocol(config.getEndpoint().startsWith("ws")
+            ? StreamingConfiguration.Protocol.WEBSOCKET
+            : StreamingConfiguration.Protocol.SSE);
+        
+        config.setConnections(readInt(scanner, "Connections", config.getConnections()));
+        config.setConnectRatePerSecond(readDouble(scanner, "New Connections per Second", config.getConnectRatePerSecond()));
+        if (config.getProtocol() == StreamingConfiguration.Protocol.WEBSOCKET) {
+            config.setMessagesPerSecond(readDouble(scanner, "Messages per Second per Connection (0 = listen only)",
+                config.getMessagesPerSecond()));
+            config.setMessageSizeBytes(readInt(scanner, "Message Size (bytes)", config.getMessageSizeBytes()));
+        }
+        config.setDurationSeconds(readInt(scanner, "Test Duration (seconds)", config.getDurationSeconds()));
+        
+        System.out.print("Server Timestamp Field (epoch millis in pushed JSON) [ts]: ");
+        String field = scanner.nextLine().trim();
+        if (!field.isEmpty()) {
+            config.setTimestampField(field);
+        }
+        scanner.close();
+        
+        System.out.println();
+        new StreamingLoadTester().execute(config);
+    }
+    
+    private static int readInt(Scanner scanner, String prompt, int defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "]: ");
+        String value = scanner.nextLine().trim();
+        if (value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    private static double readDouble(Scanner scanner, String prompt, double defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "]: ");
+        String value = scanner.nextLine().trim();
+        if (value.isEmpty()) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.loadtesting.phase1;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AutoLoadX TLS Test Server
+ * Local HTTPS stand-in for measuring handshake cost without touching a real
+ * service: {@code TlsTestServerApp [port] [response delay ms]}. It creates a
+ * throwaway self-signed certificate for localhost with the JDK's keytool, so
+ * point the load test at {@code https://localhost:<port>/} and answer yes to
+ * trusting self-signed certificates.
+ */
+public class TlsTestServerApp {
+    private static final char[] PASSWORD = "autoloadx".toCharArray();
+    private static final byte[] BODY = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+    
+    public static void main(String[] args) throws Exception {
+        int port = args.length >= 1 ? Integer.parseInt(args[0]) : 8443;
+        long delayMs = args.length >= 2 ? Long.parseLong(args[1]) : 0;
+        
+        Path keyStore = createSelfSignedKeyStore();
+        HttpsServer server = HttpsServer.create(new InetSocketAddress(port), 1024);
+        server.setHttpsConfigurator(new HttpsConfigurator(loadContext(keyStore)));
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            if (delayMs > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2)));
+        server.start();
+        
+        System.out.println("🔒 TLS test server listening on https://localhost:" + port + "/"
+            + (delayMs > 0 ? " (" + delayMs + " ms per response)" : ""));
+        System.out.println("Self-signed certificate: " + keyStore + " - press Ctrl+C to stop");
+    }
+    
+    private static Path createSelfSignedKeyStore() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("autoloadx-tls");
+        Path keyStore = directory.resolve("server.p12");
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "server", "-keyalg", "EC",
+            "-groupname", "secp256r1", "-validity", "2", "-dname", "CN=localhost",
+            "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-storetype", "PKCS12",
+            "-keystore", keyStore.toString(), "-storepass", new String(PASSWORD))
+            .redirectErrorStream(true)
+            .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) {
+            throw new IOException("keytool failed: " + output.trim());
+        }
+        keyStore.toFile().deleteOnExit();
+        directory.toFile().deleteOnExit();
+        return keyStore;
+    }
+    
+    private static SSLContext loadContext(Path keyStorePath) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStorePath)) {
+            keyStore.load(in, PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+        return context;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.loadtesting.phase1.data;
+
+import java.util.Map;
+
+/**
+ * Phase 1: Access Log Entry
+ * One request recovered from an access log line
+ */
+public class AccessLogEntry {
+    private final long timestampMillis;
+    private final String client;
+    private final String method;
+    private final String target;
+    private final Map<String, String> headers;
+    private final String body;
+    
+    public AccessLogEntry(long timestampMillis, String client, String method, String target,
+                          Map<String, String> headers, String body) {
+        this.timestampMillis = timestampMillis;
+        this.client = client;
+        this.method = method;
+        this.target = target;
+        this.headers = headers;
+        this.body = body;
+    }
+    
+    /** Epoch milliseconds of the original request */
+    public long getTimestampMillis() { return timestampMillis; }
+    /** Remote address or client id, or null when the log has none */
+    public String getClient() { return client; }
+    public String getMethod() { return method; }
+    /** Path and query as logged */
+    public String getTarget() { return target; }
+    /** Extra request headers (JSONL only); may be empty, never null */
+    public Map<String, String> getHeaders() { return headers; }
+    /** Request body (JSONL only), or null */
+    public String getBody() { return body; }
+}
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.loadtesting.phase1.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Phase 1: Access Log Reader
+ * Streams requests out of an access log through the memory-mapped line
+ * reader. Lines in Common/Combined Log Format and JSONL objects may be mixed;
+ * lines that cannot be turned into a request are skipped and counted.
+ * Not thread-safe: one reader per parsing thread.
+ */
+public class AccessLogReader implements Closeable {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final String[] TIMESTAMP_FIELDS = {"timestamp", "@timestamp", "time", "ts"};
+    private static final String[] TARGET_FIELDS = {"path", "uri", "url", "request_uri"};
+    private static final String[] CLIENT_FIELDS = {"client", "ip", "remote_addr", "remote_ip"};
+    
+    private final MappedLineReader reader;
+    private final MappedLineReader.LineCursor cursor;
+    private long skippedLines;
+    
+    public AccessLogReader(Path file) throws IOException {
+        this.reader = new MappedLineReader(file);
+        this.cursor = new MappedLineReader.LineCursor(0);
+        if (reader.size() == 0) {
+            reader.close();
+            throw new IOException("Access log is empty: " + file);
+        }
+    }
+    
+    /**
+     * Returns the next request in the log, or null at the end of the file.
+     */
+    public AccessLogEntry next() {
+        while (cursor.position < reader.size()) {
+            String line = reader.readLine(cursor);
+            if (line.trim().isEmpty()) continue;
+            AccessLogEntry entry = line.charAt(0) == '{' ? parseJson(line) : parseCommon(line);
+            if (entry != null) return entry;
+            skippedLines++;
+        }
+        return null;
+    }
+    
+    /** Starts over from the first line */
+    public void rewind() {
+        cursor.position = 0;
+    }
+    
+    /** Lines that were not blank but could not be parsed, across all passes */
+    public long getSkippedLines() { return skippedLines; }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    /**
+     * Parses {@code host ident user [10/Oct/2000:13:55:36 -0700] "GET /a HTTP/1.1" 200 ...};
+     * anything after the request line (status, size, referer, agent) is ignored.
+     */
+    static AccessLogEntry parseCommon(String line) {
+        int space = line.indexOf(' ');
+        int open = line.indexOf('[');
+        int close = open >= 0 ? line.indexOf(']', open) : -1;
+        int quote = close >= 0 ? line.indexOf('"', close) : -1;
+        int endQuote = quote >= 0 ? line.indexOf('"', quote + 1) : -1;
+        if (space <= 0 || endQuote < 0) return null;
+        
+        long timestamp = parseCommonTimestamp(line, open + 1, close);
+        if (timestamp < 0) return null;
+        
+        String[] request = line.substring(quote + 1, endQuote).split(" ");
+        if (request.length < 2 || request[0].isEmpty()) return null;
+        String target = normalizeTarget(request[1]);
+        if (target == null) return null;
+        return new AccessLogEntry(timestamp, line.substring(0, space), request[0], target, Collections.emptyMap(), null);
+    }
+    
+    /**
+     * Parses {@code dd/MMM/yyyy:HH:mm:ss +hhmm} without a formatter, which would
+     * dominate parsing time.
+     */
+    static long parseCommonTimestamp(String text, int start, int end) {
+        if (end - start != 26 || text.charAt(start + 2) != '/' || text.charAt(start + 6) != '/') return -1;
+        int month = -1;
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (text.regionMatches(start + 3, MONTHS[i], 0, 3)) {
+                month = i + 1;
+                break;
+            }
+        }
+        int day = digits(text, start, 2);
+        int year = digits(text, start + 7, 4);
+        int hour = digits(text, start + 12, 2);
+        int minute = digits(text, start + 15, 2);
+        int second = digits(text, start + 18, 2);
+        int offsetHours = digits(text, start + 22, 2);
+        int offsetMinutes = digits(text, start + 24, 2);
+        char sign = text.charAt(start + 21);
+        if (month < 0 || day < 1 || day > 31 || year < 0 || hour < 0 || minute < 0 || second < 0
+                || offsetHours < 0 || offsetMinutes < 0 || (sign != '+' && sign != '-')) {
+            return -1;
+        }
+        
+        long offsetSeconds = (sign == '-' ? -1 : 1) * (offsetHours * 3600L + offsetMinutes * 60L);
+        long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+        return (epochDay * 86400 + hour * 3600L + minute * 60L + second - offsetSeconds) * 1000;
+    }
+    
+    static AccessLogEntry parseJson(String line) {
+        JsonNode node;
+        try {
+            node = JSON.readTree(line);
+        } catch (IOException e) {
+            return null;
+        }
+        if (node == null || !node.isObject()) return null;
+        
+        long timestamp = parseJsonTimestamp(field(node, TIMESTAMP_FIELDS));
+        if (timestamp < 0) return null;
+        
+        String method = node.hasNonNull("method") ? node.get("method").asText() : null;
+        JsonNode targetNode = field(node, TARGET_FIELDS);
+        String target = targetNode != null ? targetNode.asText() : null;
+        if ((method == null || target == null) && node.hasNonNull("request")) {
+            // Request line as logged, e.g. "GET /a HTTP/1.1"
+            String[] request = node.get("request").asText().split(" ");
+            if (request.length >= 2) {
+                if (method == null) method = request[0];
+                if (target == null) target = request[1];
+            }
+        }
+        target = target != null ? normalizeTarget(target) : null;
+        if (target == null) return null;
+        
+        Map<String, String> headers = Collections.emptyMap();
+        JsonNode headerNode = node.get("headers");
+        if (headerNode != null && headerNode.isObject()) {
+            headers = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = headerNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> header = fields.next();
+                headers.put(header.getKey(), header.getValue().asText());
+            }
+        }
+        
+        JsonNode client = field(node, CLIENT_FIELDS);
+        JsonNode body = node.get("body");
+        return new AccessLogEntry(timestamp, client != null ? client.asText() : null,
+            method != null && !method.isEmpty() ? method.toUpperCase() : "GET", target, headers,
+            body == null || body.isNull() ? null : body.isValueNode() ? body.asText() : body.toString());
+    }
+    
+    /**
+     * Epoch seconds (fractional allowed) or milliseconds, ISO-8601, or the
+     * Common Log Format date; returns -1 when unrecognized.
+     */
+    static long parseJsonTimestamp(JsonNode value) {
+        if (value == null || value.isNull()) return -1;
+        if (value.isNumber()) {
+            return toEpochMillis(value.asDouble());
+        }
+        String text = value.asText().trim();
+        try {
+            return toEpochMillis(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            // Not numeric
+        }
+        try {
+            return Instant.parse(text).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Not UTC ISO-8601
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Not ISO-8601 with an offset
+        }
+        return parseCommonTimestamp(text, 0, text.length());
+    }
+    
+    private static long toEpochMillis(double value) {
+        if (value < 0) return -1;
+        // Anything below ~1973 in milliseconds is taken to be seconds
+        return value < 1e11 ? (long) (value * 1000) : (long) value;
+    }
+    
+    /**
+     * Reduces absolute URLs to their path and query; returns null for targets
+     * that are not origin-form, like {@code *} or CONNECT authorities.
+     */
+    private static String normalizeTarget(String target) {
+        if (target.startsWith("http://") || target.startsWith("https://")) {
+            int slash = target.indexOf('/', target.indexOf("//") + 2);
+            return slash >= 0 ? target.substring(slash) : "/";
+        }
+        return target.startsWith("/") ? target : null;
+    }
+    
+    private static JsonNode field(JsonNode node, String[] names) {
+        for (String name : names) {
+            JsonNode value = node.get(name);
+            if (value != null && !value.isNull()) return value;
+        }
+        return null;
+    }
+    
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
\ No newline at end of file
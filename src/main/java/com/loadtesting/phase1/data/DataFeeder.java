@@ -0,0 +1,221 @@
+package com.loadtesting.phase1.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loadtesting.phase1.model.FeederStrategy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Phase 1: Data Feeder
+ * Supplies per-request parameter records from large CSV (with header row) or
+ * JSONL files, streamed through a memory-mapped reader instead of being
+ * loaded into the heap. Records are positional arrays indexed by column.
+ */
+public class DataFeeder implements Closeable {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    
+    private final MappedLineReader reader;
+    private final FeederStrategy strategy;
+    private final boolean json;
+    private final String[] columns;
+    private final long dataStart;
+    private final long dataEnd;
+    
+    // CIRCULAR state
+    private final MappedLineReader.LineCursor sharedCursor;
+    
+    // UNIQUE_PER_USER state, one slice per user; each user only touches its own slot
+    private final long[] sliceStarts;
+    private final long[] sliceEnds;
+    private final MappedLineReader.LineCursor[] userCursors;
+    
+    public DataFeeder(Path file, FeederStrategy strategy, int userSlots) throws IOException {
+        this.reader = new MappedLineReader(file);
+        this.strategy = strategy;
+        this.json = file.getFileName().toString().toLowerCase().endsWith(".jsonl");
+        
+        MappedLineReader.LineCursor headerCursor = new MappedLineReader.LineCursor(0);
+        if (reader.size() == 0) {
+            reader.close();
+            throw new IOException("Feeder file is empty: " + file);
+        }
+        String firstLine = reader.readLine(headerCursor);
+        if (json) {
+            this.columns = jsonFieldNames(firstLine);
+            this.dataStart = 0;
+        } else {
+            this.columns = splitCsv(firstLine).toArray(new String[0]);
+            this.dataStart = headerCursor.position;
+        }
+        this.dataEnd = reader.size();
+        if (dataStart >= dataEnd) {
+            reader.close();
+            throw new IOException("Feeder file has no data records: " + file);
+        }
+        
+        this.sharedCursor = new MappedLineReader.LineCursor(dataStart);
+        if (strategy == FeederStrategy.UNIQUE_PER_USER) {
+            int slots = Math.max(1, userSlots);
+            this.sliceStarts = new long[slots];
+            this.sliceEnds = new long[slots];
+            this.userCursors = new MappedLineReader.LineCursor[slots];
+            planSlices(slots);
+        } else {
+            this.sliceStarts = null;
+            this.sliceEnds = null;
+            this.userCursors = null;
+        }
+    }
+    
+    /**
+     * Returns the next record for the given user, positionally matching {@link #getColumns()}.
+     */
+    public String[] next(int userId) {
+        switch (strategy) {
+            case RANDOM:
+                return parse(readRandomLine());
+            case UNIQUE_PER_USER:
+                return parse(readUserLine(userId % userCursors.length));
+            default:
+                return parse(readSharedLine());
+        }
+    }
+    
+    public int columnIndex(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(name)) return i;
+        }
+        return -1;
+    }
+    
+    public String[] getColumns() { return columns; }
+    public FeederStrategy getStrategy() { return strategy; }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private synchronized String readSharedLine() {
+        if (sharedCursor.position >= dataEnd) {
+            sharedCursor.position = dataStart;
+        }
+        return reader.readLine(sharedCursor);
+    }
+    
+    private String readRandomLine() {
+        long offset = ThreadLocalRandom.current().nextLong(dataStart, dataEnd);
+        long lineStart = Math.max(dataStart, reader.alignToLineStart(offset));
+        MappedLineReader.LineCursor cursor = new MappedLineReader.LineCursor(lineStart >= dataEnd ? dataStart : lineStart);
+        return reader.readLine(cursor);
+    }
+    
+    private String readUserLine(int slot) {
+        MappedLineReader.LineCursor cursor = userCursors[slot];
+        if (cursor.position >= sliceEnds[slot]) {
+            cursor.position = sliceStarts[slot];
+        }
+        return reader.readLine(cursor);
+    }
+    
+    private void planSlices(int slots) {
+        long length = dataEnd - dataStart;
+        List<Integer> nonEmpty = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            sliceStarts[i] = Math.max(dataStart, reader.alignToLineStart(dataStart + length * i / slots));
+            sliceEnds[i] = Math.max(dataStart, reader.alignToLineStart(dataStart + length * (i + 1) / slots));
+            if (sliceStarts[i] < sliceEnds[i]) nonEmpty.add(i);
+        }
+        
+        int shared = slots - nonEmpty.size();
+        for (int i = 0; i < slots; i++) {
+            if (sliceStarts[i] >= sliceEnds[i]) {
+                // Fewer records than users: borrow another user's slice
+                int donor = nonEmpty.get(i % nonEmpty.size());
+                sliceStarts[i] = sliceStarts[donor];
+                sliceEnds[i] = sliceEnds[donor];
+            }
+            userCursors[i] = new MappedLineReader.LineCursor(sliceStarts[i]);
+        }
+        if (shared > 0) {
+            System.out.println("WARNING: Feeder has fewer records than users; " + shared + " users share records");
+        }
+    }
+    
+    private String[] parse(String line) {
+        if (json) {
+            return parseJson(line);
+        }
+        List<String> values = splitCsv(line);
+        String[] record = new String[columns.length];
+        for (int i = 0; i < record.length && i < values.size(); i++) {
+            record[i] = values.get(i);
+        }
+        return record;
+    }
+    
+    private String[] parseJson(String line) {
+        String[] record = new String[columns.length];
+        try {
+            JsonNode node = JSON.readTree(line);
+            for (int i = 0; i < columns.length; i++) {
+                JsonNode value = node.get(columns[i]);
+                if (value != null && !value.isNull()) {
+                    record[i] = value.isValueNode() ? value.asText() : value.toString();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Malformed JSONL feeder record: " + line, e);
+        }
+        return record;
+    }
+    
+    private static String[] jsonFieldNames(String line) throws IOException {
+        JsonNode node = JSON.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IOException("JSONL feeder records must be JSON objects");
+        }
+        List<String> names = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            names.add(fields.next().getKey());
+        }
+        return names.toArray(new String[0]);
+    }
+    
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.loadtesting.phase1.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Phase 1: Memory-Mapped Line Reader
+ * Streams lines out of arbitrarily large files through lazily mapped,
+ * fixed-size windows. Each window overlaps the next by the maximum line
+ * length, so any line starting inside a window can be read from it alone.
+ * Reads use absolute offsets only and are safe from many threads.
+ */
+public class MappedLineReader implements Closeable {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+    
+    private final FileChannel channel;
+    private final long size;
+    private final AtomicReferenceArray<MappedByteBuffer> windows;
+    
+    public MappedLineReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windows = new AtomicReferenceArray<>((int) (size / WINDOW_SIZE) + 1);
+    }
+    
+    /**
+     * Reads the line starting at the given offset and returns the offset of the
+     * following line through {@code cursor}. Trailing carriage returns are dropped.
+     */
+    public String readLine(LineCursor cursor) {
+        long offset = cursor.position;
+        MappedByteBuffer window = windowFor(offset);
+        int start = (int) (offset - windowStart(offset));
+        int limit = window.limit();
+        
+        int end = start;
+        while (end < limit && window.get(end) != '\n') {
+            end++;
+        }
+        if (end == limit && windowStart(offset) + limit < size) {
+            throw new IllegalStateException("Line at offset " + offset + " exceeds " + MAX_LINE_LENGTH + " bytes");
+        }
+        cursor.position = windowStart(offset) + Math.min(end + 1, limit);
+        
+        int length = end - start;
+        if (length > 0 && window.get(end - 1) == '\r') length--;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = window.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Returns the offset of the first line starting at or after {@code offset}.
+     */
+    public long alignToLineStart(long offset) {
+        if (offset <= 0) return 0;
+        long position = offset;
+        // A line starts right after a newline
+        while (position < size && byteAt(position - 1) != '\n') {
+            position++;
+        }
+        return position;
+    }
+    
+    public long size() { return size; }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private byte byteAt(long offset) {
+        return windowFor(offset).get((int) (offset - windowStart(offset)));
+    }
+    
+    private long windowStart(long offset) {
+        return (offset / WINDOW_SIZE) * WINDOW_SIZE;
+    }
+    
+    private MappedByteBuffer windowFor(long offset) {
+        int index = (int) (offset / WINDOW_SIZE);
+        MappedByteBuffer window = windows.get(index);
+        if (window == null) {
+            long start = index * WINDOW_SIZE;
+            long length = Math.min(WINDOW_SIZE + MAX_LINE_LENGTH, size - start);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to map feeder file window at " + start, e);
+            }
+            if (!windows.compareAndSet(index, null, window)) {
+                window = windows.get(index);
+            }
+        }
+        return window;
+    }
+    
+    /**
+     * Mutable read position; each reader thread or user keeps its own.
+     */
+    public static class LineCursor {
+        public long position;
+        
+        public LineCursor(long position) {
+            this.position = position;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,336 @@
+package com.loadtesting.phase1.data;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.loadtesting.phase1.model.ErrorType;
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.PerformanceMetrics;
+import com.loadtesting.phase1.model.RequestResult;
+import com.loadtesting.phase1.model.TestConfiguration;
+import com.loadtesting.phase1.model.TransportConfiguration;
+import com.loadtesting.phase1.model.UserStats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase 1: Result Exporter
+ * Writes a finished run to JSON or CSV for use outside AutoLoadX: summary,
+ * per-endpoint summaries, per-interval series, the latency histogram and,
+ * optionally, every retained request. Everything is written as it is read,
+ * through Jackson's streaming generator for JSON and a buffered writer for
+ * CSV, so exporting adds no memory per request. The requests themselves are
+ * the run's in-memory list, which grows with the length of a non-soak run;
+ * runs too long to keep every request belong in soak mode, which keeps none.
+ * Histograms are written sparsely as [lower bound, upper bound, count] in
+ * microseconds.
+ */
+public class ResultExporter {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int BUFFER_CHARS = 1 << 16;
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+    
+    /**
+     * @param includeRawResults also write every retained request (none in soak mode)
+     */
+    public void exportJson(TestConfiguration config, PerformanceMetrics metrics, Path file, boolean includeRawResults)
+            throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+             JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            
+            json.writeObjectFieldStart("configuration");
+            json.writeStringField("endpoint", config.getApiEndpoint());
+            json.writeStringField("method", config.getHttpMethod());
+            json.writeNumberField("concurrentUsers", config.getConcurrentUsers());
+            json.writeNumberField("durationSeconds", config.getTestDurationSeconds());
+            json.writeNumberField("rampUpSeconds", config.getRampUpSeconds());
+            json.writeNumberField("warmUpSeconds", config.getWarmUpSeconds());
+            // A plan without a transport block runs on the defaults
+            TransportConfiguration transport = config.getTransport() != null ? config.getTransport() : new TransportConfiguration();
+            json.writeStringField("protocol", transport.getProtocol().name());
+            json.writeEndObject();
+            
+            json.writeFieldName("summary");
+            writeJsonSummary(json, metrics);
+            json.writeObjectFieldStart("cutoff");
+            json.writeBooleanField("cancelled", metrics.isCancelled());
+            json.writeNumberField("drainedRequests", metrics.getDrainedRequests());
+            json.writeNumberField("abandonedRequests", metrics.getAbandonedRequests());
+            json.writeEndObject();
+            
+            json.writeObjectFieldStart("endpoints");
+            for (Map.Entry<String, PerformanceMetrics> endpoint : metrics.getEndpointMetrics().entrySet()) {
+                json.writeFieldName(endpoint.getKey());
+                writeJsonSummary(json, endpoint.getValue());
+            }
+            json.writeEndObject();
+            
+            if (metrics.getUserStats() != null) {
+                writeJsonUsers(json, metrics.getUserStats());
+            }
+            
+            json.writeArrayFieldStart("intervals");
+            for (IntervalSeries.Interval interval : metrics.getMeasuredIntervals()) {
+                json.writeStartObject();
+                json.writeNumberField("offsetMs", (interval.getStartNanos() - metrics.getIntervalSeries().getStartNanos()) / 1_000_000);
+                json.writeNumberField("durationMs", (interval.getEndNanos() - interval.getStartNanos()) / 1_000_000);
+                json.writeNumberField("requests", interval.getRequests());
+                json.writeNumberField("errors", interval.getErrors());
+                json.writeNumberField("throughputPerSecond", interval.getThroughputPerSecond());
+                json.writeNumberField("meanMs", interval.getMeanMs());
+                json.writeNumberField("p50Ms", interval.getPercentileMs(50));
+                json.writeNumberField("p99Ms", interval.getPercentileMs(99));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            
+            json.writeFieldName("histogram");
+            writeJsonHistogram(json, metrics.getResponseTimeHistogram());
+            if (metrics.isCoordinatedOmissionCorrected()) {
+                json.writeFieldName("correctedHistogram");
+                writeJsonHistogram(json, metrics.getCorrectedResponseTimeHistogram());
+            }
+            
+            if (includeRawResults) {
+                long baseNanos = metrics.getMeasurementStartNanos();
+                json.writeArrayFieldStart("results");
+                List<RequestResult> results = metrics.getRequestResults();
+                synchronized (results) {
+                    for (RequestResult result : results) {
+                        json.writeStartObject();
+                        json.writeNumberField("offsetMicros", (result.getStartNanos() - baseNanos) / 1000);
+                        json.writeNumberField("responseTimeMicros", result.getResponseTimeMicros());
+                        json.writeNumberField("statusCode", result.getStatusCode());
+                        json.writeBooleanField("success", result.isSuccess());
+                        json.writeNumberField("user", result.getThreadId());
+                        if (result.getEndpoint() != null) json.writeStringField("endpoint", result.getEndpoint());
+                        if (result.getErrorType() != null) json.writeStringField("errorType", result.getErrorType().name());
+                        if (result.getErrorMessage() != null) json.writeStringField("error", result.getErrorMessage());
+                        json.writeEndObject();
+                    }
+                }
+                json.writeEndArray();
+            }
+            
+            json.writeEndObject();
+        }
+    }
+    
+    /**
+     * Writes {@code <baseName>-summary.csv}, {@code -intervals.csv},
+     * {@code -histogram.csv} and, when asked, {@code -results.csv} into the directory.
+     *
+     * @return the files written
+     */
+    public List<Path> exportCsv(PerformanceMetrics metrics, Path directory, String baseName, boolean includeRawResults)
+            throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        
+        Path summaryFile = directory.resolve(baseName + "-summary.csv");
+        try (Writer out = newWriter(summaryFile)) {
+            out.write("scope,requests,successful,failed,connection_errors,http_errors,assertion_errors,error_rate_percent,"
+                + "throughput_per_second,min_ms,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,p99_9_ms,max_ms\n");
+            writeCsvSummary(out, "overall", metrics);
+            for (Map.Entry<String, PerformanceMetrics> endpoint : metrics.getEndpointMetrics().entrySet()) {
+                writeCsvSummary(out, endpoint.getKey(), endpoint.getValue());
+            }
+        }
+        files.add(summaryFile);
+        
+        Path intervalsFile = directory.resolve(baseName + "-intervals.csv");
+        try (Writer out = newWriter(intervalsFile)) {
+            out.write("offset_ms,duration_ms,requests,errors,throughput_per_second,mean_ms,p50_ms,p99_ms\n");
+            StringBuilder row = new StringBuilder(128);
+            for (IntervalSeries.Interval interval : metrics.getMeasuredIntervals()) {
+                row.setLength(0);
+                row.append((interval.getStartNanos() - metrics.getIntervalSeries().getStartNanos()) / 1_000_000).append(',')
+                    .append((interval.getEndNanos() - interval.getStartNanos()) / 1_000_000).append(',')
+                    .append(interval.getRequests()).append(',')
+                    .append(interval.getErrors()).append(',')
+                    .append(interval.getThroughputPerSecond()).append(',')
+                    .append(interval.getMeanMs()).append(',')
+                    .append(interval.getPercentileMs(50)).append(',')
+                    .append(interval.getPercentileMs(99)).append('\n');
+                out.append(row);
+            }
+        }
+        files.add(intervalsFile);
+        
+        Path histogramFile = directory.resolve(baseName + "-histogram.csv");
+        try (Writer out = newWriter(histogramFile)) {
+            out.write("histogram,lower_micros,upper_micros,count\n");
+            writeCsvHistogram(out, "response_time", metrics.getResponseTimeHistogram());
+            if (metrics.isCoordinatedOmissionCorrected()) {
+                writeCsvHistogram(out, "corrected_response_time", metrics.getCorrectedResponseTimeHistogram());
+            }
+        }
+        files.add(histogramFile);
+        
+        if (includeRawResults) {
+            Path resultsFile = directory.resolve(baseName + "-results.csv");
+            long baseNanos = metrics.getMeasurementStartNanos();
+            try (Writer out = newWriter(resultsFile)) {
+                out.write("offset_micros,response_time_micros,status_code,success,user,endpoint,error_type,error\n");
+                StringBuilder row = new StringBuilder(256);
+                List<RequestResult> results = metrics.getRequestResults();
+                synchronized (results) {
+                    for (RequestResult result : results) {
+                        row.setLength(0);
+                        row.append((result.getStartNanos() - baseNanos) / 1000).append(',')
+                            .append(result.getResponseTimeMicros()).append(',')
+                            .append(result.getStatusCode()).append(',')
+                            .append(result.isSuccess()).append(',')
+                            .append(result.getThreadId()).append(',');
+                        appendCsvField(row, result.getEndpoint());
+                        row.append(',');
+                        appendCsvField(row, result.getErrorType() != null ? result.getErrorType().name() : null);
+                        row.append(',');
+                        appendCsvField(row, result.getErrorMessage());
+                        row.append('\n');
+                        out.append(row);
+                    }
+                }
+            }
+            files.add(resultsFile);
+        }
+        return files;
+    }
+    
+    private static void writeJsonSummary(JsonGenerator json, PerformanceMetrics metrics) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("totalRequests", metrics.getTotalRequests());
+        json.writeNumberField("successfulRequests", metrics.getSuccessfulRequests());
+        json.writeNumberField("failedRequests", metrics.getFailedRequests());
+        json.writeObjectFieldStart("errors");
+        for (ErrorType type : ErrorType.values()) {
+            json.writeNumberField(type.name(), metrics.getErrorCount(type));
+        }
+        json.writeEndObject();
+        json.writeNumberField("errorRatePercent", metrics.getErrorRate());
+        json.writeNumberField("throughputPerSecond", metrics.getThroughputPerSecond());
+        json.writeNumberField("measuredSeconds", metrics.getMeasuredDurationSeconds());
+        json.writeNumberField("minMs", metrics.getTotalRequests() > 0 ? metrics.getMinResponseTime() : 0);
+        json.writeNumberField("meanMs", metrics.getAverageResponseTime());
+        json.writeNumberField("maxMs", metrics.getMaxResponseTime());
+        json.writeObjectFieldStart("percentilesMs");
+        for (double percentile : PERCENTILES) {
+            json.writeNumberField("p" + formatPercentile(percentile), metrics.getPercentileResponseTime(percentile));
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+    
+    private static void writeJsonUsers(JsonGenerator json, UserStats users) throws IOException {
+        json.writeObjectFieldStart("users");
+        json.writeNumberField("jainIndex", users.getJainIndex());
+        json.writeArrayFieldStart("starved");
+        for (int user : users.getStarvedUsers()) {
+            json.writeNumber(user);
+        }
+        json.writeEndArray();
+        // One [requests, errors, mean ms, max ms] row per user id
+        json.writeArrayFieldStart("perUser");
+        for (int user = 0; user < users.getUserCount(); user++) {
+            json.writeStartArray();
+            json.writeNumber(users.getRequests(user));
+            json.writeNumber(users.getErrors(user));
+            json.writeNumber(users.getMeanLatencyMs(user));
+            json.writeNumber(users.getMaxLatencyMicros(user) / 1000.0);
+            json.writeEndArray();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+    
+    private static void writeJsonHistogram(JsonGenerator json, LatencyHistogram histogram) throws IOException {
+        json.writeStartArray();
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long count = histogram.getCountAtBucket(i);
+            if (count == 0) continue;
+            json.writeStartArray();
+            json.writeNumber(LatencyHistogram.bucketLowerBound(i));
+            json.writeNumber(LatencyHistogram.bucketUpperBound(i));
+            json.writeNumber(count);
+            json.writeEndArray();
+        }
+        json.writeEndArray();
+    }
+    
+    private static void writeCsvSummary(Writer out, String scope, PerformanceMetrics metrics) throws IOException {
+        StringBuilder row = new StringBuilder(256);
+        appendCsvField(row, scope);
+        row.append(',').append(metrics.getTotalRequests())
+            .append(',').append(metrics.getSuccessfulRequests())
+            .append(',').append(metrics.getFailedRequests())
+            .append(',').append(metrics.getErrorCount(ErrorType.CONNECTION))
+            .append(',').append(metrics.getErrorCount(ErrorType.HTTP_STATUS))
+            .append(',').append(metrics.getErrorCount(ErrorType.ASSERTION))
+            .append(',').append(metrics.getErrorRate())
+            .append(',').append(metrics.getThroughputPerSecond())
+            .append(',').append(metrics.getTotalRequests() > 0 ? metrics.getMinResponseTime() : 0)
+            .append(',').append(metrics.getAverageResponseTime());
+        for (double percentile : PERCENTILES) {
+            row.append(',').append(metrics.getPercentileResponseTime(percentile));
+        }
+        row.append(',').append(metrics.getMaxResponseTime()).append('\n');
+        out.append(row);
+    }
+    
+    private static void writeCsvHistogram(Writer out, String name, LatencyHistogram histogram) throws IOException {
+        StringBuilder row = new StringBuilder(64);
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long count = histogram.getCountAtBucket(i);
+            if (count == 0) continue;
+            row.setLength(0);
+            row.append(name).append(',')
+                .append(LatencyHistogram.bucketLowerBound(i)).append(',')
+                .append(LatencyHistogram.bucketUpperBound(i)).append(',')
+                .append(count).append('\n');
+            out.append(row);
+        }
+    }
+    
+    /**
+     * Quotes only when needed (RFC 4180), so typical rows stay copy-free.
+     */
+    private static void appendCsvField(StringBuilder row, String value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') row.append('"');
+            row.append(c);
+        }
+        row.append('"');
+    }
+    
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile).replace('.', '_');
+    }
+    
+    private static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_CHARS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,576 @@
+package com.loadtesting.phase1.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loadtesting.phase1.model.EndpointConfiguration;
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.PerformanceMetrics;
+import com.loadtesting.phase1.model.RunSummary;
+import com.loadtesting.phase1.model.ScalabilityPoint;
+import com.loadtesting.phase1.model.StoredRun;
+import com.loadtesting.phase1.model.TestConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Phase 1: Run Store
+ * Embedded, append-only history of finished runs. {@code runs.dat} holds one
+ * binary record per run: summary, configuration, sparse latency histograms,
+ * the per-interval aggregates column by column, and scalability points.
+ * {@code runs.idx} holds one small entry per run (its summary and the record's
+ * offset) and is read into memory on open, so listings and cross-run trends
+ * never touch the data file and loading a run is a single positional read.
+ * Every record is framed with a length and a CRC: a torn write at the end of
+ * either file is cut off on open, and index entries lost in a crash between
+ * the two writes are rebuilt from the data file. An open store holds a lock
+ * on the data file, so a second store on the same directory, in this process
+ * or another, fails to open instead of interleaving records with it.
+ */
+public class RunStore implements Closeable {
+    private static final int DATA_MAGIC = 0x414C5852;
+    private static final int INDEX_MAGIC = 0x414C5849;
+    private static final int FRAME_HEADER_BYTES = 12;
+    private static final int FORMAT_VERSION = 1;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    
+    private final Path directory;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final Map<Long, IndexEntry> byRunId;
+    // Each list sorted by start time
+    private final Map<String, List<IndexEntry>> byEndpoint;
+    private long nextRunId;
+    
+    public RunStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.byRunId = new TreeMap<>();
+        this.byEndpoint = new HashMap<>();
+        this.nextRunId = 1;
+        this.data = FileChannel.open(directory.resolve("runs.dat"),
+            StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        FileChannel indexChannel = null;
+        try {
+            indexChannel = FileChannel.open(directory.resolve("runs.idx"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        } finally {
+            if (indexChannel == null) data.close();
+        }
+        this.index = indexChannel;
+        try {
+            lock();
+            loadIndex();
+            recoverUnindexedRuns();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Held until the channels close; two stores appending at once would write
+     * frames at the same offset and hand out the same run ids.
+     */
+    private void lock() throws IOException {
+        FileLock lock;
+        try {
+            lock = data.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("Run store " + directory + " is already open in another process or window");
+        }
+    }
+    
+    /**
+     * {@code -Dautoloadx.runStore=<dir>} or {@code ~/.autoloadx/runs}.
+     */
+    public static Path defaultDirectory() {
+        String configured = System.getProperty("autoloadx.runStore");
+        return configured != null && !configured.trim().isEmpty()
+            ? Paths.get(configured.trim())
+            : Paths.get(System.getProperty("user.home"), ".autoloadx", "runs");
+    }
+    
+    public synchronized RunSummary append(TestConfiguration config, PerformanceMetrics metrics) throws IOException {
+        return append(RunSummary.Kind.LOAD_TEST, config, metrics, Collections.emptyList());
+    }
+    
+    /**
+     * Stores a scalability test as one run: the summary and histograms are
+     * those of {@code peak}, every level is kept as a point.
+     */
+    public synchronized RunSummary appendScalabilityTest(TestConfiguration config, PerformanceMetrics peak,
+                                                         List<ScalabilityPoint> points) throws IOException {
+        return append(RunSummary.Kind.SCALABILITY, config, peak, points);
+    }
+    
+    /**
+     * Runs against the endpoint that started within [from, to), oldest first;
+     * a null endpoint matches all. Answered from the index alone.
+     */
+    public synchronized List<RunSummary> find(String endpoint, long fromEpochMillis, long toEpochMillis) {
+        List<IndexEntry> candidates;
+        if (endpoint != null) {
+            candidates = byEndpoint.getOrDefault(endpoint, Collections.emptyList());
+        } else {
+            candidates = new ArrayList<>(byRunId.values());
+            candidates.sort(Comparator.comparingLong(entry -> entry.summary.getStartEpochMillis()));
+        }
+        int from = lowerBound(candidates, fromEpochMillis);
+        int to = lowerBound(candidates, toEpochMillis);
+        List<RunSummary> runs = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            runs.add(candidates.get(i).summary);
+        }
+        return runs;
+    }
+    
+    /**
+     * The most recent {@code limit} runs against the endpoint, oldest first.
+     */
+    public synchronized List<RunSummary> history(String endpoint, int limit) {
+        List<IndexEntry> runs = byEndpoint.getOrDefault(endpoint, Collections.emptyList());
+        return runs.subList(Math.max(0, runs.size() - limit), runs.size()).stream()
+            .map(entry -> entry.summary)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Reads one run back in full; null when no run has that id.
+     */
+    public synchronized StoredRun load(long runId) throws IOException {
+        IndexEntry entry = byRunId.get(runId);
+        if (entry == null) return null;
+        ByteBuffer payload = readFrame(data, entry.offset, DATA_MAGIC);
+        if (payload == null) {
+            throw new IOException("Run " + runId + " is damaged in " + directory.resolve("runs.dat"));
+        }
+        return decodeRun(new DataInputStream(new ByteArrayInputStream(payload.array())));
+    }
+    
+    public synchronized RunSummary getSummary(long runId) {
+        IndexEntry entry = byRunId.get(runId);
+        return entry != null ? entry.summary : null;
+    }
+    
+    public synchronized List<String> getEndpoints() {
+        List<String> endpoints = new ArrayList<>(byEndpoint.keySet());
+        Collections.sort(endpoints);
+        return endpoints;
+    }
+    
+    public synchronized int size() { return byRunId.size(); }
+    public Path getDirectory() { return directory; }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            data.close();
+        } finally {
+            index.close();
+        }
+    }
+    
+    /**
+     * The configuration's single endpoint, or its traffic mix as one label.
+     */
+    public static String endpointOf(TestConfiguration config) {
+        if (config.hasTrafficMix() && !config.isReplay()) {
+            return "mix: " + config.getTrafficMix().stream()
+                .map(EndpointConfiguration::getName)
+                .collect(Collectors.joining(", "));
+        }
+        return config.getApiEndpoint();
+    }
+    
+    private RunSummary append(RunSummary.Kind kind, TestConfiguration config, PerformanceMetrics metrics,
+                              List<ScalabilityPoint> points) throws IOException {
+        RunSummary summary = summarize(nextRunId, kind, config, metrics);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        writeSummary(out, summary);
+        writeBytes(out, JSON.writeValueAsBytes(config));
+        writeHistogram(out, metrics.getResponseTimeHistogram());
+        writeHistogram(out, metrics.isCoordinatedOmissionCorrected() ? metrics.getCorrectedResponseTimeHistogram() : null);
+        writeIntervals(out, metrics);
+        writePoints(out, points);
+        out.flush();
+        
+        // Data first: a crash before the index write is repaired on the next open
+        long offset = data.size();
+        writeFrame(data, offset, DATA_MAGIC, bytes.toByteArray());
+        data.force(false);
+        
+        IndexEntry entry = new IndexEntry(summary, offset);
+        writeFrame(index, index.size(), INDEX_MAGIC, encodeIndexEntry(entry));
+        index.force(false);
+        addEntry(entry);
+        return summary;
+    }
+    
+    private static RunSummary summarize(long runId, RunSummary.Kind kind, TestConfiguration config,
+                                        PerformanceMetrics metrics) {
+        long startMillis = metrics.getTestStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new RunSummary(runId, kind, startMillis, endpointOf(config),
+            config.getHttpMethod() != null ? config.getHttpMethod() : "GET", config.getConcurrentUsers(),
+            metrics.getMeasuredDurationSeconds(), metrics.getTotalRequests(), metrics.getErrorRate(),
+            metrics.getThroughputPerSecond(), metrics.getAverageResponseTime(),
+            metrics.getPercentileResponseTime(50), metrics.getPercentileResponseTime(95),
+            metrics.getPercentileResponseTime(99));
+    }
+    
+    // Index
+    
+    private void loadIndex() throws IOException {
+        long position = 0;
+        long dataSize = data.size();
+        while (position < index.size()) {
+            ByteBuffer payload = readFrame(index, position, INDEX_MAGIC);
+            if (payload == null) break;
+            IndexEntry entry = decodeIndexEntry(new DataInputStream(new ByteArrayInputStream(payload.array())));
+            // Entry for a data record that never made it to disk
+            if (entry.offset + FRAME_HEADER_BYTES > dataSize) break;
+            addEntry(entry);
+            position += FRAME_HEADER_BYTES + payload.capacity();
+        }
+        if (position < index.size()) {
+            index.truncate(position);
+        }
+    }
+    
+    private void recoverUnindexedRuns() throws IOException {
+        long position = 0;
+        for (IndexEntry entry : byRunId.values()) {
+            position = Math.max(position, entry.offset);
+        }
+        if (!byRunId.isEmpty()) {
+            ByteBuffer last = readFrame(data, position, DATA_MAGIC);
+            // A damaged indexed run is reported on load; nothing after it can be trusted for recovery
+            if (last == null) return;
+            position += FRAME_HEADER_BYTES + last.capacity();
+        }
+        while (position < data.size()) {
+            ByteBuffer payload = readFrame(data, position, DATA_MAGIC);
+            if (payload == null) {
+                // Torn write of the last run
+                data.truncate(position);
+                break;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+            in.readUnsignedByte();
+            IndexEntry entry = new IndexEntry(readSummary(in), position);
+            writeFrame(index, index.size(), INDEX_MAGIC, encodeIndexEntry(entry));
+            addEntry(entry);
+            position += FRAME_HEADER_BYTES + payload.capacity();
+        }
+        index.force(false);
+    }
+    
+    private void addEntry(IndexEntry entry) {
+        byRunId.put(entry.summary.getRunId(), entry);
+        List<IndexEntry> runs = byEndpoint.computeIfAbsent(entry.summary.getEndpoint(), key -> new ArrayList<>());
+        // Appends are nearly always the newest run, so this is an add at the end
+        runs.add(lowerBound(runs, entry.summary.getStartEpochMillis() + 1), entry);
+        nextRunId = Math.max(nextRunId, entry.summary.getRunId() + 1);
+    }
+    
+    /** First position whose run started at or after the given time */
+    private static int lowerBound(List<IndexEntry> runs, long epochMillis) {
+        int low = 0;
+        int high = runs.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (runs.get(middle).summary.getStartEpochMillis() < epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private static byte[] encodeIndexEntry(IndexEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(entry.offset);
+        writeSummary(out, entry.summary);
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private static IndexEntry decodeIndexEntry(DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        return new IndexEntry(readSummary(in), offset);
+    }
+    
+    // Framing: magic, payload length, CRC32 of the payload, payload
+    
+    private static void writeFrame(FileChannel channel, long position, int magic, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(magic).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        frame.flip();
+        while (frame.hasRemaining()) {
+            position += channel.write(frame, position);
+        }
+    }
+    
+    /**
+     * Returns the payload of the frame at the position, or null when the frame
+     * is truncated or does not check out.
+     */
+    private static ByteBuffer readFrame(FileChannel channel, long position, int magic) throws IOException {
+        if (channel.size() - position < FRAME_HEADER_BYTES) return null;
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        readFully(channel, header, position);
+        header.flip();
+        if (header.getInt() != magic) return null;
+        int length = header.getInt();
+        int expectedCrc = header.getInt();
+        if (length < 0 || length > channel.size() - position - FRAME_HEADER_BYTES) return null;
+        
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, position + FRAME_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        return (int) crc.getValue() == expectedCrc ? payload : null;
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of run store at " + position);
+            position += read;
+        }
+    }
+    
+    // Record encoding
+    
+    private static void writeSummary(DataOutputStream out, RunSummary summary) throws IOException {
+        out.writeLong(summary.getRunId());
+        out.writeByte(summary.getKind().ordinal());
+        out.writeLong(summary.getStartEpochMillis());
+        out.writeUTF(summary.getEndpoint() != null ? summary.getEndpoint() : "");
+        out.writeUTF(summary.getHttpMethod());
+        out.writeInt(summary.getConcurrentUsers());
+        out.writeDouble(summary.getDurationSeconds());
+        out.writeLong(summary.getTotalRequests());
+        out.writeDouble(summary.getErrorRate());
+        out.writeDouble(summary.getThroughputPerSecond());
+        out.writeDouble(summary.getAverageResponseTime());
+        out.writeDouble(summary.getP50ResponseTime());
+        out.writeDouble(summary.getP95ResponseTime());
+        out.writeDouble(summary.getP99ResponseTime());
+    }
+    
+    private static RunSummary readSummary(DataInputStream in) throws IOException {
+        long runId = in.readLong();
+        RunSummary.Kind kind = RunSummary.Kind.values()[in.readUnsignedByte()];
+        long start = in.readLong();
+        String endpoint = in.readUTF();
+        String method = in.readUTF();
+        int users = in.readInt();
+        double duration = in.readDouble();
+        long totalRequests = in.readLong();
+        return new RunSummary(runId, kind, start, endpoint, method, users, duration, totalRequests,
+            in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+    }
+    
+    private StoredRun decodeRun(DataInputStream in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported run record version " + version);
+        }
+        RunSummary summary = readSummary(in);
+        String config = new String(readBytes(in), StandardCharsets.UTF_8);
+        LatencyHistogram histogram = readHistogram(in);
+        LatencyHistogram corrected = readHistogram(in);
+        List<IntervalSeries.Interval> intervals = readIntervals(in);
+        List<ScalabilityPoint> points = readPoints(in);
+        return new StoredRun(summary, config, histogram != null ? histogram : new LatencyHistogram(),
+            corrected, intervals, points);
+    }
+    
+    /**
+     * Non-empty buckets only, as (index gap, count) varint pairs.
+     */
+    private static void writeHistogram(DataOutputStream out, LatencyHistogram histogram) throws IOException {
+        int buckets = 0;
+        if (histogram != null) {
+            for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+                if (histogram.getCountAtBucket(i) > 0) buckets++;
+            }
+        }
+        writeVarLong(out, buckets);
+        if (buckets == 0) return;
+        int previous = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long count = histogram.getCountAtBucket(i);
+            if (count == 0) continue;
+            writeVarLong(out, i - previous);
+            writeVarLong(out, count);
+            previous = i;
+        }
+        writeVarLong(out, histogram.getTotalSum());
+        writeVarLong(out, histogram.getMin());
+        writeVarLong(out, histogram.getMax());
+    }
+    
+    private static LatencyHistogram readHistogram(DataInputStream in) throws IOException {
+        long buckets = readVarLong(in);
+        if (buckets == 0) return null;
+        long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+        int bucket = 0;
+        for (long i = 0; i < buckets; i++) {
+            bucket += (int) readVarLong(in);
+            counts[bucket] = readVarLong(in);
+        }
+        return LatencyHistogram.restore(counts, readVarLong(in), readVarLong(in), readVarLong(in));
+    }
+    
+    /**
+     * The measured window's intervals, one column per field so similar values
+     * sit together: start gaps and widths in milliseconds, request and error
+     * counts, then the histograms.
+     */
+    private static void writeIntervals(DataOutputStream out, PerformanceMetrics metrics) throws IOException {
+        IntervalSeries series = metrics.getIntervalSeries();
+        List<IntervalSeries.Interval> intervals = metrics.getMeasuredIntervals();
+        writeVarLong(out, intervals.size());
+        if (intervals.isEmpty()) return;
+        long base = series.getStartNanos();
+        long previousStart = 0;
+        for (IntervalSeries.Interval interval : intervals) {
+            long start = (interval.getStartNanos() - base) / 1_000_000;
+            writeVarLong(out, start - previousStart);
+            previousStart = start;
+        }
+        for (IntervalSeries.Interval interval : intervals) {
+            writeVarLong(out, (interval.getEndNanos() - interval.getStartNanos()) / 1_000_000);
+        }
+        for (IntervalSeries.Interval interval : intervals) {
+            writeVarLong(out, interval.getRequests());
+        }
+        for (IntervalSeries.Interval interval : intervals) {
+            writeVarLong(out, interval.getErrors());
+        }
+        for (IntervalSeries.Interval interval : intervals) {
+            writeHistogram(out, interval.getHistogram());
+        }
+    }
+    
+    private static List<IntervalSeries.Interval> readIntervals(DataInputStream in) throws IOException {
+        int count = (int) readVarLong(in);
+        long[] starts = new long[count];
+        long[] widths = new long[count];
+        long[] requests = new long[count];
+        long[] errors = new long[count];
+        long start = 0;
+        for (int i = 0; i < count; i++) {
+            start += readVarLong(in);
+            starts[i] = start;
+        }
+        for (int i = 0; i < count; i++) widths[i] = readVarLong(in);
+        for (int i = 0; i < count; i++) requests[i] = readVarLong(in);
+        for (int i = 0; i < count; i++) errors[i] = readVarLong(in);
+        List<IntervalSeries.Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long startNanos = starts[i] * 1_000_000;
+            intervals.add(IntervalSeries.Interval.restore(startNanos, startNanos + widths[i] * 1_000_000,
+                requests[i], errors[i], readHistogram(in)));
+        }
+        return intervals;
+    }
+    
+    private static void writePoints(DataOutputStream out, List<ScalabilityPoint> points) throws IOException {
+        writeVarLong(out, points.size());
+        for (ScalabilityPoint point : points) {
+            writeVarLong(out, point.getUsers());
+            writeVarLong(out, point.getTotalRequests());
+            out.writeDouble(point.getThroughputPerSecond());
+            out.writeDouble(point.getAverageResponseTime());
+            out.writeDouble(point.getP99ResponseTime());
+            out.writeDouble(point.getErrorRate());
+        }
+    }
+    
+    private static List<ScalabilityPoint> readPoints(DataInputStream in) throws IOException {
+        int count = (int) readVarLong(in);
+        List<ScalabilityPoint> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int users = (int) readVarLong(in);
+            long requests = readVarLong(in);
+            points.add(new ScalabilityPoint(users, requests, in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readDouble()));
+        }
+        return points;
+    }
+    
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+    
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+    
+    /** Unsigned LEB128: seven bits per byte, high bit set on all but the last */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint in run store");
+    }
+    
+    private static final class IndexEntry {
+        private final RunSummary summary;
+        private final long offset;
+        
+        private IndexEntry(RunSummary summary, long offset) {
+            this.summary = summary;
+            this.offset = offset;
+        }
+    }
+}
\ No newline at end of file
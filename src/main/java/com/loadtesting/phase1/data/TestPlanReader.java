@@ -0,0 +1,146 @@
+package com.loadtesting.phase1.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.loadtesting.phase1.model.ServiceLevelObjective;
+import com.loadtesting.phase1.model.TestConfiguration;
+import com.loadtesting.phase1.model.TestPlan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase 1: Test Plan Reader
+ * Loads a JSON test plan for unattended runs:
+ * <pre>
+ * {
+ *   "name": "checkout",
+ *   "test": { "apiEndpoint": "https://...", "testDurationSeconds": 60, ... },
+ *   "slos": [ { "metric": "P99_MS", "max": 250 }, { "metric": "ERROR_RATE_PERCENT", "max": 1 } ],
+ *   "profiles": {
+ *     "baseline": { "concurrentUsers": 50 },
+ *     "peak": { "concurrentUsers": 500, "slos": [ { "metric": "P99_MS", "max": 800 } ] }
+ *   }
+ * }
+ * </pre>
+ * {@code test} uses the {@link TestConfiguration} property names. Each
+ * profile is merged over it field by field (nested objects such as
+ * {@code transport} included) and adds its own objectives to the plan's. Without profiles the plan is one
+ * run of {@code test}. Everything is validated up front, including that
+ * feeder and replay log files can be read, so a typo fails the batch before
+ * any load is generated.
+ */
+public class TestPlanReader {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<List<ServiceLevelObjective>> OBJECTIVES = new TypeReference<List<ServiceLevelObjective>>() {};
+    
+    public TestPlan read(Path file) throws IOException {
+        JsonNode root = JSON.readTree(file.toFile());
+        if (root == null || !root.isObject()) {
+            throw new IOException(file + ": a test plan must be a JSON object");
+        }
+        String planName = root.path("name").asText(baseName(file));
+        JsonNode test = root.path("test");
+        if (!test.isObject()) {
+            throw new IOException(file + ": missing \"test\" configuration");
+        }
+        List<ServiceLevelObjective> planObjectives = readObjectives(file, root.path("slos"));
+        
+        List<TestPlan.Profile> profiles = new ArrayList<>();
+        JsonNode profileNodes = root.path("profiles");
+        if (profileNodes.isMissingNode() || profileNodes.size() == 0) {
+            profiles.add(profile(file, "default", (ObjectNode) test, planObjectives));
+        } else if (profileNodes.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = profileNodes.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                if (!entry.getValue().isObject()) {
+                    throw new IOException(file + ": profile \"" + entry.getKey() + "\" must be a JSON object");
+                }
+                ObjectNode overrides = ((ObjectNode) entry.getValue()).deepCopy();
+                List<ServiceLevelObjective> objectives = new ArrayList<>(planObjectives);
+                objectives.addAll(readObjectives(file, overrides.remove("slos")));
+                ObjectNode merged = ((ObjectNode) test).deepCopy();
+                merge(merged, overrides);
+                profiles.add(profile(file, entry.getKey(), merged, objectives));
+            }
+        } else {
+            throw new IOException(file + ": \"profiles\" must map profile names to configurations");
+        }
+        return new TestPlan(planName, profiles);
+    }
+    
+    private TestPlan.Profile profile(Path file, String name, ObjectNode configNode,
+                                     List<ServiceLevelObjective> objectives) throws IOException {
+        TestConfiguration config;
+        try {
+            config = JSON.treeToValue(configNode, TestConfiguration.class);
+        } catch (JsonProcessingException e) {
+            throw new IOException(file + ": profile \"" + name + "\": " + e.getOriginalMessage(), e);
+        }
+        if (!config.isValid()) {
+            throw new IOException(file + ": profile \"" + name + "\" has no valid endpoint");
+        }
+        requireReadable(file, name, "replay log", config.isReplay() ? config.getReplayLogFile() : null);
+        requireReadable(file, name, "feeder file", config.isReplay() ? null : config.getFeederFile());
+        return new TestPlan.Profile(name, config, objectives);
+    }
+    
+    /**
+     * Paths are resolved like the executor resolves them, against the working directory.
+     */
+    private static void requireReadable(Path file, String profile, String what, String path) throws IOException {
+        if (path == null || path.trim().isEmpty()) return;
+        Path resolved = Paths.get(path.trim());
+        if (!Files.isRegularFile(resolved) || !Files.isReadable(resolved)) {
+            throw new IOException(file + ": profile \"" + profile + "\": cannot read " + what + " " + resolved);
+        }
+    }
+    
+    private List<ServiceLevelObjective> readObjectives(Path file, JsonNode node) throws IOException {
+        if (node == null || node.isMissingNode() || node.isNull()) return new ArrayList<>();
+        List<ServiceLevelObjective> objectives;
+        try {
+            objectives = JSON.convertValue(node, OBJECTIVES);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": invalid slos: " + e.getMessage(), e);
+        }
+        for (ServiceLevelObjective objective : objectives) {
+            if (!objective.isValid()) {
+                throw new IOException(file + ": every slo needs a metric and a max or min");
+            }
+        }
+        return objectives;
+    }
+    
+    /**
+     * Deep merge: objects are merged recursively, anything else (arrays
+     * included) replaces the base value.
+     */
+    private static void merge(ObjectNode base, ObjectNode overrides) {
+        Iterator<Map.Entry<String, JsonNode>> fields = overrides.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode existing = base.get(entry.getKey());
+            if (existing != null && existing.isObject() && entry.getValue().isObject()) {
+                merge((ObjectNode) existing, (ObjectNode) entry.getValue());
+            } else {
+                base.set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".json") ? name.substring(0, name.length() - 5) : name;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.loadtesting.phase1.gui;
+
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.chart.title.TextTitle;
+import org.jfree.chart.ui.RectangleAnchor;
+import org.jfree.data.xy.DefaultXYZDataset;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase 1: Latency Heatmap Panel
+ * Time on x, log-scaled latency bands on y, colour for request rate. Cells
+ * come straight from the interval series histograms, so the cost depends on
+ * the number of intervals, not requests. Intervals of each width (1 s, 1 min,
+ * 10 min tiers) get their own block renderer sharing one colour scale; colour
+ * is requests per second so cells of different widths compare fairly.
+ */
+public class LatencyHeatmapPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+    private static final int ROWS_PER_DECADE = 8;
+    private static final double MIN_LOG_MS = -1;
+    private static final double MAX_LOG_MS = 5;
+    private static final int[] ROW_OF_BUCKET = new int[LatencyHistogram.BUCKET_COUNT];
+    
+    static {
+        // Each histogram bucket lands in the band holding its midpoint
+        for (int i = 0; i < ROW_OF_BUCKET.length; i++) {
+            double midMicros = (LatencyHistogram.bucketLowerBound(i) + LatencyHistogram.bucketUpperBound(i)) / 2.0;
+            double logMs = Math.log10(Math.max(midMicros, 1) / 1000.0);
+            double clamped = Math.max(MIN_LOG_MS, Math.min(MAX_LOG_MS - 1e-9, logMs));
+            ROW_OF_BUCKET[i] = (int) Math.floor((clamped - MIN_LOG_MS) * ROWS_PER_DECADE);
+        }
+    }
+    
+    private final XYPlot plot;
+    private final RatePaintScale paintScale;
+    private final TextTitle summary;
+    
+    public LatencyHeatmapPanel() {
+        super(new BorderLayout());
+        NumberAxis timeAxis = new NumberAxis("Elapsed (s)");
+        timeAxis.setAutoRangeIncludesZero(true);
+        NumberAxis latencyAxis = new NumberAxis("Latency");
+        latencyAxis.setNumberFormatOverride(new LogMillisFormat());
+        latencyAxis.setTickUnit(new NumberTickUnit(1.0));
+        latencyAxis.setAutoRangeIncludesZero(false);
+        
+        this.paintScale = new RatePaintScale();
+        this.plot = new XYPlot(new DefaultXYZDataset(), timeAxis, latencyAxis, createRenderer(1));
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setDomainGridlinesVisible(false);
+        plot.setRangeGridlinePaint(new Color(220, 220, 220));
+        
+        JFreeChart chart = new JFreeChart("Latency Heatmap", JFreeChart.DEFAULT_TITLE_FONT, plot, false);
+        this.summary = new TextTitle("Waiting for measured results");
+        chart.addSubtitle(summary);
+        chart.setBackgroundPaint(Color.WHITE);
+        add(new ChartPanel(chart), BorderLayout.CENTER);
+    }
+    
+    /**
+     * Redraws from the series; call on the event dispatch thread. A finished
+     * run's series is drawn as it was when its window closed.
+     */
+    public void update(IntervalSeries series) {
+        if (series == null) return;
+        List<IntervalSeries.Interval> intervals = series.getIntervals();
+        
+        // One dataset per interval width: x, y and rate for every non-empty cell
+        Map<Long, List<double[]>> cellsByWidth = new LinkedHashMap<>();
+        double maxRate = 0;
+        long requests = 0;
+        for (IntervalSeries.Interval interval : intervals) {
+            LatencyHistogram histogram = interval.getHistogram();
+            if (histogram == null) continue;
+            requests += interval.getRequests();
+            
+            long widthNanos = interval.getEndNanos() - interval.getStartNanos();
+            double seconds = widthNanos / 1_000_000_000.0;
+            double x = (interval.getStartNanos() - series.getStartNanos()) / 1_000_000_000.0;
+            long[] rowCounts = new long[(int) ((MAX_LOG_MS - MIN_LOG_MS) * ROWS_PER_DECADE)];
+            for (int bucket = 0; bucket < ROW_OF_BUCKET.length; bucket++) {
+                long count = histogram.getCountAtBucket(bucket);
+                if (count > 0) rowCounts[ROW_OF_BUCKET[bucket]] += count;
+            }
+            
+            List<double[]> cells = cellsByWidth.computeIfAbsent(widthNanos, key -> new ArrayList<>());
+            for (int row = 0; row < rowCounts.length; row++) {
+                if (rowCounts[row] == 0) continue;
+                double rate = rowCounts[row] / seconds;
+                maxRate = Math.max(maxRate, rate);
+                cells.add(new double[]{x, MIN_LOG_MS + (double) row / ROWS_PER_DECADE, rate});
+            }
+        }
+        
+        // Drop datasets left over from a previous, wider layout
+        for (int i = cellsByWidth.size(); i < plot.getDatasetCount(); i++) {
+            plot.setDataset(i, null);
+        }
+        int index = 0;
+        for (Map.Entry<Long, List<double[]>> entry : cellsByWidth.entrySet()) {
+            List<double[]> cells = entry.getValue();
+            double[][] data = new double[3][cells.size()];
+            for (int i = 0; i < cells.size(); i++) {
+                data[0][i] = cells.get(i)[0];
+                data[1][i] = cells.get(i)[1];
+                data[2][i] = cells.get(i)[2];
+            }
+            DefaultXYZDataset dataset = new DefaultXYZDataset();
+            dataset.addSeries("interval-" + entry.getKey(), data);
+            plot.setRenderer(index, createRenderer(entry.getKey() / 1_000_000_000.0));
+            plot.setDataset(index, dataset);
+            index++;
+        }
+        
+        paintScale.setUpperBound(maxRate);
+        summary.setText(String.format("%,d requests | colour: requests/s per band, up to %s (log scale)",
+            requests, new DecimalFormat("#,##0.#").format(maxRate)));
+    }
+    
+    public void clear() {
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            plot.setDataset(i, null);
+        }
+        summary.setText("Waiting for measured results");
+    }
+    
+    private XYBlockRenderer createRenderer(double widthSeconds) {
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setBlockWidth(widthSeconds);
+        renderer.setBlockHeight(1.0 / ROWS_PER_DECADE);
+        renderer.setBlockAnchor(RectangleAnchor.BOTTOM_LEFT);
+        renderer.setPaintScale(paintScale);
+        return renderer;
+    }
+    
+    /**
+     * Log-scaled colour ramp from pale blue (rare) to dark red (dense).
+     */
+    private static final class RatePaintScale implements PaintScale {
+        private static final Color[] STOPS = {
+            new Color(214, 234, 248), new Color(133, 193, 233), new Color(247, 220, 111),
+            new Color(235, 152, 78), new Color(203, 67, 53), new Color(100, 30, 22)
+        };
+        private double upperBound = 1;
+        
+        private void setUpperBound(double upperBound) {
+            this.upperBound = Math.max(1, upperBound);
+        }
+        
+        @Override
+        public double getLowerBound() { return 0; }
+        
+        @Override
+        public double getUpperBound() { return upperBound; }
+        
+        @Override
+        public Paint getPaint(double value) {
+            double position = Math.log1p(Math.max(0, value)) / Math.log1p(upperBound) * (STOPS.length - 1);
+            int stop = Math.min(STOPS.length - 2, (int) position);
+            double fraction = Math.min(1, position - stop);
+            Color from = STOPS[stop];
+            Color to = STOPS[stop + 1];
+            return new Color(
+                (int) (from.getRed() + (to.getRed() - from.getRed()) * fraction),
+                (int) (from.getGreen() + (to.getGreen() - from.getGreen()) * fraction),
+                (int) (from.getBlue() + (to.getBlue() - from.getBlue()) * fraction));
+        }
+    }
+    
+    /**
+     * Labels log10(ms) axis values as plain latencies.
+     */
+    private static final class LogMillisFormat extends NumberFormat {
+        private static final long serialVersionUID = 1L;
+        
+        private final DecimalFormat format = new DecimalFormat("#,##0.###");
+        
+        @Override
+        public StringBuffer format(double number, StringBuffer toAppendTo, FieldPosition pos) {
+            double millis = Math.pow(10, number);
+            return millis >= 1000
+                ? toAppendTo.append(format.format(millis / 1000)).append(" s")
+                : toAppendTo.append(format.format(millis)).append(" ms");
+        }
+        
+        @Override
+        public StringBuffer format(long number, StringBuffer toAppendTo, FieldPosition pos) {
+            return format((double) number, toAppendTo, pos);
+        }
+        
+        @Override
+        public Number parse(String source, ParsePosition parsePosition) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
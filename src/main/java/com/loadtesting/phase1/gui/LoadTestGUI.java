@@ -1,8 +1,15 @@
 package com.loadtesting.phase1.gui;
 
+import com.loadtesting.phase1.data.ResultExporter;
+import com.loadtesting.phase1.data.RunStore;
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.ErrorType;
+import com.loadtesting.phase1.model.GeneratorHealth;
 import com.loadtesting.phase1.model.PerformanceMetrics;
 import com.loadtesting.phase1.model.TestConfiguration;
+import com.loadtesting.phase1.model.UserStats;
 import com.loadtesting.phase1.service.LoadTestExecutor;
+import com.loadtesting.phase1.service.PdfReportGenerator;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -10,6 +17,9 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 
 public class LoadTestGUI extends JFrame {
@@ -31,6 +41,8 @@ public class LoadTestGUI extends JFrame {
     private JButton manualButton;
     private JButton autoButton;
     private JButton clearButton;
+    private JButton stopButton;
+    private JButton exportButton;
     private JTextArea resultsArea;
     private JProgressBar progressBar;
     private JLabel statusLabel;
@@ -40,7 +52,13 @@ public class LoadTestGUI extends JFrame {
     private JLabel successRateLabel;
     private JLabel avgResponseLabel;
     private JLabel throughputLabel;
+    private LatencyHeatmapPanel heatmapPanel;
     private DecimalFormat df = new DecimalFormat("#.##");
+    private TestConfiguration lastConfig;
+    private PerformanceMetrics lastResults;
+    // The executor of the test in progress, and whether the user asked it to stop
+    private volatile LoadTestExecutor activeExecutor;
+    private volatile boolean stopRequested;
     
     public LoadTestGUI() {
         setTitle("AutoLoadX - Professional Load Testing Tool");
@@ -73,6 +91,10 @@ public class LoadTestGUI extends JFrame {
         manualButton = new JButton("🚀 Start Manual Test");
         autoButton = new JButton("⚡ Run Automated Test");
         clearButton = new JButton("🗑️ Clear Results");
+        stopButton = new JButton("⏹️ Stop Test");
+        stopButton.setEnabled(false);
+        exportButton = new JButton("💾 Export Results");
+        exportButton.setEnabled(false);
         
         // Results and status
         resultsArea = new JTextArea(20, 60);
@@ -96,6 +118,8 @@ public class LoadTestGUI extends JFrame {
         manualButton.addActionListener(this::runManualTest);
         autoButton.addActionListener(this::runAutomatedTest);
         clearButton.addActionListener(e -> clearResults());
+        stopButton.addActionListener(e -> stopTest());
+        exportButton.addActionListener(e -> exportResults());
     }
     
     private void layoutComponents() {
@@ -121,6 +145,10 @@ public class LoadTestGUI extends JFrame {
         JPanel metricsTab = createMetricsPanel();
         tabbedPane.addTab("📈 Live Metrics", metricsTab);
         
+        // Heatmap tab
+        heatmapPanel = new LatencyHeatmapPanel();
+        tabbedPane.addTab("🔥 Latency Heatmap", heatmapPanel);
+        
         // Status panel at bottom
         JPanel statusPanel = createStatusPanel();
         
@@ -178,7 +206,9 @@ public class LoadTestGUI extends JFrame {
         buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 10));
         buttonPanel.add(manualButton);
         buttonPanel.add(autoButton);
+        buttonPanel.add(stopButton);
         buttonPanel.add(clearButton);
+        buttonPanel.add(exportButton);
         
         panel.add(apiPanel, BorderLayout.NORTH);
         panel.add(loadPanel, BorderLayout.CENTER);
@@ -282,6 +312,8 @@ public class LoadTestGUI extends JFrame {
         styleButton(manualButton, PRIMARY_COLOR);
         styleButton(autoButton, SUCCESS_COLOR);
         styleButton(clearButton, WARNING_COLOR);
+        styleButton(stopButton, DANGER_COLOR);
+        styleButton(exportButton, SECONDARY_COLOR);
         
         // Style input fields
         styleTextField(endpointField);
@@ -381,12 +413,15 @@ public class LoadTestGUI extends JFrame {
         progressBar.setIndeterminate(true);
         progressBar.setString("Automated Testing...");
         
+        LoadTestExecutor executor = new LoadTestExecutor();
+        beginTest(executor);
+        Timer heatmapTimer = startHeatmapUpdates(executor);
         SwingWorker<Void, Object[]> worker = new SwingWorker<Void, Object[]>() {
             @Override
             protected Void doInBackground() throws Exception {
                 int[] userCounts = {10, 100, 1000, 5000, 10000, 20000, 50000, 100000};
                 
-                for (int i = 0; i < userCounts.length; i++) {
+                for (int i = 0; i < userCounts.length && !stopRequested; i++) {
                     int users = userCounts[i];
                     publish(new Object[]{"text", "\n🚀 === AUTOMATED TEST: " + users + " Users ===\n"});
                     publish(new Object[]{"progress", (i * 100) / userCounts.length});
@@ -399,11 +434,15 @@ public class LoadTestGUI extends JFrame {
                     config.setTestDurationSeconds(60);
                     config.setRampUpSeconds(Math.min(users / 10, 300));
                     
-                    LoadTestExecutor executor = new LoadTestExecutor();
                     PerformanceMetrics results = executor.executeLoadTest(config);
                     
                     publish(new Object[]{"text", formatResults(results)});
-                    publish(new Object[]{"metrics", results});
+                    publish(new Object[]{"text", saveToHistory(config, results)});
+                    publish(new Object[]{"metrics", results, config});
+                    if (results.isCancelled()) {
+                        publish(new Object[]{"text", "⏹️ Stopped by user\n"});
+                        break;
+                    }
                     
                     // Stop conditions with better messaging
                     if (results.getErrorRate() > 10) {
@@ -421,7 +460,10 @@ public class LoadTestGUI extends JFrame {
                         break;
                     }
                     
-                    Thread.sleep(5000); // Wait between tests
+                    // Wait between tests, unless stopped meanwhile
+                    for (int wait = 0; wait < 50 && !stopRequested; wait++) {
+                        Thread.sleep(100);
+                    }
                 }
                 return null;
             }
@@ -437,6 +479,7 @@ public class LoadTestGUI extends JFrame {
                     } else if ("metrics".equals(type)) {
                         PerformanceMetrics metrics = (PerformanceMetrics) chunk[1];
                         updateMetrics(metrics);
+                        rememberResults((TestConfiguration) chunk[2], metrics);
                         tabbedPane.setSelectedIndex(2); // Show metrics
                     } else if ("progress".equals(type)) {
                         int progress = (Integer) chunk[1];
@@ -447,10 +490,13 @@ public class LoadTestGUI extends JFrame {
             
             @Override
             protected void done() {
+                heatmapTimer.stop();
+                heatmapPanel.update(executor.getLiveIntervalSeries());
                 progressBar.setIndeterminate(false);
                 progressBar.setValue(100);
-                progressBar.setString("Completed");
-                statusLabel.setText("Automated test sequence completed");
+                progressBar.setString(stopRequested ? "Stopped" : "Completed");
+                statusLabel.setText(stopRequested ? "Automated test sequence stopped" : "Automated test sequence completed");
+                endTest();
             }
         };
         
@@ -480,28 +526,35 @@ public class LoadTestGUI extends JFrame {
     }
     
     private void runTest(TestConfiguration config) {
+        LoadTestExecutor executor = new LoadTestExecutor();
+        beginTest(executor);
+        Timer heatmapTimer = startHeatmapUpdates(executor);
         SwingWorker<PerformanceMetrics, Void> worker = new SwingWorker<PerformanceMetrics, Void>() {
             @Override
             protected PerformanceMetrics doInBackground() throws Exception {
-                LoadTestExecutor executor = new LoadTestExecutor();
                 return executor.executeLoadTest(config);
             }
             
             @Override
             protected void done() {
+                heatmapTimer.stop();
                 try {
                     PerformanceMetrics results = get();
+                    heatmapPanel.update(results.getIntervalSeries());
                     resultsArea.append(formatResults(results));
+                    resultsArea.append(saveToHistory(config, results));
                     updateMetrics(results);
+                    rememberResults(config, results);
                     tabbedPane.setSelectedIndex(2); // Show metrics
-                    statusLabel.setText("Manual test completed successfully");
+                    statusLabel.setText(results.isCancelled() ? "Manual test stopped - partial results shown" : "Manual test completed successfully");
                 } catch (Exception e) {
                     resultsArea.append("❌ Error: " + e.getMessage() + "\n");
                     statusLabel.setText("Test failed: " + e.getMessage());
                 } finally {
                     progressBar.setIndeterminate(false);
                     progressBar.setValue(100);
-                    progressBar.setString("Completed");
+                    progressBar.setString(stopRequested ? "Stopped" : "Completed");
+                    endTest();
                 }
             }
         };
@@ -509,6 +562,114 @@ public class LoadTestGUI extends JFrame {
         worker.execute();
     }
     
+    private void beginTest(LoadTestExecutor executor) {
+        activeExecutor = executor;
+        stopRequested = false;
+        manualButton.setEnabled(false);
+        autoButton.setEnabled(false);
+        stopButton.setEnabled(true);
+    }
+    
+    private void endTest() {
+        activeExecutor = null;
+        manualButton.setEnabled(true);
+        autoButton.setEnabled(true);
+        stopButton.setEnabled(false);
+    }
+    
+    /**
+     * Cancels the running test; it drains its in-flight requests and reports
+     * what it measured so far. An automated sequence runs no further levels.
+     */
+    private void stopTest() {
+        LoadTestExecutor executor = activeExecutor;
+        if (executor == null) return;
+        stopRequested = true;
+        stopButton.setEnabled(false);
+        statusLabel.setText("Stopping test - draining in-flight requests...");
+        executor.cancel();
+    }
+    
+    /**
+     * Redraws the heatmap once a second from the running test's interval series.
+     */
+    private Timer startHeatmapUpdates(LoadTestExecutor executor) {
+        heatmapPanel.clear();
+        Timer timer = new Timer(1000, event -> heatmapPanel.update(executor.getLiveIntervalSeries()));
+        timer.start();
+        return timer;
+    }
+    
+    private void rememberResults(TestConfiguration config, PerformanceMetrics results) {
+        lastConfig = config;
+        lastResults = results;
+        exportButton.setEnabled(true);
+    }
+    
+    /**
+     * Exports the last finished test: a .csv name writes the CSV set next to
+     * it, a .pdf name writes the chart report, anything else is written as
+     * JSON. Runs off the event thread, since
+     * raw results of a long run take a while.
+     */
+    private void exportResults() {
+        if (lastResults == null) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Results (.json, .csv or .pdf)");
+        chooser.setSelectedFile(new File("autoloadx-results.json"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        boolean pdf = file.getName().toLowerCase().endsWith(".pdf");
+        boolean includeRawResults = !pdf && !lastResults.getRequestResults().isEmpty() && JOptionPane.showConfirmDialog(this,
+            "Include every request (" + lastResults.getRequestResults().size() + " rows)?",
+            "Export Results", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+        TestConfiguration config = lastConfig;
+        PerformanceMetrics results = lastResults;
+        
+        exportButton.setEnabled(false);
+        statusLabel.setText("Exporting results...");
+        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                ResultExporter exporter = new ResultExporter();
+                String name = file.getName();
+                if (pdf) {
+                    new PdfReportGenerator().generate(config, results, file.toPath());
+                    return file.toString();
+                }
+                if (name.toLowerCase().endsWith(".csv")) {
+                    Path directory = file.getAbsoluteFile().getParentFile().toPath();
+                    exporter.exportCsv(results, directory, name.substring(0, name.length() - 4), includeRawResults);
+                    return directory.toString();
+                }
+                Path target = name.toLowerCase().endsWith(".json") ? file.toPath() : file.toPath().resolveSibling(name + ".json");
+                exporter.exportJson(config, results, target, includeRawResults);
+                return target.toString();
+            }
+            
+            @Override
+            protected void done() {
+                exportButton.setEnabled(true);
+                try {
+                    statusLabel.setText("Results exported to " + get());
+                } catch (Exception e) {
+                    statusLabel.setText("Export failed: " + e.getMessage());
+                    JOptionPane.showMessageDialog(LoadTestGUI.this, "Export failed: " + e.getMessage(),
+                        "Export Results", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+    
+    private String saveToHistory(TestConfiguration config, PerformanceMetrics results) {
+        try (RunStore store = new RunStore(RunStore.defaultDirectory())) {
+            return "💾 Saved as run #" + store.append(config, results).getRunId() + "\n";
+        } catch (IOException e) {
+            return "⚠️ Could not save run history: " + e.getMessage() + "\n";
+        }
+    }
+    
     private String formatResults(PerformanceMetrics metrics) {
         StringBuilder sb = new StringBuilder();
         sb.append("📊 Test Results:\n");
@@ -516,11 +677,88 @@ public class LoadTestGUI extends JFrame {
         sb.append(String.format("📈 Total Requests:     %,d\n", metrics.getTotalRequests()));
         sb.append(String.format("✅ Successful:         %,d\n", metrics.getSuccessfulRequests()));
         sb.append(String.format("❌ Failed:             %,d\n", metrics.getFailedRequests()));
+        if (metrics.getFailedRequests() > 0) {
+            sb.append(String.format("   Conn / HTTP / Assert: %,d / %,d / %,d\n",
+                metrics.getErrorCount(ErrorType.CONNECTION),
+                metrics.getErrorCount(ErrorType.HTTP_STATUS),
+                metrics.getErrorCount(ErrorType.ASSERTION)));
+        }
         sb.append(String.format("📉 Error Rate:         %s%%\n", df.format(metrics.getErrorRate())));
         sb.append(String.format("⚡ Min Response:       %,d ms\n", metrics.getMinResponseTime()));
         sb.append(String.format("🔥 Max Response:       %,d ms\n", metrics.getMaxResponseTime()));
         sb.append(String.format("⏱️ Avg Response:       %s ms\n", df.format(metrics.getAverageResponseTime())));
         sb.append(String.format("🚀 Throughput:         %s req/s\n", df.format(metrics.getThroughputPerSecond())));
+        UserStats users = metrics.getUserStats();
+        if (users != null && users.getUserCount() > 1 && metrics.getTotalRequests() > 0) {
+            int starved = users.getStarvedUsers().size();
+            sb.append(String.format("⚖️ Fairness (Jain):    %.4f%s\n", users.getJainIndex(),
+                starved > 0 ? String.format(" - %,d starved users", starved) : ""));
+        }
+        if (metrics.getInFlightAtCutoff() > 0) {
+            sb.append(String.format("⏹️ In Flight at End:   %,d excluded (%,d drained, %,d abandoned)\n",
+                metrics.getInFlightAtCutoff(), metrics.getDrainedRequests(), metrics.getAbandonedRequests()));
+        }
+        sb.append(String.format("📐 p50 / p90 / p99:    %s / %s / %s ms\n",
+            df.format(metrics.getPercentileResponseTime(50)),
+            df.format(metrics.getPercentileResponseTime(90)),
+            df.format(metrics.getPercentileResponseTime(99))));
+        if (metrics.isCoordinatedOmissionCorrected()) {
+            sb.append(String.format("📐 Corrected p50/p99:  %s / %s ms\n",
+                df.format(metrics.getCorrectedPercentileResponseTime(50)),
+                df.format(metrics.getCorrectedPercentileResponseTime(99))));
+        }
+        
+        if (metrics.getWarmUpMetrics() != null) {
+            sb.append(String.format("🔥 Warm-up (excluded): %,d req, %s ms avg\n",
+                metrics.getWarmUpMetrics().getTotalRequests(),
+                df.format(metrics.getWarmUpMetrics().getAverageResponseTime())));
+        }
+        
+        if (!metrics.getEndpointMetrics().isEmpty()) {
+            sb.append("───────────────────────────────────────\n");
+            metrics.getEndpointMetrics().forEach((name, endpoint) -> sb.append(String.format(
+                "🔗 %s\n   %,d req | %s req/s | p99 %s ms | %s%% errors\n",
+                name,
+                endpoint.getTotalRequests(),
+                df.format(endpoint.getThroughputPerSecond()),
+                df.format(endpoint.getPercentileResponseTime(99)),
+                df.format(endpoint.getErrorRate()))));
+        }
+        
+        if (metrics.getTrends() != null && !metrics.getTrends().isEmpty()) {
+            sb.append("───────────────────────────────────────\n");
+            metrics.getTrends().forEach(trend -> sb.append(String.format("%s %s: %s → %s %s\n",
+                trend.isDrifting() ? "📈" : "➖",
+                trend.getMetric(),
+                df.format(trend.getStartValue()),
+                df.format(trend.getEndValue()),
+                trend.getUnit())));
+        }
+        
+        ConnectionStats connections = metrics.getConnectionStats();
+        if (connections != null) {
+            sb.append("───────────────────────────────────────\n");
+            sb.append(String.format("🔌 Connections:        %,d opened | %s%% reuse\n",
+                connections.getConnectionsOpened(), df.format(connections.getReuseRate())));
+            if (!connections.getHandshakeHistogram().isEmpty()) {
+                sb.append(String.format("🤝 Connect p99:        %s ms\n",
+                    df.format(connections.getHandshakeHistogram().getValueAtPercentile(99) / 1000.0)));
+            }
+        }
+        
+        GeneratorHealth health = metrics.getGeneratorHealth();
+        if (health != null) {
+            sb.append("───────────────────────────────────────\n");
+            sb.append(String.format("👥 Active Users:       %,d / %,d\n", health.getPeakActiveUsers(), health.getConfiguredUsers()));
+            sb.append(String.format("⏳ Scheduler Lag p99:  %s ms\n", df.format(health.getHiccupP99Ms())));
+            sb.append(String.format("⏰ Timer Lateness p99: %s ms\n", df.format(health.getTimerLatenessP99Ms())));
+            sb.append(String.format("🧹 GC Pauses:          %,d ms\n", health.getGcPauseMs()));
+            sb.append(String.format("🖥️ Generator CPU:      %s%%\n", df.format(health.getAverageProcessCpuPercent())));
+            if (health.isSaturated()) {
+                sb.append("⚠️ Generator saturated - results may reflect the load generator:\n");
+                health.getSaturationReasons().forEach(reason -> sb.append("   • ").append(reason).append("\n"));
+            }
+        }
         sb.append("═══════════════════════════════════════\n\n");
         return sb.toString();
     }
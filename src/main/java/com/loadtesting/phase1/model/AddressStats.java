@@ -0,0 +1,43 @@
+package com.loadtesting.phase1.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Phase 1: Address Stats
+ * Requests, errors and latency for one target IP address when requests are
+ * spread over several
+ */
+public class AddressStats {
+    private final String address;
+    private final AtomicLong requests;
+    private final AtomicLong errors;
+    private final LatencyHistogram latencyHistogram;
+    
+    public AddressStats(String address) {
+        this.address = address;
+        this.requests = new AtomicLong();
+        this.errors = new AtomicLong();
+        this.latencyHistogram = new LatencyHistogram();
+    }
+    
+    public void record(long latencyMicros, boolean success) {
+        requests.incrementAndGet();
+        if (!success) errors.incrementAndGet();
+        latencyHistogram.recordValue(latencyMicros);
+    }
+    
+    public AddressStats snapshot() {
+        AddressStats copy = new AddressStats(address);
+        copy.requests.set(requests.get());
+        copy.errors.set(errors.get());
+        copy.latencyHistogram.add(latencyHistogram);
+        return copy;
+    }
+    
+    public String getAddress() { return address; }
+    public long getRequests() { return requests.get(); }
+    public long getErrors() { return errors.get(); }
+    public double getErrorRate() { return requests.get() > 0 ? errors.get() * 100.0 / requests.get() : 0; }
+    /** Latencies in microseconds, measured around the engine call */
+    public LatencyHistogram getLatencyHistogram() { return latencyHistogram; }
+}
\ No newline at end of file
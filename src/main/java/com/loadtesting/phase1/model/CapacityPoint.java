@@ -0,0 +1,39 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Capacity Point
+ * One decision of the adaptive concurrency controller: the concurrency that
+ * was in force and what the target did under it.
+ */
+public class CapacityPoint {
+    private final double elapsedSeconds;
+    private final int concurrency;
+    private final double throughputPerSecond;
+    private final double p99Ms;
+    private final double errorRate;
+    private final boolean withinTarget;
+    
+    public CapacityPoint(double elapsedSeconds, int concurrency, double throughputPerSecond, double p99Ms,
+                         double errorRate, boolean withinTarget) {
+        this.elapsedSeconds = elapsedSeconds;
+        this.concurrency = concurrency;
+        this.throughputPerSecond = throughputPerSecond;
+        this.p99Ms = p99Ms;
+        this.errorRate = errorRate;
+        this.withinTarget = withinTarget;
+    }
+    
+    /** Seconds since the controller started, at the end of the window */
+    public double getElapsedSeconds() { return elapsedSeconds; }
+    public int getConcurrency() { return concurrency; }
+    public double getThroughputPerSecond() { return throughputPerSecond; }
+    public double getP99Ms() { return p99Ms; }
+    public double getErrorRate() { return errorRate; }
+    public boolean isWithinTarget() { return withinTarget; }
+    
+    @Override
+    public String toString() {
+        return String.format("%7.1fs  concurrency %5d  %10.2f req/s  p99 %9.2f ms  errors %6.2f%%%s",
+            elapsedSeconds, concurrency, throughputPerSecond, p99Ms, errorRate, withinTarget ? "" : "  over target");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Phase 1: Connection Stats
+ * How many connections the client opened versus requests sent over reused
+ * ones, and how long connection setup (TCP connect plus TLS handshake) took.
+ * TLS handshakes are also counted and timed on their own, split into full
+ * and resumed ones, so their cost can be told apart from request latency.
+ * When requests are spread over several addresses, each address gets its
+ * own request and latency counts.
+ */
+public class ConnectionStats {
+    private final AtomicLong connectionsOpened;
+    private final AtomicLong requests;
+    private final AtomicLong untrackedRequests;
+    private final LatencyHistogram handshakeHistogram;
+    private final LatencyHistogram tcpConnectHistogram;
+    private final LatencyHistogram fullTlsHandshakeHistogram;
+    private final LatencyHistogram resumedTlsHandshakeHistogram;
+    private final Map<String, AddressStats> addressStats;
+    
+    public ConnectionStats() {
+        this.connectionsOpened = new AtomicLong();
+        this.requests = new AtomicLong();
+        this.untrackedRequests = new AtomicLong();
+        this.handshakeHistogram = new LatencyHistogram();
+        this.tcpConnectHistogram = new LatencyHistogram();
+        this.fullTlsHandshakeHistogram = new LatencyHistogram();
+        this.resumedTlsHandshakeHistogram = new LatencyHistogram();
+        this.addressStats = new ConcurrentHashMap<>();
+    }
+    
+    public void recordConnectionOpened(long handshakeMicros) {
+        connectionsOpened.incrementAndGet();
+        if (handshakeMicros >= 0) {
+            handshakeHistogram.recordValue(handshakeMicros);
+        }
+    }
+    
+    public void recordTcpConnect(long connectMicros) {
+        tcpConnectHistogram.recordValue(connectMicros);
+    }
+    
+    public void recordTlsHandshake(long handshakeMicros, boolean resumed) {
+        (resumed ? resumedTlsHandshakeHistogram : fullTlsHandshakeHistogram).recordValue(handshakeMicros);
+    }
+    
+    public void recordRequest(boolean tracked) {
+        requests.incrementAndGet();
+        if (!tracked) untrackedRequests.incrementAndGet();
+    }
+    
+    public void recordAddressRequest(String address, long latencyMicros, boolean success) {
+        addressStats.computeIfAbsent(address, AddressStats::new).record(latencyMicros, success);
+    }
+    
+    public ConnectionStats snapshot() {
+        ConnectionStats copy = new ConnectionStats();
+        copy.connectionsOpened.set(connectionsOpened.get());
+        copy.requests.set(requests.get());
+        copy.untrackedRequests.set(untrackedRequests.get());
+        copy.handshakeHistogram.add(handshakeHistogram);
+        copy.tcpConnectHistogram.add(tcpConnectHistogram);
+        copy.fullTlsHandshakeHistogram.add(fullTlsHandshakeHistogram);
+        copy.resumedTlsHandshakeHistogram.add(resumedTlsHandshakeHistogram);
+        addressStats.forEach((address, stats) -> copy.addressStats.put(address, stats.snapshot()));
+        return copy;
+    }
+    
+    public void reset() {
+        connectionsOpened.set(0);
+        requests.set(0);
+        untrackedRequests.set(0);
+        handshakeHistogram.reset();
+        tcpConnectHistogram.reset();
+        fullTlsHandshakeHistogram.reset();
+        resumedTlsHandshakeHistogram.reset();
+        addressStats.clear();
+    }
+    
+    public long getConnectionsOpened() { return connectionsOpened.get(); }
+    public long getRequests() { return requests.get(); }
+    /** Requests whose connection could not be observed (e.g. HTTP/1.1 fallback on the HTTP/2 client) */
+    public long getUntrackedRequests() { return untrackedRequests.get(); }
+    public long getReusedRequests() { return Math.max(0, requests.get() - untrackedRequests.get() - connectionsOpened.get()); }
+    public double getReuseRate() {
+        long tracked = requests.get() - untrackedRequests.get();
+        return tracked > 0 ? (double) getReusedRequests() / tracked * 100 : 0;
+    }
+    /** Connection setup times in microseconds */
+    public LatencyHistogram getHandshakeHistogram() { return handshakeHistogram; }
+    /** TCP connect times in microseconds, where the engine can observe them separately */
+    public LatencyHistogram getTcpConnectHistogram() { return tcpConnectHistogram; }
+    /** TLS handshakes that negotiated new keys, in microseconds */
+    public LatencyHistogram getFullTlsHandshakeHistogram() { return fullTlsHandshakeHistogram; }
+    /** TLS handshakes that resumed an earlier session, in microseconds */
+    public LatencyHistogram getResumedTlsHandshakeHistogram() { return resumedTlsHandshakeHistogram; }
+    public long getTlsHandshakes() { return fullTlsHandshakeHistogram.getTotalCount() + resumedTlsHandshakeHistogram.getTotalCount(); }
+    /** Per-address counts, sorted by address; empty unless requests are spread */
+    public List<AddressStats> getAddressStats() {
+        List<AddressStats> stats = new ArrayList<>(addressStats.values());
+        stats.sort((a, b) -> a.getAddress().compareTo(b.getAddress()));
+        return stats;
+    }
+}
\ No newline at end of file
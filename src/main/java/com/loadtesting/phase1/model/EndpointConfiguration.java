@@ -0,0 +1,68 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase 1: Endpoint Configuration
+ * One request template within a weighted traffic mix
+ */
+public class EndpointConfiguration {
+    private String name;
+    private String apiEndpoint;
+    private String httpMethod;
+    private Map<String, String> headers;
+    private String requestBody;
+    private double weight;
+    private double targetRatePerSecond;
+    private List<ResponseAssertion> assertions;
+    
+    public EndpointConfiguration() {
+        this.httpMethod = "GET";
+        this.headers = new HashMap<>();
+        this.weight = 1.0;
+        this.assertions = new ArrayList<>();
+    }
+    
+    public EndpointConfiguration(String name, String apiEndpoint, String httpMethod, double weight) {
+        this();
+        this.name = name;
+        this.apiEndpoint = apiEndpoint;
+        this.httpMethod = httpMethod;
+        this.weight = weight;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name != null ? name : httpMethod + " " + apiEndpoint; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getApiEndpoint() { return apiEndpoint; }
+    public void setApiEndpoint(String apiEndpoint) { this.apiEndpoint = apiEndpoint; }
+    
+    public String getHttpMethod() { return httpMethod; }
+    public void setHttpMethod(String httpMethod) { this.httpMethod = httpMethod; }
+    
+    public Map<String, String> getHeaders() { return headers; }
+    public void setHeaders(Map<String, String> headers) { this.headers = headers; }
+    
+    public String getRequestBody() { return requestBody; }
+    public void setRequestBody(String requestBody) { this.requestBody = requestBody; }
+    
+    public double getWeight() { return weight; }
+    public void setWeight(double weight) { this.weight = weight; }
+    
+    /** Requests per second for this endpoint across all users; 0 means weight-driven */
+    public double getTargetRatePerSecond() { return targetRatePerSecond; }
+    public void setTargetRatePerSecond(double targetRatePerSecond) { this.targetRatePerSecond = targetRatePerSecond; }
+    
+    /** Checked in addition to the test-wide assertions */
+    public List<ResponseAssertion> getAssertions() { return assertions; }
+    public void setAssertions(List<ResponseAssertion> assertions) { this.assertions = assertions; }
+    
+    public boolean isValid() {
+        return apiEndpoint != null && !apiEndpoint.trim().isEmpty() && weight >= 0 && targetRatePerSecond >= 0
+            && assertions.stream().allMatch(ResponseAssertion::isValid);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Error Type
+ * Why a request counted as failed
+ */
+public enum ErrorType {
+    /** No response: connect failure, timeout or broken connection */
+    CONNECTION,
+    /** Response status outside 2xx/3xx and no status assertion configured */
+    HTTP_STATUS,
+    /** Response arrived but failed a configured assertion */
+    ASSERTION
+}
\ No newline at end of file
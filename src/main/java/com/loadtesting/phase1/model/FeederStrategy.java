@@ -0,0 +1,14 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Feeder Strategy
+ * How data feeder records are handed out to simulated users
+ */
+public enum FeederStrategy {
+    /** All users share one cursor that wraps around at the end of the file */
+    CIRCULAR,
+    /** Each request picks a record at a random position in the file */
+    RANDOM,
+    /** The file is split into one slice per user, so no two users ever share a record */
+    UNIQUE_PER_USER
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase 1: Generator Health
+ * Self-observed health of the load generator JVM during a run, so slow
+ * results can be told apart from a starving generator
+ */
+public class GeneratorHealth {
+    private LatencyHistogram hiccupHistogram;
+    private long gcPauseMs;
+    private long gcCount;
+    private double gcPausePercent;
+    private double averageProcessCpuPercent;
+    private double maxProcessCpuPercent;
+    private int maxQueueDepth;
+    private int peakActiveUsers;
+    private int configuredUsers;
+    private int workerThreads;
+    private LatencyHistogram timerLatenessHistogram;
+    private double timerTickMs;
+    private final List<String> saturationReasons;
+    
+    public GeneratorHealth() {
+        this.hiccupHistogram = new LatencyHistogram();
+        this.timerLatenessHistogram = new LatencyHistogram();
+        this.saturationReasons = new ArrayList<>();
+    }
+    
+    public void addSaturationReason(String reason) {
+        saturationReasons.add(reason);
+    }
+    
+    public boolean isSaturated() {
+        return !saturationReasons.isEmpty();
+    }
+    
+    // Hiccups are recorded in microseconds
+    public double getHiccupP99Ms() { return hiccupHistogram.getValueAtPercentile(99.0) / 1000.0; }
+    public double getHiccupMaxMs() { return hiccupHistogram.getMax() / 1000.0; }
+    
+    // Timer lateness is recorded in microseconds
+    public double getTimerLatenessP99Ms() { return timerLatenessHistogram.getValueAtPercentile(99.0) / 1000.0; }
+    public double getTimerLatenessMaxMs() { return timerLatenessHistogram.getMax() / 1000.0; }
+    
+    // Getters and Setters
+    public LatencyHistogram getHiccupHistogram() { return hiccupHistogram; }
+    public void setHiccupHistogram(LatencyHistogram hiccupHistogram) { this.hiccupHistogram = hiccupHistogram; }
+    
+    public long getGcPauseMs() { return gcPauseMs; }
+    public void setGcPauseMs(long gcPauseMs) { this.gcPauseMs = gcPauseMs; }
+    
+    public long getGcCount() { return gcCount; }
+    public void setGcCount(long gcCount) { this.gcCount = gcCount; }
+    
+    public double getGcPausePercent() { return gcPausePercent; }
+    public void setGcPausePercent(double gcPausePercent) { this.gcPausePercent = gcPausePercent; }
+    
+    public double getAverageProcessCpuPercent() { return averageProcessCpuPercent; }
+    public void setAverageProcessCpuPercent(double averageProcessCpuPercent) { this.averageProcessCpuPercent = averageProcessCpuPercent; }
+    
+    public double getMaxProcessCpuPercent() { return maxProcessCpuPercent; }
+    public void setMaxProcessCpuPercent(double maxProcessCpuPercent) { this.maxProcessCpuPercent = maxProcessCpuPercent; }
+    
+    public int getMaxQueueDepth() { return maxQueueDepth; }
+    public void setMaxQueueDepth(int maxQueueDepth) { this.maxQueueDepth = maxQueueDepth; }
+    
+    public int getPeakActiveUsers() { return peakActiveUsers; }
+    public void setPeakActiveUsers(int peakActiveUsers) { this.peakActiveUsers = peakActiveUsers; }
+    
+    public int getConfiguredUsers() { return configuredUsers; }
+    public void setConfiguredUsers(int configuredUsers) { this.configuredUsers = configuredUsers; }
+    
+    public int getWorkerThreads() { return workerThreads; }
+    public void setWorkerThreads(int workerThreads) { this.workerThreads = workerThreads; }
+    
+    /** How late scheduled user iterations started, including waits for a free worker */
+    public LatencyHistogram getTimerLatenessHistogram() { return timerLatenessHistogram; }
+    public void setTimerLatenessHistogram(LatencyHistogram timerLatenessHistogram) { this.timerLatenessHistogram = timerLatenessHistogram; }
+    
+    public double getTimerTickMs() { return timerTickMs; }
+    public void setTimerTickMs(double timerTickMs) { this.timerTickMs = timerTickMs; }
+    
+    public List<String> getSaturationReasons() { return saturationReasons; }
+}
\ No newline at end of file
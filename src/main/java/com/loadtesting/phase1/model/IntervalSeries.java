@@ -0,0 +1,234 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase 1: Interval Series
+ * Per-interval request counts and latency histograms kept in bounded memory.
+ * New intervals are recorded at the finest resolution; as a tier fills up its
+ * oldest intervals are merged into one interval of the next, coarser tier
+ * (by default 1 s for ~10 minutes, then 1 min for ~2 hours, then 10 min for
+ * ~48 hours). Intervals older than the last tier are dropped. Rolling windows
+ * such as "last minute" or "last hour" are merged from the tiers on demand.
+ * Tiers advance with the clock passed in, so a finished run freezes its
+ * series: from then on it reads the same however much later it is saved,
+ * exported or drawn.
+ */
+public class IntervalSeries {
+    private static final long[] DEFAULT_RESOLUTIONS = {
+        TimeUnit.SECONDS.toNanos(1), TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(10)
+    };
+    private static final int[] DEFAULT_CAPACITIES = {600, 120, 288};
+    
+    private final long[] resolutions;
+    private final int[] capacities;
+    private final List<ArrayDeque<Interval>> tiers;
+    private final long startNanos;
+    private Interval current;
+    private long droppedIntervals;
+    private long frozenAtNanos;
+    
+    public IntervalSeries(long startNanos) {
+        this(startNanos, DEFAULT_RESOLUTIONS, DEFAULT_CAPACITIES);
+    }
+    
+    /**
+     * @param resolutions interval length per tier in nanoseconds; each must be
+     *                    a multiple of the previous one
+     * @param capacities  intervals kept per tier; at least the ratio to the next tier
+     */
+    public IntervalSeries(long startNanos, long[] resolutions, int[] capacities) {
+        if (resolutions.length == 0 || resolutions.length != capacities.length) {
+            throw new IllegalArgumentException("Every tier needs a resolution and a capacity");
+        }
+        for (int i = 1; i < resolutions.length; i++) {
+            if (resolutions[i] % resolutions[i - 1] != 0 || capacities[i - 1] < resolutions[i] / resolutions[i - 1]) {
+                throw new IllegalArgumentException("Tier " + i + " does not line up with tier " + (i - 1));
+            }
+        }
+        this.resolutions = resolutions.clone();
+        this.capacities = capacities.clone();
+        this.tiers = new ArrayList<>();
+        for (int i = 0; i < resolutions.length; i++) {
+            tiers.add(new ArrayDeque<>());
+        }
+        this.startNanos = startNanos;
+        this.current = new Interval(startNanos, startNanos + resolutions[0]);
+        this.frozenAtNanos = Long.MAX_VALUE;
+    }
+    
+    /**
+     * Records into the interval covering {@code nowNanos}; ignored once frozen.
+     */
+    public synchronized void record(long nowNanos, long responseTimeMicros, boolean success) {
+        if (isFrozen()) return;
+        advance(nowNanos);
+        current.record(responseTimeMicros, success);
+    }
+    
+    /**
+     * Merges everything that ended within {@code durationNanos} before
+     * {@code nowNanos}, including the interval still open. The window is
+     * widened to whole intervals of whichever tier covers its start.
+     */
+    public synchronized Interval getWindow(long nowNanos, long durationNanos) {
+        nowNanos = Math.min(nowNanos, frozenAtNanos);
+        advance(nowNanos);
+        long from = nowNanos - durationNanos;
+        Interval window = null;
+        for (int tier = tiers.size() - 1; tier >= 0; tier--) {
+            for (Interval interval : tiers.get(tier)) {
+                if (interval.endNanos > from) window = merge(window, interval);
+            }
+        }
+        window = merge(window, current);
+        // The open interval only counts up to now
+        window.endNanos = nowNanos;
+        return window;
+    }
+    
+    /**
+     * {@link #getIntervals(long)} as of now while recording, and as of the
+     * end of the series once it is frozen.
+     */
+    public synchronized List<Interval> getIntervals() {
+        return getIntervals(Math.min(System.nanoTime(), frozenAtNanos));
+    }
+    
+    /**
+     * All retained intervals, oldest first, followed by the open one.
+     */
+    public synchronized List<Interval> getIntervals(long nowNanos) {
+        advance(nowNanos);
+        List<Interval> intervals = new ArrayList<>();
+        for (int tier = tiers.size() - 1; tier >= 0; tier--) {
+            intervals.addAll(tiers.get(tier));
+        }
+        intervals.add(merge(null, current));
+        return intervals;
+    }
+    
+    /**
+     * Ends the series at {@code endNanos}: the open interval is cut off
+     * there, and time stops advancing, so no interval is compacted or dropped
+     * afterwards and no empty ones are added.
+     */
+    public synchronized void freeze(long endNanos) {
+        if (isFrozen()) return;
+        advance(endNanos);
+        current.endNanos = Math.max(current.startNanos, endNanos);
+        frozenAtNanos = current.endNanos;
+    }
+    
+    public synchronized boolean isFrozen() { return frozenAtNanos != Long.MAX_VALUE; }
+    
+    public long getStartNanos() { return startNanos; }
+    /** Intervals that fell off the end of the last tier */
+    public synchronized long getDroppedIntervals() { return droppedIntervals; }
+    
+    private void advance(long nowNanos) {
+        if (isFrozen()) return;
+        while (nowNanos >= current.endNanos) {
+            append(0, current);
+            current = new Interval(current.endNanos, current.endNanos + resolutions[0]);
+        }
+    }
+    
+    private void append(int tier, Interval interval) {
+        ArrayDeque<Interval> intervals = tiers.get(tier);
+        intervals.addLast(interval);
+        if (intervals.size() <= capacities[tier]) return;
+        
+        if (tier == tiers.size() - 1) {
+            intervals.removeFirst();
+            droppedIntervals++;
+            return;
+        }
+        // Tiers start at the same instant, so the oldest intervals always fill a whole coarser one
+        int ratio = (int) (resolutions[tier + 1] / resolutions[tier]);
+        Interval merged = merge(null, intervals.removeFirst());
+        for (int i = 1; i < ratio; i++) {
+            merged = merge(merged, intervals.removeFirst());
+        }
+        append(tier + 1, merged);
+    }
+    
+    /**
+     * Combines consecutive intervals into one.
+     */
+    public static Interval merge(List<Interval> intervals) {
+        Interval merged = null;
+        for (Interval interval : intervals) {
+            merged = merge(merged, interval);
+        }
+        return merged;
+    }
+    
+    private static Interval merge(Interval target, Interval source) {
+        if (target == null) {
+            target = new Interval(source.startNanos, source.endNanos);
+        }
+        target.startNanos = Math.min(target.startNanos, source.startNanos);
+        target.endNanos = Math.max(target.endNanos, source.endNanos);
+        target.requests += source.requests;
+        target.errors += source.errors;
+        if (source.histogram != null) {
+            if (target.histogram == null) target.histogram = new LatencyHistogram();
+            target.histogram.add(source.histogram);
+        }
+        return target;
+    }
+    
+    /**
+     * One time slice. Quiet intervals carry no histogram, so gaps cost nothing.
+     */
+    public static final class Interval {
+        private long startNanos;
+        private long endNanos;
+        private long requests;
+        private long errors;
+        private LatencyHistogram histogram;
+        
+        private Interval(long startNanos, long endNanos) {
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+        
+        /**
+         * Rebuilds an interval read back from storage; the histogram may be
+         * null for a quiet interval.
+         */
+        public static Interval restore(long startNanos, long endNanos, long requests, long errors,
+                                       LatencyHistogram histogram) {
+            Interval interval = new Interval(startNanos, endNanos);
+            interval.requests = requests;
+            interval.errors = errors;
+            interval.histogram = histogram;
+            return interval;
+        }
+        
+        private void record(long responseTimeMicros, boolean success) {
+            if (histogram == null) histogram = new LatencyHistogram();
+            histogram.recordValue(responseTimeMicros);
+            requests++;
+            if (!success) errors++;
+        }
+        
+        public long getStartNanos() { return startNanos; }
+        public long getEndNanos() { return endNanos; }
+        public double getDurationSeconds() { return (endNanos - startNanos) / 1_000_000_000.0; }
+        public long getRequests() { return requests; }
+        public long getErrors() { return errors; }
+        public double getErrorRate() { return requests > 0 ? errors * 100.0 / requests : 0; }
+        public double getThroughputPerSecond() { return endNanos > startNanos ? requests / getDurationSeconds() : 0; }
+        /** Percentile (0-100) in milliseconds */
+        public double getPercentileMs(double percentile) {
+            return histogram != null ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+        }
+        public double getMeanMs() { return histogram != null ? histogram.getMean() / 1000.0 : 0; }
+        public LatencyHistogram getHistogram() { return histogram; }
+    }
+}
\ No newline at end of file
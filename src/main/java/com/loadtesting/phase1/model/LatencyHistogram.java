@@ -0,0 +1,173 @@
+package com.loadtesting.phase1.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Phase 1: Latency Histogram
+ * Log-linear bucketed histogram with constant-time, lock-free recording.
+ * Values are unit-agnostic longs; each power of two is split into 32 linear
+ * sub-buckets, giving roughly 3% relative precision across the whole range.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+    
+    public static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    public static final int BUCKET_COUNT = bucketIndexOf(MAX_TRACKABLE_VALUE) + 1;
+    
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalSum;
+    private final AtomicLong minValue;
+    private final AtomicLong maxValue;
+    
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalSum = new AtomicLong();
+        this.minValue = new AtomicLong(Long.MAX_VALUE);
+        this.maxValue = new AtomicLong(0);
+    }
+    
+    public void recordValue(long value) {
+        recordValueWithCount(value, 1);
+    }
+    
+    public void recordValueWithCount(long value, long count) {
+        if (count <= 0) return;
+        long clamped = Math.max(0, Math.min(value, MAX_TRACKABLE_VALUE));
+        counts.addAndGet(bucketIndexOf(clamped), count);
+        totalCount.addAndGet(count);
+        totalSum.addAndGet(clamped * count);
+        if (clamped < minValue.get()) minValue.accumulateAndGet(clamped, Math::min);
+        if (clamped > maxValue.get()) maxValue.accumulateAndGet(clamped, Math::max);
+    }
+    
+    /**
+     * Records a value and back-fills the samples a closed-loop sender would have
+     * issued at {@code expectedInterval} while it was stalled on this one
+     * (coordinated omission correction). The back-filled values
+     * {@code value - k * expectedInterval} are added bucket by bucket, so a
+     * long stall costs one update per bucket it spans, not one per sample.
+     */
+    public void recordValueWithExpectedInterval(long value, long expectedInterval) {
+        recordValue(value);
+        if (expectedInterval <= 0) return;
+        long missing = Math.min(value, MAX_TRACKABLE_VALUE) - expectedInterval;
+        long filled = 0;
+        long filledSum = 0;
+        long lowest = 0;
+        while (missing >= expectedInterval) {
+            // Every value of the sequence from here down to the bucket's lower bound
+            int bucket = bucketIndexOf(missing);
+            long floor = Math.max(expectedInterval, bucketLowerBound(bucket));
+            long count = (missing - floor) / expectedInterval + 1;
+            counts.addAndGet(bucket, count);
+            filled += count;
+            filledSum += count * missing - expectedInterval * (count * (count - 1) / 2);
+            lowest = missing - (count - 1) * expectedInterval;
+            missing = lowest - expectedInterval;
+        }
+        if (filled == 0) return;
+        totalCount.addAndGet(filled);
+        totalSum.addAndGet(filledSum);
+        if (lowest < minValue.get()) minValue.accumulateAndGet(lowest, Math::min);
+    }
+    
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) counts.addAndGet(i, count);
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalSum.addAndGet(other.totalSum.get());
+        minValue.accumulateAndGet(other.minValue.get(), Math::min);
+        maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+    }
+    
+    /**
+     * Rebuilds a histogram from stored bucket counts and totals, e.g. when a
+     * run is loaded back from disk.
+     */
+    public static LatencyHistogram restore(long[] bucketCounts, long totalSum, long min, long max) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long total = 0;
+        for (int i = 0; i < Math.min(bucketCounts.length, BUCKET_COUNT); i++) {
+            histogram.counts.set(i, bucketCounts[i]);
+            total += bucketCounts[i];
+        }
+        histogram.totalCount.set(total);
+        histogram.totalSum.set(totalSum);
+        if (total > 0) {
+            histogram.minValue.set(min);
+            histogram.maxValue.set(max);
+        }
+        return histogram;
+    }
+    
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+    
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalSum.set(0);
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+    
+    /**
+     * Returns the highest value equivalent to the bucket holding the given
+     * percentile (0-100), capped at the largest value actually recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) return 0;
+        
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    public long getTotalCount() { return totalCount.get(); }
+    public long getTotalSum() { return totalSum.get(); }
+    public long getMin() { return totalCount.get() > 0 ? minValue.get() : 0; }
+    public long getMax() { return maxValue.get(); }
+    public double getMean() { return totalCount.get() > 0 ? (double) totalSum.get() / totalCount.get() : 0; }
+    public boolean isEmpty() { return totalCount.get() == 0; }
+    public long getCountAtBucket(int index) { return counts.get(index); }
+    
+    // Bucket layout
+    public static int bucketIndexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) Math.max(0, value);
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return SUB_BUCKET_COUNT * shift + (int) (value >>> shift);
+    }
+    
+    public static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long top = index - (long) SUB_BUCKET_COUNT * shift;
+        return top << shift;
+    }
+    
+    public static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long top = index - (long) SUB_BUCKET_COUNT * shift;
+        return ((top + 1) << shift) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Metric Comparison
+ * One metric of a baseline run against a candidate run. Changes are relative
+ * to the baseline in percent, except where the unit is itself a percentage
+ * (error rate), where they are in percentage points.
+ */
+public class MetricComparison {
+    private final String metric;
+    private final String unit;
+    private final double baselineValue;
+    private final double candidateValue;
+    private final double change;
+    private final double confidenceLow;
+    private final double confidenceHigh;
+    private final double pValue;
+    private final boolean significant;
+    private final boolean regressed;
+    
+    public MetricComparison(String metric, String unit, double baselineValue, double candidateValue, double change,
+                            double confidenceLow, double confidenceHigh, double pValue, boolean significant,
+                            boolean regressed) {
+        this.metric = metric;
+        this.unit = unit;
+        this.baselineValue = baselineValue;
+        this.candidateValue = candidateValue;
+        this.change = change;
+        this.confidenceLow = confidenceLow;
+        this.confidenceHigh = confidenceHigh;
+        this.pValue = pValue;
+        this.significant = significant;
+        this.regressed = regressed;
+    }
+    
+    public String getMetric() { return metric; }
+    public String getUnit() { return unit; }
+    public double getBaselineValue() { return baselineValue; }
+    public double getCandidateValue() { return candidateValue; }
+    /** Candidate minus baseline: percent of the baseline, or percentage points for rates */
+    public double getChange() { return change; }
+    /** Confidence interval of the change; NaN when the metric has none */
+    public double getConfidenceLow() { return confidenceLow; }
+    public double getConfidenceHigh() { return confidenceHigh; }
+    public boolean hasConfidenceInterval() { return !Double.isNaN(confidenceLow); }
+    /** Two-sided p-value; NaN when significance comes from the confidence interval */
+    public double getPValue() { return pValue; }
+    /** The change is unlikely to be noise */
+    public boolean isSignificant() { return significant; }
+    /** Significantly worse by more than the tolerance */
+    public boolean isRegressed() { return regressed; }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.loadtesting.phase1.model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 
 /**
  * Phase 1: Performance Metrics Model
@@ -10,65 +13,267 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class PerformanceMetrics {
     private final List<RequestResult> requestResults;
-    private final LocalDateTime testStartTime;
+    private final boolean retainResults;
+    private final LatencyHistogram responseTimeHistogram;
+    private final LatencyHistogram correctedResponseTimeHistogram;
+    private long expectedIntervalMicros;
+    private final Map<String, PerformanceMetrics> endpointMetrics;
+    private LocalDateTime testStartTime;
+    private long measurementStartNanos;
+    private long measurementEndNanos;
+    private PerformanceMetrics warmUpMetrics;
     private LocalDateTime testEndTime;
-    private int totalRequests;
-    private int successfulRequests;
-    private int failedRequests;
+    private long totalRequests;
+    private long successfulRequests;
+    private long failedRequests;
+    private final long[] errorCounts;
     private long minResponseTime;
     private long maxResponseTime;
+    private long totalResponseTimeMicros;
     private double averageResponseTime;
     private double throughputPerSecond;
+    private GeneratorHealth generatorHealth;
+    private ConnectionStats connectionStats;
+    private IntervalSeries intervalSeries;
+    private List<Trend> trends;
+    private List<CapacityPoint> capacityTimeline;
+    private SlowRequestTracker slowRequests;
+    private UserStats userStats;
+    private boolean cancelled;
+    private long drainedRequests;
+    private long abandonedRequests;
     
     public PerformanceMetrics() {
-        this.requestResults = new CopyOnWriteArrayList<>();
-        this.testStartTime = LocalDateTime.now();
+        this(true);
+    }
+    
+    public PerformanceMetrics(boolean retainResults) {
+        this(LocalDateTime.now(), System.nanoTime(), retainResults);
+    }
+    
+    private PerformanceMetrics(LocalDateTime testStartTime, long measurementStartNanos, boolean retainResults) {
+        this.requestResults = Collections.synchronizedList(new ArrayList<>());
+        this.retainResults = retainResults;
+        this.responseTimeHistogram = new LatencyHistogram();
+        this.correctedResponseTimeHistogram = new LatencyHistogram();
+        this.endpointMetrics = new LinkedHashMap<>();
+        this.errorCounts = new long[ErrorType.values().length];
+        this.testStartTime = testStartTime;
+        this.measurementStartNanos = measurementStartNanos;
         this.minResponseTime = Long.MAX_VALUE;
         this.maxResponseTime = 0;
     }
     
     public void addRequestResult(RequestResult result) {
-        requestResults.add(result);
-        updateMetrics();
+        if (retainResults) {
+            requestResults.add(result);
+        }
+        updateMetrics(result);
+        
+        if (result.getEndpoint() != null) {
+            endpointMetrics.computeIfAbsent(result.getEndpoint(), this::createEndpointMetrics)
+                .updateMetrics(result);
+        }
     }
     
-    private void updateMetrics() {
-        totalRequests = requestResults.size();
-        successfulRequests = (int) requestResults.stream().mapToLong(r -> r.isSuccess() ? 1 : 0).sum();
-        failedRequests = totalRequests - successfulRequests;
+    private PerformanceMetrics createEndpointMetrics(String endpoint) {
+        PerformanceMetrics metrics = new PerformanceMetrics(testStartTime, measurementStartNanos, false);
+        metrics.expectedIntervalMicros = expectedIntervalMicros;
+        return metrics;
+    }
+    
+    /**
+     * Enables coordinated omission correction: alongside the raw distribution,
+     * a corrected one is recorded that back-fills the requests each user would
+     * have sent every {@code expectedIntervalMicros} while waiting on a slow one.
+     */
+    public void enableCoordinatedOmissionCorrection(long expectedIntervalMicros) {
+        this.expectedIntervalMicros = expectedIntervalMicros;
+    }
+    
+    private void updateMetrics(RequestResult result) {
+        totalRequests++;
+        if (result.isSuccess()) {
+            successfulRequests++;
+        } else {
+            failedRequests++;
+            ErrorType errorType = result.getErrorType();
+            errorCounts[(errorType != null ? errorType : ErrorType.CONNECTION).ordinal()]++;
+        }
         
-        if (!requestResults.isEmpty()) {
-            minResponseTime = requestResults.stream().mapToLong(RequestResult::getResponseTimeMs).min().orElse(0);
-            maxResponseTime = requestResults.stream().mapToLong(RequestResult::getResponseTimeMs).max().orElse(0);
-            averageResponseTime = requestResults.stream().mapToLong(RequestResult::getResponseTimeMs).average().orElse(0);
+        long responseTime = result.getResponseTimeMs();
+        minResponseTime = Math.min(minResponseTime, responseTime);
+        maxResponseTime = Math.max(maxResponseTime, responseTime);
+        totalResponseTimeMicros += result.getResponseTimeMicros();
+        averageResponseTime = totalResponseTimeMicros / 1000.0 / totalRequests;
+        responseTimeHistogram.recordValue(result.getResponseTimeMicros());
+        if (expectedIntervalMicros > 0) {
+            correctedResponseTimeHistogram.recordValueWithExpectedInterval(result.getResponseTimeMicros(), expectedIntervalMicros);
         }
     }
     
+    /**
+     * Restarts the measured window, e.g. once warm-up is over. Throughput is
+     * computed from this point to {@link #finalizeMetrics()}.
+     */
+    public void markMeasurementStart() {
+        this.testStartTime = LocalDateTime.now();
+        this.measurementStartNanos = System.nanoTime();
+        endpointMetrics.values().forEach(PerformanceMetrics::markMeasurementStart);
+    }
+    
+    /**
+     * Closes the measured window. Results still arriving afterwards are
+     * counted, but throughput stays relative to this window.
+     */
+    public void markMeasurementEnd() {
+        markMeasurementEnd(LocalDateTime.now(), System.nanoTime());
+    }
+    
+    private void markMeasurementEnd(LocalDateTime endTime, long endNanos) {
+        this.testEndTime = endTime;
+        this.measurementEndNanos = endNanos;
+        endpointMetrics.values().forEach(endpoint -> endpoint.markMeasurementEnd(endTime, endNanos));
+    }
+    
     public void finalizeMetrics() {
-        this.testEndTime = LocalDateTime.now();
-        updateMetrics();
+        if (testEndTime == null) {
+            markMeasurementEnd();
+        }
         calculateThroughput();
+        endpointMetrics.values().forEach(PerformanceMetrics::finalizeMetrics);
     }
     
     private void calculateThroughput() {
-        if (testStartTime != null && testEndTime != null) {
-            long durationSeconds = java.time.Duration.between(testStartTime, testEndTime).getSeconds();
-            if (durationSeconds > 0) {
-                throughputPerSecond = (double) totalRequests / durationSeconds;
-            }
+        double durationSeconds = getMeasuredDurationSeconds();
+        if (durationSeconds > 0) {
+            throughputPerSecond = totalRequests / durationSeconds;
         }
     }
     
+    /**
+     * Returns an independent copy of the aggregates (without raw results). An
+     * open window is closed on the copy, so its throughput covers the run so far.
+     */
+    public PerformanceMetrics snapshot() {
+        PerformanceMetrics copy = new PerformanceMetrics(testStartTime, measurementStartNanos, false);
+        copy.testEndTime = testEndTime;
+        copy.measurementEndNanos = measurementEndNanos;
+        copy.totalRequests = totalRequests;
+        copy.successfulRequests = successfulRequests;
+        copy.failedRequests = failedRequests;
+        System.arraycopy(errorCounts, 0, copy.errorCounts, 0, errorCounts.length);
+        copy.minResponseTime = minResponseTime;
+        copy.maxResponseTime = maxResponseTime;
+        copy.totalResponseTimeMicros = totalResponseTimeMicros;
+        copy.averageResponseTime = averageResponseTime;
+        copy.expectedIntervalMicros = expectedIntervalMicros;
+        copy.responseTimeHistogram.add(responseTimeHistogram);
+        copy.correctedResponseTimeHistogram.add(correctedResponseTimeHistogram);
+        copy.generatorHealth = generatorHealth;
+        copy.connectionStats = connectionStats;
+        copy.intervalSeries = intervalSeries;
+        copy.trends = trends;
+        copy.capacityTimeline = capacityTimeline;
+        copy.slowRequests = slowRequests;
+        copy.userStats = userStats;
+        copy.cancelled = cancelled;
+        copy.drainedRequests = drainedRequests;
+        copy.abandonedRequests = abandonedRequests;
+        copy.warmUpMetrics = warmUpMetrics != null ? warmUpMetrics.snapshot() : null;
+        endpointMetrics.forEach((name, endpoint) -> copy.endpointMetrics.put(name, endpoint.snapshot()));
+        copy.finalizeMetrics();
+        return copy;
+    }
+    
+    public double getMeasuredDurationSeconds() {
+        return measurementEndNanos > measurementStartNanos
+            ? (measurementEndNanos - measurementStartNanos) / 1_000_000_000.0
+            : 0;
+    }
+    
+    /**
+     * Response time at the given percentile (0-100) in milliseconds.
+     */
+    public double getPercentileResponseTime(double percentile) {
+        return responseTimeHistogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    /**
+     * Coordinated-omission corrected response time at the given percentile in
+     * milliseconds; equals the raw value when correction is disabled.
+     */
+    public double getCorrectedPercentileResponseTime(double percentile) {
+        if (!isCoordinatedOmissionCorrected()) return getPercentileResponseTime(percentile);
+        return correctedResponseTimeHistogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    public boolean isCoordinatedOmissionCorrected() {
+        return expectedIntervalMicros > 0;
+    }
+    
     // Getters
     public List<RequestResult> getRequestResults() { return requestResults; }
+    public LatencyHistogram getResponseTimeHistogram() { return responseTimeHistogram; }
+    public LatencyHistogram getCorrectedResponseTimeHistogram() { return correctedResponseTimeHistogram; }
+    public long getExpectedIntervalMicros() { return expectedIntervalMicros; }
+    public Map<String, PerformanceMetrics> getEndpointMetrics() { return endpointMetrics; }
     public LocalDateTime getTestStartTime() { return testStartTime; }
+    /** {@link System#nanoTime()} at the start of the measured period */
+    public long getMeasurementStartNanos() { return measurementStartNanos; }
+    /** {@link System#nanoTime()} at the end of the measured period; 0 while it is open */
+    public long getMeasurementEndNanos() { return measurementEndNanos; }
     public LocalDateTime getTestEndTime() { return testEndTime; }
-    public int getTotalRequests() { return totalRequests; }
-    public int getSuccessfulRequests() { return successfulRequests; }
-    public int getFailedRequests() { return failedRequests; }
+    public long getTotalRequests() { return totalRequests; }
+    public long getSuccessfulRequests() { return successfulRequests; }
+    public long getFailedRequests() { return failedRequests; }
+    public long getErrorCount(ErrorType errorType) { return errorCounts[errorType.ordinal()]; }
     public long getMinResponseTime() { return minResponseTime; }
     public long getMaxResponseTime() { return maxResponseTime; }
     public double getAverageResponseTime() { return averageResponseTime; }
     public double getThroughputPerSecond() { return throughputPerSecond; }
+    /** Results collected before the measured window; null when the run had no warm-up */
+    public PerformanceMetrics getWarmUpMetrics() { return warmUpMetrics; }
+    public void setWarmUpMetrics(PerformanceMetrics warmUpMetrics) { this.warmUpMetrics = warmUpMetrics; }
+    public GeneratorHealth getGeneratorHealth() { return generatorHealth; }
+    public void setGeneratorHealth(GeneratorHealth generatorHealth) { this.generatorHealth = generatorHealth; }
+    public ConnectionStats getConnectionStats() { return connectionStats; }
+    public void setConnectionStats(ConnectionStats connectionStats) { this.connectionStats = connectionStats; }
+    /** Per-user counters of the measured window, shared with the live collector; null unless the run had a fixed user population */
+    public UserStats getUserStats() { return userStats; }
+    public void setUserStats(UserStats userStats) { this.userStats = userStats; }
+    /** The run was stopped before its duration elapsed */
+    public boolean isCancelled() { return cancelled; }
+    public void setCancelled(boolean cancelled) { this.cancelled = cancelled; }
+    /** Requests in flight at the cutoff that finished within the drain deadline; not measured */
+    public long getDrainedRequests() { return drainedRequests; }
+    public void setDrainedRequests(long drainedRequests) { this.drainedRequests = drainedRequests; }
+    /** Requests still in flight when the drain deadline passed; not measured */
+    public long getAbandonedRequests() { return abandonedRequests; }
+    public void setAbandonedRequests(long abandonedRequests) { this.abandonedRequests = abandonedRequests; }
+    public long getInFlightAtCutoff() { return drainedRequests + abandonedRequests; }
+    /** Per-interval history of the measured window; shared with the live collector, not copied */
+    public IntervalSeries getIntervalSeries() { return intervalSeries; }
+    
+    /**
+     * Intervals of the measured period, oldest first; empty without a series.
+     * Read at the end of the window once it closed, so a finished run reads
+     * the same whenever it is saved or exported.
+     */
+    public List<IntervalSeries.Interval> getMeasuredIntervals() {
+        if (intervalSeries == null) return new ArrayList<>();
+        return intervalSeries.getIntervals(measurementEndNanos > measurementStartNanos ? measurementEndNanos : System.nanoTime());
+    }
+    public void setIntervalSeries(IntervalSeries intervalSeries) { this.intervalSeries = intervalSeries; }
+    /** Latency and error drift across the run; null unless trend detection ran */
+    public List<Trend> getTrends() { return trends; }
+    public void setTrends(List<Trend> trends) { this.trends = trends; }
+    /** Adaptive concurrency decisions over the run; null unless the run was adaptive */
+    public List<CapacityPoint> getCapacityTimeline() { return capacityTimeline; }
+    public void setCapacityTimeline(List<CapacityPoint> capacityTimeline) { this.capacityTimeline = capacityTimeline; }
+    
+    /** Full results of the slowest measured requests; null when not tracked */
+    public SlowRequestTracker getSlowRequests() { return slowRequests; }
+    public void setSlowRequests(SlowRequestTracker slowRequests) { this.slowRequests = slowRequests; }
     public double getErrorRate() { return totalRequests > 0 ? (double) failedRequests / totalRequests * 100 : 0; }
 }
\ No newline at end of file
@@ -8,26 +8,52 @@ import java.time.LocalDateTime;
  */
 public class RequestResult {
     private final LocalDateTime timestamp;
-    private final long responseTimeMs;
+    private final long responseTimeMicros;
     private final int statusCode;
     private final boolean success;
     private final String errorMessage;
     private final int threadId;
+    private final String endpoint;
+    private final long startNanos;
+    private final ErrorType errorType;
     
     public RequestResult(long responseTimeMs, int statusCode, boolean success, String errorMessage, int threadId) {
+        this(responseTimeMs * 1000, statusCode, success, errorMessage, threadId, null);
+    }
+    
+    public RequestResult(long responseTimeMicros, int statusCode, boolean success, String errorMessage, int threadId, String endpoint) {
+        this(responseTimeMicros, statusCode, success, errorMessage, threadId, endpoint, System.nanoTime() - responseTimeMicros * 1000);
+    }
+    
+    public RequestResult(long responseTimeMicros, int statusCode, boolean success, String errorMessage, int threadId,
+                         String endpoint, long startNanos) {
+        this(responseTimeMicros, statusCode, success, errorMessage, threadId, endpoint, startNanos,
+            success ? null : statusCode == 0 ? ErrorType.CONNECTION : ErrorType.HTTP_STATUS);
+    }
+    
+    public RequestResult(long responseTimeMicros, int statusCode, boolean success, String errorMessage, int threadId,
+                         String endpoint, long startNanos, ErrorType errorType) {
         this.timestamp = LocalDateTime.now();
-        this.responseTimeMs = responseTimeMs;
+        this.responseTimeMicros = responseTimeMicros;
         this.statusCode = statusCode;
         this.success = success;
         this.errorMessage = errorMessage;
         this.threadId = threadId;
+        this.endpoint = endpoint;
+        this.startNanos = startNanos;
+        this.errorType = errorType;
     }
     
     // Getters
     public LocalDateTime getTimestamp() { return timestamp; }
-    public long getResponseTimeMs() { return responseTimeMs; }
+    public long getResponseTimeMs() { return responseTimeMicros / 1000; }
+    public long getResponseTimeMicros() { return responseTimeMicros; }
     public int getStatusCode() { return statusCode; }
     public boolean isSuccess() { return success; }
     public String getErrorMessage() { return errorMessage; }
     public int getThreadId() { return threadId; }
+    public String getEndpoint() { return endpoint; }
+    public long getStartNanos() { return startNanos; }
+    /** Failure class, or null for successful requests */
+    public ErrorType getErrorType() { return errorType; }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Response Assertion
+ * Declarative check applied to every response of a request
+ */
+public class ResponseAssertion {
+    
+    public enum Type {
+        /** Status matches one of the comma-separated codes or classes, e.g. "200,204" or "2xx" */
+        STATUS,
+        /** Header {@code name} is present and, if expected is set, contains it */
+        HEADER,
+        /** Response time is at most expected milliseconds */
+        MAX_LATENCY_MS,
+        /** Body contains the expected text */
+        BODY_CONTAINS,
+        /** Body does not contain the expected text */
+        BODY_NOT_CONTAINS,
+        /** JSON field {@code name} (first occurrence at any depth) has the expected JSON literal, e.g. "\"ok\"" or "true" */
+        JSON_FIELD,
+        /** Body has at most expected bytes */
+        MAX_BODY_BYTES,
+        /** Body has at least expected bytes */
+        MIN_BODY_BYTES
+    }
+    
+    private Type type;
+    private String name;
+    private String expected;
+    
+    public ResponseAssertion() {
+    }
+    
+    public ResponseAssertion(Type type, String name, String expected) {
+        this.type = type;
+        this.name = name;
+        this.expected = expected;
+    }
+    
+    public static ResponseAssertion status(String codes) { return new ResponseAssertion(Type.STATUS, null, codes); }
+    public static ResponseAssertion header(String name, String expected) { return new ResponseAssertion(Type.HEADER, name, expected); }
+    public static ResponseAssertion maxLatencyMs(long millis) { return new ResponseAssertion(Type.MAX_LATENCY_MS, null, String.valueOf(millis)); }
+    public static ResponseAssertion bodyContains(String text) { return new ResponseAssertion(Type.BODY_CONTAINS, null, text); }
+    public static ResponseAssertion bodyNotContains(String text) { return new ResponseAssertion(Type.BODY_NOT_CONTAINS, null, text); }
+    public static ResponseAssertion jsonField(String field, String expectedLiteral) { return new ResponseAssertion(Type.JSON_FIELD, field, expectedLiteral); }
+    public static ResponseAssertion maxBodyBytes(long bytes) { return new ResponseAssertion(Type.MAX_BODY_BYTES, null, String.valueOf(bytes)); }
+    public static ResponseAssertion minBodyBytes(long bytes) { return new ResponseAssertion(Type.MIN_BODY_BYTES, null, String.valueOf(bytes)); }
+    
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getExpected() { return expected; }
+    public void setExpected(String expected) { this.expected = expected; }
+    
+    public boolean isValid() {
+        if (type == null) return false;
+        switch (type) {
+            case HEADER:
+                return name != null && !name.trim().isEmpty();
+            case JSON_FIELD:
+                return name != null && !name.isEmpty() && expected != null && !expected.isEmpty();
+            case MAX_LATENCY_MS:
+            case MAX_BODY_BYTES:
+            case MIN_BODY_BYTES:
+                try {
+                    return Long.parseLong(expected.trim()) >= 0;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            default:
+                return expected != null && !expected.isEmpty();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return type + (name != null ? " " + name : "") + (expected != null ? " " + expected : "");
+    }
+}
\ No newline at end of file
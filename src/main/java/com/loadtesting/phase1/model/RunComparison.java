@@ -0,0 +1,64 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase 1: Run Comparison
+ * Verdict of a candidate run against a baseline: per-metric comparisons, the
+ * Mann-Whitney test over the whole latency distribution with its effect
+ * size, and warnings about anything that makes the two runs less comparable.
+ */
+public class RunComparison {
+    private final RunSummary baseline;
+    private final RunSummary candidate;
+    private final List<MetricComparison> metrics;
+    private final List<String> warnings;
+    private double mannWhitneyZ;
+    private double mannWhitneyPValue;
+    private double probabilityCandidateSlower;
+    private boolean distributionShifted;
+    private boolean bootstrapByInterval;
+    private double confidenceLevel;
+    
+    public RunComparison(RunSummary baseline, RunSummary candidate) {
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.metrics = new ArrayList<>();
+        this.warnings = new ArrayList<>();
+    }
+    
+    public RunSummary getBaseline() { return baseline; }
+    public RunSummary getCandidate() { return candidate; }
+    public List<MetricComparison> getMetrics() { return metrics; }
+    public List<String> getWarnings() { return warnings; }
+    
+    public double getMannWhitneyZ() { return mannWhitneyZ; }
+    public void setMannWhitneyZ(double mannWhitneyZ) { this.mannWhitneyZ = mannWhitneyZ; }
+    
+    public double getMannWhitneyPValue() { return mannWhitneyPValue; }
+    public void setMannWhitneyPValue(double mannWhitneyPValue) { this.mannWhitneyPValue = mannWhitneyPValue; }
+    
+    /** P(a random candidate request is slower than a random baseline one); 0.5 means no shift */
+    public double getProbabilityCandidateSlower() { return probabilityCandidateSlower; }
+    public void setProbabilityCandidateSlower(double probabilityCandidateSlower) { this.probabilityCandidateSlower = probabilityCandidateSlower; }
+    
+    /** Cliff's delta: -1 (always faster) to +1 (always slower) */
+    public double getCliffsDelta() { return 2 * probabilityCandidateSlower - 1; }
+    
+    /** Significantly slower overall, by at least a small effect size */
+    public boolean isDistributionShifted() { return distributionShifted; }
+    public void setDistributionShifted(boolean distributionShifted) { this.distributionShifted = distributionShifted; }
+    
+    /** True when confidence intervals resampled whole intervals rather than single requests */
+    public boolean isBootstrapByInterval() { return bootstrapByInterval; }
+    public void setBootstrapByInterval(boolean bootstrapByInterval) { this.bootstrapByInterval = bootstrapByInterval; }
+    
+    /** Confidence level of the intervals, 1 - alpha, e.g. 0.95 */
+    public double getConfidenceLevel() { return confidenceLevel; }
+    public void setConfidenceLevel(double confidenceLevel) { this.confidenceLevel = confidenceLevel; }
+    
+    public boolean isPassed() {
+        return !distributionShifted && metrics.stream().noneMatch(MetricComparison::isRegressed);
+    }
+}
\ No newline at end of file
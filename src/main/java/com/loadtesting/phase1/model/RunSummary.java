@@ -0,0 +1,74 @@
+package com.loadtesting.phase1.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Phase 1: Run Summary
+ * Headline numbers of one stored run, as kept in the run store index. Enough
+ * for history listings and cross-run trends without loading the run itself.
+ */
+public class RunSummary {
+    
+    public enum Kind {
+        LOAD_TEST,
+        /** Summary numbers are those of the peak-throughput level */
+        SCALABILITY
+    }
+    
+    private final long runId;
+    private final Kind kind;
+    private final long startEpochMillis;
+    private final String endpoint;
+    private final String httpMethod;
+    private final int concurrentUsers;
+    private final double durationSeconds;
+    private final long totalRequests;
+    private final double errorRate;
+    private final double throughputPerSecond;
+    private final double averageResponseTime;
+    private final double p50ResponseTime;
+    private final double p95ResponseTime;
+    private final double p99ResponseTime;
+    
+    public RunSummary(long runId, Kind kind, long startEpochMillis, String endpoint, String httpMethod,
+                      int concurrentUsers, double durationSeconds, long totalRequests, double errorRate,
+                      double throughputPerSecond, double averageResponseTime, double p50ResponseTime,
+                      double p95ResponseTime, double p99ResponseTime) {
+        this.runId = runId;
+        this.kind = kind;
+        this.startEpochMillis = startEpochMillis;
+        this.endpoint = endpoint;
+        this.httpMethod = httpMethod;
+        this.concurrentUsers = concurrentUsers;
+        this.durationSeconds = durationSeconds;
+        this.totalRequests = totalRequests;
+        this.errorRate = errorRate;
+        this.throughputPerSecond = throughputPerSecond;
+        this.averageResponseTime = averageResponseTime;
+        this.p50ResponseTime = p50ResponseTime;
+        this.p95ResponseTime = p95ResponseTime;
+        this.p99ResponseTime = p99ResponseTime;
+    }
+    
+    public long getRunId() { return runId; }
+    public Kind getKind() { return kind; }
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public LocalDateTime getStartTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(startEpochMillis), ZoneId.systemDefault());
+    }
+    public String getEndpoint() { return endpoint; }
+    public String getHttpMethod() { return httpMethod; }
+    public int getConcurrentUsers() { return concurrentUsers; }
+    public double getDurationSeconds() { return durationSeconds; }
+    public long getTotalRequests() { return totalRequests; }
+    /** Percent */
+    public double getErrorRate() { return errorRate; }
+    public double getThroughputPerSecond() { return throughputPerSecond; }
+    /** Response times in milliseconds */
+    public double getAverageResponseTime() { return averageResponseTime; }
+    public double getP50ResponseTime() { return p50ResponseTime; }
+    public double getP95ResponseTime() { return p95ResponseTime; }
+    public double getP99ResponseTime() { return p99ResponseTime; }
+}
\ No newline at end of file
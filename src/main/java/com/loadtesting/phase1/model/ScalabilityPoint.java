@@ -0,0 +1,39 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Scalability Point
+ * Headline numbers of one load level of a scalability test
+ */
+public class ScalabilityPoint {
+    private final int users;
+    private final long totalRequests;
+    private final double throughputPerSecond;
+    private final double averageResponseTime;
+    private final double p99ResponseTime;
+    private final double errorRate;
+    
+    public ScalabilityPoint(int users, long totalRequests, double throughputPerSecond, double averageResponseTime,
+                            double p99ResponseTime, double errorRate) {
+        this.users = users;
+        this.totalRequests = totalRequests;
+        this.throughputPerSecond = throughputPerSecond;
+        this.averageResponseTime = averageResponseTime;
+        this.p99ResponseTime = p99ResponseTime;
+        this.errorRate = errorRate;
+    }
+    
+    public static ScalabilityPoint of(int users, PerformanceMetrics metrics) {
+        return new ScalabilityPoint(users, metrics.getTotalRequests(), metrics.getThroughputPerSecond(),
+            metrics.getAverageResponseTime(), metrics.getPercentileResponseTime(99), metrics.getErrorRate());
+    }
+    
+    public int getUsers() { return users; }
+    public long getTotalRequests() { return totalRequests; }
+    public double getThroughputPerSecond() { return throughputPerSecond; }
+    /** Milliseconds */
+    public double getAverageResponseTime() { return averageResponseTime; }
+    /** Milliseconds */
+    public double getP99ResponseTime() { return p99ResponseTime; }
+    /** Percent */
+    public double getErrorRate() { return errorRate; }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Service Level Objective
+ * A bound on one metric of a finished run, used as a pass/fail gate by batch
+ * runs. Either bound may be left out; a run that measured no requests meets
+ * no objective, so a dead target can never pass.
+ */
+public class ServiceLevelObjective {
+    
+    public enum Metric {
+        MEAN_MS("ms"),
+        P50_MS("ms"),
+        P90_MS("ms"),
+        P95_MS("ms"),
+        P99_MS("ms"),
+        P99_9_MS("ms"),
+        MAX_MS("ms"),
+        ERROR_RATE_PERCENT("%"),
+        THROUGHPUT_PER_SECOND("req/s");
+        
+        private final String unit;
+        
+        Metric(String unit) {
+            this.unit = unit;
+        }
+        
+        public String getUnit() { return unit; }
+        
+        public double valueOf(PerformanceMetrics metrics) {
+            switch (this) {
+                case MEAN_MS:
+                    return metrics.getAverageResponseTime();
+                case P50_MS:
+                    return metrics.getPercentileResponseTime(50);
+                case P90_MS:
+                    return metrics.getPercentileResponseTime(90);
+                case P95_MS:
+                    return metrics.getPercentileResponseTime(95);
+                case P99_MS:
+                    return metrics.getPercentileResponseTime(99);
+                case P99_9_MS:
+                    return metrics.getPercentileResponseTime(99.9);
+                case MAX_MS:
+                    return metrics.getMaxResponseTime();
+                case ERROR_RATE_PERCENT:
+                    return metrics.getErrorRate();
+                default:
+                    return metrics.getThroughputPerSecond();
+            }
+        }
+    }
+    
+    private Metric metric;
+    private Double max;
+    private Double min;
+    
+    public ServiceLevelObjective() {
+    }
+    
+    public ServiceLevelObjective(Metric metric, Double max, Double min) {
+        this.metric = metric;
+        this.max = max;
+        this.min = min;
+    }
+    
+    public Metric getMetric() { return metric; }
+    public void setMetric(Metric metric) { this.metric = metric; }
+    
+    /** Inclusive upper bound; null for none */
+    public Double getMax() { return max; }
+    public void setMax(Double max) { this.max = max; }
+    
+    /** Inclusive lower bound; null for none */
+    public Double getMin() { return min; }
+    public void setMin(Double min) { this.min = min; }
+    
+    /**
+     * @return the metric's value in the run, or NaN when it measured nothing
+     */
+    public double actualValue(PerformanceMetrics metrics) {
+        return metrics.getTotalRequests() > 0 ? metric.valueOf(metrics) : Double.NaN;
+    }
+    
+    public boolean isMet(double actual) {
+        return !Double.isNaN(actual) && (max == null || actual <= max) && (min == null || actual >= min);
+    }
+    
+    public boolean isValid() {
+        return metric != null && (max != null || min != null);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(metric.name());
+        if (min != null) description.append(" >= ").append(min);
+        if (min != null && max != null) description.append(" and");
+        if (max != null) description.append(" <= ").append(max);
+        return description.append(' ').append(metric.getUnit()).toString();
+    }
+}
\ No newline at end of file
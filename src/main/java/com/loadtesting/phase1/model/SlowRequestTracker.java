@@ -0,0 +1,199 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Phase 1: Slow Request Tracker
+ * Keeps the full results of only the K slowest requests, per fixed interval
+ * and over the whole run, in constant memory and without locks. Once a set
+ * is full, its threshold is the fastest latency it holds; a request at or
+ * below the current interval's threshold can be neither in the interval's
+ * nor the overall top K, so it is rejected after one volatile read.
+ * Intervals are assigned by completion time.
+ */
+public class SlowRequestTracker {
+    public static final int DEFAULT_CAPACITY = 20;
+    private static final long DEFAULT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int DEFAULT_RETAINED_INTERVALS = 60;
+    
+    private final int capacity;
+    private final long intervalNanos;
+    private final int retainedIntervals;
+    private final long startNanos;
+    private final TopK overall;
+    private final AtomicReference<Window> current;
+    private final ConcurrentLinkedDeque<Window> completed;
+    
+    public SlowRequestTracker(long startNanos) {
+        this(startNanos, DEFAULT_CAPACITY, DEFAULT_INTERVAL_NANOS, DEFAULT_RETAINED_INTERVALS);
+    }
+    
+    /**
+     * @param capacity          results kept per interval and overall
+     * @param retainedIntervals closed intervals kept; older ones are dropped
+     */
+    public SlowRequestTracker(long startNanos, int capacity, long intervalNanos, int retainedIntervals) {
+        if (capacity <= 0 || intervalNanos <= 0) {
+            throw new IllegalArgumentException("Capacity and interval must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = intervalNanos;
+        this.retainedIntervals = retainedIntervals;
+        this.startNanos = startNanos;
+        this.overall = new TopK(capacity);
+        this.current = new AtomicReference<>(new Window(startNanos, startNanos + intervalNanos, capacity));
+        this.completed = new ConcurrentLinkedDeque<>();
+    }
+    
+    /**
+     * @return true if the result is now among the slowest kept
+     */
+    public boolean offer(RequestResult result) {
+        long latency = result.getResponseTimeMicros();
+        long completionNanos = result.getStartNanos() + latency * 1000;
+        Window window = current.get();
+        // Fast path: the interval's set is full of slower requests
+        if (latency <= window.slowest.threshold.get() && completionNanos < window.endNanos) {
+            return false;
+        }
+        while (completionNanos >= window.endNanos) {
+            window = rotate(window, completionNanos);
+        }
+        // A result the interval rejects has K slower ones beside it, so it cannot be among the overall K either
+        if (!window.slowest.offer(result)) return false;
+        overall.offer(result);
+        return true;
+    }
+    
+    /**
+     * The slowest results of the whole run, slowest first.
+     */
+    public List<RequestResult> getSlowest() {
+        return overall.sorted();
+    }
+    
+    /**
+     * Retained intervals, oldest first, including the one still open.
+     */
+    public List<Window> getIntervals() {
+        List<Window> windows = new ArrayList<>(completed);
+        windows.add(current.get());
+        return windows;
+    }
+    
+    public int getCapacity() { return capacity; }
+    public long getIntervalNanos() { return intervalNanos; }
+    public long getStartNanos() { return startNanos; }
+    
+    private Window rotate(Window expected, long nowNanos) {
+        long index = (nowNanos - startNanos) / intervalNanos;
+        long windowStart = startNanos + index * intervalNanos;
+        Window next = new Window(windowStart, windowStart + intervalNanos, capacity);
+        if (current.compareAndSet(expected, next)) {
+            // Rare: once per interval, so the deque's O(n) size is fine
+            if (!expected.slowest.isEmpty()) completed.addLast(expected);
+            while (completed.size() > retainedIntervals) completed.pollFirst();
+            return next;
+        }
+        return current.get();
+    }
+    
+    /**
+     * One interval and its slowest results.
+     */
+    public static final class Window {
+        private final long startNanos;
+        private final long endNanos;
+        private final TopK slowest;
+        
+        private Window(long startNanos, long endNanos, int capacity) {
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.slowest = new TopK(capacity);
+        }
+        
+        public long getStartNanos() { return startNanos; }
+        public long getEndNanos() { return endNanos; }
+        /** Slowest first */
+        public List<RequestResult> getSlowest() { return slowest.sorted(); }
+    }
+    
+    /**
+     * Fixed slots replaced by compare-and-set. Slot latencies only ever grow,
+     * so a threshold computed from a racy scan can be stale-low (costing an
+     * extra slow-path attempt) but never too high.
+     */
+    private static final class TopK {
+        private final AtomicReferenceArray<RequestResult> slots;
+        private final AtomicLong threshold;
+        
+        private TopK(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            // Accepts everything, including 0 µs, until every slot is filled
+            this.threshold = new AtomicLong(-1);
+        }
+        
+        private boolean offer(RequestResult result) {
+            long latency = result.getResponseTimeMicros();
+            while (latency > threshold.get()) {
+                int minIndex = -1;
+                RequestResult min = null;
+                long minLatency = Long.MAX_VALUE;
+                for (int i = 0; i < slots.length(); i++) {
+                    RequestResult slot = slots.get(i);
+                    if (slot == null) {
+                        minIndex = i;
+                        min = null;
+                        minLatency = -1;
+                        break;
+                    }
+                    if (slot.getResponseTimeMicros() < minLatency) {
+                        minIndex = i;
+                        min = slot;
+                        minLatency = slot.getResponseTimeMicros();
+                    }
+                }
+                if (latency <= minLatency) {
+                    threshold.accumulateAndGet(minLatency, Math::max);
+                    return false;
+                }
+                if (slots.compareAndSet(minIndex, min, result)) {
+                    updateThreshold();
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private void updateThreshold() {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < slots.length(); i++) {
+                RequestResult slot = slots.get(i);
+                if (slot == null) return;
+                min = Math.min(min, slot.getResponseTimeMicros());
+            }
+            threshold.accumulateAndGet(min, Math::max);
+        }
+        
+        private boolean isEmpty() {
+            return slots.get(0) == null;
+        }
+        
+        private List<RequestResult> sorted() {
+            List<RequestResult> results = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                RequestResult slot = slots.get(i);
+                if (slot != null) results.add(slot);
+            }
+            results.sort(Comparator.comparingLong(RequestResult::getResponseTimeMicros).reversed());
+            return results;
+        }
+    }
+}
\ No newline at end of file
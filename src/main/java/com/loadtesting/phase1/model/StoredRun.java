@@ -0,0 +1,40 @@
+package com.loadtesting.phase1.model;
+
+import java.util.List;
+
+/**
+ * Phase 1: Stored Run
+ * A run loaded back from the run store: its summary, the configuration it
+ * ran with (as JSON), the latency distributions, the per-interval history
+ * and, for scalability tests, one point per load level.
+ */
+public class StoredRun {
+    private final RunSummary summary;
+    private final String configurationJson;
+    private final LatencyHistogram responseTimeHistogram;
+    private final LatencyHistogram correctedResponseTimeHistogram;
+    private final List<IntervalSeries.Interval> intervals;
+    private final List<ScalabilityPoint> scalabilityPoints;
+    
+    public StoredRun(RunSummary summary, String configurationJson, LatencyHistogram responseTimeHistogram,
+                     LatencyHistogram correctedResponseTimeHistogram, List<IntervalSeries.Interval> intervals,
+                     List<ScalabilityPoint> scalabilityPoints) {
+        this.summary = summary;
+        this.configurationJson = configurationJson;
+        this.responseTimeHistogram = responseTimeHistogram;
+        this.correctedResponseTimeHistogram = correctedResponseTimeHistogram;
+        this.intervals = intervals;
+        this.scalabilityPoints = scalabilityPoints;
+    }
+    
+    public RunSummary getSummary() { return summary; }
+    public String getConfigurationJson() { return configurationJson; }
+    /** Microseconds */
+    public LatencyHistogram getResponseTimeHistogram() { return responseTimeHistogram; }
+    /** Null when the run had no coordinated omission correction */
+    public LatencyHistogram getCorrectedResponseTimeHistogram() { return correctedResponseTimeHistogram; }
+    /** Measured-window intervals, oldest first; times are nanoseconds from the start of measurement */
+    public List<IntervalSeries.Interval> getIntervals() { return intervals; }
+    /** Empty unless this is a scalability test */
+    public List<ScalabilityPoint> getScalabilityPoints() { return scalabilityPoints; }
+}
\ No newline at end of file
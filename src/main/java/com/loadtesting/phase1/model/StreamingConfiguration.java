@@ -0,0 +1,80 @@
+package com.loadtesting.phase1.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Phase 1: Streaming Configuration
+ * Settings for long-lived connection tests: how many WebSocket or SSE
+ * connections to hold open, how fast to open them and how often each one
+ * sends a message.
+ */
+public class StreamingConfiguration {
+    
+    public enum Protocol {
+        /** Bidirectional; every connection sends timestamped messages and expects them echoed or broadcast back */
+        WEBSOCKET,
+        /** Server-Sent Events; receive-only, the server pushes events */
+        SSE
+    }
+    
+    private String endpoint;
+    private Protocol protocol;
+    private int connections;
+    private double connectRatePerSecond;
+    private double messagesPerSecond;
+    private int messageSizeBytes;
+    private int durationSeconds;
+    private int connectTimeoutMs;
+    private String timestampField;
+    private Map<String, String> headers;
+    
+    public StreamingConfiguration() {
+        this.protocol = Protocol.WEBSOCKET;
+        this.connections = 1000;
+        this.connectRatePerSecond = 500;
+        this.messagesPerSecond = 1;
+        this.messageSizeBytes = 64;
+        this.durationSeconds = 60;
+        this.connectTimeoutMs = 10000;
+        this.timestampField = "ts";
+        this.headers = new LinkedHashMap<>();
+    }
+    
+    // Getters and Setters
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+    
+    public Protocol getProtocol() { return protocol; }
+    public void setProtocol(Protocol protocol) { this.protocol = protocol; }
+    
+    public int getConnections() { return connections; }
+    public void setConnections(int connections) { this.connections = connections; }
+    
+    /** New connections opened per second; the ramp counts towards the duration */
+    public double getConnectRatePerSecond() { return connectRatePerSecond; }
+    public void setConnectRatePerSecond(double connectRatePerSecond) { this.connectRatePerSecond = connectRatePerSecond; }
+    
+    /** Messages each WebSocket connection sends per second; 0 only listens */
+    public double getMessagesPerSecond() { return messagesPerSecond; }
+    public void setMessagesPerSecond(double messagesPerSecond) { this.messagesPerSecond = messagesPerSecond; }
+    
+    public int getMessageSizeBytes() { return messageSizeBytes; }
+    public void setMessageSizeBytes(int messageSizeBytes) { this.messageSizeBytes = messageSizeBytes; }
+    
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+    
+    public int getConnectTimeoutMs() { return connectTimeoutMs; }
+    public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+    
+    /**
+     * JSON field holding the server's send time in epoch millis, used for the
+     * delivery latency of pushed messages; needs synchronized clocks.
+     */
+    public String getTimestampField() { return timestampField; }
+    public void setTimestampField(String timestampField) { this.timestampField = timestampField; }
+    
+    public Map<String, String> getHeaders() { return headers; }
+    public void setHeaders(Map<String, String> headers) { this.headers = headers; }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.loadtesting.phase1.model;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Phase 1: Streaming Metrics
+ * Connection and message counters for a long-lived connection test. All
+ * latencies are in microseconds. Round trip covers messages this generator
+ * sent and got back; delivery covers server-pushed messages carrying the
+ * server's send time.
+ */
+public class StreamingMetrics {
+    private final LatencyHistogram connectTimeHistogram;
+    private final LatencyHistogram roundTripHistogram;
+    private final LatencyHistogram deliveryHistogram;
+    private final AtomicLong connectAttempts;
+    private final AtomicLong connectFailures;
+    private final AtomicLong droppedConnections;
+    private final AtomicInteger openConnections;
+    private final AtomicInteger peakOpenConnections;
+    private final AtomicLong messagesSent;
+    private final AtomicLong sendsSkipped;
+    private final AtomicLong messagesReceived;
+    private final AtomicLong bytesReceived;
+    private LocalDateTime testStartTime;
+    private LocalDateTime testEndTime;
+    private double durationSeconds;
+    private long heapPerConnectionBytes;
+    
+    public StreamingMetrics() {
+        this.connectTimeHistogram = new LatencyHistogram();
+        this.roundTripHistogram = new LatencyHistogram();
+        this.deliveryHistogram = new LatencyHistogram();
+        this.connectAttempts = new AtomicLong();
+        this.connectFailures = new AtomicLong();
+        this.droppedConnections = new AtomicLong();
+        this.openConnections = new AtomicInteger();
+        this.peakOpenConnections = new AtomicInteger();
+        this.messagesSent = new AtomicLong();
+        this.sendsSkipped = new AtomicLong();
+        this.messagesReceived = new AtomicLong();
+        this.bytesReceived = new AtomicLong();
+        this.testStartTime = LocalDateTime.now();
+    }
+    
+    public void recordConnectAttempt() {
+        connectAttempts.incrementAndGet();
+    }
+    
+    public void recordConnected(long connectMicros) {
+        connectTimeHistogram.recordValue(connectMicros);
+        int open = openConnections.incrementAndGet();
+        if (open > peakOpenConnections.get()) peakOpenConnections.accumulateAndGet(open, Math::max);
+    }
+    
+    public void recordConnectFailure() {
+        connectFailures.incrementAndGet();
+    }
+    
+    /**
+     * @param dropped true when the server or network closed it during the test
+     */
+    public void recordClosed(boolean dropped) {
+        openConnections.decrementAndGet();
+        if (dropped) droppedConnections.incrementAndGet();
+    }
+    
+    public void recordSent() {
+        messagesSent.incrementAndGet();
+    }
+    
+    /** A send was due while the previous one on the same connection was still in progress */
+    public void recordSendSkipped() {
+        sendsSkipped.incrementAndGet();
+    }
+    
+    public void recordReceived(int bytes) {
+        messagesReceived.incrementAndGet();
+        bytesReceived.addAndGet(bytes);
+    }
+    
+    public void recordRoundTrip(long micros) {
+        roundTripHistogram.recordValue(micros);
+    }
+    
+    public void recordDelivery(long micros) {
+        deliveryHistogram.recordValue(micros);
+    }
+    
+    public double getReceivedPerSecond() {
+        return durationSeconds > 0 ? messagesReceived.get() / durationSeconds : 0;
+    }
+    
+    public double getSentPerSecond() {
+        return durationSeconds > 0 ? messagesSent.get() / durationSeconds : 0;
+    }
+    
+    // Getters and Setters
+    public LatencyHistogram getConnectTimeHistogram() { return connectTimeHistogram; }
+    public LatencyHistogram getRoundTripHistogram() { return roundTripHistogram; }
+    public LatencyHistogram getDeliveryHistogram() { return deliveryHistogram; }
+    
+    public long getConnectAttempts() { return connectAttempts.get(); }
+    public long getConnectFailures() { return connectFailures.get(); }
+    public long getDroppedConnections() { return droppedConnections.get(); }
+    public int getOpenConnections() { return openConnections.get(); }
+    public int getPeakOpenConnections() { return peakOpenConnections.get(); }
+    public long getMessagesSent() { return messagesSent.get(); }
+    public long getSendsSkipped() { return sendsSkipped.get(); }
+    public long getMessagesReceived() { return messagesReceived.get(); }
+    public long getBytesReceived() { return bytesReceived.get(); }
+    
+    public LocalDateTime getTestStartTime() { return testStartTime; }
+    public void setTestStartTime(LocalDateTime testStartTime) { this.testStartTime = testStartTime; }
+    
+    public LocalDateTime getTestEndTime() { return testEndTime; }
+    public void setTestEndTime(LocalDateTime testEndTime) { this.testEndTime = testEndTime; }
+    
+    public double getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(double durationSeconds) { this.durationSeconds = durationSeconds; }
+    
+    /** Heap growth while holding the peak number of connections, divided by it; 0 when unknown */
+    public long getHeapPerConnectionBytes() { return heapPerConnectionBytes; }
+    public void setHeapPerConnectionBytes(long heapPerConnectionBytes) { this.heapPerConnectionBytes = heapPerConnectionBytes; }
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.loadtesting.phase1.model;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,6 +17,20 @@ public class TestConfiguration {
     private int testDurationSeconds;
     private int concurrentUsers;
     private int rampUpSeconds;
+    private int warmUpSeconds;
+    private String feederFile;
+    private FeederStrategy feederStrategy;
+    private List<EndpointConfiguration> trafficMix;
+    private List<ResponseAssertion> assertions;
+    private boolean coordinatedOmissionCorrection;
+    private TransportConfiguration transport;
+    private int schedulerTickMillis;
+    private boolean soakMode;
+    private String replayLogFile;
+    private double replaySpeedUp;
+    private boolean replayLoop;
+    private double targetP99Ms;
+    private int drainTimeoutSeconds;
     
     public TestConfiguration() {
         this.httpMethod = "GET";
@@ -22,6 +38,13 @@ public class TestConfiguration {
         this.testDurationSeconds = 60;
         this.concurrentUsers = 10;
         this.rampUpSeconds = 10;
+        this.feederStrategy = FeederStrategy.CIRCULAR;
+        this.trafficMix = new ArrayList<>();
+        this.assertions = new ArrayList<>();
+        this.transport = new TransportConfiguration();
+        this.schedulerTickMillis = 1;
+        this.replaySpeedUp = 1.0;
+        this.drainTimeoutSeconds = 10;
     }
     
     // Getters and Setters
@@ -46,7 +69,77 @@ public class TestConfiguration {
     public int getRampUpSeconds() { return rampUpSeconds; }
     public void setRampUpSeconds(int rampUpSeconds) { this.rampUpSeconds = rampUpSeconds; }
     
+    /** Extra seconds after ramp-up whose results are kept out of the measured statistics */
+    public int getWarmUpSeconds() { return warmUpSeconds; }
+    public void setWarmUpSeconds(int warmUpSeconds) { this.warmUpSeconds = warmUpSeconds; }
+    
+    public String getFeederFile() { return feederFile; }
+    public void setFeederFile(String feederFile) { this.feederFile = feederFile; }
+    
+    public FeederStrategy getFeederStrategy() { return feederStrategy; }
+    public void setFeederStrategy(FeederStrategy feederStrategy) { this.feederStrategy = feederStrategy; }
+    
+    /** Endpoints driven together in one run; when empty the single apiEndpoint is used */
+    public List<EndpointConfiguration> getTrafficMix() { return trafficMix; }
+    public void setTrafficMix(List<EndpointConfiguration> trafficMix) { this.trafficMix = trafficMix; }
+    
+    /** Checked on every response; in a traffic mix they apply to all endpoints */
+    public List<ResponseAssertion> getAssertions() { return assertions; }
+    public void setAssertions(List<ResponseAssertion> assertions) { this.assertions = assertions; }
+    
+    public boolean isCoordinatedOmissionCorrection() { return coordinatedOmissionCorrection; }
+    public void setCoordinatedOmissionCorrection(boolean coordinatedOmissionCorrection) { this.coordinatedOmissionCorrection = coordinatedOmissionCorrection; }
+    
+    public TransportConfiguration getTransport() { return transport; }
+    public void setTransport(TransportConfiguration transport) { this.transport = transport; }
+    
+    /** Resolution of the timer wheel that paces users; timers fire at most one tick late */
+    public int getSchedulerTickMillis() { return schedulerTickMillis; }
+    public void setSchedulerTickMillis(int schedulerTickMillis) { this.schedulerTickMillis = Math.max(1, schedulerTickMillis); }
+    
+    /** Long-running mode: no raw results kept, rolling-window progress and drift detection */
+    public boolean isSoakMode() { return soakMode; }
+    public void setSoakMode(boolean soakMode) { this.soakMode = soakMode; }
+    
+    /** Access log (Common/Combined Log Format or JSONL) to replay against the endpoint's host instead of synthetic users */
+    public String getReplayLogFile() { return replayLogFile; }
+    public void setReplayLogFile(String replayLogFile) { this.replayLogFile = replayLogFile; }
+    
+    /** Replay rate relative to the logged timing; 2.0 replays twice as fast */
+    public double getReplaySpeedUp() { return replaySpeedUp; }
+    public void setReplaySpeedUp(double replaySpeedUp) { this.replaySpeedUp = replaySpeedUp; }
+    
+    /** Start the log over when it runs out, until the test duration ends */
+    public boolean isReplayLoop() { return replayLoop; }
+    public void setReplayLoop(boolean replayLoop) { this.replayLoop = replayLoop; }
+    
+    /** Adaptive mode: concurrency is searched to hold this p99, up to concurrentUsers; 0 = fixed users */
+    public double getTargetP99Ms() { return targetP99Ms; }
+    public void setTargetP99Ms(double targetP99Ms) { this.targetP99Ms = targetP99Ms; }
+    
+    /** How long requests in flight at the end of the run may take to finish before they are abandoned */
+    public int getDrainTimeoutSeconds() { return drainTimeoutSeconds; }
+    public void setDrainTimeoutSeconds(int drainTimeoutSeconds) { this.drainTimeoutSeconds = Math.max(0, drainTimeoutSeconds); }
+    
+    public boolean isAdaptive() {
+        return targetP99Ms > 0 && !isReplay();
+    }
+    
+    public boolean isReplay() {
+        return replayLogFile != null && !replayLogFile.trim().isEmpty();
+    }
+    
+    public boolean hasTrafficMix() {
+        return trafficMix != null && !trafficMix.isEmpty();
+    }
+    
     public boolean isValid() {
+        if (isReplay()) {
+            return apiEndpoint != null && !apiEndpoint.trim().isEmpty() && replaySpeedUp > 0;
+        }
+        if (hasTrafficMix()) {
+            return trafficMix.stream().allMatch(EndpointConfiguration::isValid);
+        }
         return apiEndpoint != null && !apiEndpoint.trim().isEmpty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.loadtesting.phase1.model;
+
+import java.util.List;
+
+/**
+ * Phase 1: Test Plan
+ * A named set of load profiles run back to back, each a complete test
+ * configuration with the objectives its results are gated on.
+ */
+public class TestPlan {
+    private final String name;
+    private final List<Profile> profiles;
+    
+    public TestPlan(String name, List<Profile> profiles) {
+        this.name = name;
+        this.profiles = profiles;
+    }
+    
+    public String getName() { return name; }
+    public List<Profile> getProfiles() { return profiles; }
+    
+    public static class Profile {
+        private final String name;
+        private final TestConfiguration config;
+        private final List<ServiceLevelObjective> objectives;
+        
+        public Profile(String name, TestConfiguration config, List<ServiceLevelObjective> objectives) {
+            this.name = name;
+            this.config = config;
+            this.objectives = objectives;
+        }
+        
+        public String getName() { return name; }
+        public TestConfiguration getConfig() { return config; }
+        /** The plan's objectives followed by the profile's own */
+        public List<ServiceLevelObjective> getObjectives() { return objectives; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Phase 1: Transport Configuration
+ * HTTP protocol, client sharing, connection reuse and timeout options
+ */
+public class TransportConfiguration {
+    
+    public enum Protocol {
+        /** HTTP/1.1 over a sized connection pool with connection metrics */
+        HTTP_1_1,
+        /** HTTP/2, multiplexing all of a client's requests over one connection per origin */
+        HTTP_2,
+        /** HTTP/1.1 on the built-in selector-based engine (plain http only), optionally pipelined */
+        HTTP_1_1_NIO
+    }
+    
+    public enum ClientMode {
+        /** One client (and connection pool) shared by every user */
+        SHARED,
+        /** One client per user, so every user holds its own real connections */
+        PER_USER
+    }
+    
+    public enum AddressSelection {
+        /** Connect to whichever address the resolver returns first */
+        DEFAULT,
+        /** Rotate requests over the target's addresses */
+        ROUND_ROBIN,
+        /** Send each request to the address with the fewest requests in flight */
+        LEAST_OUTSTANDING
+    }
+    
+    public enum TlsSessionMode {
+        /** Every new connection negotiates a full handshake, like first-time visitors */
+        FULL_HANDSHAKE,
+        /** Each user resumes its own session, so only a user's first connection is a full handshake */
+        PER_USER_RESUMPTION,
+        /** One session cache for the whole generator; TLS 1.3 tickets are single-use, so concurrent connects may still miss */
+        SHARED_SESSION
+    }
+    
+    private Protocol protocol;
+    private ClientMode clientMode;
+    private TlsSessionMode tlsSessionMode;
+    private boolean trustAllCertificates;
+    private AddressSelection addressSelection;
+    private List<String> targetAddresses;
+    private boolean keepAlive;
+    private int keepAliveTimeoutSeconds;
+    private int maxConnections;
+    private int connectTimeoutMs;
+    private int requestTimeoutMs;
+    private int pipelineDepth;
+    
+    public TransportConfiguration() {
+        this.protocol = Protocol.HTTP_1_1;
+        this.clientMode = ClientMode.SHARED;
+        this.addressSelection = AddressSelection.DEFAULT;
+        this.tlsSessionMode = TlsSessionMode.SHARED_SESSION;
+        this.trustAllCertificates = false;
+        this.targetAddresses = new ArrayList<>();
+        this.keepAlive = true;
+        this.keepAliveTimeoutSeconds = 0;
+        this.maxConnections = 0;
+        this.connectTimeoutMs = 10000;
+        this.requestTimeoutMs = 30000;
+        this.pipelineDepth = 1;
+    }
+    
+    // Getters and Setters
+    public Protocol getProtocol() { return protocol; }
+    public void setProtocol(Protocol protocol) { this.protocol = protocol; }
+    
+    public ClientMode getClientMode() { return clientMode; }
+    public void setClientMode(ClientMode clientMode) { this.clientMode = clientMode; }
+    
+    /**
+     * How requests are spread over the target's IP addresses. Per-user
+     * clients stick to one address each, and connection limits apply per
+     * address. Not supported on HTTP/2, whose JDK client resolves on its own.
+     */
+    public AddressSelection getAddressSelection() { return addressSelection; }
+    public void setAddressSelection(AddressSelection addressSelection) { this.addressSelection = addressSelection; }
+    
+    /** Addresses to spread over instead of every address the host resolves to */
+    public List<String> getTargetAddresses() { return targetAddresses; }
+    public void setTargetAddresses(List<String> targetAddresses) { this.targetAddresses = targetAddresses; }
+    
+    public boolean isAddressSpreading() { return addressSelection != AddressSelection.DEFAULT; }
+    
+    /** How HTTPS connections reuse TLS sessions; applies to the HTTP/1.1 pooled engine */
+    public TlsSessionMode getTlsSessionMode() { return tlsSessionMode; }
+    public void setTlsSessionMode(TlsSessionMode tlsSessionMode) { this.tlsSessionMode = tlsSessionMode; }
+    
+    /** Accepts any certificate and host name, for self-signed test targets only */
+    public boolean isTrustAllCertificates() { return trustAllCertificates; }
+    public void setTrustAllCertificates(boolean trustAllCertificates) { this.trustAllCertificates = trustAllCertificates; }
+    
+    /** When false every request opens a fresh connection */
+    public boolean isKeepAlive() { return keepAlive; }
+    public void setKeepAlive(boolean keepAlive) { this.keepAlive = keepAlive; }
+    
+    /** Idle time before a pooled connection is dropped; 0 follows the server's Keep-Alive header */
+    public int getKeepAliveTimeoutSeconds() { return keepAliveTimeoutSeconds; }
+    public void setKeepAliveTimeoutSeconds(int keepAliveTimeoutSeconds) { this.keepAliveTimeoutSeconds = keepAliveTimeoutSeconds; }
+    
+    /** Upper bound on pooled HTTP/1.1 connections per client; 0 means unbounded */
+    public int getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+    
+    public int getConnectTimeoutMs() { return connectTimeoutMs; }
+    public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+    
+    public int getRequestTimeoutMs() { return requestTimeoutMs; }
+    public void setRequestTimeoutMs(int requestTimeoutMs) { this.requestTimeoutMs = requestTimeoutMs; }
+    
+    /** Requests in flight per connection on the NIO engine; 1 disables pipelining */
+    public int getPipelineDepth() { return pipelineDepth; }
+    public void setPipelineDepth(int pipelineDepth) { this.pipelineDepth = Math.max(1, pipelineDepth); }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransportConfiguration)) return false;
+        TransportConfiguration that = (TransportConfiguration) o;
+        return keepAlive == that.keepAlive
+            && keepAliveTimeoutSeconds == that.keepAliveTimeoutSeconds
+            && maxConnections == that.maxConnections
+            && connectTimeoutMs == that.connectTimeoutMs
+            && requestTimeoutMs == that.requestTimeoutMs
+            && pipelineDepth == that.pipelineDepth
+            && protocol == that.protocol
+            && clientMode == that.clientMode
+            && addressSelection == that.addressSelection
+            && tlsSessionMode == that.tlsSessionMode
+            && trustAllCertificates == that.trustAllCertificates
+            && targetAddresses.equals(that.targetAddresses);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(protocol, clientMode, addressSelection, targetAddresses, tlsSessionMode, trustAllCertificates,
+            keepAlive, keepAliveTimeoutSeconds, maxConnections, connectTimeoutMs, requestTimeoutMs, pipelineDepth);
+    }
+    
+    /**
+     * Independent copy, so an engine built from it is not affected by later edits.
+     */
+    public TransportConfiguration copy() {
+        TransportConfiguration copy = new TransportConfiguration();
+        copy.protocol = protocol;
+        copy.clientMode = clientMode;
+        copy.addressSelection = addressSelection;
+        copy.targetAddresses = new ArrayList<>(targetAddresses);
+        copy.tlsSessionMode = tlsSessionMode;
+        copy.trustAllCertificates = trustAllCertificates;
+        copy.keepAlive = keepAlive;
+        copy.keepAliveTimeoutSeconds = keepAliveTimeoutSeconds;
+        copy.maxConnections = maxConnections;
+        copy.connectTimeoutMs = connectTimeoutMs;
+        copy.requestTimeoutMs = requestTimeoutMs;
+        copy.pipelineDepth = pipelineDepth;
+        return copy;
+    }
+}
\ No newline at end of file
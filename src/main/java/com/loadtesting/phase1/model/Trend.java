@@ -0,0 +1,46 @@
+package com.loadtesting.phase1.model;
+
+/**
+ * Phase 1: Trend
+ * Drift of one metric across a run: a robust straight-line fit (Sen's slope)
+ * plus a Mann-Kendall test telling whether the direction is more than noise.
+ */
+public class Trend {
+    private final String metric;
+    private final String unit;
+    private final double startValue;
+    private final double endValue;
+    private final double slopePerHour;
+    private final double zScore;
+    private final boolean drifting;
+    
+    public Trend(String metric, String unit, double startValue, double endValue, double slopePerHour,
+                 double zScore, boolean drifting) {
+        this.metric = metric;
+        this.unit = unit;
+        this.startValue = startValue;
+        this.endValue = endValue;
+        this.slopePerHour = slopePerHour;
+        this.zScore = zScore;
+        this.drifting = drifting;
+    }
+    
+    public String getMetric() { return metric; }
+    public String getUnit() { return unit; }
+    /** Fitted value at the start of the run */
+    public double getStartValue() { return startValue; }
+    /** Fitted value at the end of the run */
+    public double getEndValue() { return endValue; }
+    public double getChange() { return endValue - startValue; }
+    public double getSlopePerHour() { return slopePerHour; }
+    /** Mann-Kendall z statistic; |z| >= 1.96 is significant at 5% */
+    public double getZScore() { return zScore; }
+    /** Significant and large enough to matter */
+    public boolean isDrifting() { return drifting; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %.2f -> %.2f %s (%+.2f %s/h, z=%.1f)%s", metric, startValue, endValue, unit,
+            slopePerHour, unit, zScore, drifting ? " DRIFTING" : "");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.loadtesting.phase1.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Phase 1: User Stats
+ * Per-user counters of the measured window in preallocated arrays indexed by
+ * user id: requests, errors, latency sum and maximum. Recording is a handful
+ * of array writes with no maps or boxing; the caller serializes writers (the
+ * metrics collector records under its lock). Fairness is Jain's index over
+ * the users' request counts, 1 when every user got the same share and 1/n
+ * when one user got everything. A user is starved when it completed less
+ * than a fraction of the median user's requests.
+ */
+public class UserStats {
+    /** Below this share of the median user's requests a user counts as starved */
+    public static final double STARVED_FRACTION = 0.5;
+    
+    private final long[] requests;
+    private final long[] errors;
+    private final long[] latencySumMicros;
+    private final long[] latencyMaxMicros;
+    
+    public UserStats(int users) {
+        this.requests = new long[users];
+        this.errors = new long[users];
+        this.latencySumMicros = new long[users];
+        this.latencyMaxMicros = new long[users];
+    }
+    
+    /**
+     * Results from user ids outside the configured population are ignored.
+     */
+    public void record(int userId, long latencyMicros, boolean success) {
+        if (userId < 0 || userId >= requests.length) return;
+        requests[userId]++;
+        if (!success) errors[userId]++;
+        latencySumMicros[userId] += latencyMicros;
+        if (latencyMicros > latencyMaxMicros[userId]) latencyMaxMicros[userId] = latencyMicros;
+    }
+    
+    public int getUserCount() { return requests.length; }
+    public long getRequests(int userId) { return requests[userId]; }
+    public long getErrors(int userId) { return errors[userId]; }
+    public long getMaxLatencyMicros(int userId) { return latencyMaxMicros[userId]; }
+    
+    public double getMeanLatencyMs(int userId) {
+        return requests[userId] > 0 ? latencySumMicros[userId] / 1000.0 / requests[userId] : 0;
+    }
+    
+    /**
+     * Jain's fairness index over per-user request counts: (sum x)^2 / (n * sum x^2).
+     */
+    public double getJainIndex() {
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (long count : requests) {
+            sum += count;
+            sumOfSquares += (double) count * count;
+        }
+        return sumOfSquares > 0 ? sum * sum / (requests.length * sumOfSquares) : 1;
+    }
+    
+    /**
+     * Per-user request count at the given percentile (0-100), nearest rank.
+     */
+    public long getRequestsAtPercentile(double percentile) {
+        if (requests.length == 0) return 0;
+        long[] sorted = requests.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+    
+    /**
+     * Users below {@link #STARVED_FRACTION} of the median user's requests,
+     * fewest requests first.
+     */
+    public List<Integer> getStarvedUsers() {
+        double threshold = getRequestsAtPercentile(50) * STARVED_FRACTION;
+        List<Integer> starved = new ArrayList<>();
+        for (int user = 0; user < requests.length; user++) {
+            if (requests[user] < threshold) starved.add(user);
+        }
+        starved.sort((a, b) -> Long.compare(requests[a], requests[b]));
+        return starved;
+    }
+    
+    /**
+     * Users with the highest mean latency, slowest first.
+     */
+    public List<Integer> getSlowestUsers(int limit) {
+        List<Integer> users = new ArrayList<>(requests.length);
+        for (int user = 0; user < requests.length; user++) {
+            if (requests[user] > 0) users.add(user);
+        }
+        users.sort((a, b) -> Double.compare(getMeanLatencyMs(b), getMeanLatencyMs(a)));
+        return users.subList(0, Math.min(limit, users.size()));
+    }
+}
\ No newline at end of file
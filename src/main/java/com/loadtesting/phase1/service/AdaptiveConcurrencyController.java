@@ -0,0 +1,135 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.CapacityPoint;
+import com.loadtesting.phase1.model.IntervalSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase 1: Adaptive Concurrency Controller
+ * Closed-loop search for the concurrency at which the target holds a p99
+ * latency goal. Every decision looks at the window since the previous one
+ * (dropping its first, mixed second) once it has enough samples:
+ * <ul>
+ *   <li>error rate above 5%: halve</li>
+ *   <li>p99 over target: scale down by target/p99 (at most halving)</li>
+ *   <li>p99 under half the target before the first overshoot: double (slow start)</li>
+ *   <li>otherwise: additive increase proportional to the remaining headroom,
+ *       at most 10% per step</li>
+ * </ul>
+ * The result oscillates just under the knee of the latency curve; by Little's
+ * law the throughput there is the capacity at the target.
+ */
+public class AdaptiveConcurrencyController {
+    private static final long MIN_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long MAX_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long SETTLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MIN_SAMPLES = 100;
+    private static final double MAX_ERROR_RATE = 5.0;
+    private static final double MAX_STEP_UP = 0.10;
+    private static final double MAX_STEP_DOWN = 0.5;
+    private static final double SUSTAIN_SECONDS = 10;
+    
+    private final double targetP99Ms;
+    private final int maxConcurrency;
+    private final long startNanos;
+    private final IntervalSeries series;
+    private final List<CapacityPoint> timeline;
+    private volatile int limit;
+    private long lastDecisionNanos;
+    private boolean slowStart;
+    
+    public AdaptiveConcurrencyController(double targetP99Ms, int initialConcurrency, int maxConcurrency, long startNanos) {
+        if (targetP99Ms <= 0) {
+            throw new IllegalArgumentException("Target p99 must be positive");
+        }
+        this.targetP99Ms = targetP99Ms;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.startNanos = startNanos;
+        this.series = new IntervalSeries(startNanos);
+        this.timeline = new ArrayList<>();
+        this.limit = Math.max(1, Math.min(initialConcurrency, this.maxConcurrency));
+        this.lastDecisionNanos = startNanos;
+        this.slowStart = true;
+    }
+    
+    public void record(long nowNanos, long responseTimeMicros, boolean success) {
+        series.record(nowNanos, responseTimeMicros, success);
+    }
+    
+    /** Users with an id below the limit may send */
+    public int getLimit() { return limit; }
+    public double getTargetP99Ms() { return targetP99Ms; }
+    
+    /**
+     * Makes a decision when the current window is ready and returns the
+     * limit in force afterwards.
+     */
+    public synchronized int step(long nowNanos) {
+        long sinceDecision = nowNanos - lastDecisionNanos;
+        if (sinceDecision < MIN_WINDOW_NANOS) return limit;
+        IntervalSeries.Interval window = series.getWindow(nowNanos, Math.min(sinceDecision - SETTLE_NANOS, MAX_WINDOW_NANOS));
+        // Wait for enough samples for a p99, but do not stall forever on a slow target
+        if (window.getRequests() < MIN_SAMPLES && sinceDecision < MAX_WINDOW_NANOS) return limit;
+        lastDecisionNanos = nowNanos;
+        if (window.getRequests() == 0) return limit;
+        
+        double p99 = window.getPercentileMs(99);
+        double errorRate = window.getErrorRate();
+        boolean withinTarget = p99 <= targetP99Ms && errorRate <= MAX_ERROR_RATE;
+        timeline.add(new CapacityPoint((nowNanos - startNanos) / 1_000_000_000.0, limit,
+            window.getThroughputPerSecond(), p99, errorRate, withinTarget));
+        
+        int next;
+        if (errorRate > MAX_ERROR_RATE) {
+            slowStart = false;
+            next = limit / 2;
+        } else if (p99 > targetP99Ms) {
+            slowStart = false;
+            next = Math.min(limit - 1, (int) (limit * Math.max(MAX_STEP_DOWN, targetP99Ms / p99)));
+        } else if (slowStart && p99 < targetP99Ms / 2) {
+            next = limit * 2;
+        } else {
+            slowStart = false;
+            double headroom = targetP99Ms / Math.max(p99, 0.001) - 1;
+            next = limit + (int) Math.max(1, Math.round(limit * Math.min(MAX_STEP_UP, headroom / 2)));
+        }
+        limit = Math.max(1, Math.min(maxConcurrency, next));
+        return limit;
+    }
+    
+    public synchronized List<CapacityPoint> getTimeline() {
+        return new ArrayList<>(timeline);
+    }
+    
+    public synchronized String summary() {
+        CapacityPoint last = timeline.isEmpty() ? null : timeline.get(timeline.size() - 1);
+        return String.format("Adaptive: concurrency %d | window p99 %s ms (target %.0f) | %s req/s | sustained at target %.2f req/s",
+            limit, last != null ? String.format("%.2f", last.getP99Ms()) : "-", targetP99Ms,
+            last != null ? String.format("%.2f", last.getThroughputPerSecond()) : "-",
+            sustainedThroughput(timeline));
+    }
+    
+    /**
+     * Highest mean throughput held for at least 10 s with every window within
+     * the target; 0 until that has happened once.
+     */
+    public static double sustainedThroughput(List<CapacityPoint> timeline) {
+        double best = 0;
+        for (int from = 0; from < timeline.size(); from++) {
+            double sum = 0;
+            for (int to = from; to < timeline.size() && timeline.get(to).isWithinTarget(); to++) {
+                sum += timeline.get(to).getThroughputPerSecond();
+                // Each point covers roughly the time since the previous one
+                double start = from > 0 ? timeline.get(from - 1).getElapsedSeconds() : 0;
+                if (timeline.get(to).getElapsedSeconds() - start >= SUSTAIN_SECONDS) {
+                    best = Math.max(best, sum / (to - from + 1));
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.TransportConfiguration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Phase 1: Address Balancer
+ * Picks the IP address each request goes to when a target runs on several
+ * instances, so one backend is not pinned by the first resolved address.
+ * Addresses come from the configured list or from resolving the host once.
+ * Per-user clients always get the same address, since switching would tear
+ * down their single connection on every request.
+ */
+final class AddressBalancer {
+    private final TransportConfiguration.AddressSelection selection;
+    private final boolean perUser;
+    private final ConnectionStats connectionStats;
+    private final Target[] configuredTargets;
+    private final Map<String, Target[]> resolvedTargets;
+    private final AtomicInteger cursor;
+    
+    AddressBalancer(TransportConfiguration transport, ConnectionStats connectionStats) {
+        this.selection = transport.getAddressSelection();
+        this.perUser = transport.getClientMode() == TransportConfiguration.ClientMode.PER_USER;
+        this.connectionStats = connectionStats;
+        this.resolvedTargets = new ConcurrentHashMap<>();
+        this.cursor = new AtomicInteger();
+        if (transport.getTargetAddresses().isEmpty()) {
+            this.configuredTargets = null;
+        } else {
+            this.configuredTargets = new Target[transport.getTargetAddresses().size()];
+            for (int i = 0; i < configuredTargets.length; i++) {
+                String address = transport.getTargetAddresses().get(i).trim();
+                try {
+                    configuredTargets[i] = new Target(InetAddress.getByName(address));
+                } catch (UnknownHostException e) {
+                    throw new IllegalArgumentException("Invalid target address: " + address, e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * @return null when spreading is off, so callers keep their normal path
+     */
+    static AddressBalancer create(TransportConfiguration transport, ConnectionStats connectionStats) {
+        return transport.isAddressSpreading() ? new AddressBalancer(transport, connectionStats) : null;
+    }
+    
+    /**
+     * Chooses an address for the request and counts it as outstanding until
+     * {@link #release}.
+     */
+    Target acquire(String host, int userId) throws UnknownHostException {
+        Target[] targets = targetsFor(host);
+        Target chosen;
+        if (targets.length == 1) {
+            chosen = targets[0];
+        } else if (perUser) {
+            chosen = targets[Math.floorMod(userId, targets.length)];
+        } else if (selection == TransportConfiguration.AddressSelection.LEAST_OUTSTANDING) {
+            // Start the scan at a rotating offset so ties do not always favour the first address
+            int offset = Math.floorMod(cursor.getAndIncrement(), targets.length);
+            chosen = targets[offset];
+            for (int i = 1; i < targets.length; i++) {
+                Target candidate = targets[(offset + i) % targets.length];
+                if (candidate.outstanding.get() < chosen.outstanding.get()) chosen = candidate;
+            }
+        } else {
+            chosen = targets[Math.floorMod(cursor.getAndIncrement(), targets.length)];
+        }
+        chosen.outstanding.incrementAndGet();
+        return chosen;
+    }
+    
+    void release(Target target, long startNanos, boolean success) {
+        target.outstanding.decrementAndGet();
+        connectionStats.recordAddressRequest(target.label, (System.nanoTime() - startNanos) / 1000, success);
+    }
+    
+    private Target[] targetsFor(String host) throws UnknownHostException {
+        if (configuredTargets != null) return configuredTargets;
+        Target[] targets = resolvedTargets.get(host);
+        if (targets != null) return targets;
+        
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        targets = new Target[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            targets[i] = new Target(addresses[i]);
+        }
+        Target[] raced = resolvedTargets.putIfAbsent(host, targets);
+        return raced != null ? raced : targets;
+    }
+    
+    static final class Target {
+        private final InetAddress address;
+        private final String label;
+        private final AtomicInteger outstanding;
+        
+        private Target(InetAddress address) {
+            this.address = address;
+            this.label = address.getHostAddress();
+            this.outstanding = new AtomicInteger();
+        }
+        
+        InetAddress getAddress() { return address; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.loadtesting.phase1.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Phase 1: Alias Table
+ * Vose's alias method: O(n) construction, O(1) weighted sampling
+ */
+public class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+    
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) throw new IllegalArgumentException("Weights must not be negative");
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small.push(i); else large.push(i);
+        }
+        
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small.push(more); else large.push(more);
+        }
+        // Leftovers are 1.0 up to rounding error
+        while (!large.isEmpty()) probability[large.pop()] = 1.0;
+        while (!small.isEmpty()) probability[small.pop()] = 1.0;
+    }
+    
+    public int next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+    
+    public int size() {
+        return probability.length;
+    }
+}
\ No newline at end of file
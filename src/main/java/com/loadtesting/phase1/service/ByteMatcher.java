@@ -0,0 +1,51 @@
+package com.loadtesting.phase1.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Phase 1: Byte Matcher
+ * Precompiled Knuth-Morris-Pratt automaton for finding a byte pattern in a
+ * stream of chunks. The matcher is immutable; callers keep the match state,
+ * so one compiled pattern serves any number of concurrent responses.
+ */
+final class ByteMatcher {
+    private final byte[] pattern;
+    private final int[] failure;
+    
+    ByteMatcher(byte[] pattern) {
+        if (pattern.length == 0) throw new IllegalArgumentException("Empty pattern");
+        this.pattern = pattern;
+        this.failure = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) k = failure[k - 1];
+            if (pattern[i] == pattern[k]) k++;
+            failure[i] = k;
+        }
+    }
+    
+    /**
+     * Feeds one byte; returns the new state, which equals {@link #length()}
+     * once the pattern has been seen.
+     */
+    int advance(int state, byte b) {
+        if (state == pattern.length) state = failure[state - 1];
+        while (state > 0 && b != pattern[state]) state = failure[state - 1];
+        return b == pattern[state] ? state + 1 : 0;
+    }
+    
+    /**
+     * Scans the chunk's remaining bytes without moving its position; stops
+     * early on a match.
+     */
+    int scan(int state, ByteBuffer chunk) {
+        for (int i = chunk.position(), end = chunk.limit(); i < end; i++) {
+            state = advance(state, chunk.get(i));
+            if (state == pattern.length) return state;
+        }
+        return state;
+    }
+    
+    int length() {
+        return pattern.length;
+    }
+}
\ No newline at end of file
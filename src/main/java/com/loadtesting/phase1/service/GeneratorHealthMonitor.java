@@ -0,0 +1,219 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.GeneratorHealth;
+import com.loadtesting.phase1.model.LatencyHistogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Phase 1: Generator Health Monitor
+ * Samples the load generator's own JVM while a test runs: scheduler lag
+ * (hiccups), GC pauses, process CPU, worker queue depth, timer lateness and
+ * active users
+ */
+public class GeneratorHealthMonitor {
+    private static final long HICCUP_RESOLUTION_NANOS = 1_000_000L; // 1 ms
+    private static final long SAMPLE_INTERVAL_MS = 1000;
+    
+    // Saturation thresholds
+    private static final double MAX_HICCUP_P99_MS = 20.0;
+    private static final double MAX_GC_PAUSE_PERCENT = 5.0;
+    private static final double MAX_PROCESS_CPU_PERCENT = 90.0;
+    private static final double MAX_TIMER_LATENESS_P99_MS = 20.0;
+    
+    private final List<GarbageCollectorMXBean> gcBeans;
+    private final OperatingSystemMXBean osBean;
+    private volatile boolean running;
+    
+    private LatencyHistogram hiccups;
+    private ThreadPoolExecutor workerPool;
+    private AtomicInteger activeUsers;
+    private int configuredUsers;
+    private TimerWheel timerWheel;
+    private Thread hiccupThread;
+    private Thread samplerThread;
+    private long startNanos;
+    private long startGcTimeMs;
+    private long startGcCount;
+    private double cpuSum;
+    private int cpuSamples;
+    private double maxCpu;
+    private double lastCpu;
+    private int maxQueueDepth;
+    private int peakActiveUsers;
+    
+    public GeneratorHealthMonitor() {
+        this.gcBeans = new ArrayList<>();
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // Concurrent cycle collectors report wall time of background work, not pauses
+            String name = bean.getName();
+            if (!name.contains("Concurrent") && !name.contains("Cycles")) {
+                gcBeans.add(bean);
+            }
+        }
+        this.osBean = ManagementFactory.getOperatingSystemMXBean();
+    }
+    
+    public void start(ThreadPoolExecutor workerPool, AtomicInteger activeUsers, int configuredUsers, TimerWheel timerWheel) {
+        this.hiccups = new LatencyHistogram();
+        this.workerPool = workerPool;
+        this.activeUsers = activeUsers;
+        this.configuredUsers = configuredUsers;
+        this.timerWheel = timerWheel;
+        this.cpuSum = 0;
+        this.cpuSamples = 0;
+        this.maxCpu = 0;
+        this.lastCpu = 0;
+        this.maxQueueDepth = 0;
+        this.peakActiveUsers = 0;
+        this.startNanos = System.nanoTime();
+        this.startGcTimeMs = totalGcTimeMs();
+        this.startGcCount = totalGcCount();
+        
+        running = true;
+        hiccupThread = new Thread(this::measureHiccups, "autoloadx-hiccup-meter");
+        hiccupThread.setDaemon(true);
+        hiccupThread.start();
+        
+        samplerThread = new Thread(this::sampleResources, "autoloadx-health-sampler");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+    }
+    
+    /**
+     * @param cancelled the run was stopped early, possibly during ramp-up, so
+     *                  users that never started do not point at the generator
+     */
+    public GeneratorHealth stop(boolean cancelled) {
+        running = false;
+        samplerThread.interrupt();
+        joinQuietly(hiccupThread);
+        joinQuietly(samplerThread);
+        sampleOnce();
+        
+        double elapsedMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+        long gcPauseMs = totalGcTimeMs() - startGcTimeMs;
+        
+        GeneratorHealth health = new GeneratorHealth();
+        health.setHiccupHistogram(hiccups);
+        health.setGcPauseMs(gcPauseMs);
+        health.setGcCount(totalGcCount() - startGcCount);
+        health.setGcPausePercent(elapsedMs > 0 ? gcPauseMs / elapsedMs * 100 : 0);
+        health.setAverageProcessCpuPercent(cpuSamples > 0 ? cpuSum / cpuSamples : 0);
+        health.setMaxProcessCpuPercent(maxCpu);
+        health.setMaxQueueDepth(maxQueueDepth);
+        health.setPeakActiveUsers(peakActiveUsers);
+        health.setConfiguredUsers(configuredUsers);
+        health.setWorkerThreads(workerPool.getMaximumPoolSize());
+        health.setTimerLatenessHistogram(timerWheel.getLatenessHistogram().copy());
+        health.setTimerTickMs(timerWheel.getTickNanos() / 1_000_000.0);
+        evaluateSaturation(health, cancelled);
+        return health;
+    }
+    
+    public String currentSummary() {
+        String active = configuredUsers > 0
+            ? String.format("Active Users: %d/%d", activeUsers.get(), configuredUsers)
+            : String.format("In-Flight: %d", activeUsers.get());
+        return String.format("%s | Queued: %d | Hiccup p99: %.2f ms | Timer Lateness p99: %.2f ms | CPU: %.1f%%",
+            active,
+            workerPool.getQueue().size(),
+            hiccups.getValueAtPercentile(99.0) / 1000.0,
+            timerWheel.getLatenessHistogram().getValueAtPercentile(99.0) / 1000.0,
+            lastCpu);
+    }
+    
+    private void evaluateSaturation(GeneratorHealth health, boolean cancelled) {
+        if (health.getHiccupP99Ms() > MAX_HICCUP_P99_MS) {
+            health.addSaturationReason(String.format("Scheduler lag p99 %.2f ms (max %.2f ms)",
+                health.getHiccupP99Ms(), health.getHiccupMaxMs()));
+        }
+        if (health.getGcPausePercent() > MAX_GC_PAUSE_PERCENT) {
+            health.addSaturationReason(String.format("GC paused the generator %.1f%% of the run (%d ms)",
+                health.getGcPausePercent(), health.getGcPauseMs()));
+        }
+        if (health.getAverageProcessCpuPercent() > MAX_PROCESS_CPU_PERCENT) {
+            health.addSaturationReason(String.format("Generator CPU averaged %.1f%%",
+                health.getAverageProcessCpuPercent()));
+        }
+        // Users share worker threads now, so a backlog shows up as late timers rather than a non-empty queue
+        if (health.getTimerLatenessP99Ms() > MAX_TIMER_LATENESS_P99_MS) {
+            health.addSaturationReason(String.format("Scheduled requests started p99 %.2f ms late (%d worker threads, max %d queued)",
+                health.getTimerLatenessP99Ms(), health.getWorkerThreads(), health.getMaxQueueDepth()));
+        }
+        if (!cancelled && health.getPeakActiveUsers() < health.getConfiguredUsers()) {
+            health.addSaturationReason(String.format("Only %d of %d users active (%d worker threads, %d queued)",
+                health.getPeakActiveUsers(), health.getConfiguredUsers(),
+                health.getWorkerThreads(), health.getMaxQueueDepth()));
+        }
+    }
+    
+    private void measureHiccups() {
+        while (running) {
+            long before = System.nanoTime();
+            LockSupport.parkNanos(HICCUP_RESOLUTION_NANOS);
+            long lag = System.nanoTime() - before - HICCUP_RESOLUTION_NANOS;
+            hiccups.recordValue(Math.max(0, lag) / 1000);
+        }
+    }
+    
+    private void sampleResources() {
+        while (running) {
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            sampleOnce();
+        }
+    }
+    
+    private synchronized void sampleOnce() {
+        maxQueueDepth = Math.max(maxQueueDepth, workerPool.getQueue().size());
+        peakActiveUsers = Math.max(peakActiveUsers, activeUsers.get());
+        
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuLoad();
+            if (load >= 0) {
+                double percent = load * 100;
+                cpuSum += percent;
+                cpuSamples++;
+                maxCpu = Math.max(maxCpu, percent);
+                lastCpu = percent;
+            }
+        }
+    }
+    
+    private long totalGcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+    
+    private long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            total += Math.max(0, bean.getCollectionCount());
+        }
+        return total;
+    }
+    
+    private void joinQuietly(Thread thread) {
+        if (thread == null) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.loadtesting.phase1.service;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Phase 1: HTTP/1.1 Response Parser
+ * Incremental, allocation-free parser that extracts only what the NIO engine
+ * needs: the status code, Content-Length / chunked framing and whether the
+ * connection stays open. Body bytes are skipped, never copied; with a sink
+ * they are shown to it in place, along with the headers it asked for
+ * (values beyond the line buffer are cut off).
+ */
+class Http1ResponseParser {
+    private static final int MAX_LINE_LENGTH = 1024;
+    
+    private enum State { STATUS_LINE, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, UNTIL_CLOSE }
+    
+    private final byte[] line;
+    private int lineLength;
+    private State state;
+    private boolean headRequest;
+    private int statusCode;
+    private boolean http10;
+    private boolean chunked;
+    private long contentLength;
+    private boolean connectionClose;
+    private boolean connectionKeepAlive;
+    private long remaining;
+    private ResponseSink sink;
+    
+    Http1ResponseParser() {
+        this.line = new byte[MAX_LINE_LENGTH];
+        reset(false, null);
+    }
+    
+    /**
+     * Prepares for the next response. HEAD responses carry headers only.
+     */
+    void reset(boolean headRequest, ResponseSink sink) {
+        this.headRequest = headRequest;
+        this.sink = sink;
+        this.state = State.STATUS_LINE;
+        this.lineLength = 0;
+        this.statusCode = 0;
+        this.http10 = false;
+        this.chunked = false;
+        this.contentLength = -1;
+        this.connectionClose = false;
+        this.connectionKeepAlive = false;
+        this.remaining = 0;
+    }
+    
+    /**
+     * Consumes bytes from the buffer; returns true once a complete response has
+     * been read, leaving the buffer positioned at the next (pipelined) response.
+     */
+    boolean parse(ByteBuffer in) throws ProtocolException {
+        while (in.hasRemaining()) {
+            switch (state) {
+                case BODY:
+                case CHUNK_DATA:
+                case UNTIL_CLOSE:
+                    int skip = (int) Math.min(remaining, in.remaining());
+                    if (skip > 0 && sink != null && sink.wantsBody()) {
+                        ByteBuffer chunk = in.duplicate();
+                        chunk.limit(in.position() + skip);
+                        sink.onBody(chunk);
+                    }
+                    in.position(in.position() + skip);
+                    remaining -= skip;
+                    if (remaining == 0) {
+                        if (state == State.BODY) return true;
+                        state = State.CHUNK_END;
+                    }
+                    break;
+                default:
+                    if (!readLine(in)) return false;
+                    boolean complete = onLine();
+                    lineLength = 0;
+                    if (complete) return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Called when the server closes the connection; returns true if that ends
+     * a response delimited by connection close.
+     */
+    boolean onEndOfStream() {
+        return state == State.UNTIL_CLOSE;
+    }
+    
+    int getStatusCode() {
+        return statusCode;
+    }
+    
+    boolean isKeepAlive() {
+        if (state == State.UNTIL_CLOSE) return false;
+        return http10 ? connectionKeepAlive : !connectionClose;
+    }
+    
+    private boolean readLine(ByteBuffer in) {
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') return true;
+            // Only the start of a line is ever inspected; the rest is dropped
+            if (b != '\r' && lineLength < MAX_LINE_LENGTH) line[lineLength++] = b;
+        }
+        return false;
+    }
+    
+    private boolean onLine() throws ProtocolException {
+        switch (state) {
+            case STATUS_LINE:
+                if (lineLength == 0) return false;
+                parseStatusLine();
+                state = State.HEADERS;
+                return false;
+            case HEADERS:
+                if (lineLength > 0) {
+                    parseHeader();
+                    return false;
+                }
+                return onHeadersComplete();
+            case CHUNK_SIZE:
+                long size = parseChunkSize();
+                if (size == 0) {
+                    state = State.TRAILERS;
+                } else {
+                    remaining = size;
+                    state = State.CHUNK_DATA;
+                }
+                return false;
+            case CHUNK_END:
+                state = State.CHUNK_SIZE;
+                return false;
+            case TRAILERS:
+                return lineLength == 0;
+            default:
+                throw new IllegalStateException("Not a line state: " + state);
+        }
+    }
+    
+    private boolean onHeadersComplete() {
+        if (statusCode >= 100 && statusCode < 200) {
+            // Interim response; the final one follows
+            reset(headRequest, sink);
+            return false;
+        }
+        if (headRequest || statusCode == 204 || statusCode == 304) return true;
+        if (chunked) {
+            state = State.CHUNK_SIZE;
+            return false;
+        }
+        if (contentLength >= 0) {
+            if (contentLength == 0) return true;
+            remaining = contentLength;
+            state = State.BODY;
+            return false;
+        }
+        remaining = Long.MAX_VALUE;
+        state = State.UNTIL_CLOSE;
+        return false;
+    }
+    
+    private void parseStatusLine() throws ProtocolException {
+        // HTTP/1.x NNN reason
+        if (lineLength < 12 || line[0] != 'H' || line[4] != '/' || line[5] != '1' || line[6] != '.') {
+            throw new ProtocolException("Invalid status line: " + new String(line, 0, lineLength, StandardCharsets.ISO_8859_1));
+        }
+        http10 = line[7] == '0';
+        int code = 0;
+        for (int i = 9; i < 12; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) throw new ProtocolException("Invalid status code");
+            code = code * 10 + digit;
+        }
+        statusCode = code;
+    }
+    
+    private void parseHeader() throws ProtocolException {
+        if (startsWithIgnoreCase("content-length:")) {
+            long length = 0;
+            for (int i = valueStart("content-length:".length()); i < lineLength && line[i] != ' '; i++) {
+                int digit = line[i] - '0';
+                if (digit < 0 || digit > 9) throw new ProtocolException("Invalid Content-Length");
+                length = length * 10 + digit;
+            }
+            contentLength = length;
+        } else if (startsWithIgnoreCase("transfer-encoding:")) {
+            chunked = containsIgnoreCase("chunked");
+        } else if (startsWithIgnoreCase("connection:")) {
+            connectionClose = containsIgnoreCase("close");
+            connectionKeepAlive = containsIgnoreCase("keep-alive");
+        }
+        if (sink != null) {
+            for (String name : sink.getHeaderNames()) {
+                if (lineLength > name.length() && line[name.length()] == ':' && startsWithIgnoreCase(name)) {
+                    int start = valueStart(name.length() + 1);
+                    int end = lineLength;
+                    while (end > start && (line[end - 1] == ' ' || line[end - 1] == '\t')) end--;
+                    sink.onHeader(name, new String(line, start, end - start, StandardCharsets.ISO_8859_1));
+                }
+            }
+        }
+    }
+    
+    private long parseChunkSize() throws ProtocolException {
+        long size = 0;
+        int digits = 0;
+        for (int i = 0; i < lineLength; i++) {
+            int digit = Character.digit(line[i], 16);
+            if (digit < 0) break; // chunk extensions or whitespace
+            size = (size << 4) + digit;
+            digits++;
+        }
+        if (digits == 0) throw new ProtocolException("Invalid chunk size");
+        return size;
+    }
+    
+    private int valueStart(int from) {
+        int i = from;
+        while (i < lineLength && (line[i] == ' ' || line[i] == '\t')) i++;
+        return i;
+    }
+    
+    private boolean startsWithIgnoreCase(String prefix) {
+        if (lineLength < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(line[i]) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+    
+    private boolean containsIgnoreCase(String token) {
+        outer:
+        for (int start = 0; start + token.length() <= lineLength; start++) {
+            for (int i = 0; i < token.length(); i++) {
+                if (Character.toLowerCase(line[start + i]) != token.charAt(i)) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
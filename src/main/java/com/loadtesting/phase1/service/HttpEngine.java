@@ -0,0 +1,26 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Phase 1: HTTP Engine
+ * Transport behind {@link HttpRequestExecutor}: sends one prepared request
+ * on behalf of a user and fully consumes the response, streaming it through
+ * an optional {@link ResponseSink}
+ */
+public interface HttpEngine extends Closeable {
+    
+    /**
+     * Sends the request and returns the response status code. With a null
+     * sink the response body is discarded unread.
+     */
+    int send(PreparedRequest request, int userId, ResponseSink sink) throws IOException, InterruptedException;
+    
+    ConnectionStats getConnectionStats();
+    
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -1,72 +1,116 @@
 package com.loadtesting.phase1.service;
 
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.ErrorType;
 import com.loadtesting.phase1.model.RequestResult;
 import com.loadtesting.phase1.model.TestConfiguration;
-
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import com.loadtesting.phase1.model.TransportConfiguration;
 
 /**
  * Phase 1: HTTP Request Executor
  * Handles individual HTTP request execution
  */
 public class HttpRequestExecutor {
-    private final HttpClient httpClient;
+    private volatile HttpEngine engine;
+    private TransportConfiguration transport;
     
     public HttpRequestExecutor() {
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+        configure(new TransportConfiguration());
+    }
+    
+    /**
+     * Switches to the given transport. The current engine (and its warm
+     * connections) is kept when the transport is unchanged.
+     */
+    public synchronized void configure(TransportConfiguration transport) {
+        if (transport == null) transport = new TransportConfiguration();
+        if (transport.equals(this.transport)) return;
+        
+        HttpEngine previous = engine;
+        this.transport = transport.copy();
+        this.engine = createEngine(this.transport);
+        if (previous != null) previous.close();
+    }
+    
+    static HttpEngine createEngine(TransportConfiguration transport) {
+        switch (transport.getProtocol()) {
+            case HTTP_2:
+                return new JdkHttpEngine(transport);
+            case HTTP_1_1_NIO:
+                return new NioHttpEngine(transport);
+            default:
+                return new PooledHttpEngine(transport);
+        }
+    }
+    
+    /**
+     * Replaces the engine with a fresh one for the same transport. Closing
+     * the old engine fails whatever it still has in flight, so a run that
+     * abandoned requests leaves nothing behind for the next one.
+     */
+    public synchronized void reset() {
+        HttpEngine previous = engine;
+        this.engine = createEngine(transport);
+        previous.close();
+    }
+    
+    public ConnectionStats getConnectionStats() {
+        return engine.getConnectionStats();
+    }
+    
+    public void close() {
+        engine.close();
     }
     
     public RequestResult executeRequest(TestConfiguration config, int threadId) {
         long startTime = System.currentTimeMillis();
         
+        RequestPlan plan;
         try {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                .uri(URI.create(config.getApiEndpoint()))
-                .timeout(Duration.ofSeconds(30));
+            plan = RequestPlan.compile(config, null);
+        } catch (Exception e) {
+            return new RequestResult(System.currentTimeMillis() - startTime, 0, false, e.getMessage(), threadId);
+        }
+        return executeRequest(plan, threadId);
+    }
+    
+    public RequestResult executeRequest(RequestPlan plan, int threadId) {
+        return execute(null, plan, plan.getName(), plan.getValidator(), threadId);
+    }
+    
+    /**
+     * Sends a request that was prepared outside a plan, e.g. one replayed from an access log.
+     */
+    public RequestResult executeRequest(PreparedRequest request, ResponseValidator validator, int threadId) {
+        return execute(request, null, null, validator, threadId);
+    }
+    
+    private RequestResult execute(PreparedRequest request, RequestPlan plan, String name, ResponseValidator validator,
+                                  int threadId) {
+        long startTime = System.nanoTime();
+        
+        try {
+            ResponseValidator.Check check = validator != null ? validator.newCheck() : null;
+            int statusCode = engine.send(request != null ? request : plan.requestFor(threadId), threadId, check);
             
-            // Add headers
-            config.getHeaders().forEach(requestBuilder::header);
+            long responseTime = (System.nanoTime() - startTime) / 1000;
             
-            // Set HTTP method and body
-            switch (config.getHttpMethod().toUpperCase()) {
-                case "POST":
-                    requestBuilder.POST(config.getRequestBody() != null ? 
-                        HttpRequest.BodyPublishers.ofString(config.getRequestBody()) : 
-                        HttpRequest.BodyPublishers.noBody());
-                    break;
-                case "PUT":
-                    requestBuilder.PUT(config.getRequestBody() != null ? 
-                        HttpRequest.BodyPublishers.ofString(config.getRequestBody()) : 
-                        HttpRequest.BodyPublishers.noBody());
-                    break;
-                case "DELETE":
-                    requestBuilder.DELETE();
-                    break;
-                default:
-                    requestBuilder.GET();
+            // A status assertion replaces the default 2xx/3xx rule
+            if (check == null || !validator.hasStatusAssertion()) {
+                boolean success = statusCode >= 200 && statusCode < 400;
+                if (!success || check == null) {
+                    return new RequestResult(responseTime, statusCode, success, null, threadId, name, startTime);
+                }
             }
             
-            HttpRequest request = requestBuilder.build();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            long endTime = System.currentTimeMillis();
-            long responseTime = endTime - startTime;
-            
-            boolean success = response.statusCode() >= 200 && response.statusCode() < 400;
-            
-            return new RequestResult(responseTime, response.statusCode(), success, null, threadId);
+            String failure = check.evaluate(statusCode, responseTime);
+            return new RequestResult(responseTime, statusCode, failure == null, failure, threadId, name,
+                startTime, failure == null ? null : ErrorType.ASSERTION);
             
         } catch (Exception e) {
-            long endTime = System.currentTimeMillis();
-            long responseTime = endTime - startTime;
+            long responseTime = (System.nanoTime() - startTime) / 1000;
             
-            return new RequestResult(responseTime, 0, false, e.getMessage(), threadId);
+            return new RequestResult(responseTime, 0, false, e.getMessage(), threadId, name, startTime);
         }
     }
 }
\ No newline at end of file
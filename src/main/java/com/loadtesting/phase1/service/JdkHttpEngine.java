@@ -0,0 +1,172 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.TransportConfiguration;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+
+/**
+ * Phase 1: JDK HTTP Engine
+ * {@link java.net.http.HttpClient} based engine used for HTTP/2. Each client
+ * multiplexes its requests over one connection per origin, so connections
+ * are counted as distinct (client, origin) pairs. Note that every JDK client
+ * owns a selector thread, which matters in per-user mode. All clients share
+ * one SSLContext and so one TLS session cache; the JDK client exposes no
+ * handshake hooks, so TLS session modes do not apply here.
+ */
+public class JdkHttpEngine implements HttpEngine {
+    private final TransportConfiguration transport;
+    private final HttpClient sharedClient;
+    private final Map<Integer, HttpClient> userClients;
+    private final Set<String> openedConnections;
+    private final ConnectionStats connectionStats;
+    private final SSLContext sslContext;
+    
+    public JdkHttpEngine(TransportConfiguration transport) {
+        this.transport = transport;
+        this.sslContext = new TlsSessions(transport).getSharedContext();
+        this.userClients = new ConcurrentHashMap<>();
+        this.openedConnections = ConcurrentHashMap.newKeySet();
+        this.connectionStats = new ConnectionStats();
+        this.sharedClient = transport.getClientMode() == TransportConfiguration.ClientMode.SHARED ? buildClient() : null;
+    }
+    
+    @Override
+    public int send(PreparedRequest request, int userId, ResponseSink sink) throws IOException, InterruptedException {
+        HttpClient client = sharedClient != null ? sharedClient : userClients.computeIfAbsent(userId, id -> buildClient());
+        HttpResponse<Void> response = client.send(toHttpRequest(request), bodyHandler(sink));
+        
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            URI uri = request.getUri();
+            String connection = System.identityHashCode(client) + "|" + uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+            if (openedConnections.add(connection)) {
+                connectionStats.recordConnectionOpened(-1);
+            }
+            connectionStats.recordRequest(true);
+        } else {
+            // Server fell back to HTTP/1.1; the JDK pool does not expose its connections
+            connectionStats.recordRequest(false);
+        }
+        return response.statusCode();
+    }
+    
+    @Override
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+    
+    @Override
+    public void close() {
+        // JDK 11 clients have no close(); dropping them lets their selector threads exit
+        userClients.clear();
+        openedConnections.clear();
+    }
+    
+    private HttpResponse.BodyHandler<Void> bodyHandler(ResponseSink sink) {
+        if (sink == null) return HttpResponse.BodyHandlers.discarding();
+        return responseInfo -> {
+            for (String name : sink.getHeaderNames()) {
+                responseInfo.headers().firstValue(name).ifPresent(value -> sink.onHeader(name, value));
+            }
+            return sink.wantsBody()
+                ? HttpResponse.BodySubscribers.fromSubscriber(new StreamingSubscriber(sink))
+                : HttpResponse.BodySubscribers.discarding();
+        };
+    }
+    
+    private HttpClient buildClient() {
+        return HttpClient.newBuilder()
+            .version(transport.getProtocol() == TransportConfiguration.Protocol.HTTP_2
+                ? HttpClient.Version.HTTP_2
+                : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(transport.getConnectTimeoutMs()))
+            .sslContext(sslContext)
+            .build();
+    }
+    
+    private HttpRequest toHttpRequest(PreparedRequest request) {
+        Object cached = request.getCachedForm(this);
+        if (cached != null) return (HttpRequest) cached;
+        
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+            .uri(request.getUri())
+            .timeout(Duration.ofMillis(transport.getRequestTimeoutMs()));
+        
+        String[] headers = request.getHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            requestBuilder.header(headers[i], headers[i + 1]);
+        }
+        
+        switch (request.getMethod()) {
+            case "POST":
+                requestBuilder.POST(request.getBody() != null ?
+                    HttpRequest.BodyPublishers.ofByteArray(request.getBody()) :
+                    HttpRequest.BodyPublishers.noBody());
+                break;
+            case "PUT":
+                requestBuilder.PUT(request.getBody() != null ?
+                    HttpRequest.BodyPublishers.ofByteArray(request.getBody()) :
+                    HttpRequest.BodyPublishers.noBody());
+                break;
+            case "DELETE":
+                requestBuilder.DELETE();
+                break;
+            case "GET":
+                requestBuilder.GET();
+                break;
+            default:
+                // Replayed logs carry methods like HEAD, PATCH or OPTIONS
+                requestBuilder.method(request.getMethod(), request.getBody() != null ?
+                    HttpRequest.BodyPublishers.ofByteArray(request.getBody()) :
+                    HttpRequest.BodyPublishers.noBody());
+        }
+        
+        HttpRequest httpRequest = requestBuilder.build();
+        request.setCachedForm(this, httpRequest);
+        return httpRequest;
+    }
+    
+    /**
+     * Hands body chunks to the sink as the client receives them.
+     */
+    private static final class StreamingSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        private final ResponseSink sink;
+        
+        private StreamingSubscriber(ResponseSink sink) {
+            this.sink = sink;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(List<ByteBuffer> chunks) {
+            for (ByteBuffer chunk : chunks) {
+                sink.onBody(chunk);
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            // Surfaces from HttpClient.send
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.loadtesting.phase1.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Phase 1: JSON Field Matcher
+ * Streaming check that a JSON field has a given literal value, without
+ * parsing the document: finds {@code "name"}, then a colon, then compares the
+ * value bytes. Matches the first occurrence of the key at any depth whose
+ * value equals the expected literal. Immutable; state lives in {@link State}.
+ */
+final class JsonFieldMatcher {
+    private static final int KEY = 0;
+    private static final int COLON = 1;
+    private static final int VALUE_START = 2;
+    private static final int VALUE = 3;
+    private static final int VALUE_END = 4;
+    private static final int MATCHED = 5;
+    
+    private final ByteMatcher key;
+    private final byte[] value;
+    private final boolean stringValue;
+    
+    JsonFieldMatcher(String field, String expectedLiteral) {
+        this.key = new ByteMatcher(("\"" + field + "\"").getBytes(StandardCharsets.UTF_8));
+        String literal = expectedLiteral.trim();
+        this.value = literal.getBytes(StandardCharsets.UTF_8);
+        this.stringValue = literal.startsWith("\"");
+    }
+    
+    static final class State {
+        private int phase;
+        private int position;
+        
+        boolean isMatched() {
+            return phase == MATCHED;
+        }
+    }
+    
+    void scan(State state, ByteBuffer chunk) {
+        for (int i = chunk.position(), end = chunk.limit(); i < end && state.phase != MATCHED; i++) {
+            byte b = chunk.get(i);
+            switch (state.phase) {
+                case KEY:
+                    state.position = key.advance(state.position, b);
+                    if (state.position == key.length()) state.phase = COLON;
+                    break;
+                case COLON:
+                    if (b == ':') {
+                        state.phase = VALUE_START;
+                    } else if (!isWhitespace(b)) {
+                        // The key text was a value, not a field name
+                        restart(state, b);
+                    }
+                    break;
+                case VALUE_START:
+                    if (isWhitespace(b)) break;
+                    state.phase = VALUE;
+                    state.position = 0;
+                    // The first value byte is compared right away
+                    matchValue(state, b);
+                    break;
+                case VALUE:
+                    matchValue(state, b);
+                    break;
+                case VALUE_END:
+                    // Numbers and literals must end here, so 1 does not match 10
+                    if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                        state.phase = MATCHED;
+                    } else {
+                        restart(state, b);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Called at end of body: a bare literal at the very end still counts.
+     */
+    void finish(State state) {
+        if (state.phase == VALUE_END) state.phase = MATCHED;
+    }
+    
+    private void matchValue(State state, byte b) {
+        if (b != value[state.position]) {
+            restart(state, b);
+        } else if (++state.position == value.length) {
+            state.phase = stringValue ? MATCHED : VALUE_END;
+        }
+    }
+    
+    private void restart(State state, byte b) {
+        state.phase = KEY;
+        state.position = key.advance(0, b);
+        if (state.position == key.length()) state.phase = COLON;
+    }
+    
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+}
\ No newline at end of file
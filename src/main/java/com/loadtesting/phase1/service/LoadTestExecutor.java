@@ -1,30 +1,83 @@
 package com.loadtesting.phase1.service;
 
+import com.loadtesting.phase1.data.AccessLogReader;
+import com.loadtesting.phase1.data.DataFeeder;
+import com.loadtesting.phase1.model.AddressStats;
+import com.loadtesting.phase1.model.CapacityPoint;
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.ErrorType;
+import com.loadtesting.phase1.model.GeneratorHealth;
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
 import com.loadtesting.phase1.model.PerformanceMetrics;
 import com.loadtesting.phase1.model.RequestResult;
+import com.loadtesting.phase1.model.SlowRequestTracker;
 import com.loadtesting.phase1.model.TestConfiguration;
+import com.loadtesting.phase1.model.TransportConfiguration;
+import com.loadtesting.phase1.model.Trend;
+import com.loadtesting.phase1.model.UserStats;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Phase 1: Load Test Executor
- * Main execution engine with multithreading support
+ * Main execution engine with multithreading support. A run ends at its
+ * duration or on {@link #cancel()}; either way the measured window closes at
+ * once and requests still in flight get a bounded drain, so one run never
+ * leaks into the next.
  */
 public class LoadTestExecutor {
+    private static final long USER_THINK_TIME_MS = 100;
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+    private static final long SOAK_PROGRESS_INTERVAL_MS = 60000;
+    private static final long CONTROL_INTERVAL_MS = 250;
+    private static final int INITIAL_ADAPTIVE_USERS = 4;
+    private static final int SLOWEST_REQUESTS_SHOWN = 10;
+    private static final int SLOWEST_INTERVALS_SHOWN = 12;
+    private static final int STARVED_USERS_SHOWN = 10;
+    private static final int SLOWEST_USERS_SHOWN = 5;
+    // Enough for a batch cycling through its profiles; beyond it cached plans are evicted
+    private static final int MAX_CACHED_PLANS = 32;
+    private static final DateTimeFormatter TIME_OF_DAY = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    
+    // Shared across runs and kept warm: HTTP client, connection pool and compiled request plans
     private final HttpRequestExecutor requestExecutor;
-    private final MetricsCollector metricsCollector;
+    private final Map<String, TrafficMix> planCache;
+    
+    // Fresh per run, so each run's metrics are isolated
+    private volatile MetricsCollector metricsCollector;
+    private final GeneratorHealthMonitor healthMonitor;
     private final AtomicBoolean running;
-    private final AtomicInteger activeThreads;
+    private volatile CountDownLatch stopSignal;
+    private volatile boolean cancelled;
+    private final AtomicInteger activeUsers;
+    private volatile AdaptiveConcurrencyController adaptiveController;
     
     public LoadTestExecutor() {
         this.requestExecutor = new HttpRequestExecutor();
+        this.planCache = new ConcurrentHashMap<>();
         this.metricsCollector = new MetricsCollector();
+        this.healthMonitor = new GeneratorHealthMonitor();
         this.running = new AtomicBoolean(false);
-        this.activeThreads = new AtomicInteger(0);
+        this.stopSignal = new CountDownLatch(0);
+        this.activeUsers = new AtomicInteger(0);
     }
     
     public PerformanceMetrics executeLoadTest(TestConfiguration config) {
@@ -32,128 +85,526 @@ public class LoadTestExecutor {
             throw new IllegalArgumentException("Invalid test configuration");
         }
         
+        stopSignal = new CountDownLatch(1);
+        cancelled = false;
         System.out.println("=== AutoLoadX - Starting Load Test ===");
-        System.out.println("Endpoint: " + config.getApiEndpoint());
-        System.out.println("Method: " + config.getHttpMethod());
-        System.out.println("Users: " + config.getConcurrentUsers());
+        if (config.isReplay()) {
+            System.out.println("Replay: " + config.getReplayLogFile() + " against " + config.getApiEndpoint()
+                + String.format(" (x%.2f speed%s)", config.getReplaySpeedUp(), config.isReplayLoop() ? ", looping" : ""));
+        } else if (config.hasTrafficMix()) {
+            config.getTrafficMix().forEach(endpoint -> System.out.println("Endpoint: " + endpoint.getName()
+                + (endpoint.getTargetRatePerSecond() > 0
+                    ? " @ " + endpoint.getTargetRatePerSecond() + " req/s"
+                    : " (weight " + endpoint.getWeight() + ")")));
+        } else {
+            System.out.println("Endpoint: " + config.getApiEndpoint());
+            System.out.println("Method: " + config.getHttpMethod());
+        }
+        System.out.println((config.isReplay() ? "Max In-Flight: " : "Users: ") + config.getConcurrentUsers());
         System.out.println("Duration: " + config.getTestDurationSeconds() + "s");
+        if (config.isAdaptive()) {
+            System.out.println(String.format("Adaptive: concurrency adjusted to hold p99 <= %.0f ms, up to %d users",
+                config.getTargetP99Ms(), config.getConcurrentUsers()));
+        }
+        if (config.isSoakMode()) {
+            System.out.println("Soak mode: rolling windows and drift detection, raw results not retained");
+        }
+        if (config.getWarmUpSeconds() > 0) {
+            System.out.println("Warm-up: " + config.getWarmUpSeconds() + "s after " + config.getRampUpSeconds() + "s ramp-up");
+        }
+        TransportConfiguration transport = config.getTransport();
+        if (transport != null) {
+            System.out.println("Transport: " + transport.getProtocol() + ", " + transport.getClientMode() + " client"
+                + (transport.isKeepAlive() ? "" : ", no keep-alive")
+                + (transport.getMaxConnections() > 0 ? ", max " + transport.getMaxConnections() + " connections" : "")
+                + (transport.getPipelineDepth() > 1 ? ", pipeline depth " + transport.getPipelineDepth() : ""));
+            if (usesTls(config)) {
+                System.out.println("TLS: " + (transport.getProtocol() == TransportConfiguration.Protocol.HTTP_1_1
+                        ? transport.getTlsSessionMode().toString() : "shared session cache (session modes need HTTP_1_1)")
+                    + (transport.isTrustAllCertificates() ? ", trusting any certificate" : ""));
+            }
+            if (transport.isAddressSpreading()) {
+                System.out.println("Addresses: " + transport.getAddressSelection() + " over "
+                    + (transport.getTargetAddresses().isEmpty() ? "every resolved address" : String.join(", ", transport.getTargetAddresses())));
+                if (transport.getProtocol() == TransportConfiguration.Protocol.HTTP_2) {
+                    System.out.println("WARNING: Address spreading is not supported on HTTP_2; the JDK client picks addresses itself");
+                }
+            }
+        }
         System.out.println();
         
+        metricsCollector = new MetricsCollector(!config.isSoakMode());
+        activeUsers.set(0);
+        adaptiveController = null;
+        
+        // Unchanged transports keep their warm connections across runs
+        requestExecutor.configure(transport);
+        requestExecutor.getConnectionStats().reset();
+        
+        // Users are sessions on the timer wheel, so idle think time holds no worker thread
+        int workerThreads = Math.min(config.getConcurrentUsers(), 1000);
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(workerThreads, workerThreads,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        TimerWheel scheduler = new TimerWheel(config.getSchedulerTickMillis(), TimeUnit.MILLISECONDS, executorService);
+        
+        // Everything that can reject the configuration runs before the first thread starts
+        DataFeeder feeder = null;
+        TrafficMix trafficMix = null;
+        LogReplayer replayer = null;
+        try {
+            if (config.isReplay()) {
+                replayer = createReplay(config, scheduler);
+            } else {
+                feeder = openFeeder(config);
+                trafficMix = compileTrafficMix(config, feeder);
+            }
+        } catch (RuntimeException e) {
+            closeFeeder(feeder);
+            executorService.shutdown();
+            stopSignal.countDown();
+            throw e;
+        }
+        if (config.isCoordinatedOmissionCorrection() && trafficMix != null) {
+            // A user is expected to send once per pacing interval, or once per think time when unpaced
+            long pacingNanos = trafficMix.getPacingIntervalNanos(config.getConcurrentUsers());
+            long expectedIntervalMicros = pacingNanos > 0
+                ? Math.max(1, TimeUnit.NANOSECONDS.toMicros(pacingNanos))
+                : TimeUnit.MILLISECONDS.toMicros(USER_THINK_TIME_MS);
+            metricsCollector.getMetrics().enableCoordinatedOmissionCorrection(expectedIntervalMicros);
+        }
+        
         running.set(true);
-        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(config.getConcurrentUsers(), 1000));
+        if (stopSignal.getCount() == 0) {
+            // Cancelled while loading the feeder or compiling the plan: every phase ends at once
+            running.set(false);
+        }
+        scheduler.start();
+        // Replay has no fixed user count and adaptive runs park users on purpose
+        boolean fixedUsers = !config.isReplay() && !config.isAdaptive();
+        healthMonitor.start(executorService, activeUsers, fixedUsers ? config.getConcurrentUsers() : 0, scheduler);
+        if (fixedUsers) {
+            metricsCollector.trackUsers(config.getConcurrentUsers());
+        }
         
         // Start monitoring thread
-        Thread monitorThread = new Thread(() -> monitorProgress());
+        Thread monitorThread = new Thread(() -> monitorProgress(config.isSoakMode()));
         monitorThread.start();
         
-        // Execute ramp-up
-        executeRampUp(config, executorService);
+        // Ramp-up and warm-up results are kept out of the measured window; adaptive runs ramp themselves
+        boolean warmUp = (config.getRampUpSeconds() > 0 && !config.isAdaptive()) || config.getWarmUpSeconds() > 0;
+        metricsCollector.beginWarmUp();
+        if (!warmUp) {
+            metricsCollector.beginMeasurement();
+        }
         
-        // Execute main test
-        executeMainTest(config, executorService);
+        // Execute ramp-up, or start replaying on the log's own schedule
+        Thread controlThread = null;
+        if (config.isReplay()) {
+            replayer.start();
+        } else if (config.isAdaptive()) {
+            controlThread = startAdaptiveUsers(config, trafficMix, scheduler);
+        } else {
+            executeRampUp(config, trafficMix, scheduler);
+        }
         
-        // Shutdown
+        // Execute warm-up
+        if (warmUp) {
+            executeWarmUp(config);
+            metricsCollector.beginMeasurement();
+            System.out.println("Warm-up complete - measurement started");
+        }
+        
+        // Execute main test
+        executeMainTest(config, replayer);
+        // Sessions stop starting requests as the window closes, so only
+        // requests already sent count as in flight at the cutoff
         running.set(false);
-        shutdownExecutor(executorService);
+        stopSignal.countDown();
+        metricsCollector.endMeasurement();
         
-        try {
-            monitorThread.join();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Shutdown: no new iterations, then drain what is in flight
+        GeneratorHealth health = healthMonitor.stop(cancelled);
+        if (replayer != null) {
+            replayer.stop();
+        }
+        if (controlThread != null) {
+            controlThread.interrupt();
+            joinQuietly(controlThread);
         }
+        scheduler.stop();
+        boolean drained = drain(executorService, config.getDrainTimeoutSeconds());
+        metricsCollector.endDrain();
+        ConnectionStats connectionStats = requestExecutor.getConnectionStats().snapshot();
+        if (!drained) {
+            // Abandoned requests would hold connections into the next run
+            executorService.shutdownNow();
+            requestExecutor.reset();
+        }
+        // Sessions whose next iteration was dropped with the wheel never report back
+        activeUsers.set(0);
+        
+        joinQuietly(monitorThread);
         
+        closeFeeder(feeder);
+        if (replayer != null) {
+            closeReplayLog(replayer);
+        }
         metricsCollector.finalizeCollection();
+        metricsCollector.getMetrics().setGeneratorHealth(health);
+        metricsCollector.getMetrics().setConnectionStats(connectionStats);
+        metricsCollector.getMetrics().setCancelled(cancelled);
+        if (adaptiveController != null) {
+            metricsCollector.getMetrics().setCapacityTimeline(adaptiveController.getTimeline());
+        }
+        if (config.isSoakMode()) {
+            metricsCollector.getMetrics().setTrends(TrendDetector.detect(metricsCollector.getIntervalSeries(), System.nanoTime()));
+        }
         printFinalResults();
+        if (replayer != null) {
+            System.out.println();
+            System.out.println("--- Replay ---");
+            System.out.println("Dispatched: " + replayer.getDispatchedRequests() + " | Skipped Lines: " + replayer.getSkippedLines()
+                + " | Complete Passes: " + replayer.getLoops());
+            if (replayer.getFailure() != null) {
+                System.out.println("Replay stopped early, log could not be read: " + replayer.getFailure());
+            }
+        }
         
         return metricsCollector.getMetrics();
     }
     
-    private void executeRampUp(TestConfiguration config, ExecutorService executorService) {
+    /**
+     * Stops the current run early. The measured window closes right away and
+     * the run shuts down as if its duration had elapsed, including the drain;
+     * {@link #executeLoadTest(TestConfiguration)} then returns the results so
+     * far. Safe to call from any thread, and a no-op between runs. A cancel
+     * during setup is kept and ends the run before any load is generated.
+     */
+    public void cancel() {
+        // The stop signal is armed from the start of executeLoadTest until the run shuts down
+        if (stopSignal.getCount() > 0) {
+            cancelled = true;
+            stopSignal.countDown();
+            running.set(false);
+        }
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    /**
+     * Point-in-time copy of the current (or last) run's measured metrics.
+     */
+    public PerformanceMetrics getLiveMetrics() {
+        return metricsCollector.snapshot();
+    }
+    
+    /**
+     * The current run's interval series without copying the metrics; null
+     * until measurement starts.
+     */
+    public IntervalSeries getLiveIntervalSeries() {
+        return metricsCollector.getIntervalSeries();
+    }
+    
+    private TrafficMix compileTrafficMix(TestConfiguration config, DataFeeder feeder) {
+        // Feeder-driven plans are bound to this run's feeder and cannot be reused
+        if (feeder != null) {
+            return TrafficMix.compile(config, feeder);
+        }
+        String signature = requestSignature(config);
+        TrafficMix cached = planCache.get(signature);
+        if (cached != null) return cached;
+        
+        TrafficMix compiled = TrafficMix.compile(config, null);
+        // Bounded, so a long batch of distinct requests cannot grow it without end; any plan may go
+        Iterator<String> evicted = planCache.keySet().iterator();
+        while (planCache.size() >= MAX_CACHED_PLANS && evicted.hasNext()) {
+            evicted.next();
+            evicted.remove();
+        }
+        TrafficMix raced = planCache.putIfAbsent(signature, compiled);
+        return raced != null ? raced : compiled;
+    }
+    
+    private String requestSignature(TestConfiguration config) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(config.getHttpMethod()).append(' ').append(config.getApiEndpoint())
+            .append('\n').append(config.getHeaders())
+            .append('\n').append(config.getRequestBody())
+            .append('\n').append(config.getAssertions());
+        config.getTrafficMix().forEach(endpoint -> sb.append('\n')
+            .append(endpoint.getName()).append('|')
+            .append(endpoint.getHttpMethod()).append(' ').append(endpoint.getApiEndpoint()).append('|')
+            .append(endpoint.getHeaders()).append('|')
+            .append(endpoint.getRequestBody()).append('|')
+            .append(endpoint.getWeight()).append('|')
+            .append(endpoint.getTargetRatePerSecond()).append('|')
+            .append(endpoint.getAssertions()));
+        return sb.toString();
+    }
+    
+    private DataFeeder openFeeder(TestConfiguration config) {
+        if (config.getFeederFile() == null || config.getFeederFile().trim().isEmpty()) {
+            return null;
+        }
+        try {
+            DataFeeder feeder = new DataFeeder(Paths.get(config.getFeederFile().trim()),
+                config.getFeederStrategy(), config.getConcurrentUsers());
+            System.out.println("Feeder: " + config.getFeederFile() + " (" + feeder.getColumns().length
+                + " columns, " + feeder.getStrategy() + ")");
+            return feeder;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to open feeder file: " + e.getMessage(), e);
+        }
+    }
+    
+    private void closeFeeder(DataFeeder feeder) {
+        if (feeder == null) return;
+        try {
+            feeder.close();
+        } catch (IOException e) {
+            // Nothing left to read from it
+        }
+    }
+    
+    private void executeRampUp(TestConfiguration config, TrafficMix trafficMix, TimerWheel scheduler) {
         int rampUpUsers = config.getConcurrentUsers();
-        int rampUpDuration = config.getRampUpSeconds();
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(Math.max(0, config.getRampUpSeconds()));
+        long pacingNanos = trafficMix.getPacingIntervalNanos(rampUpUsers);
         
-        if (rampUpDuration <= 0) {
-            // No ramp-up, start all users immediately
-            for (int i = 0; i < rampUpUsers; i++) {
-                startUserThread(config, executorService, i);
-            }
-            return;
+        // Every user's first iteration is scheduled up front, spread evenly over the ramp-up
+        long rampUpStart = System.nanoTime();
+        for (int i = 0; i < rampUpUsers; i++) {
+            UserSession session = new UserSession(trafficMix, pacingNanos, scheduler, i, null);
+            scheduler.scheduleAt(session, rampUpStart + rampUpNanos * i / rampUpUsers);
         }
         
-        // Gradual ramp-up
-        long delayBetweenUsers = (rampUpDuration * 1000L) / rampUpUsers;
+        awaitStop(TimeUnit.NANOSECONDS.toMillis(rampUpStart + rampUpNanos - System.nanoTime()));
+    }
+    
+    /**
+     * Creates a session per possible user but only starts as many as the
+     * controller allows; a control thread applies its decisions. Sessions
+     * above a lowered limit park themselves, raised limits wake them.
+     */
+    private Thread startAdaptiveUsers(TestConfiguration config, TrafficMix trafficMix, TimerWheel scheduler) {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(config.getTargetP99Ms(),
+            INITIAL_ADAPTIVE_USERS, config.getConcurrentUsers(), System.nanoTime());
+        adaptiveController = controller;
+        long pacingNanos = trafficMix.getPacingIntervalNanos(config.getConcurrentUsers());
+        UserSession[] sessions = new UserSession[config.getConcurrentUsers()];
+        for (int i = 0; i < sessions.length; i++) {
+            sessions[i] = new UserSession(trafficMix, pacingNanos, scheduler, i, controller);
+        }
+        resumeSessions(sessions, 0, controller.getLimit(), scheduler);
         
-        for (int i = 0; i < rampUpUsers; i++) {
-            if (!running.get()) break;
-            
-            startUserThread(config, executorService, i);
-            
-            try {
-                Thread.sleep(delayBetweenUsers);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        Thread controlThread = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    Thread.sleep(CONTROL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int previous = controller.getLimit();
+                int next = controller.step(System.nanoTime());
+                if (next > previous) {
+                    resumeSessions(sessions, previous, next, scheduler);
+                }
+            }
+        }, "autoloadx-adaptive-controller");
+        controlThread.setDaemon(true);
+        controlThread.start();
+        return controlThread;
+    }
+    
+    private void resumeSessions(UserSession[] sessions, int from, int to, TimerWheel scheduler) {
+        long now = System.nanoTime();
+        for (int i = from; i < to; i++) {
+            if (sessions[i].parked.compareAndSet(true, false)) {
+                scheduler.scheduleAt(sessions[i], now);
             }
         }
     }
     
-    private void executeMainTest(TestConfiguration config, ExecutorService executorService) {
+    private void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void executeWarmUp(TestConfiguration config) {
+        awaitStop(config.getWarmUpSeconds() * 1000L);
+    }
+    
+    private void executeMainTest(TestConfiguration config, LogReplayer replayer) {
         long testEndTime = System.currentTimeMillis() + (config.getTestDurationSeconds() * 1000L);
         
-        while (running.get() && System.currentTimeMillis() < testEndTime) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+        // A replay that runs out of log ends the test early
+        while (System.currentTimeMillis() < testEndTime && (replayer == null || !replayer.isFinished())) {
+            if (awaitStop(Math.min(1000, testEndTime - System.currentTimeMillis()))) {
                 break;
             }
         }
     }
     
-    private void startUserThread(TestConfiguration config, ExecutorService executorService, int userId) {
-        executorService.submit(() -> {
-            activeThreads.incrementAndGet();
+    /**
+     * Waits for the given time unless the run is stopped first.
+     *
+     * @return true when the run was stopped (or the caller interrupted)
+     */
+    private boolean awaitStop(long millis) {
+        try {
+            return stopSignal.await(Math.max(0, millis), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+    
+    /**
+     * Opens the log and builds the replayer without starting it.
+     */
+    private LogReplayer createReplay(TestConfiguration config, TimerWheel scheduler) {
+        AccessLogReader reader;
+        try {
+            reader = new AccessLogReader(Paths.get(config.getReplayLogFile().trim()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to open access log: " + e.getMessage(), e);
+        }
+        try {
+            ResponseValidator validator = ResponseValidator.compile(config.getAssertions());
+            // Late results of this run must never reach the next run's collector
+            MetricsCollector collector = metricsCollector;
+            return new LogReplayer(reader, URI.create(config.getApiEndpoint().trim()), config.getHeaders(),
+                config.getReplaySpeedUp(), config.isReplayLoop(), config.getConcurrentUsers(), scheduler,
+                (request, userId) -> {
+                    // Active users count in-flight requests during replay
+                    activeUsers.incrementAndGet();
+                    try {
+                        collector.requestStarted();
+                        collector.collectRequestResult(requestExecutor.executeRequest(request, validator, userId));
+                    } finally {
+                        activeUsers.decrementAndGet();
+                    }
+                });
+        } catch (RuntimeException e) {
+            try {
+                reader.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+    
+    private void closeReplayLog(LogReplayer replayer) {
+        try {
+            replayer.close();
+        } catch (IOException e) {
+            // Nothing left to read from it
+        }
+    }
+    
+    /**
+     * One virtual user: each run sends one request, then schedules the next
+     * iteration on the timer wheel instead of sleeping on a worker thread.
+     */
+    private final class UserSession implements Runnable {
+        private final TrafficMix trafficMix;
+        private final long pacingNanos;
+        private final TimerWheel scheduler;
+        private final int userId;
+        private final MetricsCollector collector;
+        // Null unless the run is adaptive
+        private final AdaptiveConcurrencyController controller;
+        private final AtomicBoolean parked;
+        private boolean started;
+        
+        private UserSession(TrafficMix trafficMix, long pacingNanos, TimerWheel scheduler, int userId,
+                            AdaptiveConcurrencyController controller) {
+            this.trafficMix = trafficMix;
+            this.pacingNanos = pacingNanos;
+            this.scheduler = scheduler;
+            this.userId = userId;
+            this.collector = metricsCollector;
+            this.controller = controller;
+            this.parked = new AtomicBoolean(true);
+        }
+        
+        @Override
+        public void run() {
+            if (!started) {
+                started = true;
+                activeUsers.incrementAndGet();
+            }
+            if (!running.get()) {
+                activeUsers.decrementAndGet();
+                return;
+            }
+            if (controller != null && userId >= controller.getLimit()) {
+                park();
+                return;
+            }
             
-            while (running.get()) {
-                RequestResult result = requestExecutor.executeRequest(config, userId);
-                metricsCollector.collectRequestResult(result);
-                
-                // Small delay between requests from same user
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+            long iterationStart = System.nanoTime();
+            collector.requestStarted();
+            RequestResult result = requestExecutor.executeRequest(trafficMix.next(), userId);
+            collector.collectRequestResult(result);
+            if (controller != null) {
+                controller.record(System.nanoTime(), result.getResponseTimeMicros(), result.isSuccess());
             }
             
-            activeThreads.decrementAndGet();
-        });
+            // Pace to the target rate, or a small delay between requests from same user
+            if (pacingNanos > 0) {
+                scheduler.scheduleAt(this, iterationStart + pacingNanos);
+            } else {
+                scheduler.schedule(this, USER_THINK_TIME_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        private void park() {
+            started = false;
+            activeUsers.decrementAndGet();
+            parked.set(true);
+            // The limit may have been raised after the check, and the control thread skips running sessions
+            if (userId < controller.getLimit() && parked.compareAndSet(true, false)) {
+                scheduler.scheduleAt(this, System.nanoTime());
+            }
+        }
     }
     
-    private void monitorProgress() {
-        while (running.get()) {
-            try {
-                Thread.sleep(5000); // Print stats every 5 seconds
-                if (running.get()) {
-                    metricsCollector.printCurrentStats();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+    private void monitorProgress(boolean soakMode) {
+        // Wakes on stop, so the end of the run never waits out a progress interval
+        while (!awaitStop(soakMode ? SOAK_PROGRESS_INTERVAL_MS : PROGRESS_INTERVAL_MS)) {
+            metricsCollector.printCurrentStats();
+            if (soakMode) {
+                metricsCollector.printRollingWindows();
+            }
+            System.out.println("  Generator: " + healthMonitor.currentSummary());
+            AdaptiveConcurrencyController controller = adaptiveController;
+            if (controller != null) {
+                System.out.println("  " + controller.summary());
             }
         }
     }
     
-    private void shutdownExecutor(ExecutorService executorService) {
+    /**
+     * Lets the workers finish the requests they have in flight, up to the
+     * deadline; queued iterations see the run stopped and return at once.
+     *
+     * @return false when requests were still in flight at the deadline
+     */
+    private boolean drain(ExecutorService executorService, int timeoutSeconds) {
         executorService.shutdown();
         try {
-            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
+            return executorService.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
-            executorService.shutdownNow();
             Thread.currentThread().interrupt();
+            return false;
         }
     }
     
@@ -161,14 +612,278 @@ public class LoadTestExecutor {
         PerformanceMetrics metrics = metricsCollector.getMetrics();
         
         System.out.println();
-        System.out.println("=== AutoLoadX - LOAD TEST COMPLETED ===");
+        System.out.println(metrics.isCancelled() ? "=== AutoLoadX - LOAD TEST CANCELLED ===" : "=== AutoLoadX - LOAD TEST COMPLETED ===");
         System.out.println("Total Requests: " + metrics.getTotalRequests());
         System.out.println("Successful: " + metrics.getSuccessfulRequests());
         System.out.println("Failed: " + metrics.getFailedRequests());
+        if (metrics.getFailedRequests() > 0) {
+            System.out.println("  Connection: " + metrics.getErrorCount(ErrorType.CONNECTION)
+                + " | HTTP Status: " + metrics.getErrorCount(ErrorType.HTTP_STATUS)
+                + " | Assertion: " + metrics.getErrorCount(ErrorType.ASSERTION));
+        }
         System.out.println("Error Rate: " + String.format("%.4f%%", metrics.getErrorRate()));
         System.out.println("Min Response Time: " + metrics.getMinResponseTime() + " ms");
         System.out.println("Max Response Time: " + metrics.getMaxResponseTime() + " ms");
         System.out.println("Avg Response Time: " + String.format("%.2f ms", metrics.getAverageResponseTime()));
-        System.out.println("Throughput: " + String.format("%.2f req/s", metrics.getThroughputPerSecond()));
+        System.out.println("Throughput: " + String.format("%.2f req/s", metrics.getThroughputPerSecond())
+            + String.format(" (measured over %.1f s)", metrics.getMeasuredDurationSeconds()));
+        if (metrics.getInFlightAtCutoff() > 0) {
+            System.out.println("In Flight at Cutoff (excluded): " + metrics.getInFlightAtCutoff()
+                + " | Drained: " + metrics.getDrainedRequests() + " | Abandoned: " + metrics.getAbandonedRequests());
+        }
+        if (metrics.getWarmUpMetrics() != null) {
+            PerformanceMetrics warmUp = metrics.getWarmUpMetrics();
+            System.out.println("Warm-up (excluded): " + warmUp.getTotalRequests() + " requests | "
+                + String.format("Avg Response: %.2f ms | Error Rate: %.4f%%", warmUp.getAverageResponseTime(), warmUp.getErrorRate()));
+        }
+        System.out.println("Percentiles: " + formatPercentiles(metrics));
+        if (metrics.isCoordinatedOmissionCorrected()) {
+            System.out.println("Corrected:   " + formatCorrectedPercentiles(metrics)
+                + String.format(" (expected interval %d ms)", metrics.getExpectedIntervalMicros() / 1000));
+        }
+        printEndpointBreakdown(metrics);
+        printUserFairness(metrics);
+        printSlowestRequests(metrics);
+        printTrends(metrics);
+        printCapacity(metrics);
+        printConnectionStats(metrics.getConnectionStats(), metrics.getTestEndTime() != null
+            ? Duration.between(metrics.getTestStartTime(), metrics.getTestEndTime()).toMillis() / 1000.0 : 0);
+        printGeneratorHealth(metrics.getGeneratorHealth());
+    }
+    
+    private String formatPercentiles(PerformanceMetrics metrics) {
+        return String.format("p50 %.2f ms | p90 %.2f ms | p99 %.2f ms | p99.9 %.2f ms",
+            metrics.getPercentileResponseTime(50),
+            metrics.getPercentileResponseTime(90),
+            metrics.getPercentileResponseTime(99),
+            metrics.getPercentileResponseTime(99.9));
+    }
+    
+    private String formatCorrectedPercentiles(PerformanceMetrics metrics) {
+        return String.format("p50 %.2f ms | p90 %.2f ms | p99 %.2f ms | p99.9 %.2f ms",
+            metrics.getCorrectedPercentileResponseTime(50),
+            metrics.getCorrectedPercentileResponseTime(90),
+            metrics.getCorrectedPercentileResponseTime(99),
+            metrics.getCorrectedPercentileResponseTime(99.9));
+    }
+    
+    private void printEndpointBreakdown(PerformanceMetrics metrics) {
+        if (metrics.getEndpointMetrics().isEmpty()) return;
+        
+        System.out.println();
+        System.out.println("--- Per Endpoint ---");
+        metrics.getEndpointMetrics().forEach((name, endpoint) -> {
+            System.out.println(name + ": " + endpoint.getTotalRequests() + " requests ("
+                + String.format("%.1f%%", metrics.getTotalRequests() > 0 ? endpoint.getTotalRequests() * 100.0 / metrics.getTotalRequests() : 0)
+                + ") | " + String.format("%.2f req/s | Error Rate: %.4f%%", endpoint.getThroughputPerSecond(), endpoint.getErrorRate()));
+            System.out.println("  Avg: " + String.format("%.2f ms", endpoint.getAverageResponseTime()) + " | " + formatPercentiles(endpoint));
+            if (endpoint.isCoordinatedOmissionCorrected()) {
+                System.out.println("  Corrected: " + formatCorrectedPercentiles(endpoint));
+            }
+        });
+    }
+    
+    private void printUserFairness(PerformanceMetrics metrics) {
+        UserStats users = metrics.getUserStats();
+        double seconds = metrics.getMeasuredDurationSeconds();
+        if (users == null || users.getUserCount() < 2 || seconds <= 0 || metrics.getTotalRequests() == 0) return;
+        
+        System.out.println();
+        System.out.println("--- Per-User Fairness ---");
+        System.out.printf("Users: %d | Jain's Index: %.4f (1 = every user got the same share)%n",
+            users.getUserCount(), users.getJainIndex());
+        System.out.printf("Per-User Throughput: min %.2f | p10 %.2f | p50 %.2f | p90 %.2f | max %.2f req/s%n",
+            users.getRequestsAtPercentile(0) / seconds, users.getRequestsAtPercentile(10) / seconds,
+            users.getRequestsAtPercentile(50) / seconds, users.getRequestsAtPercentile(90) / seconds,
+            users.getRequestsAtPercentile(100) / seconds);
+        
+        List<Integer> starved = users.getStarvedUsers();
+        if (starved.isEmpty()) {
+            System.out.printf("Starved Users: none (all above %.0f%% of the median user's requests)%n", UserStats.STARVED_FRACTION * 100);
+        } else {
+            System.out.printf("WARNING: %d starved user(s) below %.0f%% of the median user's requests:%n",
+                starved.size(), UserStats.STARVED_FRACTION * 100);
+            starved.stream().limit(STARVED_USERS_SHOWN).forEach(user -> System.out.println("  " + formatUser(users, user, seconds)));
+        }
+        System.out.println("Slowest Users (mean latency):");
+        users.getSlowestUsers(SLOWEST_USERS_SHOWN).forEach(user -> System.out.println("  " + formatUser(users, user, seconds)));
+    }
+    
+    private String formatUser(UserStats users, int user, double seconds) {
+        return String.format("user %d: %.2f req/s | %d errors | mean %.2f ms | max %.2f ms", user,
+            users.getRequests(user) / seconds, users.getErrors(user), users.getMeanLatencyMs(user),
+            users.getMaxLatencyMicros(user) / 1000.0);
+    }
+    
+    private void printSlowestRequests(PerformanceMetrics metrics) {
+        SlowRequestTracker tracker = metrics.getSlowRequests();
+        if (tracker == null || tracker.getSlowest().isEmpty()) return;
+        
+        System.out.println();
+        System.out.println("--- Slowest Requests ---");
+        List<RequestResult> slowest = tracker.getSlowest();
+        for (int i = 0; i < Math.min(SLOWEST_REQUESTS_SHOWN, slowest.size()); i++) {
+            RequestResult result = slowest.get(i);
+            LocalDateTime sentAt = result.getTimestamp().minusNanos(result.getResponseTimeMicros() * 1000);
+            System.out.println(String.format("%2d. %10.2f ms | sent +%.3f s (%s) | user %d%s | status %d%s",
+                i + 1, result.getResponseTimeMicros() / 1000.0,
+                (result.getStartNanos() - tracker.getStartNanos()) / 1_000_000_000.0,
+                sentAt.format(TIME_OF_DAY), result.getThreadId(),
+                result.getEndpoint() != null ? " | " + result.getEndpoint() : "",
+                result.getStatusCode(),
+                result.getErrorMessage() != null ? " | " + result.getErrorMessage() : ""));
+        }
+        
+        // The latest intervals, so a spike can be matched with the requests behind it
+        List<SlowRequestTracker.Window> windows = tracker.getIntervals();
+        System.out.println("Slowest per " + TimeUnit.NANOSECONDS.toSeconds(tracker.getIntervalNanos()) + " s interval:");
+        for (SlowRequestTracker.Window window : windows.subList(Math.max(0, windows.size() - SLOWEST_INTERVALS_SHOWN), windows.size())) {
+            List<RequestResult> results = window.getSlowest();
+            if (results.isEmpty()) continue;
+            StringBuilder line = new StringBuilder(String.format("  +%ds:",
+                TimeUnit.NANOSECONDS.toSeconds(window.getStartNanos() - tracker.getStartNanos())));
+            for (RequestResult result : results.subList(0, Math.min(3, results.size()))) {
+                line.append(String.format(" %.2f ms (user %d, status %d)", result.getResponseTimeMicros() / 1000.0,
+                    result.getThreadId(), result.getStatusCode()));
+            }
+            System.out.println(line);
+        }
+    }
+    
+    private void printTrends(PerformanceMetrics metrics) {
+        if (metrics.getTrends() == null) return;
+        
+        System.out.println();
+        System.out.println("--- Soak Trends ---");
+        IntervalSeries series = metrics.getIntervalSeries();
+        if (series != null) {
+            IntervalSeries.Interval lastHour = series.getWindow(System.nanoTime(), TimeUnit.HOURS.toNanos(1));
+            System.out.println("Last Hour: " + lastHour.getRequests() + " requests | "
+                + String.format("p99 %.2f ms | Error Rate: %.4f%%", lastHour.getPercentileMs(99), lastHour.getErrorRate()));
+        }
+        if (metrics.getTrends().isEmpty()) {
+            System.out.println("Run too short for trend detection");
+        }
+        metrics.getTrends().forEach(trend -> System.out.println(trend));
+        if (metrics.getTrends().stream().anyMatch(Trend::isDrifting)) {
+            System.out.println("WARNING: Target degraded over the run - check for leaks or resource exhaustion");
+        }
+    }
+    
+    private void printCapacity(PerformanceMetrics metrics) {
+        List<CapacityPoint> timeline = metrics.getCapacityTimeline();
+        if (timeline == null) return;
+        
+        System.out.println();
+        System.out.println("--- Adaptive Concurrency ---");
+        if (timeline.isEmpty()) {
+            System.out.println("Run too short for a control decision");
+            return;
+        }
+        // Every decision on short runs, otherwise about 20 evenly spread ones
+        int step = Math.max(1, timeline.size() / 20);
+        for (int i = 0; i < timeline.size(); i += step) {
+            System.out.println(timeline.get(i));
+        }
+        double sustained = AdaptiveConcurrencyController.sustainedThroughput(timeline);
+        CapacityPoint best = timeline.stream()
+            .filter(CapacityPoint::isWithinTarget)
+            .max(Comparator.comparingDouble(CapacityPoint::getThroughputPerSecond))
+            .orElse(null);
+        if (sustained > 0) {
+            System.out.println(String.format("Sustained Throughput at Target: %.2f req/s (held for 10 s)", sustained));
+        } else {
+            System.out.println("Target was never held for 10 s - the system cannot meet it at any tested concurrency");
+        }
+        if (best != null) {
+            System.out.println(String.format("Best Window at Target: %.2f req/s at concurrency %d (p99 %.2f ms)",
+                best.getThroughputPerSecond(), best.getConcurrency(), best.getP99Ms()));
+        }
+    }
+    
+    /**
+     * @param durationSeconds whole test including ramp-up, the period the connection counters cover
+     */
+    private void printConnectionStats(ConnectionStats stats, double durationSeconds) {
+        if (stats == null) return;
+        
+        System.out.println();
+        System.out.println("--- Connections ---");
+        System.out.println("Opened: " + stats.getConnectionsOpened() + " | Reused Requests: " + stats.getReusedRequests()
+            + String.format(" (%.1f%% reuse)", stats.getReuseRate()));
+        if (!stats.getHandshakeHistogram().isEmpty()) {
+            System.out.println("Connection Setup: " + String.format("avg %.2f ms | p99 %.2f ms | max %.2f ms",
+                stats.getHandshakeHistogram().getMean() / 1000.0,
+                stats.getHandshakeHistogram().getValueAtPercentile(99) / 1000.0,
+                stats.getHandshakeHistogram().getMax() / 1000.0));
+        }
+        if (!stats.getTcpConnectHistogram().isEmpty() && stats.getTlsHandshakes() > 0) {
+            System.out.println("  TCP Connect: " + formatSetupTimes(stats.getTcpConnectHistogram()));
+            System.out.println("  TLS Full Handshakes: " + stats.getFullTlsHandshakeHistogram().getTotalCount()
+                + (stats.getFullTlsHandshakeHistogram().isEmpty() ? "" : " | " + formatSetupTimes(stats.getFullTlsHandshakeHistogram())));
+            System.out.println("  TLS Resumed Handshakes: " + stats.getResumedTlsHandshakeHistogram().getTotalCount()
+                + (stats.getResumedTlsHandshakeHistogram().isEmpty() ? "" : " | " + formatSetupTimes(stats.getResumedTlsHandshakeHistogram())));
+            // Amortised over every request, warm-up included, like the connection counters
+            if (stats.getRequests() > 0) {
+                System.out.println(String.format("  Setup Cost per Request: %.3f ms",
+                    stats.getHandshakeHistogram().getTotalSum() / 1000.0 / stats.getRequests()));
+            }
+        }
+        if (stats.getUntrackedRequests() > 0) {
+            System.out.println("Untracked Requests (HTTP/1.1 fallback): " + stats.getUntrackedRequests());
+        }
+        
+        List<AddressStats> addresses = stats.getAddressStats();
+        if (addresses.isEmpty()) return;
+        long total = addresses.stream().mapToLong(AddressStats::getRequests).sum();
+        System.out.println("Per Address:");
+        for (AddressStats address : addresses) {
+            System.out.println(String.format("  %-39s %8d requests (%5.1f%%) | %9.2f req/s | avg %.2f ms | p99 %.2f ms | Error Rate: %.4f%%",
+                address.getAddress(), address.getRequests(), total > 0 ? address.getRequests() * 100.0 / total : 0,
+                durationSeconds > 0 ? address.getRequests() / durationSeconds : 0,
+                address.getLatencyHistogram().getMean() / 1000.0,
+                address.getLatencyHistogram().getValueAtPercentile(99) / 1000.0,
+                address.getErrorRate()));
+        }
+    }
+    
+    private static boolean usesTls(TestConfiguration config) {
+        if (config.hasTrafficMix()) {
+            return config.getTrafficMix().stream().anyMatch(endpoint -> isHttps(endpoint.getApiEndpoint()));
+        }
+        return isHttps(config.getApiEndpoint());
+    }
+    
+    private static boolean isHttps(String endpoint) {
+        return endpoint != null && endpoint.regionMatches(true, 0, "https:", 0, 6);
+    }
+    
+    private String formatSetupTimes(LatencyHistogram histogram) {
+        return String.format("avg %.2f ms | p99 %.2f ms", histogram.getMean() / 1000.0, histogram.getValueAtPercentile(99) / 1000.0);
+    }
+    
+    private void printGeneratorHealth(GeneratorHealth health) {
+        if (health == null) return;
+        
+        System.out.println();
+        System.out.println("--- Generator Health ---");
+        if (health.getConfiguredUsers() > 0) {
+            System.out.println("Active Users (peak/configured): " + health.getPeakActiveUsers() + "/" + health.getConfiguredUsers()
+                + " on " + health.getWorkerThreads() + " worker threads");
+        } else {
+            System.out.println("Peak In-Flight Requests: " + health.getPeakActiveUsers() + " on " + health.getWorkerThreads() + " worker threads");
+        }
+        System.out.println("Max Queued User Tasks: " + health.getMaxQueueDepth());
+        System.out.println("Scheduler Lag: " + String.format("p99 %.2f ms | max %.2f ms", health.getHiccupP99Ms(), health.getHiccupMaxMs()));
+        System.out.println("Timer Lateness: " + String.format("p99 %.2f ms | max %.2f ms (tick %.0f ms)",
+            health.getTimerLatenessP99Ms(), health.getTimerLatenessMaxMs(), health.getTimerTickMs()));
+        System.out.println("GC Pauses: " + health.getGcCount() + " collections, " + health.getGcPauseMs() + " ms"
+            + String.format(" (%.2f%% of run)", health.getGcPausePercent()));
+        System.out.println("Process CPU: " + String.format("avg %.1f%% | max %.1f%%", health.getAverageProcessCpuPercent(), health.getMaxProcessCpuPercent()));
+        
+        if (health.isSaturated()) {
+            System.out.println("WARNING: Load generator was saturated - results may reflect the generator, not the target:");
+            health.getSaturationReasons().forEach(reason -> System.out.println("  - " + reason));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.data.AccessLogEntry;
+import com.loadtesting.phase1.data.AccessLogReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Phase 1: Log Replayer
+ * Replays an access log on its original inter-arrival schedule, optionally
+ * sped up and looped. A parser thread reads, parses and prepares requests in
+ * batches ahead of time; a dispatcher thread takes the batches from a bounded
+ * queue and hands each request to the timer wheel for its exact send time,
+ * so parsing never sits on the send path. Replay is open-loop: requests go
+ * out on schedule regardless of how many are still outstanding.
+ */
+public class LogReplayer implements Closeable {
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_BATCHES = 16;
+    private static final long LOOKAHEAD_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final List<ScheduledRequest> END_OF_LOG = new ArrayList<>();
+    
+    private final AccessLogReader reader;
+    private final String origin;
+    private final Map<String, String> sharedHeaders;
+    private final double speedUp;
+    private final boolean loop;
+    private final int userSlots;
+    private final TimerWheel scheduler;
+    private final ObjIntConsumer<PreparedRequest> sender;
+    private final BlockingQueue<List<ScheduledRequest>> queue;
+    private final AtomicLong dispatched;
+    private final AtomicLong loops;
+    private volatile boolean running;
+    private volatile boolean finished;
+    private volatile String failure;
+    private Thread parserThread;
+    private Thread dispatcherThread;
+    // Parser thread only
+    private long sequence;
+    private int parsedPasses;
+    
+    /**
+     * @param baseUri   only its scheme and authority are used; paths come from the log
+     * @param speedUp   replay rate relative to the original, e.g. 2 halves every gap
+     * @param userSlots log clients are hashed onto this many user ids, so one
+     *                  client keeps using the same connection affinity
+     * @param sender    sends a request on a worker thread
+     */
+    public LogReplayer(AccessLogReader reader, URI baseUri, Map<String, String> sharedHeaders, double speedUp,
+                       boolean loop, int userSlots, TimerWheel scheduler, ObjIntConsumer<PreparedRequest> sender) {
+        if (speedUp <= 0) {
+            throw new IllegalArgumentException("Replay speed-up must be positive");
+        }
+        this.reader = reader;
+        this.origin = baseUri.getScheme() + "://" + baseUri.getRawAuthority();
+        this.sharedHeaders = sharedHeaders;
+        this.speedUp = speedUp;
+        this.loop = loop;
+        this.userSlots = Math.max(1, userSlots);
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+        this.dispatched = new AtomicLong();
+        this.loops = new AtomicLong();
+    }
+    
+    public void start() {
+        running = true;
+        parserThread = new Thread(this::parse, "autoloadx-replay-parser");
+        parserThread.setDaemon(true);
+        parserThread.start();
+        dispatcherThread = new Thread(this::dispatch, "autoloadx-replay-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+    
+    /**
+     * Stops parsing and dispatching; requests already on the timer wheel still fire.
+     */
+    public void stop() {
+        running = false;
+        parserThread.interrupt();
+        dispatcherThread.interrupt();
+        try {
+            parserThread.join();
+            dispatcherThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Releases the access log; call after {@link #stop()}.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    /** True once the last request of a non-looping replay was due, or parsing failed */
+    public boolean isFinished() { return finished; }
+    /** Why the log could not be read to the end; null if it could */
+    public String getFailure() { return failure; }
+    public long getDispatchedRequests() { return dispatched.get(); }
+    public long getSkippedLines() { return reader.getSkippedLines(); }
+    /** Complete passes over the log so far */
+    public long getLoops() { return loops.get(); }
+    
+    private void parse() {
+        long firstTimestamp = -1;
+        long lastTimestamp = -1;
+        long passEntries = 0;
+        // Added to every offset on later passes, so loops continue the timeline instead of bursting
+        long loopOffsetMillis = 0;
+        List<ScheduledRequest> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (running) {
+                AccessLogEntry entry = reader.next();
+                if (entry == null) {
+                    if (passEntries == 0) break;
+                    parsedPasses++;
+                    if (!loop) break;
+                    // Keep one average gap between the last request of a pass and the first of the next
+                    long span = lastTimestamp - firstTimestamp;
+                    loopOffsetMillis += span + (passEntries > 1 ? span / (passEntries - 1) : 1000);
+                    passEntries = 0;
+                    reader.rewind();
+                    continue;
+                }
+                if (firstTimestamp < 0) firstTimestamp = entry.getTimestampMillis();
+                lastTimestamp = Math.max(lastTimestamp, entry.getTimestampMillis());
+                passEntries++;
+                
+                PreparedRequest request = prepare(entry);
+                if (request == null) continue;
+                long offsetNanos = (long) ((entry.getTimestampMillis() - firstTimestamp + loopOffsetMillis)
+                    * 1_000_000L / speedUp);
+                batch.add(new ScheduledRequest(request, userFor(entry), offsetNanos, parsedPasses));
+                if (batch.size() == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) queue.put(batch);
+        } catch (InterruptedException e) {
+            // Stopped
+        } catch (RuntimeException e) {
+            // E.g. a line over the reader's limit; replay what was parsed and end there
+            failure = e.toString();
+        } finally {
+            // The dispatcher waits for the end marker, so it goes out however parsing ended
+            try {
+                if (running) queue.put(END_OF_LOG);
+            } catch (InterruptedException e) {
+                // Stopped
+            }
+        }
+    }
+    
+    private void dispatch() {
+        long startNanos = 0;
+        long lastSendAt = 0;
+        try {
+            while (running) {
+                List<ScheduledRequest> batch = queue.take();
+                if (startNanos == 0) {
+                    // The timeline starts with the first parsed batch, not with the parser's warm-up
+                    startNanos = System.nanoTime();
+                    lastSendAt = startNanos;
+                }
+                if (batch == END_OF_LOG) {
+                    // Published by the queue hand-off
+                    loops.set(parsedPasses);
+                    // Finished once the last request is due, not merely handed to the wheel
+                    while (running && lastSendAt - System.nanoTime() > 0) {
+                        LockSupport.parkNanos(this, lastSendAt - System.nanoTime());
+                    }
+                    finished = true;
+                    return;
+                }
+                for (ScheduledRequest scheduled : batch) {
+                    long sendAt = startNanos + scheduled.offsetNanos;
+                    // Only keep a short horizon on the wheel, so a long log never piles up in memory
+                    long wait;
+                    while (running && (wait = sendAt - System.nanoTime() - LOOKAHEAD_NANOS) > 0) {
+                        LockSupport.parkNanos(this, wait);
+                    }
+                    if (!running) return;
+                    scheduler.scheduleAt(() -> sender.accept(scheduled.request, scheduled.userId), sendAt);
+                    dispatched.incrementAndGet();
+                    // The parser runs ahead, so passes are counted as they are dispatched
+                    loops.set(scheduled.pass);
+                    lastSendAt = Math.max(lastSendAt, sendAt);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        }
+    }
+    
+    private PreparedRequest prepare(AccessLogEntry entry) {
+        URI uri;
+        try {
+            uri = URI.create(origin + entry.getTarget());
+        } catch (IllegalArgumentException e) {
+            // Unencoded characters in the logged path
+            return null;
+        }
+        Map<String, String> merged = sharedHeaders;
+        if (!entry.getHeaders().isEmpty()) {
+            // Logged headers override the configured ones
+            merged = new LinkedHashMap<>(sharedHeaders);
+            merged.putAll(entry.getHeaders());
+        }
+        String[] headers = new String[merged.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> header : merged.entrySet()) {
+            headers[i++] = header.getKey();
+            headers[i++] = header.getValue();
+        }
+        byte[] body = entry.getBody() != null ? entry.getBody().getBytes(StandardCharsets.UTF_8) : null;
+        return new PreparedRequest(entry.getMethod(), uri, headers, body, false);
+    }
+    
+    private int userFor(AccessLogEntry entry) {
+        if (entry.getClient() == null) return (int) (sequence++ % userSlots);
+        return Math.floorMod(entry.getClient().hashCode(), userSlots);
+    }
+    
+    private static final class ScheduledRequest {
+        private final PreparedRequest request;
+        private final int userId;
+        private final long offsetNanos;
+        private final int pass;
+        
+        private ScheduledRequest(PreparedRequest request, int userId, long offsetNanos, int pass) {
+            this.request = request;
+            this.userId = userId;
+            this.offsetNanos = offsetNanos;
+            this.pass = pass;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.loadtesting.phase1.service;
+
+/**
+ * Phase 1: LTTB Downsampler
+ * Largest-Triangle-Three-Buckets decimation of a chart series. The first and
+ * last points are kept; every bucket in between contributes the point that
+ * spans the largest triangle with the previously kept point and the next
+ * bucket's average, which keeps spikes and dips that plain striding or
+ * averaging would flatten. Linear in the number of input points.
+ */
+final class LttbDownsampler {
+    
+    private LttbDownsampler() {
+    }
+    
+    /**
+     * @param x         ascending x values
+     * @param threshold points to keep; at least 3
+     * @return indices of the kept points, ascending; all indices when the
+     * series is already small enough
+     */
+    static int[] downsample(double[] x, double[] y, int threshold) {
+        int length = x.length;
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) all[i] = i;
+            return all;
+        }
+        
+        int[] kept = new int[threshold];
+        int count = 0;
+        kept[count++] = 0;
+        // Buckets for everything between the fixed first and last points
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = 0;
+        
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+            
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = nextStart;
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                    - (x[previous] - x[i]) * (averageY - y[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            kept[count++] = chosen;
+            previous = chosen;
+        }
+        
+        kept[count] = length - 1;
+        return kept;
+    }
+}
\ No newline at end of file
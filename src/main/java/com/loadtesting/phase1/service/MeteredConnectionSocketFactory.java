@@ -0,0 +1,100 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Phase 1: Metered Connection Socket Factory
+ * Wraps a socket factory to count opened connections and time their setup
+ * (TCP connect, plus the TLS handshake for secure factories). Secure
+ * connections are connected in two steps so the TCP connect and the
+ * handshake are timed apart; a handshake counts as resumed when its session
+ * was created before the handshake began.
+ */
+public class MeteredConnectionSocketFactory implements LayeredConnectionSocketFactory {
+    /** Context attribute holding the user id, for per-user TLS sessions */
+    static final String USER_ID_ATTRIBUTE = "autoloadx.user-id";
+    
+    private final ConnectionSocketFactory delegate;
+    private final TlsSessions tlsSessions;
+    private final ConnectionStats connectionStats;
+    
+    public MeteredConnectionSocketFactory(ConnectionSocketFactory delegate, ConnectionStats connectionStats) {
+        this.delegate = delegate;
+        this.tlsSessions = null;
+        this.connectionStats = connectionStats;
+    }
+    
+    MeteredConnectionSocketFactory(TlsSessions tlsSessions, ConnectionStats connectionStats) {
+        this.delegate = PlainConnectionSocketFactory.getSocketFactory();
+        this.tlsSessions = tlsSessions;
+        this.connectionStats = connectionStats;
+    }
+    
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+    
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        // A full-handshake or first per-user factory builds an SSLContext; that is generator cost, not handshake time
+        LayeredConnectionSocketFactory tls = tlsSessions != null ? tlsSessions.factoryFor(userId(context)) : null;
+        long start = System.nanoTime();
+        Socket connected = delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        long handshakeStart = System.nanoTime();
+        connectionStats.recordTcpConnect((handshakeStart - start) / 1000);
+        if (tls == null) {
+            connectionStats.recordConnectionOpened((handshakeStart - start) / 1000);
+            return connected;
+        }
+        
+        // Bound the handshake like the TCP connect; the pool sets the real read timeout afterwards
+        if (connectTimeout > 0 && connected.getSoTimeout() == 0) {
+            connected.setSoTimeout(connectTimeout);
+        }
+        long wallStart = System.currentTimeMillis();
+        Socket secured;
+        try {
+            secured = tls.createLayeredSocket(connected, host.getHostName(), remoteAddress.getPort(), context);
+        } catch (IOException e) {
+            connected.close();
+            throw e;
+        }
+        long end = System.nanoTime();
+        
+        if (secured instanceof SSLSocket) {
+            SSLSession session = ((SSLSocket) secured).getSession();
+            connectionStats.recordTlsHandshake((end - handshakeStart) / 1000, session.getCreationTime() < wallStart);
+        }
+        connectionStats.recordConnectionOpened((end - start) / 1000);
+        return secured;
+    }
+    
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        if (tlsSessions != null) {
+            return tlsSessions.factoryFor(userId(context)).createLayeredSocket(socket, target, port, context);
+        }
+        if (!(delegate instanceof LayeredConnectionSocketFactory)) {
+            throw new UnsupportedOperationException("Socket factory does not support layering: " + delegate);
+        }
+        return ((LayeredConnectionSocketFactory) delegate).createLayeredSocket(socket, target, port, context);
+    }
+    
+    private static int userId(HttpContext context) {
+        Object userId = context != null ? context.getAttribute(USER_ID_ATTRIBUTE) : null;
+        return userId instanceof Integer ? (Integer) userId : -1;
+    }
+}
\ No newline at end of file
@@ -1,36 +1,212 @@
 package com.loadtesting.phase1.service;
 
+import com.loadtesting.phase1.model.IntervalSeries;
 import com.loadtesting.phase1.model.PerformanceMetrics;
 import com.loadtesting.phase1.model.RequestResult;
+import com.loadtesting.phase1.model.SlowRequestTracker;
+import com.loadtesting.phase1.model.UserStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Phase 1: Metrics Collector
- * Thread-safe collection of performance metrics
+ * Thread-safe collection of performance metrics. Results of requests started
+ * before the measured window opens go to a separate warm-up aggregate.
+ * Measured results are also bucketed into a tiered {@link IntervalSeries},
+ * which keeps memory constant however long the run is. Details of the
+ * slowest measured requests go to a lock-free {@link SlowRequestTracker}
+ * outside the collector's lock; per-user counters, when enabled, are
+ * recorded under it. Results that arrive after the window closed
+ * belong to requests still in flight at the cutoff: they are counted while
+ * the run drains, never measured.
  */
 public class MetricsCollector {
     private final PerformanceMetrics metrics;
+    private final PerformanceMetrics warmUpMetrics;
+    private long measurementStartNanos;
+    private IntervalSeries intervalSeries;
+    private SlowRequestTracker slowRequests;
+    private int trackedUsers;
+    private UserStats userStats;
+    private final AtomicInteger inFlightRequests;
+    private boolean measurementEnded;
+    private boolean drainEnded;
+    private long drainedRequests;
     
     public MetricsCollector() {
-        this.metrics = new PerformanceMetrics();
+        this(true);
+    }
+    
+    /**
+     * @param retainResults keep every raw result; off for soak runs, which
+     *                      rely on the aggregates and interval series only
+     */
+    public MetricsCollector(boolean retainResults) {
+        this.metrics = new PerformanceMetrics(retainResults);
+        this.warmUpMetrics = new PerformanceMetrics(retainResults);
+        this.measurementStartNanos = Long.MAX_VALUE;
+        this.inFlightRequests = new AtomicInteger();
+    }
+    
+    /**
+     * Marks a request as sent; its result must follow through
+     * {@link #collectRequestResult(RequestResult)}.
+     */
+    public void requestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+    
+    public void collectRequestResult(RequestResult result) {
+        inFlightRequests.decrementAndGet();
+        SlowRequestTracker tracker = record(result);
+        if (tracker != null) {
+            tracker.offer(result);
+        }
     }
     
-    public synchronized void collectRequestResult(RequestResult result) {
+    /**
+     * @return the slow request tracker if the result was measured, null for warm-up
+     */
+    private synchronized SlowRequestTracker record(RequestResult result) {
+        if (measurementEnded) {
+            if (!drainEnded) drainedRequests++;
+            return null;
+        }
+        if (result.getStartNanos() < measurementStartNanos) {
+            warmUpMetrics.addRequestResult(result);
+            return null;
+        }
         metrics.addRequestResult(result);
+        intervalSeries.record(System.nanoTime(), result.getResponseTimeMicros(), result.isSuccess());
+        if (userStats != null) {
+            userStats.record(result.getThreadId(), result.getResponseTimeMicros(), result.isSuccess());
+        }
+        return slowRequests;
+    }
+    
+    /**
+     * Keeps per-user counters for user ids below the given count from the
+     * next measured window on; only meaningful for a fixed user population.
+     */
+    public synchronized void trackUsers(int users) {
+        trackedUsers = users;
+    }
+    
+    /**
+     * Starts the run in warm-up: nothing is measured until {@link #beginMeasurement()}.
+     */
+    public synchronized void beginWarmUp() {
+        warmUpMetrics.markMeasurementStart();
+        measurementStartNanos = Long.MAX_VALUE;
+    }
+    
+    /**
+     * Opens the measured window; everything started earlier counts as warm-up.
+     */
+    public synchronized void beginMeasurement() {
+        warmUpMetrics.finalizeMetrics();
+        metrics.markMeasurementStart();
+        measurementStartNanos = System.nanoTime();
+        intervalSeries = new IntervalSeries(measurementStartNanos);
+        metrics.setIntervalSeries(intervalSeries);
+        slowRequests = new SlowRequestTracker(measurementStartNanos);
+        metrics.setSlowRequests(slowRequests);
+        if (trackedUsers > 0) {
+            userStats = new UserStats(trackedUsers);
+            metrics.setUserStats(userStats);
+        }
+    }
+    
+    /**
+     * Closes the measured window at the end of the main test phase.
+     */
+    public synchronized void endMeasurement() {
+        if (!isMeasuring()) {
+            beginMeasurement();
+        }
+        metrics.markMeasurementEnd();
+        // Later reads must not compact the run's history against the clock
+        intervalSeries.freeze(metrics.getMeasurementEndNanos());
+        measurementEnded = true;
+    }
+    
+    /**
+     * Ends the drain after {@link #endMeasurement()}: requests that finished
+     * since the cutoff are recorded as drained, those still in flight as
+     * abandoned, and any result arriving later is ignored.
+     */
+    public synchronized void endDrain() {
+        drainEnded = true;
+        metrics.setDrainedRequests(drainedRequests);
+        metrics.setAbandonedRequests(Math.max(0, inFlightRequests.get()));
+    }
+    
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+    
+    public synchronized boolean isMeasuring() {
+        return measurementStartNanos != Long.MAX_VALUE;
     }
     
     public synchronized PerformanceMetrics getMetrics() {
         return metrics;
     }
     
+    /**
+     * Point-in-time copy of the measured metrics, safe to hand to other threads.
+     */
+    public synchronized PerformanceMetrics snapshot() {
+        return metrics.snapshot();
+    }
+    
+    /** Measured-window history; null until measurement starts */
+    public synchronized IntervalSeries getIntervalSeries() {
+        return intervalSeries;
+    }
+    
+    public synchronized PerformanceMetrics getWarmUpMetrics() {
+        return warmUpMetrics;
+    }
+    
     public synchronized void finalizeCollection() {
+        if (!isMeasuring()) {
+            beginMeasurement();
+        }
         metrics.finalizeMetrics();
+        if (warmUpMetrics.getTotalRequests() > 0) {
+            metrics.setWarmUpMetrics(warmUpMetrics);
+        }
     }
     
     public synchronized void printCurrentStats() {
-        System.out.printf("Requests: %d | Success: %d | Failed: %d | Avg Response: %.2f ms%n",
-            metrics.getTotalRequests(),
-            metrics.getSuccessfulRequests(),
-            metrics.getFailedRequests(),
-            metrics.getAverageResponseTime());
+        PerformanceMetrics current = isMeasuring() ? metrics : warmUpMetrics;
+        System.out.printf("%sRequests: %d | Success: %d | Failed: %d | Avg Response: %.2f ms%n",
+            isMeasuring() ? "" : "[Warm-up] ",
+            current.getTotalRequests(),
+            current.getSuccessfulRequests(),
+            current.getFailedRequests(),
+            current.getAverageResponseTime());
+    }
+    
+    /**
+     * Prints the last minute and last hour of the measured window.
+     */
+    public synchronized void printRollingWindows() {
+        if (intervalSeries == null) return;
+        long now = System.nanoTime();
+        printWindow("Last 1 min", intervalSeries.getWindow(now, TimeUnit.MINUTES.toNanos(1)));
+        printWindow("Last 1 h", intervalSeries.getWindow(now, TimeUnit.HOURS.toNanos(1)));
+    }
+    
+    private void printWindow(String label, IntervalSeries.Interval window) {
+        System.out.printf("  %s: %d requests | %.2f req/s | p50 %.2f ms | p99 %.2f ms | Error Rate: %.4f%%%n",
+            label,
+            window.getRequests(),
+            window.getThroughputPerSecond(),
+            window.getPercentileMs(50),
+            window.getPercentileMs(99),
+            window.getErrorRate());
     }
 }
\ No newline at end of file
@@ -0,0 +1,571 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.TransportConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Phase 1: NIO HTTP Engine
+ * Lean selector-based HTTP/1.1 client for plain http. Static requests are
+ * serialized once into direct buffers; responses are parsed only for status,
+ * framing and keep-alive. Users are pinned to one of one event loop per core,
+ * so a user's connections never cross threads. With a pipeline depth above
+ * one, requests from different users share a connection before another one
+ * is opened.
+ */
+public class NioHttpEngine implements HttpEngine {
+    private static final long TIMEOUT_CHECK_INTERVAL_MS = 10;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    private final TransportConfiguration transport;
+    private final ConnectionStats connectionStats;
+    private final EventLoop[] eventLoops;
+    private final AddressBalancer addressBalancer;
+    
+    public NioHttpEngine(TransportConfiguration transport) {
+        this(transport, Runtime.getRuntime().availableProcessors());
+    }
+    
+    public NioHttpEngine(TransportConfiguration transport, int eventLoopCount) {
+        this.transport = transport;
+        this.connectionStats = new ConnectionStats();
+        this.addressBalancer = AddressBalancer.create(transport, connectionStats);
+        this.eventLoops = new EventLoop[Math.max(1, eventLoopCount)];
+        for (int i = 0; i < eventLoops.length; i++) {
+            eventLoops[i] = new EventLoop(i);
+        }
+    }
+    
+    @Override
+    public int send(PreparedRequest request, int userId, ResponseSink sink) throws IOException, InterruptedException {
+        URI uri = request.getUri();
+        if (!"http".equalsIgnoreCase(uri.getScheme())) {
+            throw new IOException("NIO engine supports plain http only: " + uri);
+        }
+        
+        AddressBalancer.Target target = addressBalancer != null ? addressBalancer.acquire(uri.getHost(), userId) : null;
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Exchange exchange = new Exchange(serialize(request), "HEAD".equals(request.getMethod()), uri,
+                target != null ? target.getAddress() : null, userId, sink,
+                startNanos + TimeUnit.MILLISECONDS.toNanos(transport.getRequestTimeoutMs()));
+            eventLoops[Math.floorMod(userId, eventLoops.length)].submit(exchange);
+            int statusCode = exchange.await();
+            success = statusCode < 400;
+            return statusCode;
+        } finally {
+            if (target != null) addressBalancer.release(target, startNanos, success);
+        }
+    }
+    
+    @Override
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+    
+    @Override
+    public void close() {
+        for (EventLoop loop : eventLoops) {
+            loop.shutdown();
+        }
+    }
+    
+    private ByteBuffer serialize(PreparedRequest request) {
+        Object cached = request.getCachedForm(this);
+        if (cached != null) return ((ByteBuffer) cached).duplicate();
+        
+        byte[] bytes = encode(request);
+        if (!request.isReusable()) return ByteBuffer.wrap(bytes);
+        
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        request.setCachedForm(this, buffer);
+        return buffer.duplicate();
+    }
+    
+    private byte[] encode(PreparedRequest request) {
+        URI uri = request.getUri();
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) path += "?" + uri.getRawQuery();
+        
+        StringBuilder head = new StringBuilder(128);
+        head.append(request.getMethod()).append(' ').append(path).append(" HTTP/1.1\r\n");
+        
+        boolean hostHeader = false;
+        String[] headers = request.getHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            hostHeader |= headers[i].equalsIgnoreCase("Host");
+            head.append(headers[i]).append(": ").append(headers[i + 1]).append("\r\n");
+        }
+        if (!hostHeader) {
+            head.append("Host: ").append(uri.getHost());
+            if (uri.getPort() != -1 && uri.getPort() != 80) head.append(':').append(uri.getPort());
+            head.append("\r\n");
+        }
+        
+        byte[] body = request.getBody();
+        if (body != null || "POST".equals(request.getMethod()) || "PUT".equals(request.getMethod())) {
+            head.append("Content-Length: ").append(body != null ? body.length : 0).append("\r\n");
+        }
+        if (!transport.isKeepAlive()) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(head.length() + (body != null ? body.length : 0));
+        out.writeBytes(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (body != null) out.writeBytes(body);
+        return out.toByteArray();
+    }
+    
+    /**
+     * One request/response, handed from the calling user thread to an event
+     * loop and back.
+     */
+    private static final class Exchange {
+        private final ByteBuffer request;
+        private final boolean headRequest;
+        private final URI uri;
+        // Chosen by the address balancer; null resolves the URI's host
+        private final InetAddress address;
+        private final int userId;
+        private final ResponseSink sink;
+        private final long deadlineNanos;
+        private final Thread waiter;
+        private volatile boolean done;
+        private int statusCode;
+        private IOException failure;
+        
+        private Exchange(ByteBuffer request, boolean headRequest, URI uri, InetAddress address, int userId,
+                         ResponseSink sink, long deadlineNanos) {
+            this.request = request;
+            this.headRequest = headRequest;
+            this.uri = uri;
+            this.address = address;
+            this.userId = userId;
+            this.sink = sink;
+            this.deadlineNanos = deadlineNanos;
+            this.waiter = Thread.currentThread();
+        }
+        
+        private void complete(int statusCode) {
+            this.statusCode = statusCode;
+            this.done = true;
+            LockSupport.unpark(waiter);
+        }
+        
+        private void fail(IOException failure) {
+            if (done) return;
+            this.failure = failure;
+            this.done = true;
+            LockSupport.unpark(waiter);
+        }
+        
+        private int await() throws IOException, InterruptedException {
+            while (!done) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) throw new InterruptedException();
+            }
+            if (failure != null) throw failure;
+            return statusCode;
+        }
+    }
+    
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Exchange> submissions;
+        private final AtomicBoolean wakeupPending;
+        private final Map<String, Route> routes;
+        private final ByteBuffer readBuffer;
+        private final Thread thread;
+        private volatile boolean running;
+        // Why the loop stopped; handed to every exchange submitted afterwards
+        private volatile IOException stopCause;
+        private long lastTimeoutCheckNanos;
+        
+        private EventLoop(int index) {
+            try {
+                this.selector = Selector.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open selector", e);
+            }
+            this.submissions = new ConcurrentLinkedQueue<>();
+            this.wakeupPending = new AtomicBoolean();
+            this.routes = new HashMap<>();
+            this.readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            this.running = true;
+            this.stopCause = new IOException("HTTP engine is closed");
+            this.thread = new Thread(this, "autoloadx-nio-loop-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+        
+        private void submit(Exchange exchange) {
+            if (!running) {
+                exchange.fail(stopCause);
+                return;
+            }
+            submissions.add(exchange);
+            if (!running) {
+                // The loop stopped after the check and may already have drained the queue
+                failSubmissions(stopCause);
+                return;
+            }
+            // One wakeup per select round is enough; further submissions are drained with it
+            if (wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+        
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select(TIMEOUT_CHECK_INTERVAL_MS);
+                    wakeupPending.set(false);
+                    
+                    Exchange exchange;
+                    while ((exchange = submissions.poll()) != null) {
+                        dispatch(exchange);
+                    }
+                    
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        handle(key);
+                    }
+                    selector.selectedKeys().clear();
+                    
+                    checkTimeouts();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                // Every exchange on the loop, and any submitted later, fails with the cause
+                stopCause = new IOException("NIO event loop stopped: " + e, e);
+            } finally {
+                running = false;
+                closeAll(stopCause);
+            }
+        }
+        
+        private void dispatch(Exchange exchange) {
+            int port = exchange.uri.getPort() != -1 ? exchange.uri.getPort() : 80;
+            String origin = exchange.uri.getHost() + ":" + port;
+            if (exchange.address != null) origin += "/" + exchange.address.getHostAddress();
+            boolean perUser = transport.getClientMode() == TransportConfiguration.ClientMode.PER_USER;
+            String routeKey = perUser ? exchange.userId + "@" + origin : origin;
+            
+            Route route = routes.get(routeKey);
+            if (route == null) {
+                InetSocketAddress address = exchange.address != null
+                    ? new InetSocketAddress(exchange.address, port)
+                    : new InetSocketAddress(exchange.uri.getHost(), port);
+                if (address.isUnresolved()) {
+                    exchange.fail(new UnknownHostException(exchange.uri.getHost()));
+                    return;
+                }
+                route = new Route(address, perUser ? 1 : connectionsPerLoop());
+                routes.put(routeKey, route);
+            }
+            route.dispatch(exchange);
+        }
+        
+        private int connectionsPerLoop() {
+            int max = transport.getMaxConnections();
+            return max > 0 ? Math.max(1, (max + eventLoops.length - 1) / eventLoops.length) : Integer.MAX_VALUE;
+        }
+        
+        private void handle(SelectionKey key) {
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isValid() && key.isConnectable()) connection.finishConnect();
+                if (key.isValid() && key.isWritable()) connection.flush();
+                if (key.isValid() && key.isReadable()) connection.read();
+            } catch (IOException e) {
+                connection.close(e);
+            } catch (RuntimeException e) {
+                connection.close(new IOException(e));
+            }
+        }
+        
+        private void checkTimeouts() {
+            long now = System.nanoTime();
+            if (now - lastTimeoutCheckNanos < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_CHECK_INTERVAL_MS)) return;
+            lastTimeoutCheckNanos = now;
+            
+            long connectTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(transport.getConnectTimeoutMs());
+            long idleTimeoutNanos = TimeUnit.SECONDS.toNanos(transport.getKeepAliveTimeoutSeconds());
+            for (Route route : routes.values()) {
+                while (!route.pending.isEmpty() && now - route.pending.peek().deadlineNanos > 0) {
+                    route.pending.poll().fail(new SocketTimeoutException("Request timed out waiting for a connection"));
+                }
+                for (Connection connection : new ArrayList<>(route.connections)) {
+                    Exchange head = connection.inFlight.peek();
+                    if (!connection.connected && now - connection.openedNanos > connectTimeoutNanos) {
+                        connection.close(new ConnectException("Connect timed out"));
+                    } else if (head != null && now - head.deadlineNanos > 0) {
+                        connection.close(new SocketTimeoutException("Request timed out"));
+                    } else if (head == null && idleTimeoutNanos > 0 && now - connection.idleSinceNanos > idleTimeoutNanos) {
+                        connection.close(null);
+                    }
+                }
+            }
+        }
+        
+        private void shutdown() {
+            running = false;
+            selector.wakeup();
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything submitted while the loop was stopping
+            failSubmissions(stopCause);
+        }
+        
+        private void failSubmissions(IOException cause) {
+            Exchange exchange;
+            while ((exchange = submissions.poll()) != null) {
+                exchange.fail(cause);
+            }
+        }
+        
+        private void closeAll(IOException closed) {
+            for (Route route : routes.values()) {
+                new ArrayList<>(route.connections).forEach(connection -> connection.close(closed));
+                route.pending.forEach(exchange -> exchange.fail(closed));
+                route.pending.clear();
+            }
+            routes.clear();
+            failSubmissions(closed);
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Selector is being discarded anyway
+            }
+        }
+        
+        /**
+         * Connections to one origin (per user in per-user mode) on this loop.
+         */
+        private final class Route {
+            private final InetSocketAddress address;
+            private final int maxConnections;
+            private final List<Connection> connections;
+            private final ArrayDeque<Connection> idle;
+            private final ArrayDeque<Exchange> pending;
+            
+            private Route(InetSocketAddress address, int maxConnections) {
+                this.address = address;
+                this.maxConnections = maxConnections;
+                this.connections = new ArrayList<>();
+                this.idle = new ArrayDeque<>();
+                this.pending = new ArrayDeque<>();
+            }
+            
+            private void dispatch(Exchange exchange) {
+                // Most recently used first, so hot connections stay hot
+                Connection connection = idle.pollLast();
+                if (connection == null && transport.getPipelineDepth() > 1) {
+                    connection = leastLoaded();
+                }
+                if (connection != null) {
+                    connection.assign(exchange);
+                } else if (connections.size() < maxConnections) {
+                    open(exchange);
+                } else {
+                    pending.add(exchange);
+                }
+            }
+            
+            private Connection leastLoaded() {
+                Connection best = null;
+                for (Connection connection : connections) {
+                    int load = connection.inFlight.size();
+                    if (load < transport.getPipelineDepth() && (best == null || load < best.inFlight.size())) {
+                        best = connection;
+                    }
+                }
+                return best;
+            }
+            
+            private void open(Exchange exchange) {
+                try {
+                    Connection connection = new Connection(this);
+                    connections.add(connection);
+                    connection.assign(exchange);
+                } catch (IOException e) {
+                    exchange.fail(e);
+                }
+            }
+            
+            private void onAvailable(Connection connection) {
+                while (!pending.isEmpty() && connection.inFlight.size() < transport.getPipelineDepth()) {
+                    connection.assign(pending.poll());
+                }
+                if (connection.inFlight.isEmpty()) idle.addLast(connection);
+            }
+            
+            private void onClosed(Connection connection) {
+                connections.remove(connection);
+                idle.remove(connection);
+                if (!pending.isEmpty() && connections.size() < maxConnections) {
+                    open(pending.poll());
+                }
+            }
+        }
+        
+        private final class Connection {
+            private final Route route;
+            private final SocketChannel channel;
+            private final SelectionKey key;
+            private final ArrayDeque<Exchange> inFlight;
+            private final ArrayDeque<Exchange> unwritten;
+            private final Http1ResponseParser parser;
+            private final long openedNanos;
+            private long idleSinceNanos;
+            private boolean connected;
+            private boolean closed;
+            
+            private Connection(Route route) throws IOException {
+                this.route = route;
+                this.inFlight = new ArrayDeque<>();
+                this.unwritten = new ArrayDeque<>();
+                this.parser = new Http1ResponseParser();
+                this.openedNanos = System.nanoTime();
+                this.channel = SocketChannel.open();
+                try {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    connected = channel.connect(route.address);
+                    key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+                } catch (IOException e) {
+                    channel.close();
+                    throw e;
+                }
+                if (connected) onConnected();
+            }
+            
+            private void assign(Exchange exchange) {
+                if (inFlight.isEmpty()) parser.reset(exchange.headRequest, exchange.sink);
+                inFlight.add(exchange);
+                unwritten.add(exchange);
+                if (connected) {
+                    try {
+                        flush();
+                    } catch (IOException e) {
+                        close(e);
+                    }
+                }
+            }
+            
+            private void finishConnect() throws IOException {
+                if (!channel.finishConnect()) return;
+                connected = true;
+                onConnected();
+                flush();
+            }
+            
+            private void onConnected() {
+                connectionStats.recordConnectionOpened((System.nanoTime() - openedNanos) / 1000);
+                idleSinceNanos = System.nanoTime();
+            }
+            
+            private void flush() throws IOException {
+                while (!unwritten.isEmpty()) {
+                    ByteBuffer buffer = unwritten.peek().request;
+                    channel.write(buffer);
+                    if (buffer.hasRemaining()) break;
+                    unwritten.poll();
+                }
+                key.interestOps(unwritten.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+            
+            private void read() throws IOException {
+                readBuffer.clear();
+                int read = channel.read(readBuffer);
+                if (read < 0) {
+                    onEndOfStream();
+                    return;
+                }
+                readBuffer.flip();
+                while (readBuffer.hasRemaining() && !closed) {
+                    if (inFlight.isEmpty()) {
+                        throw new ProtocolException("Unexpected data on idle connection");
+                    }
+                    if (parser.parse(readBuffer)) {
+                        onResponse();
+                    }
+                }
+            }
+            
+            private void onResponse() {
+                Exchange exchange = inFlight.poll();
+                connectionStats.recordRequest(true);
+                exchange.complete(parser.getStatusCode());
+                
+                if (!transport.isKeepAlive() || !parser.isKeepAlive()) {
+                    close(new IOException("Connection closed by server"));
+                    return;
+                }
+                Exchange next = inFlight.peek();
+                parser.reset(next != null && next.headRequest, next != null ? next.sink : null);
+                if (next == null) idleSinceNanos = System.nanoTime();
+                route.onAvailable(this);
+            }
+            
+            private void onEndOfStream() {
+                if (!inFlight.isEmpty() && parser.onEndOfStream()) {
+                    onResponse();
+                }
+                close(new IOException("Connection closed by server"));
+            }
+            
+            /**
+             * Closes the connection, failing any exchange still waiting on it.
+             */
+            private void close(IOException cause) {
+                if (closed) return;
+                closed = true;
+                key.cancel();
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Already broken
+                }
+                Exchange exchange;
+                while ((exchange = inFlight.poll()) != null) {
+                    exchange.fail(cause != null ? cause : new IOException("Connection closed"));
+                }
+                unwritten.clear();
+                route.onClosed(this);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,389 @@
+package com.loadtesting.phase1.service;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.loadtesting.phase1.model.ErrorType;
+import com.loadtesting.phase1.model.GeneratorHealth;
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.PerformanceMetrics;
+import com.loadtesting.phase1.model.TestConfiguration;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.axis.SymbolAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Phase 1: PDF Report Generator
+ * Writes single runs and scalability tests as PDF reports: summary tables,
+ * throughput and latency charts and, for scalability tests, the stable,
+ * saturation and breaking point analysis. Charts are built from aggregates
+ * only (interval series and histograms, never raw results), each series is
+ * decimated to at most {@value #MAX_CHART_POINTS} points with LTTB, and the
+ * charts are rendered to PNG in parallel before the document is laid out.
+ */
+public class PdfReportGenerator {
+    private static final int MAX_CHART_POINTS = 500;
+    // Rendered at twice the size they are shown at, for print
+    private static final int CHART_WIDTH = 1040;
+    private static final int CHART_HEIGHT = 520;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] NINES = {"0%", "90%", "99%", "99.9%", "99.99%", "99.999%"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    public void generate(TestConfiguration config, PerformanceMetrics metrics, Path file) throws IOException {
+        List<JFreeChart> charts = new ArrayList<>();
+        IntervalSeries series = metrics.getIntervalSeries();
+        if (series != null) {
+            List<IntervalSeries.Interval> intervals = metrics.getMeasuredIntervals();
+            double[] seconds = new double[intervals.size()];
+            double[] throughput = new double[intervals.size()];
+            double[] errors = new double[intervals.size()];
+            double[] mean = new double[intervals.size()];
+            double[] p50 = new double[intervals.size()];
+            double[] p99 = new double[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                IntervalSeries.Interval interval = intervals.get(i);
+                seconds[i] = (interval.getStartNanos() - series.getStartNanos()) / 1_000_000_000.0;
+                throughput[i] = interval.getThroughputPerSecond();
+                errors[i] = interval.getDurationSeconds() > 0 ? interval.getErrors() / interval.getDurationSeconds() : 0;
+                mean[i] = interval.getMeanMs();
+                p50[i] = interval.getPercentileMs(50);
+                p99[i] = interval.getPercentileMs(99);
+            }
+            XYSeriesCollection rates = new XYSeriesCollection();
+            rates.addSeries(downsampled("Requests/s", seconds, throughput));
+            rates.addSeries(downsampled("Errors/s", seconds, errors));
+            charts.add(lineChart("Throughput over Time", "Seconds since start", "Per second", rates));
+            
+            XYSeriesCollection latency = new XYSeriesCollection();
+            latency.addSeries(downsampled("Mean", seconds, mean));
+            latency.addSeries(downsampled("p50", seconds, p50));
+            latency.addSeries(downsampled("p99", seconds, p99));
+            charts.add(lineChart("Latency over Time", "Seconds since start", "Milliseconds", latency));
+        }
+        XYSeriesCollection distribution = new XYSeriesCollection();
+        distribution.addSeries(percentileCurve("Measured", metrics.getResponseTimeHistogram()));
+        if (metrics.isCoordinatedOmissionCorrected()) {
+            distribution.addSeries(percentileCurve("Corrected", metrics.getCorrectedResponseTimeHistogram()));
+        }
+        charts.add(percentileChart(distribution));
+        List<byte[]> images = renderAll(charts);
+        
+        try (OutputStream out = Files.newOutputStream(file);
+             Document document = new Document(new PdfDocument(new PdfWriter(out)), PageSize.A4)) {
+            Fonts fonts = new Fonts();
+            document.add(new Paragraph("AutoLoadX Load Test Report").setFont(fonts.bold).setFontSize(20));
+            document.add(new Paragraph(text(config.getHttpMethod() + " " + config.getApiEndpoint())).setFont(fonts.regular).setFontSize(11));
+            document.add(new Paragraph("Started " + metrics.getTestStartTime().format(DATE_FORMAT)
+                + " | " + config.getConcurrentUsers() + " users | " + config.getTestDurationSeconds() + " s"
+                + String.format(" | measured over %.1f s", metrics.getMeasuredDurationSeconds()))
+                .setFont(fonts.regular).setFontSize(9).setFontColor(ColorConstants.DARK_GRAY));
+            
+            heading(document, fonts, "Summary");
+            Table summary = table(fonts, 2, "Metric", "Value");
+            row(summary, fonts, "Total Requests", String.format("%,d", metrics.getTotalRequests()));
+            row(summary, fonts, "Successful", String.format("%,d", metrics.getSuccessfulRequests()));
+            row(summary, fonts, "Failed (connection / HTTP / assertion)", String.format("%,d", metrics.getFailedRequests())
+                + " (" + metrics.getErrorCount(ErrorType.CONNECTION) + " / " + metrics.getErrorCount(ErrorType.HTTP_STATUS)
+                + " / " + metrics.getErrorCount(ErrorType.ASSERTION) + ")");
+            row(summary, fonts, "Error Rate", String.format("%.4f %%", metrics.getErrorRate()));
+            row(summary, fonts, "Throughput", String.format("%.2f req/s", metrics.getThroughputPerSecond()));
+            row(summary, fonts, "Min / Avg / Max", String.format("%d / %.2f / %d ms",
+                metrics.getTotalRequests() > 0 ? metrics.getMinResponseTime() : 0, metrics.getAverageResponseTime(),
+                metrics.getMaxResponseTime()));
+            for (double percentile : PERCENTILES) {
+                String label = "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile));
+                row(summary, fonts, label, String.format("%.2f ms", metrics.getPercentileResponseTime(percentile))
+                    + (metrics.isCoordinatedOmissionCorrected()
+                        ? String.format(" (corrected %.2f ms)", metrics.getCorrectedPercentileResponseTime(percentile))
+                        : ""));
+            }
+            document.add(summary);
+            
+            if (!metrics.getEndpointMetrics().isEmpty()) {
+                heading(document, fonts, "Endpoints");
+                Table endpoints = table(fonts, 5, "Endpoint", "Requests", "Throughput", "p99", "Error Rate");
+                for (Map.Entry<String, PerformanceMetrics> entry : metrics.getEndpointMetrics().entrySet()) {
+                    PerformanceMetrics endpoint = entry.getValue();
+                    row(endpoints, fonts, entry.getKey(), String.format("%,d", endpoint.getTotalRequests()),
+                        String.format("%.2f req/s", endpoint.getThroughputPerSecond()),
+                        String.format("%.2f ms", endpoint.getPercentileResponseTime(99)),
+                        String.format("%.4f %%", endpoint.getErrorRate()));
+                }
+                document.add(endpoints);
+            }
+            
+            generatorWarning(document, fonts, metrics.getGeneratorHealth(), "this run");
+            heading(document, fonts, "Charts");
+            addImages(document, images);
+        }
+    }
+    
+    public void generate(ScalabilityTester.ScalabilityTestReport report, Path file) throws IOException {
+        List<ScalabilityTester.ScalabilityResult> results = report.results;
+        double[] users = new double[results.size()];
+        double[] throughput = new double[results.size()];
+        double[] errorRate = new double[results.size()];
+        double[] mean = new double[results.size()];
+        double[] p50 = new double[results.size()];
+        double[] p99 = new double[results.size()];
+        double[] correctedP99 = new double[results.size()];
+        boolean corrected = false;
+        for (int i = 0; i < results.size(); i++) {
+            PerformanceMetrics metrics = results.get(i).metrics;
+            users[i] = results.get(i).userLevel;
+            throughput[i] = metrics.getThroughputPerSecond();
+            errorRate[i] = metrics.getErrorRate();
+            mean[i] = metrics.getAverageResponseTime();
+            p50[i] = metrics.getPercentileResponseTime(50);
+            p99[i] = metrics.getPercentileResponseTime(99);
+            correctedP99[i] = metrics.isCoordinatedOmissionCorrected() ? metrics.getCorrectedPercentileResponseTime(99) : 0;
+            corrected |= metrics.isCoordinatedOmissionCorrected();
+        }
+        
+        List<JFreeChart> charts = new ArrayList<>();
+        XYSeriesCollection throughputData = new XYSeriesCollection();
+        throughputData.addSeries(downsampled("Requests/s", users, throughput));
+        charts.add(usersChart("Throughput by Load", "Requests/s", throughputData));
+        XYSeriesCollection latencyData = new XYSeriesCollection();
+        latencyData.addSeries(downsampled("Mean", users, mean));
+        latencyData.addSeries(downsampled("p50", users, p50));
+        latencyData.addSeries(downsampled("p99", users, p99));
+        if (corrected) latencyData.addSeries(downsampled("p99 corrected", users, correctedP99));
+        charts.add(usersChart("Latency by Load", "Milliseconds", latencyData));
+        XYSeriesCollection errorData = new XYSeriesCollection();
+        errorData.addSeries(downsampled("Error rate", users, errorRate));
+        charts.add(usersChart("Error Rate by Load", "Percent", errorData));
+        XYSeriesCollection distribution = new XYSeriesCollection();
+        for (ScalabilityTester.ScalabilityResult result : results) {
+            distribution.addSeries(percentileCurve(String.format("%,d", result.userLevel) + " users", result.metrics.getResponseTimeHistogram()));
+        }
+        charts.add(percentileChart(distribution));
+        List<byte[]> images = renderAll(charts);
+        
+        try (OutputStream out = Files.newOutputStream(file);
+             Document document = new Document(new PdfDocument(new PdfWriter(out)), PageSize.A4)) {
+            Fonts fonts = new Fonts();
+            document.add(new Paragraph("AutoLoadX Scalability Report").setFont(fonts.bold).setFontSize(20));
+            document.add(new Paragraph(text(report.endpoint)).setFont(fonts.regular).setFontSize(11));
+            if (report.startTime != null && report.endTime != null) {
+                document.add(new Paragraph(report.startTime.format(DATE_FORMAT) + " - " + report.endTime.format(DATE_FORMAT)
+                    + " | " + Duration.between(report.startTime, report.endTime).toMinutes() + " minutes | "
+                    + results.size() + " levels").setFont(fonts.regular).setFontSize(9).setFontColor(ColorConstants.DARK_GRAY));
+            }
+            
+            heading(document, fonts, "Analysis");
+            Table analysis = table(fonts, 5, "Point", "Users", "Throughput", "Avg Response", "Error Rate");
+            analysisRow(analysis, fonts, "Stable operating load", report.stableLoad);
+            analysisRow(analysis, fonts, "Saturation point", report.saturationPoint);
+            analysisRow(analysis, fonts, "Breaking point", report.breakingPoint);
+            document.add(analysis);
+            if (report.stableLoad != null) {
+                document.add(new Paragraph("Recommended production capacity: " + (int) (report.stableLoad.userLevel * 0.7)
+                    + " concurrent users (70% of the stable load)").setFont(fonts.regular).setFontSize(10));
+            }
+            if (report.saturationPoint != null) {
+                document.add(new Paragraph("Plan to scale out before " + String.format("%,d", report.saturationPoint.userLevel) + " users")
+                    .setFont(fonts.regular).setFontSize(10));
+            }
+            
+            heading(document, fonts, "Levels");
+            Table levels = table(fonts, 8, "Users", "Requests", "Throughput", "Avg", "p50", "p99", "Error Rate", "Status");
+            for (ScalabilityTester.ScalabilityResult result : results) {
+                PerformanceMetrics metrics = result.metrics;
+                row(levels, fonts, String.format("%,d", result.userLevel), String.format("%,d", metrics.getTotalRequests()),
+                    String.format("%.2f req/s", metrics.getThroughputPerSecond()),
+                    String.format("%.0f ms", metrics.getAverageResponseTime()),
+                    String.format("%.0f ms", metrics.getPercentileResponseTime(50)),
+                    String.format("%.0f ms", metrics.getPercentileResponseTime(99))
+                        + (metrics.isCoordinatedOmissionCorrected()
+                            ? String.format(" (%.0f)", metrics.getCorrectedPercentileResponseTime(99)) : ""),
+                    String.format("%.4f %%", metrics.getErrorRate()),
+                    ScalabilityTester.getPerformanceStatus(result));
+            }
+            document.add(levels);
+            for (ScalabilityTester.ScalabilityResult result : results) {
+                generatorWarning(document, fonts, result.metrics.getGeneratorHealth(), String.format("%,d", result.userLevel) + " users");
+            }
+            
+            heading(document, fonts, "Charts");
+            addImages(document, images);
+        }
+    }
+    
+    /**
+     * Renders every chart to PNG on the common pool; the order is kept.
+     */
+    private static List<byte[]> renderAll(List<JFreeChart> charts) {
+        return charts.parallelStream()
+            .map(chart -> {
+                try {
+                    return ChartUtils.encodeAsPNG(chart.createBufferedImage(CHART_WIDTH, CHART_HEIGHT));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .collect(Collectors.toList());
+    }
+    
+    private static XYSeries downsampled(String name, double[] x, double[] y) {
+        XYSeries series = new XYSeries(name, false, true);
+        for (int index : LttbDownsampler.downsample(x, y, MAX_CHART_POINTS)) {
+            series.add(x[index], y[index], false);
+        }
+        return series;
+    }
+    
+    /**
+     * Latency against percentile on a "nines" scale, where each step of the
+     * x axis is ten times closer to 100%. Stops where the histogram runs out of samples.
+     */
+    private static XYSeries percentileCurve(String name, LatencyHistogram histogram) {
+        XYSeries series = new XYSeries(name, false, true);
+        if (histogram.isEmpty()) return series;
+        double maxNines = Math.min(NINES.length - 1, Math.log10(histogram.getTotalCount()));
+        for (double nines = 0; nines <= maxNines + 1e-9; nines += 0.05) {
+            double percentile = 100 * (1 - Math.pow(10, -nines));
+            series.add(nines, histogram.getValueAtPercentile(percentile) / 1000.0, false);
+        }
+        return series;
+    }
+    
+    private static JFreeChart lineChart(String title, String xLabel, String yLabel, XYSeriesCollection data) {
+        JFreeChart chart = ChartFactory.createXYLineChart(title, xLabel, yLabel, data, PlotOrientation.VERTICAL, true, false, false);
+        style(chart);
+        return chart;
+    }
+    
+    private static JFreeChart usersChart(String title, String yLabel, XYSeriesCollection data) {
+        JFreeChart chart = lineChart(title, "Concurrent users", yLabel, data);
+        XYPlot plot = chart.getXYPlot();
+        // Levels grow roughly geometrically
+        LogAxis axis = new LogAxis("Concurrent users");
+        axis.setNumberFormatOverride(new DecimalFormat("#,##0"));
+        plot.setDomainAxis(axis);
+        XYLineAndShapeRenderer renderer = (XYLineAndShapeRenderer) plot.getRenderer();
+        renderer.setDefaultShapesVisible(true);
+        return chart;
+    }
+    
+    private static JFreeChart percentileChart(XYSeriesCollection data) {
+        JFreeChart chart = lineChart("Latency by Percentile", "Percentile", "Milliseconds", data);
+        SymbolAxis axis = new SymbolAxis("Percentile", NINES);
+        axis.setGridBandsVisible(false);
+        chart.getXYPlot().setDomainAxis(axis);
+        return chart;
+    }
+    
+    private static void style(JFreeChart chart) {
+        chart.setBackgroundPaint(Color.WHITE);
+        XYPlot plot = chart.getXYPlot();
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
+        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+    }
+    
+    private static void addImages(Document document, List<byte[]> images) {
+        for (byte[] png : images) {
+            document.add(new Image(ImageDataFactory.create(png)).setWidth(UnitValue.createPercentValue(100)).setMarginBottom(12));
+        }
+    }
+    
+    private static void heading(Document document, Fonts fonts, String title) {
+        document.add(new Paragraph(title).setFont(fonts.bold).setFontSize(14).setMarginTop(14));
+    }
+    
+    private static void generatorWarning(Document document, Fonts fonts, GeneratorHealth health, String scope) {
+        if (health == null || !health.isSaturated()) return;
+        document.add(new Paragraph("Load generator saturated during " + scope + " - results may reflect the generator: "
+            + text(String.join("; ", health.getSaturationReasons())))
+            .setFont(fonts.regular).setFontSize(9).setFontColor(ColorConstants.RED));
+    }
+    
+    private static Table table(Fonts fonts, int columns, String... headers) {
+        Table table = new Table(UnitValue.createPercentArray(columns)).useAllAvailableWidth();
+        for (String header : headers) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header).setFont(fonts.bold).setFontSize(9))
+                .setBackgroundColor(ColorConstants.LIGHT_GRAY));
+        }
+        return table;
+    }
+    
+    private static void row(Table table, Fonts fonts, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            table.addCell(new Cell().add(new Paragraph(text(values[i])).setFont(fonts.regular).setFontSize(9)
+                .setTextAlignment(i == 0 ? TextAlignment.LEFT : TextAlignment.RIGHT)));
+        }
+    }
+    
+    private static void analysisRow(Table table, Fonts fonts, String point, ScalabilityTester.ScalabilityResult result) {
+        if (result == null) {
+            row(table, fonts, point, "-", "-", "-", "-");
+            return;
+        }
+        row(table, fonts, point, String.format("%,d", result.userLevel),
+            String.format("%.2f req/s", result.metrics.getThroughputPerSecond()),
+            String.format("%.2f ms", result.metrics.getAverageResponseTime()),
+            String.format("%.4f %%", result.metrics.getErrorRate()));
+    }
+    
+    /**
+     * The standard PDF fonts only cover Latin-1; drop emoji and other symbols.
+     */
+    private static String text(String value) {
+        if (value == null) return "";
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x100) sb.append(c);
+        }
+        return sb.toString().trim();
+    }
+    
+    /**
+     * PDF fonts belong to one document, so each report creates its own.
+     */
+    private static final class Fonts {
+        private final PdfFont regular;
+        private final PdfFont bold;
+        
+        private Fonts() throws IOException {
+            this.regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            this.bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ConnectionStats;
+import com.loadtesting.phase1.model.TransportConfiguration;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpOptions;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Phase 1: Pooled HTTP Engine
+ * Apache HttpClient based HTTP/1.1 engine with a sized connection pool,
+ * keep-alive control and connection metrics. In per-user mode every user
+ * gets a client holding exactly one connection of its own. The request
+ * timeout is applied as socket read timeout and pool lease timeout. When
+ * requests are spread over addresses, each address is its own pool route
+ * while Host, SNI and certificate checks keep using the host name. HTTPS
+ * connections reuse TLS sessions per the configured session mode; in
+ * per-user resumption mode the user id rides along in the request context
+ * so the socket factory can pick that user's session cache.
+ */
+public class PooledHttpEngine implements HttpEngine {
+    private static final ThreadLocal<byte[]> BODY_BUFFER = ThreadLocal.withInitial(() -> new byte[8192]);
+    
+    private final TransportConfiguration transport;
+    private final ConnectionStats connectionStats;
+    private final Registry<ConnectionSocketFactory> socketFactories;
+    private final CloseableHttpClient sharedClient;
+    private final Map<Integer, CloseableHttpClient> userClients;
+    private final AddressBalancer addressBalancer;
+    private final boolean perUserSessions;
+    
+    public PooledHttpEngine(TransportConfiguration transport) {
+        this.transport = transport;
+        this.connectionStats = new ConnectionStats();
+        this.socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", new MeteredConnectionSocketFactory(PlainConnectionSocketFactory.getSocketFactory(), connectionStats))
+            .register("https", new MeteredConnectionSocketFactory(new TlsSessions(transport), connectionStats))
+            .build();
+        this.userClients = new ConcurrentHashMap<>();
+        this.addressBalancer = AddressBalancer.create(transport, connectionStats);
+        this.perUserSessions = transport.getTlsSessionMode() == TransportConfiguration.TlsSessionMode.PER_USER_RESUMPTION;
+        this.sharedClient = transport.getClientMode() == TransportConfiguration.ClientMode.SHARED ? buildClient(false) : null;
+    }
+    
+    @Override
+    public int send(PreparedRequest request, int userId, ResponseSink sink) throws IOException {
+        CloseableHttpClient client = sharedClient != null ? sharedClient : userClients.computeIfAbsent(userId, id -> buildClient(true));
+        HttpClientContext context = null;
+        if (perUserSessions) {
+            context = HttpClientContext.create();
+            context.setAttribute(MeteredConnectionSocketFactory.USER_ID_ATTRIBUTE, userId);
+        }
+        if (addressBalancer == null) {
+            return execute(client, null, request, context, sink);
+        }
+        
+        AddressBalancer.Target target = addressBalancer.acquire(request.getUri().getHost(), userId);
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            int statusCode = execute(client, toHttpHost(request.getUri(), target), request, context, sink);
+            success = statusCode < 400;
+            return statusCode;
+        } finally {
+            addressBalancer.release(target, startNanos, success);
+        }
+    }
+    
+    private int execute(CloseableHttpClient client, HttpHost target, PreparedRequest request, HttpClientContext context,
+                        ResponseSink sink) throws IOException {
+        // Only the two-argument form derives the target from the request URI
+        HttpRequestBase apacheRequest = toApacheRequest(request);
+        try (CloseableHttpResponse response = target != null
+                ? client.execute(target, apacheRequest, context)
+                : client.execute(apacheRequest, context)) {
+            if (sink != null) {
+                for (String name : sink.getHeaderNames()) {
+                    Header header = response.getFirstHeader(name);
+                    if (header != null) sink.onHeader(name, header.getValue());
+                }
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                if (sink != null && sink.wantsBody()) {
+                    streamBody(entity, sink);
+                } else {
+                    // Drain so the connection can go back to the pool
+                    EntityUtils.consume(entity);
+                }
+            }
+            connectionStats.recordRequest(true);
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+    
+    @Override
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+    
+    @Override
+    public void close() {
+        closeQuietly(sharedClient);
+        userClients.values().forEach(this::closeQuietly);
+        userClients.clear();
+    }
+    
+    private void streamBody(HttpEntity entity, ResponseSink sink) throws IOException {
+        byte[] buffer = BODY_BUFFER.get();
+        try (InputStream in = entity.getContent()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                sink.onBody(ByteBuffer.wrap(buffer, 0, read));
+            }
+        }
+    }
+    
+    private CloseableHttpClient buildClient(boolean perUser) {
+        HttpClientConnectionManager connectionManager;
+        if (perUser) {
+            connectionManager = new BasicHttpClientConnectionManager(socketFactories);
+        } else {
+            PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(socketFactories);
+            int maxConnections = transport.getMaxConnections() > 0 ? transport.getMaxConnections() : Integer.MAX_VALUE;
+            pool.setMaxTotal(maxConnections);
+            pool.setDefaultMaxPerRoute(maxConnections);
+            connectionManager = pool;
+        }
+        
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(transport.getConnectTimeoutMs())
+            .setSocketTimeout(transport.getRequestTimeoutMs())
+            .setConnectionRequestTimeout(transport.getRequestTimeoutMs())
+            .build();
+        
+        // Match the JDK client's defaults: no retries, redirects, cookies or compression
+        HttpClientBuilder builder = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .disableAutomaticRetries()
+            .disableRedirectHandling()
+            .disableCookieManagement()
+            .disableContentCompression();
+        
+        if (!transport.isKeepAlive()) {
+            builder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        } else if (transport.getKeepAliveTimeoutSeconds() > 0) {
+            long keepAliveMs = transport.getKeepAliveTimeoutSeconds() * 1000L;
+            builder.setKeepAliveStrategy((response, context) -> keepAliveMs);
+        }
+        return builder.build();
+    }
+    
+    private static HttpHost toHttpHost(URI uri, AddressBalancer.Target target) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return new HttpHost(target.getAddress(), uri.getHost(), port, uri.getScheme());
+    }
+    
+    private HttpRequestBase toApacheRequest(PreparedRequest request) {
+        HttpRequestBase apacheRequest;
+        switch (request.getMethod()) {
+            case "POST":
+                HttpPost post = new HttpPost(request.getUri());
+                if (request.getBody() != null) post.setEntity(new ByteArrayEntity(request.getBody()));
+                apacheRequest = post;
+                break;
+            case "PUT":
+                HttpPut put = new HttpPut(request.getUri());
+                if (request.getBody() != null) put.setEntity(new ByteArrayEntity(request.getBody()));
+                apacheRequest = put;
+                break;
+            case "PATCH":
+                HttpPatch patch = new HttpPatch(request.getUri());
+                if (request.getBody() != null) patch.setEntity(new ByteArrayEntity(request.getBody()));
+                apacheRequest = patch;
+                break;
+            case "DELETE":
+                apacheRequest = new HttpDelete(request.getUri());
+                break;
+            case "HEAD":
+                apacheRequest = new HttpHead(request.getUri());
+                break;
+            case "OPTIONS":
+                apacheRequest = new HttpOptions(request.getUri());
+                break;
+            default:
+                apacheRequest = new HttpGet(request.getUri());
+        }
+        
+        String[] headers = request.getHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            apacheRequest.setHeader(headers[i], headers[i + 1]);
+        }
+        return apacheRequest;
+    }
+    
+    private void closeQuietly(CloseableHttpClient client) {
+        if (client == null) return;
+        try {
+            client.close();
+        } catch (IOException e) {
+            // Connections are being discarded anyway
+        }
+    }
+}
\ No newline at end of file
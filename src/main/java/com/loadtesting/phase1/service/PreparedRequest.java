@@ -0,0 +1,57 @@
+package com.loadtesting.phase1.service;
+
+import java.net.URI;
+
+/**
+ * Phase 1: Prepared Request
+ * Engine-neutral request ready to send. Static requests are prepared once
+ * per plan, and the active engine may cache its own native form on them.
+ */
+public class PreparedRequest {
+    private final String method;
+    private final URI uri;
+    private final String[] headers;
+    private final byte[] body;
+    private final boolean reusable;
+    private volatile CachedForm cachedForm;
+    
+    public PreparedRequest(String method, URI uri, String[] headers, byte[] body, boolean reusable) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.body = body;
+        this.reusable = reusable;
+    }
+    
+    /**
+     * Returns the native form cached by {@code owner}, or null if none.
+     */
+    public Object getCachedForm(Object owner) {
+        CachedForm cached = cachedForm;
+        return cached != null && cached.owner == owner ? cached.form : null;
+    }
+    
+    public void setCachedForm(Object owner, Object form) {
+        if (!reusable) return;
+        // Owner and form are published together so a reader never pairs them wrongly
+        this.cachedForm = new CachedForm(owner, form);
+    }
+    
+    public String getMethod() { return method; }
+    public URI getUri() { return uri; }
+    /** Alternating header names and values */
+    public String[] getHeaders() { return headers; }
+    /** Request body for POST/PUT, or null */
+    public byte[] getBody() { return body; }
+    public boolean isReusable() { return reusable; }
+    
+    private static final class CachedForm {
+        private final Object owner;
+        private final Object form;
+        
+        private CachedForm(Object owner, Object form) {
+            this.owner = owner;
+            this.form = form;
+        }
+    }
+}
\ No newline at end of file
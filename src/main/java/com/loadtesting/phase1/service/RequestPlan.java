@@ -0,0 +1,103 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.data.DataFeeder;
+import com.loadtesting.phase1.model.EndpointConfiguration;
+import com.loadtesting.phase1.model.ResponseAssertion;
+import com.loadtesting.phase1.model.TestConfiguration;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase 1: Request Plan
+ * Precompiled form of a configured request. Fully static requests are built
+ * once and reused; templated ones render only their placeholder segments
+ * from the next feeder record.
+ */
+public class RequestPlan {
+    private final String name;
+    private final String method;
+    private final RequestTemplate uriTemplate;
+    private final RequestTemplate bodyTemplate;
+    private final String[] headerNames;
+    private final RequestTemplate[] headerTemplates;
+    private final DataFeeder feeder;
+    private final PreparedRequest staticRequest;
+    private final ResponseValidator validator;
+    
+    private RequestPlan(String name, String method, String uri, String body, Map<String, String> headers,
+                        List<ResponseAssertion> assertions, DataFeeder feeder) {
+        this.name = name;
+        this.validator = ResponseValidator.compile(assertions);
+        this.method = method.toUpperCase();
+        this.feeder = feeder;
+        this.uriTemplate = RequestTemplate.compile(uri, feeder);
+        this.bodyTemplate = RequestTemplate.compile(body, feeder);
+        
+        this.headerNames = headers.keySet().toArray(new String[0]);
+        this.headerTemplates = new RequestTemplate[headerNames.length];
+        boolean templated = !uriTemplate.isStatic() || (bodyTemplate != null && !bodyTemplate.isStatic());
+        for (int i = 0; i < headerNames.length; i++) {
+            headerTemplates[i] = RequestTemplate.compile(headers.get(headerNames[i]), feeder);
+            templated |= !headerTemplates[i].isStatic();
+        }
+        
+        this.staticRequest = templated ? null : build(null, true);
+    }
+    
+    public static RequestPlan compile(TestConfiguration config, DataFeeder feeder) {
+        return new RequestPlan(null, config.getHttpMethod(), config.getApiEndpoint(), config.getRequestBody(),
+            config.getHeaders(), config.getAssertions(), feeder);
+    }
+    
+    /**
+     * Compiles one traffic-mix endpoint; its headers override the shared ones
+     * and its assertions are checked in addition to the shared ones.
+     */
+    public static RequestPlan compile(EndpointConfiguration endpoint, Map<String, String> sharedHeaders,
+                                      List<ResponseAssertion> sharedAssertions, DataFeeder feeder) {
+        Map<String, String> headers = new LinkedHashMap<>(sharedHeaders);
+        headers.putAll(endpoint.getHeaders());
+        List<ResponseAssertion> assertions = new ArrayList<>();
+        if (sharedAssertions != null) assertions.addAll(sharedAssertions);
+        if (endpoint.getAssertions() != null) assertions.addAll(endpoint.getAssertions());
+        return new RequestPlan(endpoint.getName(), endpoint.getHttpMethod(), endpoint.getApiEndpoint(),
+            endpoint.getRequestBody(), headers, assertions, feeder);
+    }
+    
+    /** Endpoint name used for per-endpoint metrics, or null outside a traffic mix */
+    public String getName() {
+        return name;
+    }
+    
+    /** Compiled response assertions, or null when the request has none */
+    public ResponseValidator getValidator() {
+        return validator;
+    }
+    
+    /**
+     * Returns the request to send for the given user.
+     */
+    public PreparedRequest requestFor(int userId) {
+        if (staticRequest != null) return staticRequest;
+        return build(feeder.next(userId), false);
+    }
+    
+    private PreparedRequest build(String[] record, boolean reusable) {
+        String[] headers = new String[headerNames.length * 2];
+        for (int i = 0; i < headerNames.length; i++) {
+            headers[2 * i] = headerNames[i];
+            headers[2 * i + 1] = headerTemplates[i].render(record);
+        }
+        
+        byte[] body = null;
+        if (bodyTemplate != null && ("POST".equals(method) || "PUT".equals(method))) {
+            body = bodyTemplate.render(record).getBytes(StandardCharsets.UTF_8);
+        }
+        return new PreparedRequest(method, URI.create(uriTemplate.render(record)), headers, body, reusable);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.data.DataFeeder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase 1: Request Template
+ * Text with ${column} placeholders, parsed once into literal and column
+ * segments so rendering on the hot path is a plain concatenation
+ */
+public class RequestTemplate {
+    private final String[] literals;
+    private final int[] columns;
+    private final int literalLength;
+    
+    private RequestTemplate(String[] literals, int[] columns) {
+        this.literals = literals;
+        this.columns = columns;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    /**
+     * Compiles the given text against the feeder's columns. Without a feeder
+     * the text is kept verbatim.
+     */
+    public static RequestTemplate compile(String text, DataFeeder feeder) {
+        if (text == null) return null;
+        if (feeder == null) return new RequestTemplate(new String[]{text}, new int[0]);
+        
+        List<String> literals = new ArrayList<>();
+        List<Integer> columns = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = text.indexOf("${", position);
+            int close = open < 0 ? -1 : text.indexOf('}', open + 2);
+            if (close < 0) {
+                literals.add(text.substring(position));
+                break;
+            }
+            String name = text.substring(open + 2, close);
+            int column = feeder.columnIndex(name);
+            if (column < 0) {
+                throw new IllegalArgumentException("Unknown feeder column '" + name + "' in template: " + text);
+            }
+            literals.add(text.substring(position, open));
+            columns.add(column);
+            position = close + 1;
+        }
+        return new RequestTemplate(literals.toArray(new String[0]), columns.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    public boolean isStatic() {
+        return columns.length == 0;
+    }
+    
+    public String render(String[] record) {
+        if (columns.length == 0) return literals[0];
+        
+        StringBuilder sb = new StringBuilder(literalLength + 16 * columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            sb.append(literals[i]);
+            String value = record[columns[i]];
+            if (value != null) sb.append(value);
+        }
+        sb.append(literals[columns.length]);
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.loadtesting.phase1.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Phase 1: Response Sink
+ * Receives the parts of a response an engine streams through while reading
+ * it. Buffers passed to {@link #onBody} are only valid during the call.
+ */
+public interface ResponseSink {
+    
+    /**
+     * Lower-case names of the headers to pass to {@link #onHeader}.
+     */
+    String[] getHeaderNames();
+    
+    void onHeader(String name, String value);
+    
+    /**
+     * Whether body bytes should be streamed at all; otherwise they are discarded.
+     */
+    boolean wantsBody();
+    
+    void onBody(ByteBuffer chunk);
+}
\ No newline at end of file
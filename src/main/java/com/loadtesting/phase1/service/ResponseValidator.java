@@ -0,0 +1,245 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.ResponseAssertion;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Phase 1: Response Validator
+ * Compiled form of a request's response assertions. Body patterns are turned
+ * into byte matchers once; each response gets a small {@link Check} that the
+ * engine streams the body through, so bodies are never materialized.
+ */
+public class ResponseValidator {
+    private final List<boolean[]> allowedStatuses;
+    private final List<String> statusDescriptions;
+    private final String[] headerNames;
+    private final String[] headerExpectations;
+    private final long maxLatencyMicros;
+    private final ByteMatcher[] requiredPatterns;
+    private final ByteMatcher[] forbiddenPatterns;
+    private final String[] requiredTexts;
+    private final String[] forbiddenTexts;
+    private final JsonFieldMatcher[] jsonFields;
+    private final String[] jsonDescriptions;
+    private final long maxBodyBytes;
+    private final long minBodyBytes;
+    private final boolean wantsBody;
+    
+    private ResponseValidator(List<ResponseAssertion> assertions) {
+        List<boolean[]> statuses = new ArrayList<>();
+        List<String> statusTexts = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> expectations = new ArrayList<>();
+        List<ByteMatcher> required = new ArrayList<>();
+        List<ByteMatcher> forbidden = new ArrayList<>();
+        List<String> requiredText = new ArrayList<>();
+        List<String> forbiddenText = new ArrayList<>();
+        List<JsonFieldMatcher> json = new ArrayList<>();
+        List<String> jsonText = new ArrayList<>();
+        long maxLatency = Long.MAX_VALUE;
+        long maxBody = Long.MAX_VALUE;
+        long minBody = 0;
+        boolean bodySize = false;
+        
+        for (ResponseAssertion assertion : assertions) {
+            if (!assertion.isValid()) {
+                throw new IllegalArgumentException("Invalid assertion: " + assertion);
+            }
+            switch (assertion.getType()) {
+                case STATUS:
+                    statuses.add(parseStatuses(assertion.getExpected()));
+                    statusTexts.add(assertion.getExpected());
+                    break;
+                case HEADER:
+                    names.add(assertion.getName().trim().toLowerCase(Locale.ROOT));
+                    expectations.add(assertion.getExpected());
+                    break;
+                case MAX_LATENCY_MS:
+                    maxLatency = Math.min(maxLatency, Long.parseLong(assertion.getExpected().trim()) * 1000);
+                    break;
+                case BODY_CONTAINS:
+                    required.add(new ByteMatcher(assertion.getExpected().getBytes(StandardCharsets.UTF_8)));
+                    requiredText.add(assertion.getExpected());
+                    break;
+                case BODY_NOT_CONTAINS:
+                    forbidden.add(new ByteMatcher(assertion.getExpected().getBytes(StandardCharsets.UTF_8)));
+                    forbiddenText.add(assertion.getExpected());
+                    break;
+                case JSON_FIELD:
+                    json.add(new JsonFieldMatcher(assertion.getName(), assertion.getExpected()));
+                    jsonText.add(assertion.getName() + " = " + assertion.getExpected());
+                    break;
+                case MAX_BODY_BYTES:
+                    maxBody = Math.min(maxBody, Long.parseLong(assertion.getExpected().trim()));
+                    bodySize = true;
+                    break;
+                case MIN_BODY_BYTES:
+                    minBody = Math.max(minBody, Long.parseLong(assertion.getExpected().trim()));
+                    bodySize = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported assertion: " + assertion.getType());
+            }
+        }
+        
+        this.allowedStatuses = statuses;
+        this.statusDescriptions = statusTexts;
+        this.headerNames = names.toArray(new String[0]);
+        this.headerExpectations = expectations.toArray(new String[0]);
+        this.maxLatencyMicros = maxLatency;
+        this.requiredPatterns = required.toArray(new ByteMatcher[0]);
+        this.forbiddenPatterns = forbidden.toArray(new ByteMatcher[0]);
+        this.requiredTexts = requiredText.toArray(new String[0]);
+        this.forbiddenTexts = forbiddenText.toArray(new String[0]);
+        this.jsonFields = json.toArray(new JsonFieldMatcher[0]);
+        this.jsonDescriptions = jsonText.toArray(new String[0]);
+        this.maxBodyBytes = maxBody;
+        this.minBodyBytes = minBody;
+        this.wantsBody = bodySize || requiredPatterns.length > 0 || forbiddenPatterns.length > 0 || jsonFields.length > 0;
+    }
+    
+    /**
+     * Compiles the assertions, or returns null when there are none.
+     */
+    public static ResponseValidator compile(List<ResponseAssertion> assertions) {
+        if (assertions == null || assertions.isEmpty()) return null;
+        return new ResponseValidator(assertions);
+    }
+    
+    /**
+     * True when a status assertion replaces the default 2xx/3xx success rule.
+     */
+    public boolean hasStatusAssertion() {
+        return !allowedStatuses.isEmpty();
+    }
+    
+    public Check newCheck() {
+        return new Check();
+    }
+    
+    private static boolean[] parseStatuses(String codes) {
+        boolean[] allowed = new boolean[600];
+        for (String code : codes.split(",")) {
+            String trimmed = code.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.length() == 3 && trimmed.endsWith("xx") && Character.isDigit(trimmed.charAt(0))) {
+                int base = (trimmed.charAt(0) - '0') * 100;
+                for (int status = base; status < base + 100 && status < allowed.length; status++) {
+                    allowed[status] = true;
+                }
+            } else {
+                int status = Integer.parseInt(trimmed);
+                if (status < 0 || status >= allowed.length) {
+                    throw new IllegalArgumentException("Invalid status code: " + code);
+                }
+                allowed[status] = true;
+            }
+        }
+        return allowed;
+    }
+    
+    /**
+     * Per-response state. Not thread-safe; one request at a time.
+     */
+    public final class Check implements ResponseSink {
+        private final String[] headerValues;
+        private final int[] requiredStates;
+        private final int[] forbiddenStates;
+        private final JsonFieldMatcher.State[] jsonStates;
+        private long bodyBytes;
+        
+        private Check() {
+            this.headerValues = new String[headerNames.length];
+            this.requiredStates = new int[requiredPatterns.length];
+            this.forbiddenStates = new int[forbiddenPatterns.length];
+            this.jsonStates = new JsonFieldMatcher.State[jsonFields.length];
+            for (int i = 0; i < jsonStates.length; i++) {
+                jsonStates[i] = new JsonFieldMatcher.State();
+            }
+        }
+        
+        @Override
+        public String[] getHeaderNames() {
+            return headerNames;
+        }
+        
+        @Override
+        public void onHeader(String name, String value) {
+            for (int i = 0; i < headerNames.length; i++) {
+                if (headerNames[i].equals(name) && headerValues[i] == null) headerValues[i] = value;
+            }
+        }
+        
+        @Override
+        public boolean wantsBody() {
+            return wantsBody;
+        }
+        
+        @Override
+        public void onBody(ByteBuffer chunk) {
+            bodyBytes += chunk.remaining();
+            for (int i = 0; i < requiredPatterns.length; i++) {
+                if (requiredStates[i] != requiredPatterns[i].length()) {
+                    requiredStates[i] = requiredPatterns[i].scan(requiredStates[i], chunk);
+                }
+            }
+            for (int i = 0; i < forbiddenPatterns.length; i++) {
+                if (forbiddenStates[i] != forbiddenPatterns[i].length()) {
+                    forbiddenStates[i] = forbiddenPatterns[i].scan(forbiddenStates[i], chunk);
+                }
+            }
+            for (int i = 0; i < jsonFields.length; i++) {
+                if (!jsonStates[i].isMatched()) jsonFields[i].scan(jsonStates[i], chunk);
+            }
+        }
+        
+        /**
+         * Returns a description of the first failed assertion, or null if all passed.
+         */
+        public String evaluate(int statusCode, long responseTimeMicros) {
+            for (int i = 0; i < allowedStatuses.size(); i++) {
+                boolean[] allowed = allowedStatuses.get(i);
+                if (statusCode < 0 || statusCode >= allowed.length || !allowed[statusCode]) {
+                    return "Assertion failed: status " + statusCode + " not in " + statusDescriptions.get(i);
+                }
+            }
+            if (responseTimeMicros > maxLatencyMicros) {
+                return String.format("Assertion failed: response time %.1f ms over %d ms budget",
+                    responseTimeMicros / 1000.0, maxLatencyMicros / 1000);
+            }
+            for (int i = 0; i < headerNames.length; i++) {
+                if (headerValues[i] == null) {
+                    return "Assertion failed: header " + headerNames[i] + " missing";
+                }
+                if (headerExpectations[i] != null && !headerValues[i].contains(headerExpectations[i])) {
+                    return "Assertion failed: header " + headerNames[i] + " does not contain " + headerExpectations[i];
+                }
+            }
+            for (int i = 0; i < requiredPatterns.length; i++) {
+                if (requiredStates[i] != requiredPatterns[i].length()) {
+                    return "Assertion failed: body does not contain " + requiredTexts[i];
+                }
+            }
+            for (int i = 0; i < forbiddenPatterns.length; i++) {
+                if (forbiddenStates[i] == forbiddenPatterns[i].length()) {
+                    return "Assertion failed: body contains " + forbiddenTexts[i];
+                }
+            }
+            for (int i = 0; i < jsonFields.length; i++) {
+                jsonFields[i].finish(jsonStates[i]);
+                if (!jsonStates[i].isMatched()) {
+                    return "Assertion failed: JSON field " + jsonDescriptions[i];
+                }
+            }
+            if (bodyBytes > maxBodyBytes || bodyBytes < minBodyBytes) {
+                return "Assertion failed: body size " + bodyBytes + " bytes outside "
+                    + minBodyBytes + ".." + (maxBodyBytes == Long.MAX_VALUE ? "" : maxBodyBytes);
+            }
+            return null;
+        }
+    }
+}
\ No newline at end of file
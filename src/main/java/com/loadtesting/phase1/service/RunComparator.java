@@ -0,0 +1,373 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.MetricComparison;
+import com.loadtesting.phase1.model.RunComparison;
+import com.loadtesting.phase1.model.RunSummary;
+import com.loadtesting.phase1.model.ScalabilityPoint;
+import com.loadtesting.phase1.model.StoredRun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Phase 1: Run Comparator
+ * Decides whether a candidate run regressed against a baseline, working on
+ * histograms only, so the cost does not grow with the number of requests.
+ * The whole latency distribution gets a Mann-Whitney test (ranks straight
+ * from the buckets) with Cliff's delta as effect size. Percentiles and
+ * throughput get bootstrap confidence intervals. Requests close in time are
+ * correlated, so the bootstrap resamples blocks of the per-interval history
+ * with Poisson weights rather than single requests; runs without enough
+ * history fall back to resampling bucket counts. With millions of requests
+ * almost any difference is significant, so a metric only counts as a
+ * regression when it is also worse by more than its tolerance.
+ */
+public class RunComparator {
+    private static final double[] PERCENTILES = {50, 95, 99};
+    private static final int MIN_BLOCKS = 10;
+    private static final int MAX_BLOCKS = 50;
+    private static final double SMALL_EFFECT = 0.147;
+    
+    private double latencyTolerance = 0.05;
+    private double throughputTolerance = 0.05;
+    private double errorRateTolerance = 1.0;
+    private double alpha = 0.05;
+    private int bootstrapReplicates = 2000;
+    private long seed = 20240601L;
+    
+    /** Relative latency increase tolerated, e.g. 0.05 for 5% */
+    public void setLatencyTolerance(double latencyTolerance) { this.latencyTolerance = latencyTolerance; }
+    /** Relative throughput drop tolerated */
+    public void setThroughputTolerance(double throughputTolerance) { this.throughputTolerance = throughputTolerance; }
+    /** Error rate increase tolerated, in percentage points */
+    public void setErrorRateTolerance(double errorRateTolerance) { this.errorRateTolerance = errorRateTolerance; }
+    /** Significance level; confidence intervals are at 1 - alpha */
+    public void setAlpha(double alpha) { this.alpha = alpha; }
+    public void setBootstrapReplicates(int bootstrapReplicates) { this.bootstrapReplicates = Math.max(100, bootstrapReplicates); }
+    /** Fixed by default, so the same two runs always get the same verdict */
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    public RunComparison compare(StoredRun baseline, StoredRun candidate) {
+        RunComparison comparison = new RunComparison(baseline.getSummary(), candidate.getSummary());
+        comparison.setConfidenceLevel(1 - alpha);
+        addWarnings(comparison, baseline, candidate);
+        
+        compareDistributions(comparison, baseline.getResponseTimeHistogram(), candidate.getResponseTimeHistogram());
+        bootstrap(comparison, baseline, candidate);
+        compareErrorRates(comparison, baseline.getSummary(), candidate.getSummary());
+        compareScalabilityCurves(comparison, baseline.getScalabilityPoints(), candidate.getScalabilityPoints());
+        return comparison;
+    }
+    
+    private void addWarnings(RunComparison comparison, StoredRun baseline, StoredRun candidate) {
+        RunSummary base = baseline.getSummary();
+        RunSummary cand = candidate.getSummary();
+        if (!Objects.equals(base.getEndpoint(), cand.getEndpoint()) || !Objects.equals(base.getHttpMethod(), cand.getHttpMethod())) {
+            comparison.getWarnings().add("Runs target different requests: " + base.getHttpMethod() + " " + base.getEndpoint()
+                + " vs " + cand.getHttpMethod() + " " + cand.getEndpoint());
+        } else if (!Objects.equals(baseline.getConfigurationJson(), candidate.getConfigurationJson())) {
+            comparison.getWarnings().add("Runs used different configurations; differences may come from the test, not the system");
+        }
+        if (base.getKind() != cand.getKind()) {
+            comparison.getWarnings().add("Comparing a " + base.getKind() + " run with a " + cand.getKind() + " run");
+        }
+        if (baseline.getResponseTimeHistogram().getTotalCount() < 1000 || candidate.getResponseTimeHistogram().getTotalCount() < 1000) {
+            comparison.getWarnings().add("Fewer than 1,000 requests in a run; tail percentiles are unreliable");
+        }
+    }
+    
+    /**
+     * Mann-Whitney U over the merged buckets: every request in a bucket shares
+     * its rank, which is exactly the tie correction. O(buckets), not O(requests).
+     */
+    private void compareDistributions(RunComparison comparison, LatencyHistogram baseline, LatencyHistogram candidate) {
+        double n1 = baseline.getTotalCount();
+        double n2 = candidate.getTotalCount();
+        if (n1 == 0 || n2 == 0) {
+            comparison.setProbabilityCandidateSlower(0.5);
+            comparison.setMannWhitneyPValue(1);
+            return;
+        }
+        double u = 0;
+        double baselineBelow = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            double a = baseline.getCountAtBucket(i);
+            double b = candidate.getCountAtBucket(i);
+            if (a == 0 && b == 0) continue;
+            // Candidate requests beat every baseline request below them and half of those tied
+            u += b * (baselineBelow + a / 2);
+            baselineBelow += a;
+            double tied = a + b;
+            tieTerm += tied * tied * tied - tied;
+        }
+        double n = n1 + n2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieTerm / (n * (n - 1)));
+        double z = variance > 0 ? (u - n1 * n2 / 2) / Math.sqrt(variance) : 0;
+        double p = 2 * (1 - normalCdf(Math.abs(z)));
+        double probabilitySlower = u / (n1 * n2);
+        
+        comparison.setMannWhitneyZ(z);
+        comparison.setMannWhitneyPValue(p);
+        comparison.setProbabilityCandidateSlower(probabilitySlower);
+        comparison.setDistributionShifted(p < alpha && 2 * probabilitySlower - 1 >= SMALL_EFFECT);
+    }
+    
+    private void bootstrap(RunComparison comparison, StoredRun baseline, StoredRun candidate) {
+        Resampler base = Resampler.of(baseline);
+        Resampler cand = Resampler.of(candidate);
+        comparison.setBootstrapByInterval(base.byInterval() && cand.byInterval());
+        
+        double[] basePoint = base.estimate(null, null);
+        double[] candPoint = cand.estimate(null, null);
+        int metrics = basePoint.length;
+        double[][] changes = new double[metrics][bootstrapReplicates];
+        
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] scratch = new long[LatencyHistogram.BUCKET_COUNT];
+        for (int r = 0; r < bootstrapReplicates; r++) {
+            double[] baseReplicate = base.estimate(random, scratch);
+            double[] candReplicate = cand.estimate(random, scratch);
+            for (int m = 0; m < metrics; m++) {
+                changes[m][r] = relativeChange(baseReplicate[m], candReplicate[m]);
+            }
+        }
+        
+        for (int m = 0; m < metrics; m++) {
+            boolean throughput = m == PERCENTILES.length;
+            double[] sorted = changes[m];
+            Arrays.sort(sorted);
+            double low = sorted[(int) Math.floor(alpha / 2 * (sorted.length - 1))];
+            double high = sorted[(int) Math.ceil((1 - alpha / 2) * (sorted.length - 1))];
+            double change = relativeChange(basePoint[m], candPoint[m]);
+            boolean significant = low > 0 || high < 0;
+            boolean regressed = significant && (throughput
+                ? change < -throughputTolerance * 100
+                : change > latencyTolerance * 100);
+            String metric = throughput ? "Throughput" : "P" + (int) PERCENTILES[m] + " Latency";
+            comparison.getMetrics().add(new MetricComparison(metric, throughput ? "req/s" : "ms",
+                basePoint[m], candPoint[m], change, low, high, Double.NaN, significant, regressed));
+        }
+    }
+    
+    /**
+     * Two-proportion z-test on the error rates.
+     */
+    private void compareErrorRates(RunComparison comparison, RunSummary baseline, RunSummary candidate) {
+        double n1 = baseline.getTotalRequests();
+        double n2 = candidate.getTotalRequests();
+        if (n1 == 0 || n2 == 0) return;
+        double p1 = baseline.getErrorRate() / 100;
+        double p2 = candidate.getErrorRate() / 100;
+        double pooled = (p1 * n1 + p2 * n2) / (n1 + n2);
+        double standardError = Math.sqrt(pooled * (1 - pooled) * (1 / n1 + 1 / n2));
+        double p = standardError > 0 ? 2 * (1 - normalCdf(Math.abs(p2 - p1) / standardError)) : 1;
+        
+        double changePoints = (p2 - p1) * 100;
+        double margin = quantile(1 - alpha / 2) * Math.sqrt(p1 * (1 - p1) / n1 + p2 * (1 - p2) / n2) * 100;
+        boolean significant = p < alpha;
+        comparison.getMetrics().add(new MetricComparison("Error Rate", "%", p1 * 100, p2 * 100, changePoints,
+            changePoints - margin, changePoints + margin, p, significant,
+            significant && changePoints > errorRateTolerance));
+    }
+    
+    /**
+     * Scalability tests keep only headline numbers per level, so levels are
+     * judged on their change alone and reported without an interval.
+     */
+    private void compareScalabilityCurves(RunComparison comparison, List<ScalabilityPoint> baseline,
+                                          List<ScalabilityPoint> candidate) {
+        for (ScalabilityPoint base : baseline) {
+            for (ScalabilityPoint cand : candidate) {
+                if (cand.getUsers() != base.getUsers()) continue;
+                double change = relativeChange(base.getThroughputPerSecond(), cand.getThroughputPerSecond());
+                comparison.getMetrics().add(new MetricComparison(
+                    String.format("Throughput @ %,d users", base.getUsers()), "req/s",
+                    base.getThroughputPerSecond(), cand.getThroughputPerSecond(), change,
+                    Double.NaN, Double.NaN, Double.NaN, false, change < -throughputTolerance * 100));
+            }
+        }
+    }
+    
+    private static double relativeChange(double baseline, double candidate) {
+        if (baseline == 0) return candidate == 0 ? 0 : 100;
+        return (candidate - baseline) / baseline * 100;
+    }
+    
+    /**
+     * Standard normal CDF (Abramowitz and Stegun 26.2.17, error below 1e-7).
+     */
+    static double normalCdf(double x) {
+        double t = 1 / (1 + 0.2316419 * Math.abs(x));
+        double density = Math.exp(-x * x / 2) / Math.sqrt(2 * Math.PI);
+        double tail = density * t * (0.319381530 + t * (-0.356563782 + t * (1.781477937
+            + t * (-1.821255978 + t * 1.330274429))));
+        return x >= 0 ? 1 - tail : tail;
+    }
+    
+    /**
+     * Inverse of {@link #normalCdf} by bisection; only called a few times.
+     */
+    static double quantile(double probability) {
+        double low = -10;
+        double high = 10;
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2;
+            if (normalCdf(middle) < probability) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return (low + high) / 2;
+    }
+    
+    /**
+     * One run, ready for resampling: either blocks of consecutive intervals
+     * (sparse bucket counts plus requests and seconds) or, without enough
+     * history, the overall histogram on its own.
+     */
+    private static final class Resampler {
+        private final int[][] blockBuckets;
+        private final long[][] blockCounts;
+        private final long[] blockRequests;
+        private final double[] blockSeconds;
+        private final long[] overallCounts;
+        private final double durationSeconds;
+        
+        private Resampler(int[][] blockBuckets, long[][] blockCounts, long[] blockRequests, double[] blockSeconds,
+                          long[] overallCounts, double durationSeconds) {
+            this.blockBuckets = blockBuckets;
+            this.blockCounts = blockCounts;
+            this.blockRequests = blockRequests;
+            this.blockSeconds = blockSeconds;
+            this.overallCounts = overallCounts;
+            this.durationSeconds = durationSeconds;
+        }
+        
+        static Resampler of(StoredRun run) {
+            List<IntervalSeries.Interval> busy = new ArrayList<>();
+            for (IntervalSeries.Interval interval : run.getIntervals()) {
+                if (interval.getHistogram() != null) busy.add(interval);
+            }
+            long[] overall = new long[LatencyHistogram.BUCKET_COUNT];
+            for (int i = 0; i < overall.length; i++) {
+                overall[i] = run.getResponseTimeHistogram().getCountAtBucket(i);
+            }
+            if (busy.size() < MIN_BLOCKS) {
+                return new Resampler(null, null, null, null, overall, run.getSummary().getDurationSeconds());
+            }
+            
+            int blocks = Math.min(MAX_BLOCKS, busy.size());
+            int[][] buckets = new int[blocks][];
+            long[][] counts = new long[blocks][];
+            long[] requests = new long[blocks];
+            double[] seconds = new double[blocks];
+            for (int b = 0; b < blocks; b++) {
+                IntervalSeries.Interval block = IntervalSeries.merge(
+                    busy.subList(b * busy.size() / blocks, (b + 1) * busy.size() / blocks));
+                LatencyHistogram histogram = block.getHistogram();
+                int nonEmpty = 0;
+                for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+                    if (histogram.getCountAtBucket(i) > 0) nonEmpty++;
+                }
+                buckets[b] = new int[nonEmpty];
+                counts[b] = new long[nonEmpty];
+                int k = 0;
+                for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+                    long count = histogram.getCountAtBucket(i);
+                    if (count == 0) continue;
+                    buckets[b][k] = i;
+                    counts[b][k++] = count;
+                }
+                requests[b] = block.getRequests();
+                seconds[b] = block.getDurationSeconds();
+            }
+            return new Resampler(buckets, counts, requests, seconds, overall, run.getSummary().getDurationSeconds());
+        }
+        
+        boolean byInterval() { return blockBuckets != null; }
+        
+        /**
+         * Percentiles in milliseconds followed by throughput. Without a random
+         * source this is the point estimate; with one, a bootstrap replicate.
+         */
+        double[] estimate(SplittableRandom random, long[] scratch) {
+            long[] counts;
+            double throughput;
+            if (random == null) {
+                counts = overallCounts;
+                throughput = durationSeconds > 0 ? sum(overallCounts) / durationSeconds : 0;
+            } else if (byInterval()) {
+                counts = scratch;
+                Arrays.fill(counts, 0);
+                double requests = 0;
+                double seconds = 0;
+                for (int b = 0; b < blockBuckets.length; b++) {
+                    int weight = poisson(random, 1);
+                    if (weight == 0) continue;
+                    for (int k = 0; k < blockBuckets[b].length; k++) {
+                        counts[blockBuckets[b][k]] += weight * blockCounts[b][k];
+                    }
+                    requests += weight * blockRequests[b];
+                    seconds += weight * blockSeconds[b];
+                }
+                throughput = seconds > 0 ? requests / seconds : 0;
+            } else {
+                counts = scratch;
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = overallCounts[i] > 0 ? poisson(random, overallCounts[i]) : 0;
+                }
+                throughput = durationSeconds > 0 ? sum(counts) / durationSeconds : 0;
+            }
+            
+            double[] estimate = new double[PERCENTILES.length + 1];
+            long total = sum(counts);
+            int p = 0;
+            long seen = 0;
+            for (int i = 0; i < counts.length && p < PERCENTILES.length && total > 0; i++) {
+                if (counts[i] == 0) continue;
+                long before = seen;
+                seen += counts[i];
+                while (p < PERCENTILES.length && seen >= PERCENTILES[p] / 100 * total) {
+                    // Interpolated inside the bucket, so small shifts are not rounded to a bucket width
+                    double fraction = (PERCENTILES[p] / 100 * total - before) / counts[i];
+                    long lower = LatencyHistogram.bucketLowerBound(i);
+                    long width = LatencyHistogram.bucketUpperBound(i) - lower + 1;
+                    estimate[p++] = (lower + fraction * width) / 1000.0;
+                }
+            }
+            estimate[PERCENTILES.length] = throughput;
+            return estimate;
+        }
+        
+        private static long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+        
+        /** Knuth's method for small means, a normal approximation for large ones */
+        private static int poisson(SplittableRandom random, double mean) {
+            if (mean >= 30) {
+                double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+                return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * gaussian));
+            }
+            double limit = Math.exp(-mean);
+            double product = random.nextDouble();
+            int count = 0;
+            while (product > limit) {
+                product *= random.nextDouble();
+                count++;
+            }
+            return count;
+        }
+    }
+}
\ No newline at end of file
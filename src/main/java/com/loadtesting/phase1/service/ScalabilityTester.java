@@ -13,8 +13,11 @@ import java.util.*;
  */
 public class ScalabilityTester {
     
+    // One engine for all levels: client, connections and request plans stay warm,
+    // while each level still gets its own isolated metrics
     private final LoadTestExecutor executor;
     private final List<ScalabilityResult> results;
+    private boolean coordinatedOmissionCorrection;
     
     // Test configuration
     private static final int[] USER_LEVELS = {10, 100, 500, 1000, 5000, 10000};
@@ -31,6 +34,10 @@ public class ScalabilityTester {
         this.results = new ArrayList<>();
     }
     
+    public void setCoordinatedOmissionCorrection(boolean coordinatedOmissionCorrection) {
+        this.coordinatedOmissionCorrection = coordinatedOmissionCorrection;
+    }
+    
     public ScalabilityTestReport executeScalabilityTest(String endpoint, String method, String body) {
         System.out.println("🚀 === AutoLoadX Scalability Testing Strategy ===");
         System.out.println("Target: " + endpoint);
@@ -40,6 +47,7 @@ public class ScalabilityTester {
         System.out.println("═══════════════════════════════════════════════════");
         System.out.println();
         
+        results.clear();
         ScalabilityTestReport report = new ScalabilityTestReport();
         report.startTime = LocalDateTime.now();
         report.endpoint = endpoint;
@@ -80,10 +88,11 @@ public class ScalabilityTester {
         config.setConcurrentUsers(users);
         config.setTestDurationSeconds(TEST_DURATION);
         config.setRampUpSeconds(Math.min(users / 10, 60)); // Max 60s ramp-up
+        config.setCoordinatedOmissionCorrection(coordinatedOmissionCorrection);
         
         PerformanceMetrics metrics = executor.executeLoadTest(config);
         
-        return new ScalabilityResult(users, metrics);
+        return new ScalabilityResult(users, config, metrics);
     }
     
     private boolean shouldStopTesting(ScalabilityResult result) {
@@ -98,9 +107,28 @@ public class ScalabilityTester {
             result.metrics.getThroughputPerSecond(),
             result.metrics.getAverageResponseTime(),
             result.metrics.getErrorRate());
+        System.out.printf("  Latency p50/p99/p99.9: %.2f / %.2f / %.2f ms%n",
+            result.metrics.getPercentileResponseTime(50),
+            result.metrics.getPercentileResponseTime(99),
+            result.metrics.getPercentileResponseTime(99.9));
+        if (result.metrics.isCoordinatedOmissionCorrected()) {
+            System.out.printf("  Corrected p50/p99/p99.9: %.2f / %.2f / %.2f ms%n",
+                result.metrics.getCorrectedPercentileResponseTime(50),
+                result.metrics.getCorrectedPercentileResponseTime(99),
+                result.metrics.getCorrectedPercentileResponseTime(99.9));
+        }
+        if (isGeneratorSaturated(result)) {
+            System.out.println("  ⚠️ Load generator saturated at this level - treat these numbers with caution:");
+            result.metrics.getGeneratorHealth().getSaturationReasons()
+                .forEach(reason -> System.out.println("     - " + reason));
+        }
         System.out.println();
     }
     
+    static boolean isGeneratorSaturated(ScalabilityResult result) {
+        return result.metrics.getGeneratorHealth() != null && result.metrics.getGeneratorHealth().isSaturated();
+    }
+    
     private void analyzeScalabilityResults(ScalabilityTestReport report) {
         System.out.println("📈 === SCALABILITY ANALYSIS REPORT ===");
         System.out.println();
@@ -184,25 +212,30 @@ public class ScalabilityTester {
     
     private void printDetailedMetrics() {
         System.out.println("📊 DETAILED PERFORMANCE METRICS:");
-        System.out.println("═══════════════════════════════════════════════════════════════════════");
-        System.out.printf("%-8s %-12s %-12s %-12s %-12s %-12s\\n",
-            "Users", "Requests", "Throughput", "Avg Resp", "Error Rate", "Status");
-        System.out.println("───────────────────────────────────────────────────────────────────────");
+        System.out.println("═══════════════════════════════════════════════════════════════════════════════════════════");
+        System.out.printf("%-8s %-12s %-12s %-12s %-12s %-14s %-12s %-12s%n",
+            "Users", "Requests", "Throughput", "Avg Resp", "P99", "P99 Corrected", "Error Rate", "Status");
+        System.out.println("───────────────────────────────────────────────────────────────────────────────────────────");
         
         for (ScalabilityResult result : results) {
             String status = getPerformanceStatus(result);
-            System.out.printf("%-8s %-12s %-12s %-12s %-12s %-12s\\n",
+            System.out.printf("%-8s %-12s %-12s %-12s %-12s %-14s %-12s %-12s%n",
                 String.format("%,d", result.userLevel),
                 String.format("%,d", result.metrics.getTotalRequests()),
                 String.format("%.2f", result.metrics.getThroughputPerSecond()),
                 String.format("%.0f ms", result.metrics.getAverageResponseTime()),
+                String.format("%.0f ms", result.metrics.getPercentileResponseTime(99)),
+                result.metrics.isCoordinatedOmissionCorrected()
+                    ? String.format("%.0f ms", result.metrics.getCorrectedPercentileResponseTime(99))
+                    : "-",
                 String.format("%.4f%%", result.metrics.getErrorRate()),
                 status);
         }
         System.out.println();
     }
     
-    private String getPerformanceStatus(ScalabilityResult result) {
+    static String getPerformanceStatus(ScalabilityResult result) {
+        if (isGeneratorSaturated(result)) return "⚠️ GENERATOR";
         if (result.metrics.getErrorRate() > MAX_ERROR_RATE) return "❌ HIGH ERROR";
         if (result.metrics.getAverageResponseTime() > MAX_RESPONSE_TIME) return "⚠️ SLOW";
         if (result.metrics.getErrorRate() < 1.0 && result.metrics.getAverageResponseTime() < 2000) return "✅ STABLE";
@@ -221,6 +254,11 @@ public class ScalabilityTester {
             System.out.println("⚠️ Scale Planning: Consider scaling before " + report.saturationPoint.userLevel + " users");
         }
         
+        long saturatedLevels = report.results.stream().filter(ScalabilityTester::isGeneratorSaturated).count();
+        if (saturatedLevels > 0) {
+            System.out.println("🖥️ Generator: " + saturatedLevels + " level(s) were limited by the load generator itself - add generator capacity before trusting those levels");
+        }
+        
         System.out.println("🔧 Monitoring: Set alerts at 80% of stable load capacity");
         System.out.println("📈 Auto-scaling: Configure triggers based on response time > 1s or error rate > 2%");
         System.out.println("🎯 SLA Targets: Response time < 1s, Error rate < 1%, 99.9% availability");
@@ -238,10 +276,12 @@ public class ScalabilityTester {
     // Data classes
     public static class ScalabilityResult {
         public final int userLevel;
+        public final TestConfiguration config;
         public final PerformanceMetrics metrics;
         
-        public ScalabilityResult(int userLevel, PerformanceMetrics metrics) {
+        public ScalabilityResult(int userLevel, TestConfiguration config, PerformanceMetrics metrics) {
             this.userLevel = userLevel;
+            this.config = config;
             this.metrics = metrics;
         }
     }
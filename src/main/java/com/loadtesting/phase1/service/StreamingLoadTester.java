@@ -0,0 +1,504 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.LatencyHistogram;
+import com.loadtesting.phase1.model.StreamingConfiguration;
+import com.loadtesting.phase1.model.StreamingMetrics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Phase 1: Streaming Load Tester
+ * Holds many long-lived WebSocket or SSE connections instead of issuing
+ * requests. Connections are opened at a fixed rate and WebSocket sends are
+ * paced on the timer wheel, so tens of thousands of connections share a
+ * handful of threads and each one costs a small state object plus what the
+ * JDK client keeps per socket.
+ * <p>
+ * Every sent message starts with the sender's {@link System#nanoTime()} and a
+ * '|', so an echo or a broadcast back to any connection of this generator
+ * gives a send-to-receive latency. Server-pushed messages can instead carry
+ * their send time in epoch millis in a JSON field.
+ */
+public class StreamingLoadTester {
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+    private static final long HEAP_SETTLE_MS = 2000;
+    private static final long MAX_LATENCY_NANOS = TimeUnit.HOURS.toNanos(1);
+    
+    private final AtomicBoolean running;
+    private StreamingConfiguration config;
+    private StreamingMetrics metrics;
+    private HttpClient client;
+    private TimerWheel scheduler;
+    private String padding;
+    private long sendIntervalNanos;
+    private String timestampKey;
+    
+    public StreamingLoadTester() {
+        this.running = new AtomicBoolean();
+    }
+    
+    public StreamingMetrics execute(StreamingConfiguration config) {
+        if (config.getConnectRatePerSecond() <= 0) {
+            throw new IllegalArgumentException("Connect rate must be positive");
+        }
+        URI uri = URI.create(config.getEndpoint());
+        this.config = config;
+        this.metrics = new StreamingMetrics();
+        this.padding = "x".repeat(Math.max(0, config.getMessageSizeBytes() - 20));
+        this.sendIntervalNanos = config.getMessagesPerSecond() > 0
+            ? (long) (1_000_000_000L / config.getMessagesPerSecond()) : 0;
+        this.timestampKey = config.getTimestampField() != null && !config.getTimestampField().isEmpty()
+            ? "\"" + config.getTimestampField() + "\"" : null;
+        
+        System.out.println("=== AutoLoadX - STREAMING TEST STARTED ===");
+        System.out.println("Endpoint: " + config.getEndpoint() + " (" + config.getProtocol() + ")");
+        System.out.println("Connections: " + config.getConnections() + " at " + config.getConnectRatePerSecond() + "/s");
+        if (config.getProtocol() == StreamingConfiguration.Protocol.WEBSOCKET) {
+            System.out.println("Messages: " + config.getMessagesPerSecond() + "/s per connection, "
+                + config.getMessageSizeBytes() + " bytes");
+        }
+        System.out.println("Duration: " + config.getDurationSeconds() + "s");
+        System.out.println();
+        
+        shrinkClientBuffers(config.getMessageSizeBytes());
+        
+        // A few threads serve every connection; the JDK client adds one selector thread
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "autoloadx-streaming-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // HTTP/1.1 keeps one socket per SSE stream rather than multiplexing them over HTTP/2
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+            .executor(pool)
+            .build();
+        scheduler = new TimerWheel(1, TimeUnit.MILLISECONDS, pool);
+        scheduler.start();
+        running.set(true);
+        
+        long baselineHeap = usedHeap();
+        long startNanos = System.nanoTime();
+        long connectSpacingNanos = (long) (1_000_000_000L / config.getConnectRatePerSecond());
+        Connection[] connections = new Connection[config.getConnections()];
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection = new Connection(uri);
+            connections[i] = connection;
+            scheduler.scheduleAt(connection::open, startNanos + i * connectSpacingNanos);
+        }
+        
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        long heapSampleNanos = startNanos + connections.length * connectSpacingNanos
+            + TimeUnit.MILLISECONDS.toNanos(HEAP_SETTLE_MS);
+        boolean heapSampled = false;
+        long nextProgressNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS);
+        try {
+            while (System.nanoTime() < endNanos) {
+                long now = System.nanoTime();
+                long wakeAt = Math.min(endNanos, heapSampled ? nextProgressNanos : Math.min(nextProgressNanos, heapSampleNanos));
+                if (wakeAt > now) {
+                    Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(wakeAt - now)));
+                }
+                now = System.nanoTime();
+                if (!heapSampled && now >= heapSampleNanos && now < endNanos) {
+                    heapSampled = true;
+                    int open = metrics.getOpenConnections();
+                    if (open > 0) {
+                        metrics.setHeapPerConnectionBytes(Math.max(0, usedHeap() - baselineHeap) / open);
+                    }
+                }
+                if (now >= nextProgressNanos) {
+                    printProgress();
+                    nextProgressNanos += TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Closes from here on are ours, not drops
+        running.set(false);
+        scheduler.stop();
+        metrics.setDurationSeconds((System.nanoTime() - startNanos) / 1_000_000_000.0);
+        metrics.setTestEndTime(LocalDateTime.now());
+        closeAll(connections);
+        pool.shutdownNow();
+        
+        System.out.println("=== AutoLoadX - STREAMING TEST COMPLETED ===");
+        printResults(metrics, config);
+        return metrics;
+    }
+    
+    private void closeAll(Connection[] connections) {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MS);
+        while (metrics.getOpenConnections() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Peers that never answered the close handshake
+        for (Connection connection : connections) {
+            connection.abort();
+        }
+    }
+    
+    /**
+     * The JDK client sizes its per-connection buffers for bulk transfers
+     * (16 KB each by default); small messages need far less, which roughly
+     * halves the heap per connection. Only takes effect before the client
+     * classes are first used, and never overrides values set by the user.
+     */
+    private static void shrinkClientBuffers(int messageSizeBytes) {
+        int frameSize = Math.max(1024, messageSizeBytes + 14);
+        setIfAbsent("jdk.httpclient.bufsize", Math.max(2048, frameSize));
+        setIfAbsent("jdk.httpclient.websocket.writeBufferSize", frameSize);
+        setIfAbsent("jdk.httpclient.websocket.intermediateBufferSize", frameSize);
+    }
+    
+    private static void setIfAbsent(String property, int value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, Integer.toString(value));
+        }
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    /**
+     * Send time in epoch millis from the configured JSON field, or -1.
+     */
+    private long serverTimestampMillis(CharSequence message) {
+        if (timestampKey == null) return -1;
+        int at = indexOf(message, timestampKey);
+        if (at < 0) return -1;
+        int i = at + timestampKey.length();
+        while (i < message.length() && (message.charAt(i) == ' ' || message.charAt(i) == ':')) i++;
+        return parseDigits(message, i);
+    }
+    
+    /**
+     * The nanoTime prefix written by {@link Connection#send()}, or -1.
+     */
+    private static long sentNanos(CharSequence message) {
+        long value = parseDigits(message, 0);
+        int end = 0;
+        while (end < message.length() && Character.isDigit(message.charAt(end))) end++;
+        return end > 0 && end < message.length() && message.charAt(end) == '|' ? value : -1;
+    }
+    
+    private static long parseDigits(CharSequence text, int from) {
+        long value = 0;
+        int i = from;
+        while (i < text.length() && i - from < 19 && Character.isDigit(text.charAt(i))) {
+            value = value * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        return i > from ? value : -1;
+    }
+    
+    private static int indexOf(CharSequence text, String key) {
+        int last = text.length() - key.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < key.length(); j++) {
+                if (text.charAt(i + j) != key.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+    
+    private void recordMessage(CharSequence message, int bytes) {
+        metrics.recordReceived(bytes);
+        long sent = sentNanos(message);
+        long latency = sent >= 0 ? System.nanoTime() - sent : -1;
+        if (latency >= 0 && latency < MAX_LATENCY_NANOS) {
+            metrics.recordRoundTrip(latency / 1000);
+            return;
+        }
+        long serverMillis = serverTimestampMillis(message);
+        if (serverMillis > 0) {
+            // Clock skew can make this negative; those samples are dropped rather than clamped
+            long delivery = System.currentTimeMillis() - serverMillis;
+            if (delivery >= 0 && delivery < TimeUnit.NANOSECONDS.toMillis(MAX_LATENCY_NANOS)) {
+                metrics.recordDelivery(delivery * 1000);
+            }
+        }
+    }
+    
+    private void printProgress() {
+        System.out.println(String.format("Open: %d/%d | Connect p99: %.2f ms | Failed: %d | Dropped: %d | Sent: %d | Received: %d | Latency p99: %.2f ms",
+            metrics.getOpenConnections(), config.getConnections(),
+            metrics.getConnectTimeHistogram().getValueAtPercentile(99.0) / 1000.0,
+            metrics.getConnectFailures(), metrics.getDroppedConnections(),
+            metrics.getMessagesSent(), metrics.getMessagesReceived(),
+            messageLatencyP99() / 1000.0));
+    }
+    
+    private long messageLatencyP99() {
+        return metrics.getRoundTripHistogram().isEmpty()
+            ? metrics.getDeliveryHistogram().getValueAtPercentile(99.0)
+            : metrics.getRoundTripHistogram().getValueAtPercentile(99.0);
+    }
+    
+    private void printResults(StreamingMetrics metrics, StreamingConfiguration config) {
+        System.out.println("Connections: " + metrics.getConnectAttempts() + " attempted | "
+            + metrics.getPeakOpenConnections() + " peak open | "
+            + metrics.getConnectFailures() + " failed | "
+            + metrics.getDroppedConnections() + " dropped");
+        printHistogram("Connect Time", metrics.getConnectTimeHistogram());
+        System.out.println(String.format("Messages Sent: %d (%.2f/s)%s", metrics.getMessagesSent(), metrics.getSentPerSecond(),
+            metrics.getSendsSkipped() > 0 ? " | " + metrics.getSendsSkipped() + " skipped while the previous send was pending" : ""));
+        System.out.println(String.format("Messages Received: %d (%.2f/s, %.2f MB)", metrics.getMessagesReceived(),
+            metrics.getReceivedPerSecond(), metrics.getBytesReceived() / (1024.0 * 1024.0)));
+        printHistogram("Send-to-Receive Latency", metrics.getRoundTripHistogram());
+        printHistogram("Delivery Latency (server clock)", metrics.getDeliveryHistogram());
+        if (metrics.getHeapPerConnectionBytes() > 0) {
+            System.out.println(String.format("Heap per Connection: ~%.1f KB (excludes socket buffers in the kernel)",
+                metrics.getHeapPerConnectionBytes() / 1024.0));
+        }
+        if (metrics.getDroppedConnections() > 0) {
+            System.out.println(String.format("WARNING: %.2f%% of opened connections were dropped during the test",
+                100.0 * metrics.getDroppedConnections() / Math.max(1, metrics.getPeakOpenConnections())));
+        }
+    }
+    
+    private static void printHistogram(String name, LatencyHistogram histogram) {
+        if (histogram.isEmpty()) return;
+        System.out.println(String.format("%s: avg %.2f ms | p50 %.2f ms | p99 %.2f ms | p99.9 %.2f ms | max %.2f ms",
+            name, histogram.getMean() / 1000.0,
+            histogram.getValueAtPercentile(50.0) / 1000.0,
+            histogram.getValueAtPercentile(99.0) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getMax() / 1000.0));
+    }
+    
+    /**
+     * One long-lived connection. Kept small on purpose: no per-connection
+     * histograms or buffers, only a builder while a fragmented message arrives.
+     */
+    private final class Connection implements WebSocket.Listener, Flow.Subscriber<String> {
+        private final URI uri;
+        private final AtomicBoolean open;
+        private final AtomicBoolean sending;
+        private final Runnable sendTask;
+        private volatile WebSocket webSocket;
+        private volatile Flow.Subscription subscription;
+        private long nextSendNanos;
+        // Listener / subscriber callbacks only, which the JDK client serializes per connection
+        private StringBuilder partial;
+        private int eventBytes;
+        private long eventServerMillis;
+        
+        private Connection(URI uri) {
+            this.uri = uri;
+            this.open = new AtomicBoolean();
+            this.sending = new AtomicBoolean();
+            this.sendTask = this::send;
+        }
+        
+        private void open() {
+            if (!running.get()) return;
+            metrics.recordConnectAttempt();
+            long connectStart = System.nanoTime();
+            if (config.getProtocol() == StreamingConfiguration.Protocol.WEBSOCKET) {
+                WebSocket.Builder builder = client.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()));
+                for (Map.Entry<String, String> header : config.getHeaders().entrySet()) {
+                    builder.header(header.getKey(), header.getValue());
+                }
+                builder.buildAsync(uri, this).whenComplete((ws, error) -> {
+                    if (error != null) {
+                        metrics.recordConnectFailure();
+                        return;
+                    }
+                    webSocket = ws;
+                    opened(connectStart);
+                    if (sendIntervalNanos > 0 && running.get()) {
+                        // Random phase, so connections opened together do not send in lockstep
+                        nextSendNanos = System.nanoTime() + (long) (Math.random() * sendIntervalNanos);
+                        scheduler.scheduleAt(sendTask, nextSendNanos);
+                    }
+                });
+            } else {
+                HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .header("Accept", "text/event-stream")
+                    .header("Cache-Control", "no-cache")
+                    .GET();
+                config.getHeaders().forEach(builder::header);
+                client.sendAsync(builder.build(), info -> {
+                    if (info.statusCode() != 200) {
+                        metrics.recordConnectFailure();
+                        return HttpResponse.BodySubscribers.discarding();
+                    }
+                    opened(connectStart);
+                    return HttpResponse.BodySubscribers.fromLineSubscriber(this);
+                }).whenComplete((response, error) -> {
+                    // Errors after the headers arrived reach onError instead
+                    if (error != null && subscription == null && !open.get()) {
+                        metrics.recordConnectFailure();
+                    }
+                });
+            }
+        }
+        
+        private void opened(long connectStart) {
+            open.set(true);
+            metrics.recordConnected((System.nanoTime() - connectStart) / 1000);
+            if (!running.get()) close();
+        }
+        
+        private void closed() {
+            if (open.compareAndSet(true, false)) {
+                metrics.recordClosed(running.get());
+            }
+        }
+        
+        private void send() {
+            WebSocket ws = webSocket;
+            if (!running.get() || !open.get() || ws == null) return;
+            nextSendNanos += sendIntervalNanos;
+            scheduler.scheduleAt(sendTask, nextSendNanos);
+            // The JDK allows one outstanding send per WebSocket; a slow peer shows up as skipped sends
+            if (!sending.compareAndSet(false, true)) {
+                metrics.recordSendSkipped();
+                return;
+            }
+            ws.sendText(System.nanoTime() + "|" + padding, true).whenComplete((result, error) -> {
+                sending.set(false);
+                if (error == null) metrics.recordSent();
+            });
+        }
+        
+        private void close() {
+            WebSocket ws = webSocket;
+            if (ws != null && open.get()) {
+                ws.sendClose(WebSocket.NORMAL_CLOSURE, "test finished");
+            }
+            Flow.Subscription sse = subscription;
+            if (sse != null) {
+                sse.cancel();
+                closed();
+            }
+        }
+        
+        private void abort() {
+            WebSocket ws = webSocket;
+            if (ws != null) ws.abort();
+            Flow.Subscription sse = subscription;
+            if (sse != null) sse.cancel();
+            closed();
+        }
+        
+        // WebSocket.Listener
+        
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            if (!last) {
+                if (partial == null) partial = new StringBuilder();
+                partial.append(data);
+            } else if (partial != null) {
+                partial.append(data);
+                recordMessage(partial, partial.length());
+                partial = null;
+            } else {
+                recordMessage(data, data.length());
+            }
+            ws.request(1);
+            return null;
+        }
+        
+        @Override
+        public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+            eventBytes += data.remaining();
+            if (last) {
+                metrics.recordReceived(eventBytes);
+                eventBytes = 0;
+            }
+            ws.request(1);
+            return null;
+        }
+        
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            closed();
+            return null;
+        }
+        
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            closed();
+        }
+        
+        // Flow.Subscriber for SSE lines
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (!running.get()) {
+                // Headers arrived during shutdown, after close() found nothing to cancel
+                subscription.cancel();
+                closed();
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                // Blank line dispatches the event; comments and heartbeats have no data
+                if (eventBytes > 0) {
+                    metrics.recordReceived(eventBytes);
+                    if (eventServerMillis > 0) {
+                        long delivery = System.currentTimeMillis() - eventServerMillis;
+                        if (delivery >= 0) metrics.recordDelivery(delivery * 1000);
+                    }
+                }
+                eventBytes = 0;
+                eventServerMillis = 0;
+            } else if (line.startsWith("data:")) {
+                eventBytes += line.length() - 5;
+                if (eventServerMillis <= 0) eventServerMillis = serverTimestampMillis(line);
+            }
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            closed();
+        }
+        
+        @Override
+        public void onComplete() {
+            closed();
+        }
+    }
+}
\ No newline at end of file
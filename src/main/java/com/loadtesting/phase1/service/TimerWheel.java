@@ -0,0 +1,269 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.LatencyHistogram;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Phase 1: Timer Wheel
+ * Hierarchical hashed timing wheel for large numbers of short timers (pacing,
+ * think time, ramp-up). Four levels of 256 slots cover 2^32 ticks; insert and
+ * cancel are O(1) and all bookkeeping happens on a single ticker thread.
+ * Expired tasks run on the given executor, and how late each one actually
+ * started is recorded, so queueing on busy workers shows up as lateness too.
+ */
+public class TimerWheel {
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    
+    private final long tickNanos;
+    private final Executor executor;
+    private final Timeout[][] slots;
+    private final Queue<Timeout> additions;
+    private final Queue<Timeout> cancellations;
+    private final LatencyHistogram lateness;
+    private final AtomicLong scheduled;
+    private final AtomicLong fired;
+    private final AtomicLong cancelled;
+    private volatile boolean running;
+    private Thread ticker;
+    private long startNanos;
+    private long currentTick;
+    
+    /**
+     * @param tick     wheel resolution; timers fire at most one tick late
+     * @param executor runs expired tasks; tasks must not block the ticker
+     */
+    public TimerWheel(long tick, TimeUnit unit, Executor executor) {
+        this.tickNanos = Math.max(1, unit.toNanos(tick));
+        this.executor = executor;
+        this.slots = new Timeout[LEVELS][WHEEL_SIZE];
+        this.additions = new ConcurrentLinkedQueue<>();
+        this.cancellations = new ConcurrentLinkedQueue<>();
+        this.lateness = new LatencyHistogram();
+        this.scheduled = new AtomicLong();
+        this.fired = new AtomicLong();
+        this.cancelled = new AtomicLong();
+    }
+    
+    public synchronized void start() {
+        if (running) return;
+        startNanos = System.nanoTime();
+        currentTick = 0;
+        running = true;
+        ticker = new Thread(this::run, "autoloadx-timer-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+    
+    /**
+     * Stops the ticker; timers still pending are dropped.
+     */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(ticker);
+        try {
+            ticker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        additions.clear();
+        cancellations.clear();
+    }
+    
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+    }
+    
+    /**
+     * Schedules a task at an absolute {@link System#nanoTime()} deadline, which
+     * keeps fixed-rate pacing free of drift.
+     */
+    public Timeout scheduleAt(Runnable task, long deadlineNanos) {
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        scheduled.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+    
+    private void run() {
+        while (running) {
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            long wait = nextTickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            
+            drainCancellations();
+            drainAdditions();
+            // Catch up on every tick that elapsed, e.g. after a GC pause
+            long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+            while (currentTick < elapsedTicks && running) {
+                processTick();
+                currentTick++;
+            }
+        }
+    }
+    
+    private void drainAdditions() {
+        Timeout timeout;
+        while ((timeout = additions.poll()) != null) {
+            if (timeout.state.get() != PENDING) continue;
+            long ticks = (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+            timeout.deadlineTick = Math.max(ticks, currentTick);
+            place(timeout);
+        }
+    }
+    
+    private void drainCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            unlink(timeout);
+        }
+    }
+    
+    private void place(Timeout timeout) {
+        long delta = Math.min(timeout.deadlineTick - currentTick, MAX_TICKS);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        long tick = currentTick + delta;
+        int index = (int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+        
+        timeout.level = level;
+        timeout.index = index;
+        timeout.previous = null;
+        timeout.next = slots[level][index];
+        if (timeout.next != null) timeout.next.previous = timeout;
+        slots[level][index] = timeout;
+        timeout.linked = true;
+    }
+    
+    private void unlink(Timeout timeout) {
+        if (!timeout.linked) return;
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) timeout.next.previous = timeout.previous;
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.linked = false;
+    }
+    
+    private void processTick() {
+        int index = (int) (currentTick & WHEEL_MASK);
+        // Entering a new block of a higher level: move its timers down, continuing upwards while levels wrap
+        if (index == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int levelIndex = (int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+                cascade(level, levelIndex);
+                if (levelIndex != 0) break;
+            }
+        }
+        
+        Timeout timeout = slots[0][index];
+        slots[0][index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.linked = false;
+            if (timeout.deadlineTick > currentTick) {
+                // Parked on the last level beyond the wheel's range
+                place(timeout);
+            } else {
+                expire(timeout);
+            }
+            timeout = next;
+        }
+    }
+    
+    private void cascade(int level, int index) {
+        Timeout timeout = slots[level][index];
+        slots[level][index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.linked = false;
+            place(timeout);
+            timeout = next;
+        }
+    }
+    
+    private void expire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(PENDING, EXPIRED)) return;
+        fired.incrementAndGet();
+        Runnable task = () -> {
+            lateness.recordValue(Math.max(0, System.nanoTime() - timeout.deadlineNanos) / 1000);
+            timeout.task.run();
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Executor is shutting down with the run
+        }
+    }
+    
+    /**
+     * How late tasks started relative to their deadline, in microseconds.
+     */
+    public LatencyHistogram getLatenessHistogram() { return lateness; }
+    public long getTickNanos() { return tickNanos; }
+    public long getScheduledCount() { return scheduled.get(); }
+    public long getFiredCount() { return fired.get(); }
+    public long getCancelledCount() { return cancelled.get(); }
+    
+    /**
+     * Handle to a scheduled task.
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state;
+        // Owned by the ticker thread
+        private long deadlineTick;
+        private int level;
+        private int index;
+        private boolean linked;
+        private Timeout previous;
+        private Timeout next;
+        
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.state = new AtomicInteger(PENDING);
+        }
+        
+        /**
+         * Cancels the task unless it already fired; returns true if cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+            cancelled.incrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+        
+        public boolean isCancelled() { return state.get() == CANCELLED; }
+        public boolean isExpired() { return state.get() == EXPIRED; }
+        public long getDeadlineNanos() { return deadlineNanos; }
+    }
+}
\ No newline at end of file
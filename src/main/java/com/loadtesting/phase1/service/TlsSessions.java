@@ -0,0 +1,103 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.TransportConfiguration;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Phase 1: TLS Sessions
+ * Hands out the TLS socket factories behind a session mode. A session cache
+ * lives in its SSLContext, so sharing one context lets every connection
+ * resume, while a context per user keeps each user's sessions to itself.
+ * Full-handshake mode gives every connection a fresh context: invalidating
+ * sessions is not enough, as TLS 1.3 delivers resumption tickets after the
+ * handshake. Trust managers are loaded once and shared by all contexts.
+ */
+final class TlsSessions {
+    /** A user resumes against a handful of origins at most */
+    private static final int PER_USER_CACHE_SIZE = 8;
+    
+    private final TransportConfiguration.TlsSessionMode mode;
+    private final TrustManager[] trustManagers;
+    private final HostnameVerifier hostnameVerifier;
+    private final SSLContext sharedContext;
+    private final SSLConnectionSocketFactory sharedFactory;
+    private final Map<Integer, SSLConnectionSocketFactory> userFactories;
+    
+    TlsSessions(TransportConfiguration transport) {
+        this.mode = transport.getTlsSessionMode();
+        this.trustManagers = transport.isTrustAllCertificates() ? new TrustManager[] { new TrustAllManager() } : defaultTrustManagers();
+        this.hostnameVerifier = transport.isTrustAllCertificates()
+            ? NoopHostnameVerifier.INSTANCE
+            : SSLConnectionSocketFactory.getDefaultHostnameVerifier();
+        this.sharedContext = newContext();
+        this.sharedFactory = new SSLConnectionSocketFactory(sharedContext, hostnameVerifier);
+        this.userFactories = new ConcurrentHashMap<>();
+    }
+    
+    /** Context for engines that take an SSLContext rather than a socket factory */
+    SSLContext getSharedContext() { return sharedContext; }
+    
+    /**
+     * @param userId the connecting user, or -1 when unknown
+     */
+    SSLConnectionSocketFactory factoryFor(int userId) {
+        if (mode == TransportConfiguration.TlsSessionMode.FULL_HANDSHAKE) {
+            return new SSLConnectionSocketFactory(newContext(), hostnameVerifier);
+        }
+        if (mode != TransportConfiguration.TlsSessionMode.PER_USER_RESUMPTION || userId < 0) {
+            return sharedFactory;
+        }
+        return userFactories.computeIfAbsent(userId, id -> {
+            SSLContext context = newContext();
+            context.getClientSessionContext().setSessionCacheSize(PER_USER_CACHE_SIZE);
+            return new SSLConnectionSocketFactory(context, hostnameVerifier);
+        });
+    }
+    
+    private SSLContext newContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustManagers, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create TLS context", e);
+        }
+    }
+    
+    private static TrustManager[] defaultTrustManagers() {
+        try {
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init((KeyStore) null);
+            return factory.getTrustManagers();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load default trust store", e);
+        }
+    }
+    
+    private static final class TrustAllManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+        
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+        
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.data.DataFeeder;
+import com.loadtesting.phase1.model.EndpointConfiguration;
+import com.loadtesting.phase1.model.TestConfiguration;
+
+import java.util.List;
+
+/**
+ * Phase 1: Traffic Mix
+ * Compiled set of request plans driven within one run. Each request picks
+ * its endpoint through an alias table, either by weight or in proportion to
+ * per-endpoint target rates (which then also set the users' pacing).
+ */
+public class TrafficMix {
+    private final RequestPlan[] plans;
+    private final AliasTable aliasTable;
+    private final double totalTargetRate;
+    
+    private TrafficMix(RequestPlan[] plans, double[] weights, double totalTargetRate) {
+        this.plans = plans;
+        this.aliasTable = new AliasTable(weights);
+        this.totalTargetRate = totalTargetRate;
+    }
+    
+    public static TrafficMix compile(TestConfiguration config, DataFeeder feeder) {
+        List<EndpointConfiguration> endpoints = config.getTrafficMix();
+        if (endpoints == null || endpoints.isEmpty()) {
+            return new TrafficMix(new RequestPlan[]{RequestPlan.compile(config, feeder)}, new double[]{1.0}, 0);
+        }
+        
+        long rated = endpoints.stream().filter(e -> e.getTargetRatePerSecond() > 0).count();
+        if (rated > 0 && rated < endpoints.size()) {
+            throw new IllegalArgumentException("Either every traffic-mix endpoint sets a target rate or none does");
+        }
+        
+        RequestPlan[] plans = new RequestPlan[endpoints.size()];
+        double[] weights = new double[endpoints.size()];
+        double totalRate = 0;
+        for (int i = 0; i < plans.length; i++) {
+            EndpointConfiguration endpoint = endpoints.get(i);
+            plans[i] = RequestPlan.compile(endpoint, config.getHeaders(), config.getAssertions(), feeder);
+            weights[i] = rated > 0 ? endpoint.getTargetRatePerSecond() : endpoint.getWeight();
+            totalRate += endpoint.getTargetRatePerSecond();
+        }
+        return new TrafficMix(plans, weights, totalRate);
+    }
+    
+    public RequestPlan next() {
+        return plans.length == 1 ? plans[0] : plans[aliasTable.next()];
+    }
+    
+    /**
+     * Interval between request starts for each user so that all users together
+     * hit the summed target rate, or 0 when the mix is weight-driven. Any
+     * target rate gives a positive interval, however high the rate per user.
+     */
+    public long getPacingIntervalNanos(int users) {
+        return totalTargetRate > 0 ? Math.max(1, Math.round(users * 1_000_000_000.0 / totalTargetRate)) : 0;
+    }
+    
+    public int size() {
+        return plans.length;
+    }
+}
\ No newline at end of file
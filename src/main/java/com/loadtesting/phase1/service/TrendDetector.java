@@ -0,0 +1,151 @@
+package com.loadtesting.phase1.service;
+
+import com.loadtesting.phase1.model.IntervalSeries;
+import com.loadtesting.phase1.model.Trend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Phase 1: Trend Detector
+ * Looks for slow drift across a long run. The interval series is merged into
+ * at most ~120 points of at least a minute each, then every metric gets a
+ * Mann-Kendall trend test and a Sen's slope fit. Both are rank based, so a
+ * few spikes neither fake nor hide a trend. Neighbouring points of a load
+ * test are correlated, which makes the test optimistic; a trend is therefore
+ * only reported as drift when the fitted change is also large.
+ */
+public class TrendDetector {
+    private static final int MIN_POINTS = 10;
+    private static final int TARGET_POINTS = 120;
+    private static final long MIN_POINT_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MIN_POINT_REQUESTS = 20;
+    private static final double SIGNIFICANT_Z = 1.96;
+    private static final double MIN_RELATIVE_LATENCY_CHANGE = 0.10;
+    private static final double MIN_ERROR_RATE_CHANGE = 1.0;
+    
+    private TrendDetector() {
+    }
+    
+    /**
+     * Returns latency and error-rate trends over the closed intervals, or an
+     * empty list when the run is too short to tell.
+     */
+    public static List<Trend> detect(IntervalSeries series, long nowNanos) {
+        List<IntervalSeries.Interval> intervals = series.getIntervals(nowNanos);
+        // The open interval is partial
+        intervals.remove(intervals.size() - 1);
+        if (intervals.isEmpty()) return new ArrayList<>();
+        
+        long span = intervals.get(intervals.size() - 1).getEndNanos() - intervals.get(0).getStartNanos();
+        List<IntervalSeries.Interval> points = coarsen(intervals, Math.max(MIN_POINT_NANOS, span / TARGET_POINTS));
+        
+        List<Trend> trends = new ArrayList<>();
+        addTrend(trends, series, points, "P99 Latency", "ms", true, interval -> interval.getPercentileMs(99));
+        addTrend(trends, series, points, "Mean Latency", "ms", true, IntervalSeries.Interval::getMeanMs);
+        addTrend(trends, series, points, "Error Rate", "%", false, IntervalSeries.Interval::getErrorRate);
+        return trends;
+    }
+    
+    private static List<IntervalSeries.Interval> coarsen(List<IntervalSeries.Interval> intervals, long pointNanos) {
+        List<IntervalSeries.Interval> points = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            long width = intervals.get(i).getEndNanos() - intervals.get(from).getStartNanos();
+            if (width >= pointNanos || i == intervals.size() - 1) {
+                points.add(IntervalSeries.merge(intervals.subList(from, i + 1)));
+                from = i + 1;
+            }
+        }
+        return points;
+    }
+    
+    private static void addTrend(List<Trend> trends, IntervalSeries series, List<IntervalSeries.Interval> points,
+                                 String metric, String unit, boolean latency,
+                                 ToDoubleFunction<IntervalSeries.Interval> value) {
+        List<double[]> samples = new ArrayList<>();
+        for (IntervalSeries.Interval point : points) {
+            if (point.getRequests() < (latency ? MIN_POINT_REQUESTS : 1)) continue;
+            double middleNanos = (point.getStartNanos() + point.getEndNanos()) / 2.0 - series.getStartNanos();
+            samples.add(new double[]{middleNanos / TimeUnit.HOURS.toNanos(1), value.applyAsDouble(point)});
+        }
+        int n = samples.size();
+        if (n < MIN_POINTS) return;
+        
+        double[] t = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = samples.get(i)[0];
+            y[i] = samples.get(i)[1];
+        }
+        
+        double z = mannKendallZ(y);
+        double slope = sensSlope(t, y);
+        double[] residuals = new double[n];
+        for (int i = 0; i < n; i++) {
+            residuals[i] = y[i] - slope * t[i];
+        }
+        double intercept = median(residuals);
+        // Latencies and error rates cannot go below zero, even where the line does
+        double start = Math.max(0, intercept + slope * t[0]);
+        double end = Math.max(0, intercept + slope * t[n - 1]);
+        
+        double change = Math.abs(end - start);
+        boolean large = latency
+            ? change >= MIN_RELATIVE_LATENCY_CHANGE * Math.max(Math.abs(start), 0.001)
+            : change >= MIN_ERROR_RATE_CHANGE;
+        trends.add(new Trend(metric, unit, start, end, slope, z, Math.abs(z) >= SIGNIFICANT_Z && large));
+    }
+    
+    /**
+     * Mann-Kendall S statistic normalized to z, with the variance corrected for ties.
+     */
+    static double mannKendallZ(double[] y) {
+        int n = y.length;
+        long s = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Integer.signum(Double.compare(y[j], y[i]));
+            }
+        }
+        
+        double[] sorted = y.clone();
+        Arrays.sort(sorted);
+        double ties = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && sorted[j] == sorted[i]) j++;
+            long group = j - i;
+            ties += group * (group - 1) * (2 * group + 5);
+            i = j;
+        }
+        double variance = ((double) n * (n - 1) * (2 * n + 5) - ties) / 18.0;
+        if (variance <= 0 || s == 0) return 0;
+        return (s > 0 ? s - 1 : s + 1) / Math.sqrt(variance);
+    }
+    
+    /**
+     * Median of the slopes between every pair of points.
+     */
+    static double sensSlope(double[] t, double[] y) {
+        int n = t.length;
+        double[] slopes = new double[n * (n - 1) / 2];
+        int count = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (t[j] != t[i]) slopes[count++] = (y[j] - y[i]) / (t[j] - t[i]);
+            }
+        }
+        return count > 0 ? median(Arrays.copyOf(slopes, count)) : 0;
+    }
+    
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
\ No newline at end of file